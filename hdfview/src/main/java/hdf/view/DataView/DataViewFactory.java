@@ -16,6 +16,7 @@ package hdf.view.DataView;
 
 import java.util.HashMap;
 
+import hdf.object.DataFormat;
 import hdf.object.HObject;
 import hdf.view.ImageView.ImageView;
 import hdf.view.MetaDataView.MetaDataView;
@@ -98,4 +99,19 @@ public abstract class DataViewFactory {
      */
     public abstract TreeView getTreeView(Composite parent, DataViewManager viewer)
         throws ClassNotFoundException;
+
+    /**
+     * Reads the data that the view created by this factory for the given data properties shows, so that
+     * the view does not have to read it on the UI thread, such as when the data is loaded in the
+     * background. Called off the UI thread; the selection of the data object is not changed.
+     *
+     * The default implementation reads nothing and leaves the view to read its data.
+     *
+     * @param dataObject        The initialized data object
+     * @param dataPropertiesMap The properties for the view
+     *
+     * @throws Exception If the data could not be read.
+     */
+    @SuppressWarnings("rawtypes")
+    public void readDataForView(DataFormat dataObject, HashMap dataPropertiesMap) throws Exception {}
 }
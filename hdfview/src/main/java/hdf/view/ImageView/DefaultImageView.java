@@ -17,24 +17,11 @@ package hdf.view.ImageView;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.ComponentColorModel;
 import java.awt.image.DataBufferInt;
-import java.awt.image.DirectColorModel;
-import java.awt.image.FilteredImageSource;
-import java.awt.image.ImageFilter;
 import java.awt.image.ImageObserver;
-import java.awt.image.ImageProducer;
-import java.awt.image.IndexColorModel;
-import java.awt.image.PixelGrabber;
-import java.awt.image.RGBImageFilter;
-import java.awt.image.WritableRaster;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
@@ -45,14 +32,17 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
 
+import hdf.object.BufferPool;
+import hdf.object.DataFormat;
+import hdf.object.DataStatistics;
 import hdf.object.Group;
 import hdf.object.HObject;
 import hdf.object.ScalarDS;
+import hdf.object.UnsignedView;
 import hdf.view.Chart;
 import hdf.view.DataView.DataViewFactory;
 import hdf.view.DataView.DataViewFactoryProducer;
@@ -161,13 +151,23 @@ public class DefaultImageView implements ImageView {
     /** ROTATE IMAGE COUNTER CLOCKWISE 90 DEGREE. */
     public static final int ROTATE_CCW_90 = 11;
 
+    /** The number of pixels of the smallest indexed image shown through an image pyramid. */
+    private static final long PYRAMID_MIN_PIXELS = 8192L * 8192;
+
+    /** The size in pixels of the component of a tile of the image rendered at the zoom factor. */
+    private static final int RENDER_TILE_SIZE = 256;
+
+    /** The number of rendered tiles kept for repaints, about a few screens of tiles. */
+    private static final int RENDER_CACHE_TILES = 128;
+
+    /** The frames per second the frames of an image stack are played at by default. */
+    private static final int DEFAULT_PLAY_FPS = 10;
+
     /**
      * The main HDFView.
      */
     private final DataViewManager viewer;
 
-    private Toolkit toolkit;
-
     /**
      * The Scalar Dataset.
      */
@@ -235,8 +235,6 @@ public class DefaultImageView implements ImageView {
     /** the raw data of the image. */
     private Object data;
 
-    private boolean isUnsignedConverted = false;
-
     private double[] dataRange;
     private double[] originalRange = {0, 0};
 
@@ -255,6 +253,27 @@ public class DefaultImageView implements ImageView {
 
     private BufferedImage bufferedImage;
 
+    /** The pool the frames of the dataset are read into, if this view set it on the dataset. */
+    private BufferPool bufferPool;
+
+    /**
+     * The pyramid of a large image, or null. The image shown is then the overview of the pyramid, with the
+     * tiles of finer levels drawn over it as the view is zoomed in.
+     */
+    private ImagePyramid pyramid;
+
+    /** Flag to indicate if the tiles of the image pyramid are drawn, which they are not once filtered. */
+    private boolean isPyramidShown = false;
+
+    /** The frames of an image stack read ahead of the frame shown, or null. */
+    private FramePrefetcher prefetcher;
+
+    /** Flag to indicate if the data shown is that of a prefetched frame, which this view gives back. */
+    private boolean isFrameDataOwned = false;
+
+    /** Flag to indicate if the frames of an image stack are played. */
+    private boolean isPlaying = false;
+
     private ContrastSlider contrastSlider;
 
     private int indexBase  = 0;
@@ -266,11 +285,7 @@ public class DefaultImageView implements ImageView {
     private boolean doAutoGainContrast = false;
     private double[] gainBias;
     private double[] gainBiasCurrent;
-
-    /**
-     * int array to hold unsigned short or signed int data from applying the autogain.
-     */
-    private Object autoGainData;
+    private double[] gainRangeCurrent;
 
     private BitSet bitmask;
     private boolean convertByteData = false;
@@ -323,6 +338,11 @@ public class DefaultImageView implements ImageView {
                     dataset.clearData();
                 }
 
+                isPlaying = false;
+                closePrefetcher();
+                releaseBufferPool();
+                closePyramid();
+
                 if (curFont != null)
                     curFont.dispose();
 
@@ -330,7 +350,6 @@ public class DefaultImageView implements ImageView {
                 image          = null;
                 imageByteData  = null;
                 imageComponent = null;
-                autoGainData   = null;
                 ((Vector)rotateRelatedItems).setSize(0);
 
                 viewer.removeDataView(DefaultImageView.this);
@@ -364,13 +383,10 @@ public class DefaultImageView implements ImageView {
         imageScroller      = null;
         gainBias           = null;
         gainBiasCurrent    = null;
-        autoGainData       = null;
         contrastSlider     = null;
         bitmask            = null;
         invalidValueIndex  = new ArrayList<>();
 
-        toolkit = Toolkit.getDefaultToolkit();
-
         String origStr = ViewProperties.getImageOrigin();
         if (ViewProperties.ORIGIN_LL.equalsIgnoreCase(origStr))
             imageOrigin = Origin.LOWER_LEFT;
@@ -413,7 +429,14 @@ public class DefaultImageView implements ImageView {
             return;
         }
 
-        dataset   = (ScalarDS)hobject;
+        dataset = (ScalarDS)hobject;
+
+        // read the frames into recycled buffers, unless another view of the dataset already does
+        if (dataset.getBufferPool() == null) {
+            bufferPool = new BufferPool();
+            dataset.setBufferPool(bufferPool);
+        }
+
         dataRange = dataset.getImageDataRange();
         if (dataRange == null) {
             dataRange    = new double[2];
@@ -433,6 +456,7 @@ public class DefaultImageView implements ImageView {
 
         if (image == null) {
             viewer.showError("Loading image failed - " + dataset.getName());
+            releaseBufferPool();
             dataset = null;
             return;
         }
@@ -440,6 +464,9 @@ public class DefaultImageView implements ImageView {
         originalRange[0] = dataRange[0];
         originalRange[1] = dataRange[1];
 
+        // the frames next to the one shown are read ahead, to step through an image stack without waiting
+        openPrefetcher();
+
         // set title
         StringBuilder sb = new StringBuilder(hobject.getName());
         sb.append("  at  ")
@@ -819,8 +846,9 @@ public class DefaultImageView implements ImageView {
 
                 // Call only once
                 if (dataDist == null) {
-                    dataDist = new int[256];
-                    Tools.findDataDist(data, dataDist, originalRange);
+                    DataStatistics stats =
+                        dataset.getStatistics(getUnsignedView(data), null, originalRange, 256);
+                    dataDist = (stats == null) ? new int[256] : stats.getHistogram().clone();
                 }
 
                 DataRangeDialog drd =
@@ -951,7 +979,7 @@ public class DefaultImageView implements ImageView {
             public void widgetSelected(SelectionEvent e)
             {
                 if (contrastSlider == null)
-                    contrastSlider = new ContrastSlider(shell, SWT.NONE, image.getSource());
+                    contrastSlider = new ContrastSlider(shell, SWT.NONE, image);
                 contrastSlider.open();
             }
         });
@@ -975,6 +1003,32 @@ public class DefaultImageView implements ImageView {
             });
         }
 
+        item = new MenuItem(menu, SWT.CASCADE);
+        item.setText("Smooth");
+
+        Menu smoothMenu = new Menu(item);
+        item.setMenu(smoothMenu);
+
+        item = new MenuItem(smoothMenu, SWT.PUSH);
+        item.setText("Median");
+        item.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e)
+            {
+                smooth(true);
+            }
+        });
+
+        item = new MenuItem(smoothMenu, SWT.PUSH);
+        item.setText("Gaussian");
+        item.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e)
+            {
+                smooth(false);
+            }
+        });
+
         new MenuItem(menu, SWT.SEPARATOR);
 
         item = new MenuItem(menu, SWT.PUSH);
@@ -1040,11 +1094,31 @@ public class DefaultImageView implements ImageView {
                     Object theData = null;
                     theData        = getSelectedData();
 
-                    if (theData == null)
-                        theData = data;
+                    // the statistics of the whole image are cached by the dataset
+                    int retval = 1;
+                    if (theData == null) {
+                        DataStatistics stats =
+                            dataset.getStatistics(getUnsignedView(data), dataset.getFillValue(), null, 0);
+                        if (stats == null)
+                            retval = -1;
+                        else if (stats.getCount() == 0) {
+                            minmax[0] = minmax[1] = stats.getFirstValue();
+                            stat[0]               = (stats.getFillValue() == null) ? 0 : stats.getFillValue();
+                        }
+                        else {
+                            minmax[0] = stats.getMin();
+                            minmax[1] = stats.getMax();
+                            stat[0]   = stats.getMean();
+                            stat[1]   = stats.getStdDev();
+                        }
+                    }
+                    else {
+                        theData = getUnsignedView(theData);
+                        Tools.findMinMax(theData, minmax, dataset.getFillValue());
+                        retval = Tools.computeStatistics(theData, stat, dataset.getFillValue());
+                    }
 
-                    Tools.findMinMax(theData, minmax, dataset.getFillValue());
-                    if (Tools.computeStatistics(theData, stat, dataset.getFillValue()) > 0) {
+                    if (retval > 0) {
                         String statistics = "Min                      = " + minmax[0] +
                                             "\nMax                      = " + minmax[1] +
                                             "\nMean                     = " + stat[0] +
@@ -1134,7 +1208,7 @@ public class DefaultImageView implements ImageView {
             public void widgetSelected(SelectionEvent e)
             {
                 if (contrastSlider == null)
-                    contrastSlider = new ContrastSlider(ctshell, SWT.NONE, image.getSource());
+                    contrastSlider = new ContrastSlider(ctshell, SWT.NONE, image);
                 contrastSlider.open();
             }
         });
@@ -1306,6 +1380,44 @@ public class DefaultImageView implements ImageView {
                     ctshell.setCursor(null);
                 }
             });
+
+            new ToolItem(toolbar, SWT.SEPARATOR).setWidth(10);
+
+            Text fpsField = new Text(toolbar, SWT.SINGLE | SWT.BORDER | SWT.CENTER);
+
+            // Play button, showing the frames in place at the frames per second of the field next to it
+            item = new ToolItem(toolbar, SWT.CHECK);
+            item.setImage(ViewProperties.getVideoIcon());
+            item.setToolTipText("Play (frames/second)");
+            item.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    if (((ToolItem)e.widget).getSelection()) {
+                        int fps = DEFAULT_PLAY_FPS;
+                        try {
+                            fps = Math.max(1, Math.min(100, Integer.parseInt(fpsField.getText().trim())));
+                        }
+                        catch (Exception ex) {
+                            log.debug("Play: invalid frames per second: ", ex);
+                        }
+                        fpsField.setText(String.valueOf(fps));
+                        play(fps);
+                    }
+                    else
+                        isPlaying = false;
+                }
+            });
+
+            separator = new ToolItem(toolbar, SWT.SEPARATOR);
+
+            fpsField.setFont(curFont);
+            fpsField.setText(String.valueOf(DEFAULT_PLAY_FPS));
+            fpsField.setToolTipText("Frames per second");
+            fpsField.pack();
+
+            separator.setWidth(fpsField.getSize().x + 30);
+            separator.setControl(fpsField);
         }
 
         return toolbar;
@@ -1461,13 +1573,21 @@ public class DefaultImageView implements ImageView {
         if (dataset.getRank() > 2)
             dataset.getSelectedDims()[dataset.getSelectedIndex()[2]] = 1;
 
-        data = dataset.getData();
-        if ((bitmask != null) && Tools.applyBitmask(data, bitmask, bitmaskOP))
+        // a large image is read as the overview of a pyramid, its details as they are zoomed into
+        closePyramid();
+        if (isPyramidImage(dataset, bitmask))
+            openPyramid();
+        if (pyramid == null)
+            data = dataset.getData();
+
+        if ((bitmask != null) && Tools.applyBitmask(data, bitmask, bitmaskOP)) {
             doAutoGainContrast = false;
+            // the data is masked in place
+            dataset.clearStatistics();
+        }
 
+        // unsigned integers are widened as they are read through an UnsignedView instead of copied
         if (dataset.getDatatype().isInteger() || dataset.getDatatype().isChar()) {
-            data                = dataset.convertFromUnsignedC();
-            isUnsignedConverted = true;
             doAutoGainContrast =
                 doAutoGainContrast || (ViewProperties.isAutoContrast() && noPalette && isLocalFile);
         }
@@ -1479,20 +1599,22 @@ public class DefaultImageView implements ImageView {
             isAutoContrastFailed = (!computeAutoGainImageData(gainBias, null));
         }
 
-        long w = dataset.getWidth();
-        long h = dataset.getHeight();
+        long w = getImageWidth();
+        long h = getImageHeight();
 
         if (isAutoContrastFailed) {
             doAutoGainContrast = false;
-            imageByteData      = Tools.getBytes(data, dataRange, w, h, !dataset.isDefaultImageOrder(),
-                                                dataset.getFilteredImageValues(), convertByteData, imageByteData,
-                                                invalidValueIndex);
+            imageByteData      = Tools.getBytes(getUnsignedView(data), dataRange, w, h,
+                                                !dataset.isDefaultImageOrder(),
+                                                dataset.getFilteredImageValues(), convertByteData,
+                                                imageByteData, invalidValueIndex);
         }
         else if (dataRange != null && dataRange[0] == dataRange[1]) {
-            Tools.findMinMax(data, dataRange, null);
+            findMinMax(dataRange, null);
         }
 
-        image = createIndexedImage(imageByteData, imagePalette, w, h);
+        image          = createIndexedImage(imageByteData, imagePalette, w, h);
+        isPyramidShown = (pyramid != null);
     }
 
     /**
@@ -1530,6 +1652,375 @@ public class DefaultImageView implements ImageView {
         image = createTrueColorImage(imageByteData, isPlaneInterlace, (int)w, (int)h);
     }
 
+    /**
+     * Removes the pool of buffers this view set on the dataset and drops the buffers it holds.
+     */
+    private void releaseBufferPool()
+    {
+        if (bufferPool == null)
+            return;
+
+        if ((dataset != null) && (dataset.getBufferPool() == bufferPool))
+            dataset.setBufferPool(null);
+        bufferPool.clear();
+        bufferPool = null;
+    }
+
+    /**
+     * Checks if the image of the current selection of a data object is shown
+     * through an image pyramid, its overview read first and its details as they
+     * are zoomed into, instead of being read into memory at once.
+     *
+     * Only large indexed images without a bitmask are shown through a pyramid,
+     * since a bitmask is applied to the whole image in memory.
+     *
+     * @param dataObject
+     *            the data object to display
+     * @param bitmask
+     *            the bitmask applied to the data, or null
+     *
+     * @return true if the image is shown through a pyramid
+     */
+    public static boolean isPyramidImage(DataFormat dataObject, BitSet bitmask)
+    {
+        if (!(dataObject instanceof ScalarDS) || ((ScalarDS)dataObject).isTrueColor() || (bitmask != null))
+            return false;
+
+        return ((double)dataObject.getWidth() * dataObject.getHeight()) >= PYRAMID_MIN_PIXELS;
+    }
+
+    /**
+     * Opens the pyramid of the image of the current selection and reads its overview into the image data.
+     * The image is read whole if the dataset cannot be read in strided hyperslabs.
+     *
+     * @throws Exception if the overview could not be read.
+     */
+    private void openPyramid() throws Exception
+    {
+        // tiles are loaded in the background; the image is drawn again with each
+        Runnable redraw = () -> {
+            if (!display.isDisposed())
+                display.asyncExec(() -> {
+                    if ((imageComponent != null) && !imageComponent.isDisposed())
+                        imageComponent.redraw();
+                });
+        };
+        ImagePyramid p =
+            new ImagePyramid(dataset, ImagePyramid.DEFAULT_CACHE_TILES, this::convertTile, redraw);
+
+        try {
+            data    = p.readOverview();
+            pyramid = p;
+            log.trace("openPyramid(): {} levels, overview {}x{}", p.getTopLevel() + 1, getImageWidth(),
+                      getImageHeight());
+        }
+        catch (UnsupportedOperationException ex) {
+            log.debug("openPyramid(): hyperslabs not supported, image read whole: ", ex);
+            p.close();
+        }
+        catch (Exception ex) {
+            p.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops loading the tiles of the image pyramid, if the image is shown through one.
+     */
+    private void closePyramid()
+    {
+        if (pyramid == null)
+            return;
+
+        pyramid.close();
+        pyramid = null;
+    }
+
+    /**
+     * Starts reading ahead the frames next to the one shown, if the image is one of a stack of indexed
+     * images read whole.
+     */
+    private void openPrefetcher()
+    {
+        if ((prefetcher != null) || !is3D || isTrueColor || (pyramid != null) || (bitmask != null))
+            return;
+
+        prefetcher = new FramePrefetcher(dataset, FramePrefetcher.DEFAULT_RADIUS, newFrameConverter());
+        prefetcher.prefetch(curFrame - indexBase, 1, false);
+    }
+
+    /**
+     * Stops reading frames ahead, and gives back the data of the frame shown if it was read ahead.
+     */
+    private void closePrefetcher()
+    {
+        if (prefetcher == null)
+            return;
+
+        prefetcher.close();
+        prefetcher = null;
+        releaseFrameData();
+    }
+
+    /**
+     * Drops the frames read ahead, after the conversion of the data points to pixels has changed, and
+     * reads them again.
+     */
+    private void reloadPrefetchedFrames()
+    {
+        if (prefetcher == null)
+            return;
+
+        prefetcher.clear(newFrameConverter());
+        prefetcher.prefetch(curFrame - indexBase, 1, isPlaying);
+    }
+
+    /**
+     * Returns the conversion of the frames read ahead, with the parameters of the conversion of the frame
+     * shown. The parameters are copied, so that the thread which reads the frames does not read them as
+     * they are changed; the frames are then converted again with a new conversion.
+     */
+    private FramePrefetcher.FrameConverter newFrameConverter()
+    {
+        final boolean isAutoContrast = doAutoGainContrast;
+        final double[] range         = dataRange.clone();
+        final boolean isByteData     = convertByteData;
+        final boolean isTransposed   = !dataset.isDefaultImageOrder();
+        final List<Number> values    = dataset.getFilteredImageValues();
+        final List<Number> filtered  = (values == null) ? null : new ArrayList<>(values);
+
+        return frame -> convertFrame(frame, isAutoContrast, range, isByteData, isTransposed, filtered);
+    }
+
+    /**
+     * Converts the data points of a frame read ahead to the indices of its pixels into the palette, as the
+     * frame would be converted once shown. Called on the thread which reads the frames.
+     *
+     * @param frame          the frame, with its data points
+     * @param isAutoContrast true to compute the auto-contrast of the frame from its data
+     * @param range          the range of the data points mapped to the palette
+     * @param isByteData     true to convert byte data points by their range
+     * @param isTransposed   true if the image is not in the default image order
+     * @param filtered       the values of the image which are shown as transparent, or null
+     *
+     * @return true if the frame is converted
+     */
+    private boolean convertFrame(FramePrefetcher.Frame frame, boolean isAutoContrast, double[] range,
+                                 boolean isByteData, boolean isTransposed, List<Number> filtered)
+    {
+        Object theData  = getUnsignedView(frame.data);
+        int size        = frame.width * frame.height;
+        BufferPool pool = dataset.getBufferPool();
+        byte[] bytes    = (pool != null) ? (byte[])pool.acquire(byte.class, size) : new byte[size];
+
+        // the auto-contrast of each frame is computed from its own data
+        if (isAutoContrast) {
+            frame.gainBias = new double[2];
+            frame.bytes    = bytes;
+            Tools.autoContrastCompute(theData, frame.gainBias, false);
+            return (Tools.autoContrastConvertImageBuffer(theData, bytes, frame.gainBias.clone(), null,
+                                                         false) >= 0);
+        }
+
+        frame.bytes = Tools.getBytes(theData, range.clone(), frame.width, frame.height, isTransposed,
+                                     filtered, isByteData, bytes, frame.invalid);
+        if ((pool != null) && (frame.bytes != bytes))
+            pool.release(bytes);
+
+        return (frame.bytes != null);
+    }
+
+    /**
+     * Shows a frame read ahead, which then belongs to this view.
+     *
+     * @param frame the frame, converted
+     */
+    private void showFrame(FramePrefetcher.Frame frame)
+    {
+        BufferPool pool = dataset.getBufferPool();
+        if ((pool != null) && (imageByteData != null) && (imageByteData != data))
+            pool.release(imageByteData);
+        releaseFrameData();
+
+        data              = frame.data;
+        isFrameDataOwned  = true;
+        imageByteData     = frame.bytes;
+        invalidValueIndex = frame.invalid;
+
+        if (frame.gainBias != null) {
+            gainBias         = frame.gainBias;
+            gainBiasCurrent  = frame.gainBias.clone();
+            gainRangeCurrent = null;
+            if ((dataRange != null) && (dataRange[0] == dataRange[1]))
+                findMinMax(dataRange, null);
+        }
+
+        image = createIndexedImage(imageByteData, imagePalette, frame.width, frame.height);
+        imageComponent.setImage(image);
+    }
+
+    /**
+     * Gives the data of the frame shown back to the buffer pool, if the frame was read ahead.
+     */
+    private void releaseFrameData()
+    {
+        if (!isFrameDataOwned)
+            return;
+
+        // the indices of byte data may be the data itself
+        if (imageByteData == data)
+            imageByteData = null;
+
+        BufferPool pool = dataset.getBufferPool();
+        if (pool != null)
+            pool.release(data);
+        isFrameDataOwned = false;
+    }
+
+    /**
+     * Plays the frames of the image stack in place, from the frame shown, until the play button is released
+     * or the view is closed. The frame shown is that of the time elapsed; the frames which are not read in
+     * time are skipped, so that the frames are not played slower than asked.
+     *
+     * @param fps the frames per second
+     */
+    private void play(int fps)
+    {
+        long frames    = dataset.getDims()[dataset.getSelectedIndex()[2]];
+        long first     = curFrame - indexBase;
+        long startTime = System.nanoTime();
+
+        isPlaying = true;
+
+        display.timerExec(0, new Runnable() {
+            @Override
+            public void run()
+            {
+                if (!isPlaying || shell.isDisposed())
+                    return;
+
+                long elapsed = (System.nanoTime() - startTime) / 1000000L;
+                long desired = (first + elapsed * fps / 1000) % frames;
+
+                showPlayedFrame(desired, frames);
+                display.timerExec(1000 / fps, this);
+            }
+        });
+    }
+
+    /**
+     * Shows the latest frame of the frames played since the frame shown, up to the frame of the time
+     * elapsed, which has been read ahead. Without the frames read ahead, that frame is read now.
+     *
+     * @param desired the frame of the time elapsed
+     * @param frames  the number of frames of the stack
+     */
+    private void showPlayedFrame(long desired, long frames)
+    {
+        long shown = curFrame - indexBase;
+        if (prefetcher == null) {
+            if (desired != shown)
+                gotoPage(desired);
+            return;
+        }
+
+        long behind = Math.min((desired - shown + frames) % frames, 2L * FramePrefetcher.DEFAULT_RADIUS);
+        for (long i = 0; i < behind; i++) {
+            long idx = (desired - i + frames) % frames;
+            if (prefetcher.isLoaded(idx)) {
+                gotoPage(idx);
+                break;
+            }
+        }
+
+        prefetcher.prefetch(desired, 1, true);
+    }
+
+    /**
+     * Converts the data points of a tile of the image pyramid to the indices of its pixels into the
+     * palette, as the overview is converted. Called on the thread which loads the tiles.
+     *
+     * @param tileData the data points of the tile
+     * @param w        the width of the tile
+     * @param h        the height of the tile
+     *
+     * @return the indices of the pixels of the tile, or null if the tile could not be converted
+     */
+    private byte[] convertTile(Object tileData, int w, int h)
+    {
+        Object theData = getUnsignedView(tileData);
+
+        double[] gb = gainBiasCurrent;
+        if (doAutoGainContrast && (gb != null)) {
+            byte[] bytes = new byte[w * h];
+            if (Tools.autoContrastConvertImageBuffer(theData, bytes, gb.clone(), gainRangeCurrent, false) < 0)
+                return null;
+            return bytes;
+        }
+
+        return Tools.getBytes(theData, dataRange.clone(), w, h, !dataset.isDefaultImageOrder(),
+                              dataset.getFilteredImageValues(), convertByteData, null, null);
+    }
+
+    /**
+     * Returns the width of the indexed image, which is that of the overview for an image pyramid.
+     *
+     * @return the width of the image in pixels
+     */
+    private long getImageWidth()
+    {
+        return (pyramid != null) ? pyramid.getLevelWidth(pyramid.getTopLevel()) : dataset.getWidth();
+    }
+
+    /**
+     * Returns the height of the indexed image, which is that of the overview for an image pyramid.
+     *
+     * @return the height of the image in pixels
+     */
+    private long getImageHeight()
+    {
+        return (pyramid != null) ? pyramid.getLevelHeight(pyramid.getTopLevel()) : dataset.getHeight();
+    }
+
+    /**
+     * Returns the data of an indexed image, or a part of it, as passed to the conversion and statistics
+     * methods of Tools. Unsigned integers are wrapped in a view which widens them as they are read.
+     *
+     * @param theData the data of the image or of a part of it
+     *
+     * @return the data, or a view of the data
+     */
+    private Object getUnsignedView(Object theData)
+    {
+        if (!isTrueColor && dataset.getDatatype().isUnsigned() && UnsignedView.isSupported(theData))
+            return new UnsignedView(theData);
+
+        return theData;
+    }
+
+    /**
+     * Finds the min and max values of the image data from the statistics cached by the dataset.
+     *
+     * @param minmax    the min and max values of the data.
+     * @param fillValue the missing value or fill value, excluded from the min and max, or null.
+     */
+    private void findMinMax(double[] minmax, Object fillValue)
+    {
+        DataStatistics stats = dataset.getStatistics(getUnsignedView(data), fillValue, null, 0);
+        if (stats == null)
+            return;
+
+        // every value is the fill value, NaN or infinite
+        if (stats.getCount() == 0) {
+            minmax[0] = stats.getFirstValue();
+            minmax[1] = stats.getFirstValue();
+        }
+        else {
+            minmax[0] = stats.getMin();
+            minmax[1] = stats.getMax();
+        }
+    }
+
     /**
      * Compute image data from autogain.
      *
@@ -1542,34 +2033,28 @@ public class DefaultImageView implements ImageView {
     {
         boolean retValue = true;
 
-        // data is unsigned short. Convert image byte data using auto-contrast
-        // image algorithm
+        // convert image byte data using auto-contrast image algorithm, straight from the raw data
+        Object theData = getUnsignedView(data);
 
         if (gainBias == null) { // calculate auto_gain only once
             gainBias = new double[2];
-            Tools.autoContrastCompute(data, gainBias, dataset.getDatatype().isUnsigned());
+            Tools.autoContrastCompute(theData, gainBias, false);
         }
 
         if (gb == null)
             gb = gainBias;
 
-        autoGainData =
-            Tools.autoContrastApply(data, autoGainData, gb, range, dataset.getDatatype().isUnsigned());
-
-        if (autoGainData != null) {
-            if ((imageByteData == null) || (imageByteData.length != Array.getLength(data))) {
-                imageByteData = new byte[Array.getLength(data)];
-            }
-            retValue = (Tools.autoContrastConvertImageBuffer(autoGainData, imageByteData, true) >= 0);
+        if ((imageByteData == null) || (imageByteData.length != Array.getLength(data))) {
+            imageByteData = new byte[Array.getLength(data)];
         }
-        else
-            retValue = false;
+        retValue = (Tools.autoContrastConvertImageBuffer(theData, imageByteData, gb, range, false) >= 0);
 
         if (gainBiasCurrent == null)
             gainBiasCurrent = new double[2];
 
         gainBiasCurrent[0] = gb[0];
         gainBiasCurrent[1] = gb[1];
+        gainRangeCurrent   = (range == null) ? null : range.clone();
 
         return retValue;
     }
@@ -1577,7 +2062,9 @@ public class DefaultImageView implements ImageView {
     // implementing ImageObserver
     private void zoomIn()
     {
-        if (zoomFactor >= 1)
+        if (pyramid != null)
+            zoomTo(zoomFactor * 2);
+        else if (zoomFactor >= 1)
             zoomTo(zoomFactor + 1.0f);
         else
             zoomTo(zoomFactor + 0.125f);
@@ -1586,7 +2073,9 @@ public class DefaultImageView implements ImageView {
     // implementing ImageObserver
     private void zoomOut()
     {
-        if (zoomFactor > 1)
+        if (pyramid != null)
+            zoomTo(zoomFactor / 2);
+        else if (zoomFactor > 1)
             zoomTo(zoomFactor - 1.0f);
         else
             zoomTo(zoomFactor - 0.125f);
@@ -1595,8 +2084,11 @@ public class DefaultImageView implements ImageView {
     // implementing ImageObserver
     private void zoomTo(float zf)
     {
-        if (zf > 8)
-            zf = 8;
+        // the overview of an image pyramid is zoomed into down to the pixels of the dataset
+        float maxZoom = (pyramid != null) ? 8.0f * pyramid.getOverviewScale() : 8.0f;
+
+        if (zf > maxZoom)
+            zf = maxZoom;
         else if (zf < 0.125)
             zf = 0.125f;
 
@@ -1684,7 +2176,7 @@ public class DefaultImageView implements ImageView {
 
         // Java only allows ints for array indices, may cause an issue with a dataset of width
         // larger than an int
-        int w          = (int)dataset.getWidth();
+        int w          = (int)getImageWidth();
         int x0         = (int)(rec.x / zoomFactor);
         int y0         = (int)(rec.y / zoomFactor);
         int x          = x0 + (int)(rec.width / zoomFactor);
@@ -1703,7 +2195,7 @@ public class DefaultImageView implements ImageView {
         double[] xRange = originalRange;
         if (xRange == null || xRange[0] == xRange[1]) {
             xRange = new double[2];
-            Tools.findMinMax(data, xRange, null);
+            findMinMax(xRange, null);
         }
 
         Chart cv =
@@ -1722,9 +2214,7 @@ public class DefaultImageView implements ImageView {
     // implementing ImageObserver
     private void flip(int direction)
     {
-        ImageFilter filter = new FlipFilter(direction);
-
-        if (applyImageFilter(filter)) {
+        if (applyImageFilter(new ImageFilterChain().flip(direction))) {
             // toggle flip flag
             if (direction == FLIP_HORIZONTAL)
                 isHorizontalFlipped = !isHorizontalFlipped;
@@ -1739,8 +2229,7 @@ public class DefaultImageView implements ImageView {
         if (!(direction == ROTATE_CW_90 || direction == ROTATE_CCW_90))
             return;
 
-        Rotate90Filter filter = new Rotate90Filter(direction);
-        applyImageFilter(filter);
+        applyImageFilter(new ImageFilterChain().rotate(direction));
 
         if (direction == ROTATE_CW_90) {
             rotateCount++;
@@ -1755,7 +2244,13 @@ public class DefaultImageView implements ImageView {
     }
 
     // implementing ImageObserver
-    private void contour(int level) { applyImageFilter(new ContourFilter(level)); }
+    private void contour(int level) { applyImageFilter(new ImageFilterChain().contour(level)); }
+
+    // implementing ImageObserver
+    private void smooth(boolean isMedian)
+    {
+        applyImageFilter(isMedian ? new ImageFilterChain().median() : new ImageFilterChain().gaussian(1.0));
+    }
 
     /**
      * Apply contrast/brightness to unsigned short integer.
@@ -1766,11 +2261,17 @@ public class DefaultImageView implements ImageView {
     private void applyAutoGain(double[] gb, double[] range)
     {
         if (computeAutoGainImageData(gb, range)) {
-            long w = dataset.getWidth();
-            long h = dataset.getHeight();
+            long w = getImageWidth();
+            long h = getImageHeight();
             image  = createIndexedImage(imageByteData, imagePalette, w, h);
             imageComponent.setImage(image);
             zoomTo(zoomFactor);
+
+            if (pyramid != null) {
+                pyramid.clear();
+                isPyramidShown = true;
+            }
+            reloadPrefetchedFrames();
         }
     }
 
@@ -2056,42 +2557,40 @@ public class DefaultImageView implements ImageView {
 
     private void setImageDirection()
     {
-        boolean isHF = isHorizontalFlipped;
-        boolean isVF = isVerticalFlipped;
-        int rc       = rotateCount;
-
-        if (isHF || isVF || rc != 0) {
-            isHorizontalFlipped = false;
-            isVerticalFlipped   = false;
-            rotateCount         = 0;
-
-            if (isHF)
-                flip(FLIP_HORIZONTAL);
+        // the flips and rotations are composed into one pass over the image
+        ImageFilterChain filters = new ImageFilterChain();
 
-            if (isVF)
-                flip(FLIP_VERTICAL);
+        if (isHorizontalFlipped || isVerticalFlipped || rotateCount != 0) {
+            if (isHorizontalFlipped)
+                filters.flip(FLIP_HORIZONTAL);
 
-            while (rc > 0) {
-                rotate(ROTATE_CW_90);
-                rc--;
-            }
+            if (isVerticalFlipped)
+                filters.flip(FLIP_VERTICAL);
 
-            while (rc < 0) {
-                rotate(ROTATE_CCW_90);
-                rc++;
-            }
+            for (int i = 0; i < Math.abs(rotateCount); i++)
+                filters.rotate((rotateCount > 0) ? ROTATE_CW_90 : ROTATE_CCW_90);
         }
         else {
-            if (imageOrigin == Origin.LOWER_LEFT)
-                flip(FLIP_VERTICAL);
-            else if (imageOrigin == Origin.UPPER_RIGHT)
-                flip(FLIP_HORIZONTAL);
+            if (imageOrigin == Origin.LOWER_LEFT) {
+                filters.flip(FLIP_VERTICAL);
+                isVerticalFlipped = true;
+            }
+            else if (imageOrigin == Origin.UPPER_RIGHT) {
+                filters.flip(FLIP_HORIZONTAL);
+                isHorizontalFlipped = true;
+            }
             if (imageOrigin == Origin.LOWER_RIGHT) {
-                rotate(ROTATE_CW_90);
-                rotate(ROTATE_CW_90);
+                filters.rotate(ROTATE_CW_90).rotate(ROTATE_CW_90);
+                rotateCount = 2;
             }
         }
 
+        if (!filters.isEmpty() && !applyImageFilter(filters)) {
+            isHorizontalFlipped = false;
+            isVerticalFlipped   = false;
+            rotateCount         = 0;
+        }
+
         zoomTo(zoomFactor);
     }
 
@@ -2126,12 +2625,27 @@ public class DefaultImageView implements ImageView {
             return;
         }
 
-        start[selectedIndex[2]] = idx;
+        int direction = (idx < curFrame - indexBase) ? -1 : 1;
+
+        // the indices of byte data may be the data, which the dataset gives back to the pool
+        if (!isFrameDataOwned && (imageByteData == data))
+            imageByteData = null;
+
+        start[selectedIndex[2]] = idx;
         curFrame                = idx + indexBase;
         dataset.clearData();
         image    = null;
         gainBias = null;
-        imageComponent.setImage(getImage());
+
+        // a frame read ahead is shown at once, other frames are read now
+        FramePrefetcher.Frame frame = (prefetcher != null) ? prefetcher.takeFrame(idx) : null;
+        if (frame != null) {
+            showFrame(frame);
+        }
+        else {
+            releaseFrameData();
+            imageComponent.setImage(getImage());
+        }
         frameField.setText(String.valueOf(curFrame));
 
         isHorizontalFlipped = false;
@@ -2146,6 +2660,10 @@ public class DefaultImageView implements ImageView {
             rotate(ROTATE_CW_90);
             rotate(ROTATE_CW_90);
         }
+
+        // the frames played are read ahead as they are played
+        if ((prefetcher != null) && !isPlaying)
+            prefetcher.prefetch(idx, direction, false);
     }
 
     /**
@@ -2157,75 +2675,7 @@ public class DefaultImageView implements ImageView {
      */
     private org.eclipse.swt.graphics.Image convertBufferedImageToSWTImage(BufferedImage buffimage)
     {
-        if (buffimage.getColorModel() instanceof DirectColorModel) {
-            DirectColorModel colorModel = (DirectColorModel)buffimage.getColorModel();
-            PaletteData palette =
-                new PaletteData(colorModel.getRedMask(), colorModel.getGreenMask(), colorModel.getBlueMask());
-            ImageData imgData = new ImageData(buffimage.getWidth(), buffimage.getHeight(),
-                                              colorModel.getPixelSize(), palette);
-
-            for (int y = 0; y < imgData.height; y++) {
-                for (int x = 0; x < imgData.width; x++) {
-                    int rgb   = buffimage.getRGB(x, y);
-                    int pixel = palette.getPixel(new RGB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF));
-                    imgData.setPixel(x, y, pixel);
-                    if (colorModel.hasAlpha()) {
-                        imgData.setAlpha(x, y, (rgb >> 24) & 0xFF);
-                    }
-                }
-            }
-
-            return new org.eclipse.swt.graphics.Image(display, imgData);
-        }
-        else if (buffimage.getColorModel() instanceof IndexColorModel) {
-            IndexColorModel colorModel = (IndexColorModel)buffimage.getColorModel();
-            int size                   = colorModel.getMapSize();
-            byte[] reds                = new byte[size];
-            byte[] greens              = new byte[size];
-            byte[] blues               = new byte[size];
-            colorModel.getReds(reds);
-            colorModel.getGreens(greens);
-            colorModel.getBlues(blues);
-            RGB[] rgbs = new RGB[size];
-            for (int i = 0; i < rgbs.length; i++) {
-                rgbs[i] = new RGB(reds[i] & 0xFF, greens[i] & 0xFF, blues[i] & 0xFF);
-            }
-            PaletteData palette      = new PaletteData(rgbs);
-            ImageData imgData        = new ImageData(buffimage.getWidth(), buffimage.getHeight(),
-                                                     colorModel.getPixelSize(), palette);
-            imgData.transparentPixel = colorModel.getTransparentPixel();
-            WritableRaster raster    = buffimage.getRaster();
-            int[] pixelArray         = new int[1];
-            for (int y = 0; y < imgData.height; y++) {
-                for (int x = 0; x < imgData.width; x++) {
-                    raster.getPixel(x, y, pixelArray);
-                    imgData.setPixel(x, y, pixelArray[0]);
-                }
-            }
-
-            return new org.eclipse.swt.graphics.Image(display, imgData);
-        }
-        else if (buffimage.getColorModel() instanceof ComponentColorModel) {
-            ComponentColorModel colorModel = (ComponentColorModel)buffimage.getColorModel();
-            // ASSUMES: 3 BYTE BGR IMAGE TYPE
-            PaletteData palette = new PaletteData(0x0000FF, 0x00FF00, 0xFF0000);
-            ImageData imgData   = new ImageData(buffimage.getWidth(), buffimage.getHeight(),
-                                                colorModel.getPixelSize(), palette);
-            // This is valid because we are using a 3-byte Data model with no transparent pixels
-            imgData.transparentPixel = -1;
-            WritableRaster raster    = buffimage.getRaster();
-            int[] pixelArray         = new int[3];
-            for (int y = 0; y < imgData.height; y++) {
-                for (int x = 0; x < imgData.width; x++) {
-                    raster.getPixel(x, y, pixelArray);
-                    int pixel = palette.getPixel(new RGB(pixelArray[0], pixelArray[1], pixelArray[2]));
-                    imgData.setPixel(x, y, pixel);
-                }
-            }
-            return new org.eclipse.swt.graphics.Image(display, imgData);
-        }
-
-        return null;
+        return new org.eclipse.swt.graphics.Image(display, Tools.toImageData(buffimage));
     }
 
     /**
@@ -2315,14 +2765,13 @@ public class DefaultImageView implements ImageView {
         return bufferedImage;
     }
 
-    private boolean applyImageFilter(ImageFilter filter)
+    private boolean applyImageFilter(ImageFilterChain filters)
     {
-        boolean status              = true;
-        ImageProducer imageProducer = image.getSource();
+        boolean status = true;
 
         try {
-            image =
-                Tools.toBufferedImage(toolkit.createImage(new FilteredImageSource(imageProducer, filter)));
+            image          = filters.apply(Tools.toBufferedImage(image));
+            isPyramidShown = false;
             imageComponent.setImage(image);
             zoomTo(zoomFactor);
         }
@@ -2341,14 +2790,15 @@ public class DefaultImageView implements ImageView {
             applyAutoGain(gainBiasCurrent, newRange);
         }
         else {
-            long w = dataset.getWidth();
-            long h = dataset.getHeight();
+            long w = getImageWidth();
+            long h = getImageHeight();
 
             invalidValueIndex.clear(); // data range changed. need to reset
 
-            // invalid values
-            imageByteData = Tools.getBytes(data, newRange, w, h, !dataset.isDefaultImageOrder(),
-                                           dataset.getFilteredImageValues(), true, null, invalidValueIndex);
+            // only the indices are computed again, into the same buffer, from the raw data already read
+            imageByteData = Tools.getBytes(getUnsignedView(data), newRange, w, h,
+                                           !dataset.isDefaultImageOrder(), dataset.getFilteredImageValues(),
+                                           true, imageByteData, invalidValueIndex);
 
             image = createIndexedImage(imageByteData, imagePalette, w, h);
             setImage(image);
@@ -2358,6 +2808,16 @@ public class DefaultImageView implements ImageView {
 
         dataRange[0] = newRange[0];
         dataRange[1] = newRange[1];
+
+        // the tiles are converted again with the new range, as the overview is
+        if (pyramid != null) {
+            convertByteData = true;
+            isPyramidShown  = true;
+            pyramid.clear();
+        }
+
+        // and so are the frames read ahead
+        reloadPrefetchedFrames();
     }
 
     private void writeSelectionToImage()
@@ -2554,6 +3014,10 @@ public class DefaultImageView implements ImageView {
         /* The BufferedImage is converted to an SWT Image for dislay */
         private org.eclipse.swt.graphics.Image convertedImage;
 
+        /* The tiles of the image scaled to the zoom factor, and the tiles of the image pyramid */
+        private final RenderedTileCache renderedTiles = new RenderedTileCache(RENDER_CACHE_TILES);
+        private final RenderedTileCache pyramidTiles  = new RenderedTileCache(RENDER_CACHE_TILES);
+
         private Dimension originalSize;
         private Dimension imageSize;
         private Point scrollDim = null;
@@ -2587,6 +3051,8 @@ public class DefaultImageView implements ImageView {
                 {
                     if (convertedImage != null && !convertedImage.isDisposed())
                         convertedImage.dispose();
+                    renderedTiles.clear();
+                    pyramidTiles.clear();
                 }
             });
 
@@ -2607,25 +3073,30 @@ public class DefaultImageView implements ImageView {
                             int w = x1 - x0;
                             int h = y1 - y0;
 
+                            // only the outlines of the previous and new selections need a repaint
+                            org.eclipse.swt.graphics.Rectangle dirty = new org.eclipse.swt.graphics.Rectangle(
+                                selectedArea.x, selectedArea.y, selectedArea.width, selectedArea.height);
+                            dirty.add(new org.eclipse.swt.graphics.Rectangle(x0, y0, w, h));
+
                             selectedArea.setBounds(x0, y0, w, h);
                             double ratio = 1.0 / zoomFactor;
 
                             originalSelectedArea.setBounds((int)(x0 * ratio), (int)(y0 * ratio),
                                                            (int)(w * ratio), (int)(h * ratio));
+
+                            redraw(dirty.x, dirty.y, dirty.width + 1, dirty.height + 1, false);
                         }
                         else {
-                            if ((hbar != null) && hbar.isVisible()) {
-                                int dx = startPosition.x - currentPosition.x;
-                                hbar.setSelection(hbar.getSelection() + dx);
-                            }
-
-                            if ((vbar != null) && vbar.isVisible()) {
-                                int dy = startPosition.y - currentPosition.y;
-                                vbar.setSelection(vbar.getSelection() + dy);
-                            }
+                            // moving the origin scrolls the component, which repaints the exposed region
+                            Point origin = imageScroller.getOrigin();
+                            int dx       = ((hbar != null) && hbar.isVisible())
+                                               ? startPosition.x - currentPosition.x
+                                               : 0;
+                            int dy       = ((vbar != null) && vbar.isVisible())
+                                               ? startPosition.y - currentPosition.y
+                                               : 0;
+                            imageScroller.setOrigin(origin.x + dx, origin.y + dy);
                         }
-
-                        redraw();
                     }
 
                     if (showValues) {
@@ -2706,12 +3177,14 @@ public class DefaultImageView implements ImageView {
                 @Override
                 public void paintControl(PaintEvent e)
                 {
-                    GC gc = e.gc;
+                    GC gc                                   = e.gc;
+                    org.eclipse.swt.graphics.Rectangle clip =
+                        new org.eclipse.swt.graphics.Rectangle(e.x, e.y, e.width, e.height);
 
-                    org.eclipse.swt.graphics.Rectangle sourceBounds = convertedImage.getBounds();
+                    paintImage(gc, clip);
 
-                    gc.drawImage(convertedImage, 0, 0, sourceBounds.width, sourceBounds.height, 0, 0,
-                                 imageSize.width, imageSize.height);
+                    if ((pyramid != null) && isPyramidShown)
+                        paintTiles(gc, clip);
 
                     if ((selectedArea.width > 0) && (selectedArea.height > 0)) {
                         gc.setForeground(Display.getCurrent().getSystemColor(SWT.COLOR_RED));
@@ -2729,61 +3202,136 @@ public class DefaultImageView implements ImageView {
         }
 
         /**
-         * Create an image using multiple step bilinear. See details at
-         * http://today.java.net/pub/a/today/2007/04/03/perils-of-image-getscaledinstance.html
+         * Draws the image scaled to the zoom factor in a region of the component. The image is split into
+         * tiles of about RENDER_TILE_SIZE pixels of the component, and only the tiles in the region are
+         * scaled, once for each zoom factor; a repaint, such as after a scroll, draws the cached tiles.
          *
-         * @param img          the original image to be scaled
-         * @param targetWidth  the desired width of the scaled instance
-         * @param targetHeight the desired height of the scaled instance
-         * @param highquality  the quality desired
-         *
-         * @return a scaled version of the original
+         * @param gc   the graphics context of the component
+         * @param clip the region to draw
          */
-        private Image multiBilinear(Image img, int targetWidth, int targetHeight, boolean highquality)
+        private void paintImage(GC gc, org.eclipse.swt.graphics.Rectangle clip)
         {
-            Image ret = img;
-            int w     = img.getWidth(null) / 2;
-            int h     = img.getHeight(null) / 2;
-
-            // only do multiple step bilinear for down scale more than two times
-            if (!highquality || w <= targetWidth || h <= targetHeight)
-                return ret;
-
-            int type = BufferedImage.TYPE_INT_RGB;
-            if (image instanceof BufferedImage) {
-                BufferedImage tmp = (BufferedImage)image;
-                if (tmp.getColorModel().hasAlpha())
-                    type = BufferedImage.TYPE_INT_ARGB;
-            }
-            else {
-                PixelGrabber pg = new PixelGrabber(image, 0, 0, 1, 1, false);
-                ColorModel cm   = pg.getColorModel();
-                if (cm != null && cm.hasAlpha())
-                    type = BufferedImage.TYPE_INT_ARGB;
-            }
+            org.eclipse.swt.graphics.Rectangle source = convertedImage.getBounds();
+            if ((source.width <= 0) || (source.height <= 0) || (imageSize.width <= 0) ||
+                (imageSize.height <= 0))
+                return;
+
+            // a tile is a block of whole pixels of the image, so that the scaled tiles join without seams
+            double sx    = (double)imageSize.width / source.width;
+            double sy    = (double)imageSize.height / source.height;
+            int tileW    = Math.max(1, (int)Math.round(RENDER_TILE_SIZE / sx));
+            int tileH    = Math.max(1, (int)Math.round(RENDER_TILE_SIZE / sy));
+            int lastCol  = (source.width - 1) / tileW;
+            int lastRow  = (source.height - 1) / tileH;
+            int firstCol = Math.max(0, (int)(clip.x / sx) / tileW);
+            int firstRow = Math.max(0, (int)(clip.y / sy) / tileH);
+            int endCol   = Math.min(lastCol, (int)((clip.x + clip.width) / sx) / tileW);
+            int endRow   = Math.min(lastRow, (int)((clip.y + clip.height) / sy) / tileH);
+
+            for (int row = firstRow; row <= endRow; row++) {
+                int srcY = row * tileH;
+                int srcH = Math.min(tileH, source.height - srcY);
+                int y0   = (int)Math.round(srcY * sy);
+                int y1   = (int)Math.round((srcY + srcH) * sy);
+                if (y1 <= y0)
+                    continue;
+
+                for (int col = firstCol; col <= endCol; col++) {
+                    int srcX = col * tileW;
+                    int srcW = Math.min(tileW, source.width - srcX);
+                    int x0   = (int)Math.round(srcX * sx);
+                    int x1   = (int)Math.round((srcX + srcW) * sx);
+                    if (x1 <= x0)
+                        continue;
+
+                    RenderedTileCache.TileKey key = new RenderedTileCache.TileKey(zoomFactor, col, row);
+                    org.eclipse.swt.graphics.Image tile = renderedTiles.get(key);
+                    if (tile == null) {
+                        tile = new org.eclipse.swt.graphics.Image(display, x1 - x0, y1 - y0);
+
+                        // transparent pixels of the image show the background of the component
+                        GC tileGC = new GC(tile);
+                        tileGC.setBackground(getBackground());
+                        tileGC.fillRectangle(0, 0, x1 - x0, y1 - y0);
+                        tileGC.drawImage(convertedImage, srcX, srcY, srcW, srcH, 0, 0, x1 - x0, y1 - y0);
+                        tileGC.dispose();
 
-            do {
-                BufferedImage tmp = new BufferedImage(w, h, type);
-                Graphics2D g2     = tmp.createGraphics();
-                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                g2.drawImage(ret, 0, 0, w, h, null);
-                g2.dispose();
-                ret = tmp;
-
-                w /= 2;
-                if (w < targetWidth) {
-                    w = targetWidth;
+                        renderedTiles.put(key, tile);
+                    }
+
+                    gc.drawImage(tile, x0, y0);
                 }
+            }
+        }
 
-                h /= 2;
-                if (h < targetHeight) {
-                    h = targetHeight;
+        /**
+         * Draws the tiles of the image pyramid loaded for the zoom factor over the overview, in a region of
+         * the component, and requests the tiles of the part of the image which is visible. A tile which is
+         * not loaded yet is replaced by the finest coarser tile loaded.
+         *
+         * @param gc   the graphics context of the component
+         * @param clip the region to draw
+         */
+        private void paintTiles(GC gc, org.eclipse.swt.graphics.Rectangle clip)
+        {
+            int level = pyramid.getLevel(zoomFactor);
+            if (level >= pyramid.getTopLevel())
+                return;
+
+            // the size of a tile of the level in pixels of the component
+            double tileSize = ImagePyramid.TILE_SIZE * getTileScale(level);
+
+            Point origin                            = imageScroller.getOrigin();
+            org.eclipse.swt.graphics.Rectangle view = imageScroller.getClientArea();
+            pyramid.requestTiles(level, (int)(origin.x / tileSize), (int)(origin.y / tileSize),
+                                 (int)((origin.x + view.width) / tileSize),
+                                 (int)((origin.y + view.height) / tileSize));
+
+            // the coarser tiles are drawn first, so that they do not hide the finer ones
+            List<ImagePyramid.Tile> tiles = new ArrayList<>();
+            for (int row = (int)(clip.y / tileSize); row <= (int)((clip.y + clip.height) / tileSize); row++) {
+                for (int col = (int)(clip.x / tileSize); col <= (int)((clip.x + clip.width) / tileSize);
+                     col++) {
+                    ImagePyramid.Tile tile = pyramid.findTile(level, col, row);
+                    if ((tile != null) && !tiles.contains(tile))
+                        tiles.add(tile);
                 }
+            }
+            tiles.sort((a, b) -> b.level - a.level);
+
+            PaletteData palette = null;
+            for (ImagePyramid.Tile tile : tiles) {
+                double scale = getTileScale(tile.level);
+                int x0       = (int)Math.round(tile.column * ImagePyramid.TILE_SIZE * scale);
+                int y0       = (int)Math.round(tile.row * ImagePyramid.TILE_SIZE * scale);
+                int x1       = (int)Math.round((tile.column * ImagePyramid.TILE_SIZE + tile.width) * scale);
+                int y1       = (int)Math.round((tile.row * ImagePyramid.TILE_SIZE + tile.height) * scale);
+
+                // a tile keeps its image until the palette changes or the pyramid reloads it
+                org.eclipse.swt.graphics.Image tileImage = pyramidTiles.get(tile);
+                if (tileImage == null) {
+                    if (palette == null) {
+                        RGB[] rgbs = new RGB[256];
+                        for (int i = 0; i < 256; i++)
+                            rgbs[i] = new RGB(imagePalette[0][i] & 0xff, imagePalette[1][i] & 0xff,
+                                              imagePalette[2][i] & 0xff);
+                        palette = new PaletteData(rgbs);
+                    }
 
-            } while (w != targetWidth || h != targetHeight);
+                    tileImage = new org.eclipse.swt.graphics.Image(
+                        display, new ImageData(tile.width, tile.height, 8, palette, 1, tile.bytes));
+                    pyramidTiles.put(tile, tileImage);
+                }
+                gc.drawImage(tileImage, 0, 0, tile.width, tile.height, x0, y0, x1 - x0, y1 - y0);
+            }
+        }
 
-            return ret;
+        /**
+         * Returns the size of a pixel of a level of the image pyramid in pixels of the component.
+         */
+        private double getTileScale(int level)
+        {
+            return zoomFactor * (double)(1L << level) / pyramid.getOverviewScale();
         }
 
         private void showPixelValue(int x, int y)
@@ -2818,11 +3366,14 @@ public class DefaultImageView implements ImageView {
                 y = h - 1 - y;
             }
 
+            // a pixel of the overview of an image pyramid is the first of a block of pixels of the dataset
+            long scale = (pyramid != null) ? pyramid.getOverviewScale() : 1;
+
             strBuff.setLength(0); // reset the string buffer
             strBuff.append("x=")
-                .append(x + indexBase)
+                .append(x * scale + indexBase)
                 .append(",   y=")
-                .append(y + indexBase)
+                .append(y * scale + indexBase)
                 .append(",   value=");
 
             if (isTrueColor) {
@@ -2844,10 +3395,10 @@ public class DefaultImageView implements ImageView {
                     i2 = i0 + 2;          // index for the third pixel
                 }
 
-                if (dataset.getDatatype().isUnsigned() && !isUnsignedConverted) {
-                    r = String.valueOf(convertUnsignedPoint(i0));
-                    g = String.valueOf(convertUnsignedPoint(i1));
-                    b = String.valueOf(convertUnsignedPoint(i2));
+                if (dataset.getDatatype().isUnsigned()) {
+                    r = Long.toUnsignedString(convertUnsignedPoint(i0));
+                    g = Long.toUnsignedString(convertUnsignedPoint(i1));
+                    b = Long.toUnsignedString(convertUnsignedPoint(i2));
                 }
                 else {
                     r = String.valueOf(Array.get(data, i0));
@@ -2865,8 +3416,8 @@ public class DefaultImageView implements ImageView {
                 else
                     idx = y * w + x;
 
-                if (dataset.getDatatype().isUnsigned() && !isUnsignedConverted) {
-                    strBuff.append(convertUnsignedPoint(idx));
+                if (dataset.getDatatype().isUnsigned()) {
+                    strBuff.append(Long.toUnsignedString(convertUnsignedPoint(idx)));
                 }
                 else {
                     strBuff.append(Array.get(data, idx));
@@ -2908,6 +3459,10 @@ public class DefaultImageView implements ImageView {
                     l = i;
                 }
             }
+            else if (NT == 'J') {
+                // the bits of an unsigned 64-bit integer
+                l = Array.getLong(data, idx);
+            }
 
             return l;
         }
@@ -2943,6 +3498,8 @@ public class DefaultImageView implements ImageView {
             /* Make sure to dispose the old image first so resources aren't leaked */
             if (convertedImage != null && !convertedImage.isDisposed())
                 convertedImage.dispose();
+            renderedTiles.clear();
+            pyramidTiles.clear();
 
             convertedImage = convertBufferedImageToSWTImage((BufferedImage)img);
             if (convertedImage != null)
@@ -2960,655 +3517,6 @@ public class DefaultImageView implements ImageView {
         }
     }
 
-    /**
-     * FlipFilter creates image filter to flip image horizontally or vertically.
-     */
-    public static class FlipFilter extends ImageFilter {
-        /** flip direction. */
-        private int direction;
-
-        /** pixel value. */
-        private int[] raster = null;
-
-        /** width & height. */
-        private int imageWidth;
-        private int imageHeight;
-
-        /**
-         * Constructs an image filter to flip horizontally or vertically.
-         *
-         * @param d
-         *            the flip direction.
-         */
-        public FlipFilter(int d)
-        {
-            if (d < FLIP_HORIZONTAL)
-                d = FLIP_HORIZONTAL;
-            else if (d > FLIP_VERTICAL)
-                d = FLIP_VERTICAL;
-
-            direction = d;
-        }
-
-        @Override
-        public void setDimensions(int w, int h)
-        {
-            imageWidth  = w;
-            imageHeight = h;
-
-            // specify the raster
-            if (raster == null)
-                raster = new int[imageWidth * imageHeight];
-
-            consumer.setDimensions(imageWidth, imageHeight);
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, byte[] pixels, int off,
-                              int scansize)
-        {
-            int srcoff = off;
-            int dstoff = y * imageWidth + x;
-            for (int yc = 0; yc < h; yc++) {
-                for (int xc = 0; xc < w; xc++)
-                    raster[dstoff++] = model.getRGB(pixels[srcoff++] & 0xff);
-
-                srcoff += (scansize - w);
-                dstoff += (imageWidth - w);
-            }
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, int[] pixels, int off,
-                              int scansize)
-        {
-            int srcoff = off;
-            int dstoff = y * imageWidth + x;
-
-            for (int yc = 0; yc < h; yc++) {
-                for (int xc = 0; xc < w; xc++)
-                    raster[dstoff++] = model.getRGB(pixels[srcoff++]);
-                srcoff += (scansize - w);
-                dstoff += (imageWidth - w);
-            }
-        }
-
-        @Override
-        public void imageComplete(int status)
-        {
-            if ((status == IMAGEERROR) || (status == IMAGEABORTED)) {
-                consumer.imageComplete(status);
-                return;
-            }
-
-            int[] pixels = new int[imageWidth];
-            for (int y = 0; y < imageHeight; y++) {
-                if (direction == FLIP_VERTICAL) {
-                    // grab pixel values of the target line ...
-                    int pos = (imageHeight - 1 - y) * imageWidth;
-                    for (int kk = 0; kk < imageWidth; kk++)
-                        pixels[kk] = raster[pos + kk];
-                }
-                else {
-                    int pos = y * imageWidth;
-                    for (int kk = 0; kk < imageWidth; kk++)
-                        pixels[kk] = raster[pos + kk];
-
-                    // swap the pixel values of the target line
-                    int hw = imageWidth / 2;
-                    for (int kk = 0; kk < hw; kk++) {
-                        int tmp                     = pixels[kk];
-                        pixels[kk]                  = pixels[imageWidth - kk - 1];
-                        pixels[imageWidth - kk - 1] = tmp;
-                    }
-                }
-
-                // consumer it ....
-                consumer.setPixels(0, y, imageWidth, 1, ColorModel.getRGBdefault(), pixels, 0, imageWidth);
-            } // (int y = 0; y < imageHeight; y++)
-
-            // complete ?
-            consumer.imageComplete(status);
-        }
-    } // private class FlipFilter extends ImageFilter
-
-    /**
-     * Apply general brightness/contrast algorithm. For details, visit
-     * http://www.developerfusion.co.uk/
-     *
-     * The general algorithm is represented by: If Brighten = True New_Value =
-     * Old_Value + Adjustment_Amount Else New_Value = Old_Value -
-     * Adjustment_Amount If New_Value < Value_Minimum New_Value = Value_Minimum
-     * If New_Value > Value_Maximum New_Value = Value_Maximum
-     *
-     * Contrast is a complicated operation. It is hard to formulate a
-     * "general algorithm". Here is the closest representation
-     * (Contrast_Value=[0, 2]):
-     *
-     * //Converts to a percent //[0, 1] New_Value = Old_Value / 255
-     *
-     * //Centers on 0 instead of .5 //[-.5, .5] New_Value -= 0.5
-     *
-     * //Adjusts by Contrast_Value //[-127.5, 127.5], usually [-1, 1] New_Value
-     * *= Contrast_Value
-     *
-     * //Re-add .5 (un-center over 0) //[-127, 128] New_Value += 0.5
-     *
-     * //Re-multiply by 255 (un-convert to percent) //[-32385, 32640], usually
-     * [0, 255] New_Value *= 255 //Clamp [0, 255] If(New_Value > 255) New_Value
-     * = 255 If(New_Value < 0) New_Value = 0
-     */
-    private class BrightnessFilter extends RGBImageFilter {
-        // brightness level = [-200, 200]
-        int brightLevel = 0;
-
-        // contrast level [0, 4]
-        float contrastLevel = 0;
-
-        BrightnessFilter(int blevel, int clevel)
-        {
-            if (blevel < -100)
-                brightLevel = -100;
-            else if (blevel > 100)
-                brightLevel = 100;
-            else
-                brightLevel = blevel;
-            brightLevel *= 2;
-
-            if (clevel < -100)
-                clevel = -100;
-            else if (clevel > 100)
-                clevel = 100;
-
-            if (clevel > 0)
-                contrastLevel = (clevel / 100f + 1) * 2;
-            else if (clevel < 0)
-                contrastLevel = (clevel / 100f + 1) / 2;
-            else
-                contrastLevel = 0;
-
-            canFilterIndexColorModel = true;
-        }
-
-        @Override
-        public int filterRGB(int x, int y, int rgb)
-        {
-            // adjust brightness first, then adjust contrast
-            // it gives more color depth
-
-            if (brightLevel != 0) {
-                int r = (rgb & 0x00ff0000) >> 16;
-                int g = (rgb & 0x0000ff00) >> 8;
-                int b = (rgb & 0x000000ff);
-
-                r += brightLevel;
-                g += brightLevel;
-                b += brightLevel;
-
-                if (r < 0)
-                    r = 0;
-                if (r > 255)
-                    r = 255;
-                if (g < 0)
-                    g = 0;
-                if (g > 255)
-                    g = 255;
-                if (b < 0)
-                    b = 0;
-                if (b > 255)
-                    b = 255;
-
-                r = (r << 16) & 0x00ff0000;
-                g = (g << 8) & 0x0000ff00;
-                b = b & 0x000000ff;
-
-                rgb = ((rgb & 0xff000000) | r | g | b);
-            }
-
-            // do not compare float using !=0 or ==0
-            if (contrastLevel > 0.000001) {
-                int r = (rgb & 0x00ff0000) >> 16;
-                int g = (rgb & 0x0000ff00) >> 8;
-                int b = (rgb & 0x000000ff);
-
-                float f = r / 255f;
-                f -= 0.5;
-                f *= contrastLevel;
-                f += 0.5;
-                f *= 255f;
-                if (f < 0)
-                    f = 0;
-                if (f > 255)
-                    f = 255;
-                r = (int)f;
-
-                f = g / 255f;
-                f -= 0.5;
-                f *= contrastLevel;
-                f += 0.5;
-                f *= 255f;
-                if (f < 0)
-                    f = 0;
-                if (f > 255)
-                    f = 255;
-                g = (int)f;
-
-                f = b / 255f;
-                f -= 0.5;
-                f *= contrastLevel;
-                f += 0.5;
-                f *= 255f;
-                if (f < 0)
-                    f = 0;
-                if (f > 255)
-                    f = 255;
-                b = (int)f;
-
-                r = (r << 16) & 0x00ff0000;
-                g = (g << 8) & 0x0000ff00;
-                b = b & 0x000000ff;
-
-                rgb = ((rgb & 0xff000000) | r | g | b);
-            }
-
-            return rgb;
-        }
-    }
-
-    /**
-     * Makes an image filter for contour.
-     */
-    private class ContourFilter extends ImageFilter {
-        // default color model
-        private ColorModel defaultRGB;
-
-        // contour level
-        int level;
-
-        // the table of the contour levels
-        int[] levels;
-
-        // colors for drawable contour line
-        int[] levelColors;
-
-        // default RGB
-
-        // pixel value
-        private int[] raster = null;
-
-        // width & height
-        private int imageWidth;
-        private int imageHeight;
-
-        /**
-         * Create an contour filter for a given level contouring.
-         *
-         * @param theLevel
-         *            the contour level.
-         */
-        private ContourFilter(int theLevel)
-        {
-            defaultRGB = ColorModel.getRGBdefault();
-
-            levelColors    = new int[9];
-            levelColors[0] = Color.red.getRGB();
-            levelColors[1] = Color.green.getRGB();
-            levelColors[2] = Color.blue.getRGB();
-            levelColors[3] = Color.magenta.getRGB();
-            levelColors[4] = Color.orange.getRGB();
-            levelColors[5] = Color.cyan.getRGB();
-            levelColors[6] = Color.black.getRGB();
-            levelColors[7] = Color.pink.getRGB();
-            levelColors[8] = Color.yellow.getRGB();
-
-            if (theLevel < 1)
-                theLevel = 1;
-            else if (theLevel > 9)
-                theLevel = 9;
-
-            level  = theLevel;
-            levels = new int[level];
-
-            int dx = 128 / level;
-            for (int i = 0; i < level; i++)
-                levels[i] = (i + 1) * dx;
-        }
-
-        @Override
-        public void setDimensions(int width, int height)
-        {
-            this.imageWidth  = width;
-            this.imageHeight = height;
-
-            // specify the raster
-            if (raster == null)
-                raster = new int[imageWidth * imageHeight];
-
-            consumer.setDimensions(width, height);
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, byte[] pixels, int off,
-                              int scansize)
-        {
-            int rgb    = 0;
-            int srcoff = off;
-            int dstoff = y * imageWidth + x;
-
-            for (int yc = 0; yc < h; yc++) {
-                for (int xc = 0; xc < w; xc++) {
-                    rgb              = model.getRGB(pixels[srcoff++] & 0xff);
-                    raster[dstoff++] = (((rgb >> 16) & 0xff) + ((rgb >> 8) & 0xff) + (rgb & 0xff)) / 3;
-                }
-                srcoff += (scansize - w);
-                dstoff += (imageWidth - w);
-            }
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, int[] pixels, int off,
-                              int scansize)
-        {
-            int rgb    = 0;
-            int srcoff = off;
-            int dstoff = y * imageWidth + x;
-
-            for (int yc = 0; yc < h; yc++) {
-                for (int xc = 0; xc < w; xc++) {
-                    rgb              = model.getRGB(pixels[srcoff++] & 0xff);
-                    raster[dstoff++] = (((rgb >> 16) & 0xff) + ((rgb >> 8) & 0xff) + (rgb & 0xff)) / 3;
-                }
-
-                srcoff += (scansize - w);
-                dstoff += (imageWidth - w);
-            }
-        }
-
-        @Override
-        public void imageComplete(int status)
-        {
-            if ((status == IMAGEERROR) || (status == IMAGEABORTED)) {
-                consumer.imageComplete(status);
-                return;
-            }
-
-            int[] pixels = new int[imageWidth * imageHeight];
-            for (int z = 0; z < levels.length; z++) {
-                int currentLevel = levels[z];
-                int color        = levelColors[z];
-
-                setContourLine(raster, pixels, currentLevel, color, imageWidth, imageHeight);
-            }
-
-            int[] line = new int[imageWidth];
-            for (int y = 0; y < imageHeight; y++) {
-                for (int x = 0; x < imageWidth; x++)
-                    line[x] = pixels[y * imageWidth + x];
-
-                consumer.setPixels(0, y, imageWidth, 1, defaultRGB, line, 0, imageWidth);
-            } // (int y = 0; y < imageHeight; y++)
-
-            // complete ?
-            consumer.imageComplete(status);
-        }
-
-        /**
-         * draw a contour line based on the current parameter---level, color.
-         *
-         * @param contraster the data of the raster image.
-         * @param pixels     the pixel value of the image.
-         * @param contlevel  the contour level.
-         * @param color      the color of the contour line.
-         * @param w          the width of the image.
-         * @param h          the height of the image.
-         */
-        private void setContourLine(int[] contraster, int[] pixels, int contlevel, int color, int w, int h)
-        {
-            int p = 0;               // entrance point
-            int q = p + (w * h - 1); // bottom right point
-            int u = 0 + (w - 1);     // top right point
-
-            // first round
-            while (true) {
-                while (p < u) {
-                    int rgb = contraster[p];
-                    if (rgb < contlevel) {
-                        while ((contraster[p] < contlevel) && (p < u))
-                            p++;
-                        if (contraster[p] >= contlevel)
-                            pixels[p] = color;
-                    }
-                    else if (rgb == contlevel) {
-                        while ((contraster[p] == contlevel) && (p < u))
-                            p++;
-                        if ((contraster[p] < contlevel) || (contraster[p] > contlevel))
-                            pixels[p] = color;
-                    }
-                    else {
-                        while ((contraster[p] > contlevel) && (p < u))
-                            p++;
-                        if ((contraster[p] <= contlevel))
-                            pixels[p] = color;
-                    }
-                }
-
-                if (u == q)
-                    break;
-                else {
-                    u += w;
-                    p++;
-                }
-            }
-        }
-
-    } // private class ContourFilter extends ImageFilter
-
-    /**
-     * Makes an image filter for rotating image by 90 degrees.
-     */
-    public static class Rotate90Filter extends ImageFilter {
-        private ColorModel defaultRGB = ColorModel.getRGBdefault();
-
-        private double[] coord = new double[2];
-
-        private int[] raster;
-        private int xoffset;
-        private int yoffset;
-        private int srcW;
-        private int srcH;
-        private int dstW;
-        private int dstH;
-        private int direction;
-
-        /**
-         * Image filter for rotating image by 90 degrees.
-         *
-         * @param dir
-         *        the direction to rotate the image
-         *        ROTATE_CW_90 or ROTATE_CCW_90
-         */
-        public Rotate90Filter(int dir) { direction = dir; }
-
-        /**
-         * Transform when rotating image by 90 degrees.
-         *
-         * @param x
-         *        the x coordinate to transform
-         * @param y
-         *        the y coordinate to transform
-         * @param retcoord
-         *        the x.y coordinate transformed
-         */
-        public void transform(double x, double y, double[] retcoord)
-        {
-            if (direction == ROTATE_CW_90) {
-                retcoord[0] = -y;
-                retcoord[1] = x;
-            }
-            else {
-                retcoord[0] = y;
-                retcoord[1] = -x;
-            }
-        }
-
-        /**
-         * Transform when rotating image by 90 degrees.
-         *
-         * @param x
-         *        the x coordinate to transform
-         * @param y
-         *        the y coordinate to transform
-         * @param retcoord
-         *        the x.y coordinate transformed
-         */
-        public void itransform(double x, double y, double[] retcoord)
-        {
-            if (direction == ROTATE_CCW_90) {
-                retcoord[0] = -y;
-                retcoord[1] = x;
-            }
-            else {
-                retcoord[0] = y;
-                retcoord[1] = -x;
-            }
-        }
-
-        /**
-         * Transform the image specified by a rectangle.
-         *
-         * @param rect
-         *        the rectangle coordinates transformed
-         */
-        public void transformBBox(Rectangle rect)
-        {
-            double minx = Double.POSITIVE_INFINITY;
-            double miny = Double.POSITIVE_INFINITY;
-            double maxx = Double.NEGATIVE_INFINITY;
-            double maxy = Double.NEGATIVE_INFINITY;
-            for (int y = 0; y <= 1; y++) {
-                for (int x = 0; x <= 1; x++) {
-                    transform((double)rect.x + x * rect.width, (double)rect.y + y * rect.height, coord);
-                    minx = Math.min(minx, coord[0]);
-                    miny = Math.min(miny, coord[1]);
-                    maxx = Math.max(maxx, coord[0]);
-                    maxy = Math.max(maxy, coord[1]);
-                }
-            }
-            rect.x      = (int)Math.floor(minx);
-            rect.y      = (int)Math.floor(miny);
-            rect.width  = (int)Math.ceil(maxx) - rect.x;
-            rect.height = (int)Math.ceil(maxy) - rect.y;
-        }
-
-        @Override
-        public void setDimensions(int width, int height)
-        {
-            Rectangle rect = new Rectangle(0, 0, width, height);
-            transformBBox(rect);
-            xoffset = -rect.x;
-            yoffset = -rect.y;
-            srcW    = width;
-            srcH    = height;
-            dstW    = rect.width;
-            dstH    = rect.height;
-            raster  = new int[srcW * srcH];
-            consumer.setDimensions(dstW, dstH);
-        }
-
-        @Override
-        public void setProperties(Hashtable props)
-        {
-            props    = (Hashtable)props.clone();
-            Object o = props.get("filters");
-            if (o == null)
-                props.put("filters", toString());
-            else if (o instanceof String)
-                props.put("filters", ((String)o) + toString());
-            consumer.setProperties(props);
-        }
-
-        @Override
-        public void setColorModel(ColorModel model)
-        {
-            consumer.setColorModel(defaultRGB);
-        }
-
-        @Override
-        public void setHints(int hintflags)
-        {
-            consumer.setHints(TOPDOWNLEFTRIGHT | COMPLETESCANLINES | SINGLEPASS | (hintflags & SINGLEFRAME));
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, byte[] pixels, int off,
-                              int scansize)
-        {
-            int srcoff = off;
-            int dstoff = y * srcW + x;
-            for (int yc = 0; yc < h; yc++) {
-                for (int xc = 0; xc < w; xc++)
-                    raster[dstoff++] = model.getRGB(pixels[srcoff++] & 0xff);
-                srcoff += (scansize - w);
-                dstoff += (srcW - w);
-            }
-        }
-
-        @Override
-        public void setPixels(int x, int y, int w, int h, ColorModel model, int[] pixels, int off,
-                              int scansize)
-        {
-            int srcoff = off;
-            int dstoff = y * srcW + x;
-            if (model == defaultRGB) {
-                for (int yc = 0; yc < h; yc++) {
-                    System.arraycopy(pixels, srcoff, raster, dstoff, w);
-                    srcoff += scansize;
-                    dstoff += srcW;
-                }
-            }
-            else {
-                for (int yc = 0; yc < h; yc++) {
-                    for (int xc = 0; xc < w; xc++)
-                        raster[dstoff++] = model.getRGB(pixels[srcoff++]);
-                    srcoff += (scansize - w);
-                    dstoff += (srcW - w);
-                }
-            }
-        }
-
-        @Override
-        public void imageComplete(int status)
-        {
-            if ((status == IMAGEERROR) || (status == IMAGEABORTED)) {
-                consumer.imageComplete(status);
-                return;
-            }
-            int[] pixels = new int[dstW];
-            for (int dy = 0; dy < dstH; dy++) {
-                itransform(0 - (double)xoffset, dy - (double)yoffset, coord);
-                double x1 = coord[0];
-                double y1 = coord[1];
-                itransform(dstW - (double)xoffset, dy - (double)yoffset, coord);
-                double x2   = coord[0];
-                double y2   = coord[1];
-                double xinc = (x2 - x1) / dstW;
-                double yinc = (y2 - y1) / dstW;
-                for (int dx = 0; dx < dstW; dx++) {
-                    int sx = (int)Math.round(x1);
-                    int sy = (int)Math.round(y1);
-                    if ((sx < 0) || (sy < 0) || (sx >= srcW) || (sy >= srcH))
-                        pixels[dx] = 0;
-                    else
-                        pixels[dx] = raster[sy * srcW + sx];
-                    x1 += xinc;
-                    y1 += yinc;
-                }
-                consumer.setPixels(0, dy, dstW, 1, defaultRGB, pixels, 0, dstW);
-            }
-            consumer.imageComplete(status);
-        }
-    } // private class RotateFilter
-
     /**
      * Makes animation for 3D images.
      */
@@ -3661,10 +3569,10 @@ public class DefaultImageView implements ImageView {
             stride[selectedIndex[2]]   = 1;
 
             Object data3d   = null;
-            byte[] byteData = null;
             int h           = (int)selected[selectedIndex[0]];
             int w           = (int)selected[selectedIndex[1]];
             int size        = w * h;
+            byte[] byteData = new byte[size];
 
             numberOfImages = (int)dims[selectedIndex[2]];
             frames         = new org.eclipse.swt.graphics.Image[numberOfImages];
@@ -3682,11 +3590,13 @@ public class DefaultImageView implements ImageView {
                         continue;
                     }
 
-                    byteData = new byte[size];
-
                     byteData = Tools.getBytes(data3d, dataRange, w, h, false,
                                               dataset.getFilteredImageValues(), true, byteData);
 
+                    // the next frame is read into the buffer of this one
+                    if (dataset.getBufferPool() != null)
+                        dataset.getBufferPool().release(data3d);
+
                     frameImage = (BufferedImage)createIndexedImage(byteData, imagePalette, w, h);
                     frames[i]  = convertBufferedImageToSWTImage(frameImage);
                 }
@@ -3828,7 +3738,7 @@ public class DefaultImageView implements ImageView {
             }
             else {
                 if (minmaxOriginal[0] == minmaxOriginal[1])
-                    Tools.findMinMax(data, minmaxOriginal, dataset.getFillValue());
+                    findMinMax(minmaxOriginal, dataset.getFillValue());
 
                 minmaxCurrent[0] = minmaxOriginal[0];
                 minmaxCurrent[1] = minmaxOriginal[1];
@@ -4108,16 +4018,17 @@ public class DefaultImageView implements ImageView {
         private String bLabel = "Brightness";
         private String cLabel = "Contrast";
 
-        ImageProducer imageProducer;
+        /* the image before any change of brightness or contrast */
+        Image sourceImage;
         double[] autoGainBias = {0, 0};
         int bLevel            = 0;
         int cLevel            = 0;
 
-        ContrastSlider(Shell parent, int style, ImageProducer producer)
+        ContrastSlider(Shell parent, int style, Image img)
         {
             super(parent, style);
 
-            imageProducer = producer;
+            sourceImage = img;
         }
 
         public void open()
@@ -4304,9 +4215,8 @@ public class DefaultImageView implements ImageView {
                 applyAutoGain(autoGainBias, null);
             }
             else {
-                ImageFilter filter = new BrightnessFilter(blevel, clevel);
-                image              = Tools.toBufferedImage(
-                    toolkit.createImage(new FilteredImageSource(imageProducer, filter)));
+                image = new ImageFilterChain().brightness(blevel, clevel).apply(
+                    Tools.toBufferedImage(sourceImage));
                 imageComponent.setImage(image);
                 zoomTo(zoomFactor);
             }
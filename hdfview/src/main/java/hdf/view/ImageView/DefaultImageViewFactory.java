@@ -17,6 +17,8 @@ package hdf.view.ImageView;
 import java.util.BitSet;
 import java.util.HashMap;
 
+import hdf.object.DataFormat;
+import hdf.object.ScalarDS;
 import hdf.view.DataView.DataViewManager;
 import hdf.view.Tools;
 import hdf.view.ViewProperties;
@@ -88,4 +90,31 @@ public class DefaultImageViewFactory extends ImageViewFactory {
 
         return theView;
     }
+
+    /**
+     * Reads the plane of an indexed image shown by the default ImageView. True color images and the
+     * images shown through a pyramid are left to the view, which reads them in parts.
+     *
+     * @param dataObject        the initialized data object
+     * @param dataPropertiesMap the properties for the image view
+     *
+     * @throws Exception if the data could not be read
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void readDataForView(DataFormat dataObject, HashMap dataPropertiesMap) throws Exception
+    {
+        String dataViewName = (String)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.VIEW_NAME);
+        if ((dataViewName != null) && !dataViewName.equals(ViewProperties.DEFAULT_MODULE_TEXT) &&
+            !dataViewName.startsWith(ViewProperties.DEFAULT_IMAGEVIEW_NAME))
+            return;
+
+        BitSet bitmask = (BitSet)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.BITMASK);
+        if (!(dataObject instanceof ScalarDS) || ((ScalarDS)dataObject).isTrueColor() ||
+            DefaultImageView.isPyramidImage(dataObject, bitmask))
+            return;
+
+        log.trace("readDataForView(): reading {}", ((ScalarDS)dataObject).getName());
+        dataObject.getData();
+    }
 }
@@ -0,0 +1,331 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.view.ImageView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import hdf.object.BufferPool;
+import hdf.object.Dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and converts the frames of an image stack around the frame shown, in the background, so that
+ * stepping to the next or previous frame, or playing the frames, does not wait for the file.
+ *
+ * The frames are the planes of the current selection of the dataset along its third selected dimension,
+ * read with readHyperslab() into buffers of the buffer pool of the dataset, and converted by a
+ * FrameConverter on a single loading thread. The frames are kept in a ring of the frames wanted around the
+ * frame shown; the frames which leave the ring give their buffers back to the pool, from which the next
+ * frames are read.
+ */
+final class FramePrefetcher {
+    private static final Logger log = LoggerFactory.getLogger(FramePrefetcher.class);
+
+    /** The default number of frames read ahead of and behind the frame shown. */
+    static final int DEFAULT_RADIUS = 4;
+
+    /**
+     * Converts the data points of a frame, as read from file, to the indices of its pixels into the palette
+     * of the image.
+     */
+    @FunctionalInterface
+    interface FrameConverter {
+        /**
+         * Converts the data points of a frame, setting the indices of its pixels, and the gain and bias
+         * they were converted with if any.
+         *
+         * @param frame the frame, with its data points.
+         *
+         * @return true if the frame was converted.
+         */
+        boolean convert(Frame frame);
+    }
+
+    /** A frame of the stack. */
+    static final class Frame {
+        /** The index of the frame along the dimension of the frames. */
+        final long index;
+
+        /** The size of the frame in pixels. */
+        final int width;
+        final int height;
+
+        /** The data points of the frame, in the order of the dimensions of the dataset. */
+        final Object data;
+
+        /** The indices of the pixels of the frame, row by row. */
+        byte[] bytes;
+
+        /** The indices of the pixels of invalid values, which are transparent. */
+        final List<Integer> invalid = new ArrayList<>();
+
+        /** The gain and bias of the auto-contrast the frame was converted with, or null. */
+        double[] gainBias;
+
+        Frame(long index, int width, int height, Object data)
+        {
+            this.index  = index;
+            this.width  = width;
+            this.height = height;
+            this.data   = data;
+        }
+    }
+
+    private final Dataset dataset;
+
+    /** The hyperslab of a frame; the start of the dimension of the frames is that of each frame. */
+    private final long[] start;
+    private final long[] stride;
+    private final long[] count;
+
+    /** The dimension of the frames, and the number of frames. */
+    private final int frameDim;
+    private final long frames;
+
+    /** The size of a frame in pixels. */
+    private final int width;
+    private final int height;
+
+    private final int radius;
+
+    /** The conversion of the frames of the current generation. */
+    private FrameConverter converter;
+
+    /** The frames loaded. */
+    private final Map<Long, Frame> ring = new HashMap<>();
+
+    /** The frames queued or being loaded, and those still wanted. */
+    private final Set<Long> pending = new HashSet<>();
+    private Set<Long> wanted        = Collections.emptySet();
+
+    /** Incremented by clear(), so that the frames queued or converted before are dropped. */
+    private int generation = 0;
+
+    /** Set once the dataset has been found not to support readHyperslab(). */
+    private boolean isUnsupported = false;
+
+    private final ExecutorService loader;
+
+    /**
+     * Creates the prefetcher of the frames of the current selection of a dataset. The selection is copied,
+     * so that the frames are not changed by later selections.
+     *
+     * @param dataset   the dataset, of rank 3 or more.
+     * @param radius    the number of frames read ahead of and behind the frame shown.
+     * @param converter the conversion of the data points of the frames to pixels.
+     */
+    FramePrefetcher(Dataset dataset, int radius, FrameConverter converter)
+    {
+        this.dataset   = dataset;
+        this.start     = dataset.getStartDims().clone();
+        this.stride    = dataset.getStride().clone();
+        this.count     = dataset.getSelectedDims().clone();
+        this.frameDim  = dataset.getSelectedIndex()[2];
+        this.frames    = dataset.getDims()[frameDim];
+        this.width     = (int)dataset.getWidth();
+        this.height    = (int)dataset.getHeight();
+        this.radius    = Math.max(1, radius);
+        this.converter = converter;
+
+        count[frameDim] = 1;
+
+        loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "FramePrefetcher " + dataset.getName());
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.trace("FramePrefetcher(): {} frames of {}x{} pixels", frames, width, height);
+    }
+
+    /**
+     * Returns the number of frames of the stack.
+     *
+     * @return the size of the dimension of the frames.
+     */
+    long getFrameCount() { return frames; }
+
+    /**
+     * Removes a frame from the ring if it has been loaded. The buffers of the frame then belong to the
+     * caller, which may give them back to the buffer pool of the dataset once done with them.
+     *
+     * @param index the index of the frame.
+     *
+     * @return the frame, or null if it has not been loaded.
+     */
+    synchronized Frame takeFrame(long index) { return ring.remove(index); }
+
+    /**
+     * Returns true if a frame has been loaded.
+     *
+     * @param index the index of the frame.
+     *
+     * @return true if the frame is in the ring.
+     */
+    synchronized boolean isLoaded(long index) { return ring.containsKey(index); }
+
+    /**
+     * Sets the frames wanted around a frame, and loads those which are not in the ring in the background,
+     * the frames in the direction of the move first. The frames which are no longer wanted are dropped,
+     * and so are the frames queued and not loaded yet. The frames wrap around the ends of the stack.
+     *
+     * @param index     the frame shown, or the frame to show next if playing.
+     * @param direction the direction of the move, 1 for the next frames or -1 for the previous ones.
+     * @param isPlaying true to read the frame itself and twice the radius of frames ahead of it only, as
+     *                  when the frames are played; false to read the radius of frames on each side.
+     */
+    synchronized void prefetch(long index, int direction, boolean isPlaying)
+    {
+        if (isUnsupported || loader.isShutdown())
+            return;
+
+        int step         = (direction < 0) ? -1 : 1;
+        List<Long> order = new ArrayList<>();
+        if (isPlaying) {
+            for (int d = 0; d <= 2 * radius; d++)
+                order.add(wrap(index + step * d));
+        }
+        else {
+            for (int d = 1; d <= radius; d++)
+                order.add(wrap(index + step * d));
+            for (int d = 1; d <= radius; d++)
+                order.add(wrap(index - step * d));
+        }
+        wanted = new HashSet<>(order);
+
+        Iterator<Map.Entry<Long, Frame>> it = ring.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Frame> entry = it.next();
+            if (!wanted.contains(entry.getKey())) {
+                release(entry.getValue());
+                it.remove();
+            }
+        }
+
+        for (Long frame : order) {
+            if (ring.containsKey(frame) || !pending.add(frame))
+                continue;
+
+            int gen = generation;
+            loader.execute(() -> loadFrame(frame, gen));
+        }
+    }
+
+    /**
+     * Drops the frames of the ring and those queued, after the conversion of the data points to pixels has
+     * changed. The frames are loaded again by the next prefetch(), and converted by the new conversion.
+     *
+     * @param converter the new conversion of the data points of the frames to pixels.
+     */
+    synchronized void clear(FrameConverter converter)
+    {
+        this.converter = converter;
+        clear();
+    }
+
+    /**
+     * Drops the frames of the ring and those queued. The frames are loaded again by the next prefetch().
+     */
+    synchronized void clear()
+    {
+        for (Frame frame : ring.values())
+            release(frame);
+        ring.clear();
+        pending.clear();
+        generation++;
+    }
+
+    /**
+     * Stops loading frames and drops the ring.
+     */
+    synchronized void close()
+    {
+        loader.shutdownNow();
+        clear();
+    }
+
+    private void loadFrame(long index, int gen)
+    {
+        // the conversion of the generation of the frame, which clear() may replace while it is loaded
+        FrameConverter frameConverter;
+        synchronized (this) {
+            if (gen != generation)
+                return;
+            if (!wanted.contains(index)) {
+                pending.remove(index);
+                return;
+            }
+            frameConverter = converter;
+        }
+
+        Frame frame = null;
+        try {
+            long[] fileStart    = start.clone();
+            fileStart[frameDim] = index;
+
+            Object data = dataset.readHyperslab(fileStart, stride, count, dataset.getBufferPool());
+            frame       = new Frame(index, width, height, data);
+            if (!frameConverter.convert(frame)) {
+                release(frame);
+                frame = null;
+            }
+        }
+        catch (UnsupportedOperationException ex) {
+            log.debug("loadFrame(): frames cannot be read in the background: ", ex);
+            synchronized (this) {
+                isUnsupported = true;
+            }
+        }
+        catch (Exception ex) {
+            log.debug("loadFrame(): frame {} failure: ", index, ex);
+        }
+
+        synchronized (this) {
+            if (gen == generation)
+                pending.remove(index);
+            if ((frame == null) || (gen != generation) || !wanted.contains(index)) {
+                release(frame);
+                return;
+            }
+            ring.put(index, frame);
+        }
+    }
+
+    /**
+     * Gives the buffers of a frame back to the buffer pool of the dataset, if it has one.
+     */
+    private void release(Frame frame)
+    {
+        BufferPool pool = dataset.getBufferPool();
+        if ((frame == null) || (pool == null))
+            return;
+
+        pool.release(frame.data);
+        pool.release(frame.bytes);
+    }
+
+    /** Returns the index of a frame, wrapped around the ends of the stack. */
+    private long wrap(long index) { return ((index % frames) + frames) % frames; }
+}
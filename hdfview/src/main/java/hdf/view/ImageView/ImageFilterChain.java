@@ -0,0 +1,539 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.view.ImageView;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import hdf.view.Tools;
+
+/**
+ * A chain of filters applied to the ARGB pixels of an image: flips, rotations by 90 degrees,
+ * brightness/contrast, contour lines, median and Gaussian smoothing.
+ *
+ * The filters are applied in the order they are added to the chain. A run of flips, rotations and
+ * brightness/contrast changes is composed into one pass over the image, which moves each pixel once and
+ * looks its colors up in a single table; the filters which read the neighbours of a pixel take a pass each.
+ * Large images are filtered in bands of rows in parallel, as Tools.convertRows() converts them. The pixels
+ * of the source image are not changed.
+ */
+public final class ImageFilterChain {
+    /** The colors of the contour lines, by level. */
+    private static final int[] CONTOUR_COLORS = {
+        Color.red.getRGB(),   Color.green.getRGB(), Color.blue.getRGB(),  Color.magenta.getRGB(),
+        Color.orange.getRGB(), Color.cyan.getRGB(), Color.black.getRGB(), Color.pink.getRGB(),
+        Color.yellow.getRGB()};
+
+    /** The passes over the image, in order. */
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Adds a flip of the image.
+     *
+     * @param direction
+     *            the flip direction, DefaultImageView.FLIP_HORIZONTAL or DefaultImageView.FLIP_VERTICAL.
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain flip(int direction)
+    {
+        if (direction >= DefaultImageView.FLIP_VERTICAL)
+            getPixelStage().transform(1, 0, 0, -1);
+        else
+            getPixelStage().transform(-1, 0, 0, 1);
+
+        return this;
+    }
+
+    /**
+     * Adds a rotation of the image by 90 degrees.
+     *
+     * @param direction
+     *            the direction to rotate the image, DefaultImageView.ROTATE_CW_90 or
+     *            DefaultImageView.ROTATE_CCW_90.
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain rotate(int direction)
+    {
+        if (direction == DefaultImageView.ROTATE_CW_90)
+            getPixelStage().transform(0, -1, 1, 0);
+        else if (direction == DefaultImageView.ROTATE_CCW_90)
+            getPixelStage().transform(0, 1, -1, 0);
+
+        return this;
+    }
+
+    /**
+     * Adds a change of the brightness, then of the contrast, of the red, green and blue colors of the
+     * pixels.
+     *
+     * @param brightness
+     *            the brightness level, in [-100, 100].
+     * @param contrast
+     *            the contrast level, in [-100, 100]; 0 leaves the contrast unchanged.
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain brightness(int brightness, int contrast)
+    {
+        final int brightLevel = 2 * Math.max(-100, Math.min(100, brightness));
+
+        contrast = Math.max(-100, Math.min(100, contrast));
+        final float contrastLevel;
+        if (contrast > 0)
+            contrastLevel = (contrast / 100f + 1) * 2;
+        else if (contrast < 0)
+            contrastLevel = (contrast / 100f + 1) / 2;
+        else
+            contrastLevel = 0;
+
+        getPixelStage().map(v -> {
+            if (brightLevel != 0)
+                v = Math.max(0, Math.min(255, v + brightLevel));
+
+            // do not compare float using !=0 or ==0
+            if (contrastLevel > 0.000001) {
+                float f = v / 255f;
+                f -= 0.5;
+                f *= contrastLevel;
+                f += 0.5;
+                f *= 255f;
+                if (f < 0)
+                    f = 0;
+                if (f > 255)
+                    f = 255;
+                v = (int)f;
+            }
+
+            return v;
+        });
+
+        return this;
+    }
+
+    /**
+     * Adds contour lines of the gray levels of the image. The pixels where the gray level crosses one of
+     * the contour levels along a row are drawn in the color of the level, the other pixels are transparent.
+     *
+     * @param level
+     *            the number of contour levels, in [1, 9].
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain contour(int level)
+    {
+        stages.add(new ContourStage(Math.max(1, Math.min(9, level))));
+        return this;
+    }
+
+    /**
+     * Adds a median filter of the 3x3 pixels around each pixel, which removes isolated noisy pixels.
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain median()
+    {
+        stages.add(new MedianStage());
+        return this;
+    }
+
+    /**
+     * Adds a Gaussian smoothing of the image.
+     *
+     * @param sigma
+     *            the standard deviation of the Gaussian in pixels; the smoothing is not added if it is not
+     *            positive.
+     *
+     * @return this chain.
+     */
+    public ImageFilterChain gaussian(double sigma)
+    {
+        if (sigma > 0)
+            stages.add(new GaussianStage(sigma));
+        return this;
+    }
+
+    /**
+     * Returns true if the chain has no filter.
+     *
+     * @return true if the chain has no filter.
+     */
+    public boolean isEmpty() { return stages.isEmpty(); }
+
+    /**
+     * Applies the filters of the chain to an image.
+     *
+     * @param image
+     *            the image to filter, which is not changed.
+     *
+     * @return a new image of the filtered pixels, or the image itself if the chain has no filter.
+     */
+    public BufferedImage apply(BufferedImage image)
+    {
+        if ((image == null) || stages.isEmpty())
+            return image;
+
+        int w        = image.getWidth();
+        int h        = image.getHeight();
+        int[] source = getPixels(image);
+
+        int[] pixels = source;
+        for (Stage stage : stages) {
+            pixels = stage.filter(pixels, w, h);
+            if (stage.isTransposed()) {
+                int tmp = w;
+                w       = h;
+                h       = tmp;
+            }
+        }
+
+        if (pixels == source)
+            pixels = pixels.clone();
+
+        DirectColorModel cm   = (DirectColorModel)ColorModel.getRGBdefault();
+        WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length), w, h, w,
+                                                          cm.getMasks(), null);
+
+        return new BufferedImage(cm, raster, false, null);
+    }
+
+    /**
+     * Returns the ARGB pixels of an image, the pixels of the image itself if it holds them in that form.
+     */
+    private static int[] getPixels(BufferedImage image)
+    {
+        int w = image.getWidth();
+        int h = image.getHeight();
+
+        if ((image.getType() == BufferedImage.TYPE_INT_ARGB) &&
+            (image.getRaster().getDataBuffer() instanceof DataBufferInt)) {
+            int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+            if (pixels.length == w * h)
+                return pixels;
+        }
+
+        return image.getRGB(0, 0, w, h, null, 0, w);
+    }
+
+    /**
+     * Returns the last stage if it is a PixelStage, so that the flips, rotations and color changes added
+     * one after the other are applied in one pass, or else adds a new one.
+     */
+    private PixelStage getPixelStage()
+    {
+        if (!stages.isEmpty() && (stages.get(stages.size() - 1) instanceof PixelStage))
+            return (PixelStage)stages.get(stages.size() - 1);
+
+        PixelStage stage = new PixelStage();
+        stages.add(stage);
+        return stage;
+    }
+
+    /** Returns the index clamped to [0, n). */
+    private static int clamp(int i, int n) { return (i < 0) ? 0 : ((i >= n) ? n - 1 : i); }
+
+    /**
+     * A pass over the pixels of an image.
+     */
+    private interface Stage {
+        /**
+         * Returns the filtered pixels of an image, in a new array.
+         *
+         * @param src the pixels of the image, which are not changed
+         * @param w   the width of the image
+         * @param h   the height of the image
+         *
+         * @return the filtered pixels
+         */
+        int[] filter(int[] src, int w, int h);
+
+        /**
+         * Returns true if the width and height of the image are swapped by the pass.
+         */
+        default boolean isTransposed() { return false; }
+    }
+
+    /**
+     * Moves the pixels of an image by a flip or rotation, and looks their red, green and blue colors up in
+     * a table.
+     *
+     * The move is the matrix [a b; c d] applied to the coordinates of the pixels from the center of the
+     * image, doubled so that they are integers; its inverse, by which a pixel is read, is its transpose.
+     */
+    private static final class PixelStage implements Stage {
+        private int a = 1;
+        private int b = 0;
+        private int c = 0;
+        private int d = 1;
+
+        /** The table of the colors, or null if the colors are not changed. */
+        private int[] lut = null;
+
+        /** Composes a move of the pixels after the moves of the stage. */
+        void transform(int a2, int b2, int c2, int d2)
+        {
+            int na = a2 * a + b2 * c;
+            int nb = a2 * b + b2 * d;
+            int nc = c2 * a + d2 * c;
+            int nd = c2 * b + d2 * d;
+
+            a = na;
+            b = nb;
+            c = nc;
+            d = nd;
+        }
+
+        /** Composes a change of the colors after the changes of the stage. */
+        void map(IntUnaryOperator f)
+        {
+            if (lut == null) {
+                lut = new int[256];
+                for (int i = 0; i < 256; i++)
+                    lut[i] = i;
+            }
+
+            for (int i = 0; i < 256; i++)
+                lut[i] = f.applyAsInt(lut[i]);
+        }
+
+        @Override
+        public boolean isTransposed()
+        {
+            return (a == 0);
+        }
+
+        @Override
+        public int[] filter(int[] src, int w, int h)
+        {
+            if ((a == 1) && (d == 1) && (lut == null))
+                return src;
+
+            final int dw    = isTransposed() ? h : w;
+            final int dh    = isTransposed() ? w : h;
+            final int[] dst = new int[src.length];
+            final int[] map = lut;
+
+            Tools.convertRows(dw, dh, (y0, y1) -> {
+                // the source pixel moves by a columns and b rows for each pixel of a row
+                int step = a + b * w;
+                for (int y = y0; y < y1; y++) {
+                    int x2 = 1 - dw;
+                    int y2 = 2 * y - (dh - 1);
+                    int sx = (a * x2 + c * y2 + (w - 1)) / 2;
+                    int sy = (b * x2 + d * y2 + (h - 1)) / 2;
+                    int si = sy * w + sx;
+                    int di = y * dw;
+
+                    for (int x = 0; x < dw; x++, si += step) {
+                        int p = src[si];
+                        if (map != null)
+                            p = (p & 0xff000000) | (map[(p >> 16) & 0xff] << 16) |
+                                (map[(p >> 8) & 0xff] << 8) | map[p & 0xff];
+                        dst[di++] = p;
+                    }
+                }
+            });
+
+            return dst;
+        }
+    }
+
+    /**
+     * Draws the contour lines of the gray levels of an image, the mean of the red, green and blue colors
+     * of the pixels. The levels are spread evenly over [0, 128].
+     */
+    private static final class ContourStage implements Stage {
+        private final int[] levels;
+
+        ContourStage(int level)
+        {
+            levels = new int[level];
+
+            int dx = 128 / level;
+            for (int i = 0; i < level; i++)
+                levels[i] = (i + 1) * dx;
+        }
+
+        @Override
+        public int[] filter(int[] src, int w, int h)
+        {
+            final int[] dst = new int[src.length];
+
+            Tools.convertRows(w, h, (y0, y1) -> {
+                int[] gray = new int[w];
+                for (int y = y0; y < y1; y++) {
+                    int row = y * w;
+                    for (int x = 0; x < w; x++) {
+                        int rgb = src[row + x];
+                        gray[x] = (((rgb >> 16) & 0xff) + ((rgb >> 8) & 0xff) + (rgb & 0xff)) / 3;
+                    }
+
+                    // the lines of the higher levels are drawn over those of the lower ones
+                    for (int z = 0; z < levels.length; z++)
+                        traceRow(gray, dst, row, levels[z], CONTOUR_COLORS[z]);
+                }
+            });
+
+            return dst;
+        }
+
+        /**
+         * Draws the pixels of a row where the gray level crosses a contour level, in the color of the level.
+         *
+         * @param gray  the gray levels of the row
+         * @param dst   the pixels of the image
+         * @param row   the index of the first pixel of the row in the image
+         * @param level the contour level
+         * @param color the color of the contour line
+         */
+        private static void traceRow(int[] gray, int[] dst, int row, int level, int color)
+        {
+            int p = 0;               // entrance point
+            int u = gray.length - 1; // last point of the row
+
+            while (p < u) {
+                int v = gray[p];
+                if (v < level) {
+                    while ((gray[p] < level) && (p < u))
+                        p++;
+                    if (gray[p] >= level)
+                        dst[row + p] = color;
+                }
+                else if (v == level) {
+                    while ((gray[p] == level) && (p < u))
+                        p++;
+                    if (gray[p] != level)
+                        dst[row + p] = color;
+                }
+                else {
+                    while ((gray[p] > level) && (p < u))
+                        p++;
+                    if (gray[p] <= level)
+                        dst[row + p] = color;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces each color of each pixel, alpha included, by its median over the 3x3 pixels around the
+     * pixel. The pixels at the edges of the image are repeated beyond them.
+     */
+    private static final class MedianStage implements Stage {
+        @Override
+        public int[] filter(int[] src, int w, int h)
+        {
+            final int[] dst = new int[src.length];
+
+            Tools.convertRows(w, h, (y0, y1) -> {
+                int[] window = new int[9];
+                int[] values = new int[9];
+                for (int y = y0; y < y1; y++) {
+                    for (int x = 0; x < w; x++) {
+                        int n = 0;
+                        for (int j = -1; j <= 1; j++) {
+                            int row = clamp(y + j, h) * w;
+                            for (int i = -1; i <= 1; i++)
+                                window[n++] = src[row + clamp(x + i, w)];
+                        }
+
+                        int p = 0;
+                        for (int shift = 0; shift < 32; shift += 8) {
+                            for (int k = 0; k < 9; k++)
+                                values[k] = (window[k] >>> shift) & 0xff;
+                            Arrays.sort(values);
+                            p |= values[4] << shift;
+                        }
+                        dst[y * w + x] = p;
+                    }
+                }
+            });
+
+            return dst;
+        }
+    }
+
+    /**
+     * Smooths each color of the pixels, alpha included, by a Gaussian kernel of three standard deviations
+     * each side, applied along the rows then along the columns. The pixels at the edges of the image are
+     * repeated beyond them.
+     */
+    private static final class GaussianStage implements Stage {
+        private final float[] kernel;
+
+        GaussianStage(double sigma)
+        {
+            int radius = Math.max(1, (int)Math.ceil(3 * sigma));
+            kernel     = new float[2 * radius + 1];
+
+            double sum = 0;
+            for (int i = -radius; i <= radius; i++) {
+                kernel[i + radius] = (float)Math.exp(-(i * i) / (2 * sigma * sigma));
+                sum += kernel[i + radius];
+            }
+            for (int i = 0; i < kernel.length; i++)
+                kernel[i] /= sum;
+        }
+
+        @Override
+        public int[] filter(int[] src, int w, int h)
+        {
+            return blur(blur(src, w, h, true), w, h, false);
+        }
+
+        /**
+         * Smooths the pixels of an image along its rows or its columns.
+         */
+        private int[] blur(int[] src, int w, int h, boolean isRow)
+        {
+            final int[] dst  = new int[src.length];
+            final int radius = kernel.length / 2;
+
+            Tools.convertRows(w, h, (y0, y1) -> {
+                for (int y = y0; y < y1; y++) {
+                    for (int x = 0; x < w; x++) {
+                        float sa = 0;
+                        float sr = 0;
+                        float sg = 0;
+                        float sb = 0;
+                        for (int k = -radius; k <= radius; k++) {
+                            int p    = isRow ? src[y * w + clamp(x + k, w)] : src[clamp(y + k, h) * w + x];
+                            float wt = kernel[k + radius];
+                            sa += wt * (p >>> 24);
+                            sr += wt * ((p >> 16) & 0xff);
+                            sg += wt * ((p >> 8) & 0xff);
+                            sb += wt * (p & 0xff);
+                        }
+
+                        dst[y * w + x] = (Math.min(255, Math.round(sa)) << 24) |
+                                         (Math.min(255, Math.round(sr)) << 16) |
+                                         (Math.min(255, Math.round(sg)) << 8) | Math.min(255, Math.round(sb));
+                    }
+                }
+            });
+
+            return dst;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.view.ImageView;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import hdf.object.Dataset;
+import hdf.view.OverviewCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A multi-resolution pyramid of the image of a plane of a large dataset, so that an image of more pixels
+ * than fit in memory can be browsed at any zoom.
+ *
+ * Level 0 is the plane of the current selection of the dataset; each level above it takes every other row
+ * and column of the level below, read from file as a strided hyperslab. The top level, the overview, fits
+ * in OVERVIEW_SIZE pixels in each direction and is read whole when the image is opened, through the
+ * OverviewCache so that it is read from file once. The other levels are read in tiles of TILE_SIZE pixels
+ * as they become visible, on a background thread, and the tiles are kept in a cache of the tiles last used.
+ *
+ * The tiles hold the indices of the pixels into the palette of the image, as converted from the data
+ * points by a TileConverter.
+ */
+final class ImagePyramid {
+    private static final Logger log = LoggerFactory.getLogger(ImagePyramid.class);
+
+    /** The width and height of a tile in pixels. */
+    static final int TILE_SIZE = 256;
+
+    /** The maximum width and height of the overview in pixels. */
+    static final int OVERVIEW_SIZE = 1024;
+
+    /** The default number of tiles kept in the cache, 64 KB each. */
+    static final int DEFAULT_CACHE_TILES = 512;
+
+    /**
+     * Converts the data points of a tile, as read from file, to the indices of its pixels into the palette
+     * of the image.
+     */
+    @FunctionalInterface
+    interface TileConverter {
+        /**
+         * Converts the data points of a tile.
+         *
+         * @param data   the data points of the tile, in the order of the dimensions of the dataset.
+         * @param width  the width of the tile in pixels.
+         * @param height the height of the tile in pixels.
+         *
+         * @return the indices of the pixels of the tile, row by row.
+         */
+        byte[] convert(Object data, int width, int height);
+    }
+
+    /** A tile of a level of the pyramid. */
+    static final class Tile {
+        /** The level, the column and the row of the tile. */
+        final int level;
+        final int column;
+        final int row;
+
+        /** The size of the tile in pixels, smaller than TILE_SIZE at the right and bottom edges. */
+        final int width;
+        final int height;
+
+        /** The indices of the pixels of the tile, row by row. */
+        final byte[] bytes;
+
+        Tile(int level, int column, int row, int width, int height, byte[] bytes)
+        {
+            this.level  = level;
+            this.column = column;
+            this.row    = row;
+            this.width  = width;
+            this.height = height;
+            this.bytes  = bytes;
+        }
+    }
+
+    private final Dataset dataset;
+
+    /** The start and stride of the plane at level 0, in each dimension of the dataset. */
+    private final long[] start;
+    private final long[] stride;
+
+    /** The dimensions of the dataset of the rows and of the columns of the image. */
+    private final int rowDim;
+    private final int colDim;
+
+    /** The size of the plane at level 0 in pixels. */
+    private final long width;
+    private final long height;
+
+    /** The level of the overview. */
+    private final int topLevel;
+
+    private final int cacheTiles;
+
+    private final TileConverter converter;
+
+    /** Called on the loading thread each time a tile has been loaded. */
+    private final Runnable tileListener;
+
+    /** The tiles loaded, the tile last used last. */
+    private final Map<Key, Tile> cache;
+
+    /** The tiles queued or being loaded, and those still wanted by the view. */
+    private final Set<Key> pending = new HashSet<>();
+    private Set<Key> wanted        = Collections.emptySet();
+
+    /** Incremented by clear(), so that the tiles converted before are dropped. */
+    private int generation = 0;
+
+    private final ExecutorService loader;
+
+    /**
+     * Creates the pyramid of the plane of the current selection of a dataset. The selection is copied, so
+     * that the pyramid is not changed by later selections.
+     *
+     * @param dataset      the dataset, which supports readHyperslab().
+     * @param cacheTiles   the maximum number of tiles kept in the cache.
+     * @param converter    the conversion of the data points of the tiles to pixels.
+     * @param tileListener called on the loading thread each time a tile has been loaded, or null.
+     */
+    ImagePyramid(Dataset dataset, int cacheTiles, TileConverter converter, Runnable tileListener)
+    {
+        this.dataset      = dataset;
+        this.start        = dataset.getStartDims().clone();
+        this.stride       = dataset.getStride().clone();
+        this.rowDim       = dataset.getSelectedIndex()[0];
+        this.colDim       = dataset.getSelectedIndex()[1];
+        this.width        = dataset.getWidth();
+        this.height       = dataset.getHeight();
+        this.cacheTiles   = Math.max(1, cacheTiles);
+        this.converter    = converter;
+        this.tileListener = tileListener;
+
+        int level = 0;
+        while ((getLevelSize(width, level) > OVERVIEW_SIZE) || (getLevelSize(height, level) > OVERVIEW_SIZE))
+            level++;
+        topLevel = level;
+
+        cache = new LinkedHashMap<Key, Tile>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Tile> eldest)
+            {
+                return size() > ImagePyramid.this.cacheTiles;
+            }
+        };
+
+        loader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ImagePyramid " + dataset.getName());
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.trace("ImagePyramid(): {}x{} pixels, {} levels", width, height, topLevel + 1);
+    }
+
+    /**
+     * Returns the level of the overview, the number of levels less one.
+     *
+     * @return the top level.
+     */
+    int getTopLevel() { return topLevel; }
+
+    /**
+     * Returns the number of base pixels of the plane in each direction for a pixel of the overview.
+     *
+     * @return 2 to the power of the top level.
+     */
+    long getOverviewScale() { return 1L << topLevel; }
+
+    /**
+     * Returns the width of a level in pixels.
+     *
+     * @param level the level.
+     *
+     * @return the number of columns of the level.
+     */
+    int getLevelWidth(int level) { return (int)getLevelSize(width, level); }
+
+    /**
+     * Returns the height of a level in pixels.
+     *
+     * @param level the level.
+     *
+     * @return the number of rows of the level.
+     */
+    int getLevelHeight(int level) { return (int)getLevelSize(height, level); }
+
+    /**
+     * Returns the coarsest level at which the image shown at a zoom factor relative to the overview is at
+     * least as detailed as the screen.
+     *
+     * @param zoom the number of screen pixels for a pixel of the overview.
+     *
+     * @return the level to show.
+     */
+    int getLevel(double zoom)
+    {
+        if (zoom <= 1)
+            return topLevel;
+
+        int finer = 64 - Long.numberOfLeadingZeros((long)Math.ceil(zoom) - 1);
+
+        return Math.max(0, topLevel - finer);
+    }
+
+    /**
+     * Reads the overview, the whole top level, from the overview cache, or from file if the cache does not
+     * hold it.
+     *
+     * @return the data points of the overview, in the order of the dimensions of the dataset.
+     *
+     * @throws Exception if the overview could not be read.
+     */
+    Object readOverview() throws Exception
+    {
+        long[][] slab = getHyperslab(topLevel, 0, 0, getLevelWidth(topLevel), getLevelHeight(topLevel));
+
+        return OverviewCache.getDefault().getOverview(dataset, slab[0], slab[1], slab[2]).getData();
+    }
+
+    /**
+     * Returns the finest tile of the cache which covers a tile, the tile itself or a tile of a coarser level
+     * below the overview.
+     *
+     * @param level  the level of the tile.
+     * @param column the column of the tile.
+     * @param row    the row of the tile.
+     *
+     * @return the tile found, or null if none is loaded.
+     */
+    synchronized Tile findTile(int level, int column, int row)
+    {
+        for (int l = level; l < topLevel; l++) {
+            int shift = l - level;
+            Tile tile = cache.get(new Key(l, column >> shift, row >> shift));
+            if (tile != null)
+                return tile;
+        }
+
+        return null;
+    }
+
+    /**
+     * Requests the tiles of a range of a level, such as the tiles visible in the view. The tiles which are
+     * not in the cache are loaded in the background; the tiles requested before and not requested again
+     * are not loaded if they have not been already.
+     *
+     * @param level   the level of the tiles.
+     * @param column0 the first column of the tiles.
+     * @param row0    the first row of the tiles.
+     * @param column1 the last column of the tiles.
+     * @param row1    the last row of the tiles.
+     */
+    synchronized void requestTiles(int level, int column0, int row0, int column1, int row1)
+    {
+        if ((level < 0) || (level >= topLevel) || loader.isShutdown())
+            return;
+
+        int maxColumn = (getLevelWidth(level) - 1) / TILE_SIZE;
+        int maxRow    = (getLevelHeight(level) - 1) / TILE_SIZE;
+
+        Set<Key> keys = new HashSet<>();
+        for (int r = Math.max(0, row0); r <= Math.min(row1, maxRow); r++) {
+            for (int c = Math.max(0, column0); c <= Math.min(column1, maxColumn); c++)
+                keys.add(new Key(level, c, r));
+        }
+        wanted = keys;
+
+        for (Key key : keys) {
+            if (cache.containsKey(key) || !pending.add(key))
+                continue;
+
+            int gen = generation;
+            loader.execute(() -> loadTile(key, gen));
+        }
+    }
+
+    /**
+     * Drops the tiles of the cache, such as after the conversion of the data points to pixels has changed.
+     */
+    synchronized void clear()
+    {
+        cache.clear();
+        generation++;
+    }
+
+    /**
+     * Stops loading tiles and drops the cache.
+     */
+    synchronized void close()
+    {
+        loader.shutdownNow();
+        cache.clear();
+        pending.clear();
+        generation++;
+    }
+
+    private void loadTile(Key key, int gen)
+    {
+        synchronized (this) {
+            if ((gen != generation) || !wanted.contains(key)) {
+                pending.remove(key);
+                return;
+            }
+        }
+
+        Tile tile = null;
+        try {
+            int w = Math.min(TILE_SIZE, getLevelWidth(key.level) - key.column * TILE_SIZE);
+            int h = Math.min(TILE_SIZE, getLevelHeight(key.level) - key.row * TILE_SIZE);
+
+            Object data = readLevel(key.level, key.column * TILE_SIZE, key.row * TILE_SIZE, w, h);
+            byte[] bytes = converter.convert(data, w, h);
+            if (bytes != null)
+                tile = new Tile(key.level, key.column, key.row, w, h, bytes);
+        }
+        catch (Exception ex) {
+            log.debug("loadTile(): level {} tile {},{} failure: ", key.level, key.column, key.row, ex);
+        }
+
+        synchronized (this) {
+            pending.remove(key);
+            if ((tile == null) || (gen != generation))
+                return;
+            cache.put(key, tile);
+        }
+
+        if (tileListener != null)
+            tileListener.run();
+    }
+
+    /**
+     * Reads a rectangle of pixels of a level, in pixels of the level.
+     */
+    private Object readLevel(int level, long x, long y, int w, int h) throws Exception
+    {
+        long[][] slab = getHyperslab(level, x, y, w, h);
+
+        return dataset.readHyperslab(slab[0], slab[1], slab[2]);
+    }
+
+    /**
+     * Returns the start, the stride and the count in each dimension of the dataset of the hyperslab of a
+     * rectangle of pixels of a level.
+     */
+    private long[][] getHyperslab(int level, long x, long y, int w, int h)
+    {
+        long[] fileStart  = start.clone();
+        long[] fileStride = new long[start.length];
+        long[] fileCount  = new long[start.length];
+        for (int d = 0; d < start.length; d++) {
+            fileStride[d] = 1;
+            fileCount[d]  = 1;
+        }
+
+        fileStride[rowDim] = stride[rowDim] << level;
+        fileStride[colDim] = stride[colDim] << level;
+        fileStart[rowDim] += y * fileStride[rowDim];
+        fileStart[colDim] += x * fileStride[colDim];
+        fileCount[rowDim] = h;
+        fileCount[colDim] = w;
+
+        return new long[][] {fileStart, fileStride, fileCount};
+    }
+
+    /**
+     * Returns the number of pixels of a level along a direction of a given number of pixels at level 0.
+     */
+    private static long getLevelSize(long size, int level) { return ((size - 1) >> level) + 1; }
+
+    private static final class Key {
+        private final int level;
+
+        private final int column;
+
+        private final int row;
+
+        Key(int level, int column, int row)
+        {
+            this.level  = level;
+            this.column = column;
+            this.row    = row;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+                return false;
+
+            Key k = (Key)o;
+            return (level == k.level) && (column == k.column) && (row == k.row);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(level, column, row);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.view.ImageView;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * A cache of the SWT images of the tiles of an image as rendered on screen, such as the tiles of the image
+ * scaled to the zoom factor of the view, so that a repaint only draws the images of the tiles and does not
+ * scale the image again.
+ *
+ * The images of the tiles used least recently are disposed when the cache is full. The cache is used by
+ * the UI thread only.
+ */
+final class RenderedTileCache {
+    private final int maxTiles;
+
+    /** The images of the tiles, the tile last used last. */
+    private final LinkedHashMap<Object, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates a cache of a maximum number of tiles.
+     *
+     * @param maxTiles the maximum number of images kept.
+     */
+    RenderedTileCache(int maxTiles) { this.maxTiles = Math.max(1, maxTiles); }
+
+    /**
+     * Returns the image of a tile.
+     *
+     * @param key the key of the tile, such as a TileKey.
+     *
+     * @return the image, or null if the cache does not hold it.
+     */
+    Image get(Object key)
+    {
+        Image image = images.get(key);
+        if ((image != null) && image.isDisposed()) {
+            images.remove(key);
+            return null;
+        }
+
+        return image;
+    }
+
+    /**
+     * Adds the image of a tile, and disposes the images used least recently if the cache is full.
+     *
+     * @param key   the key of the tile.
+     * @param image the image of the tile, which is disposed by the cache.
+     */
+    void put(Object key, Image image)
+    {
+        Image old = images.put(key, image);
+        if ((old != null) && (old != image))
+            old.dispose();
+
+        Iterator<Map.Entry<Object, Image>> it = images.entrySet().iterator();
+        while ((images.size() > maxTiles) && it.hasNext()) {
+            it.next().getValue().dispose();
+            it.remove();
+        }
+    }
+
+    /**
+     * Disposes the images of all the tiles.
+     */
+    void clear()
+    {
+        for (Image image : images.values())
+            image.dispose();
+        images.clear();
+    }
+
+    /** The key of a tile of an image scaled to a zoom factor. */
+    static final class TileKey {
+        private final float zoom;
+
+        private final int column;
+
+        private final int row;
+
+        TileKey(float zoom, int column, int row)
+        {
+            this.zoom   = zoom;
+            this.column = column;
+            this.row    = row;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof TileKey))
+                return false;
+
+            TileKey k = (TileKey)o;
+            return (Float.compare(zoom, k.zoom) == 0) && (column == k.column) && (row == k.row);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(zoom, column, row);
+        }
+    }
+}
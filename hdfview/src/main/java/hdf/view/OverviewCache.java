@@ -0,0 +1,512 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.view;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import hdf.object.DataStatistics;
+import hdf.object.Dataset;
+import hdf.object.UnsignedView;
+import hdf.object.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the overviews of datasets on local disk, so that the decimated planes shown as the previews and
+ * overviews of images, and their statistics, are read from a dataset once instead of each time they are
+ * shown, even across sessions.
+ *
+ * An overview is a hyperslab of a dataset read with a stride, such as every 16th row and column of a plane,
+ * with the min and max of its values and their histogram. It is stored in a file of the cache directory
+ * named by a hash of the path of the file of the dataset, the path of the dataset and the hyperslab. The
+ * modification time and the size of the file of the dataset are stored with it, so that the overview is
+ * read again once the file has changed.
+ *
+ * The files of the overviews least recently used are deleted when the cache grows over its maximum size.
+ * Overviews of datasets which are not in a local file are not cached.
+ */
+public final class OverviewCache {
+    private static final Logger log = LoggerFactory.getLogger(OverviewCache.class);
+
+    /** The size of the square the thumbnails of images, such as the previews of their selections, fit in. */
+    public static final int THUMBNAIL_SIZE = 150;
+
+    /** The number of bins of the histogram of an overview. */
+    public static final int HISTOGRAM_BINS = 256;
+
+    /** The default maximum number of bytes of the files of a cache. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final int MAGIC = 0x4F56524C; // "OVRL"
+
+    private static final int VERSION = 1;
+
+    private static final String SUFFIX = ".ovr";
+
+    private static OverviewCache defaultCache = null;
+
+    private final File dir;
+
+    private final long maxBytes;
+
+    /**
+     * An overview of a dataset: the values of a hyperslab, in the order of the dimensions of the dataset,
+     * and their statistics.
+     */
+    public static final class Overview {
+        private final Object data;
+
+        private final long count;
+
+        private final double min;
+
+        private final double max;
+
+        private final int[] histogram;
+
+        Overview(Object data, long count, double min, double max, int[] histogram)
+        {
+            this.data      = data;
+            this.count     = count;
+            this.min       = min;
+            this.max       = max;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the values of the overview.
+         *
+         * @return the array of the values, or null if only the statistics were read.
+         */
+        public Object getData() { return data; }
+
+        /**
+         * Returns the number of values of the overview which are not NaN or infinite.
+         *
+         * @return the number of values counted in the statistics.
+         */
+        public long getCount() { return count; }
+
+        /**
+         * Returns the min value of the overview.
+         *
+         * @return the min value, or NaN if there are no statistics.
+         */
+        public double getMin() { return min; }
+
+        /**
+         * Returns the max value of the overview.
+         *
+         * @return the max value, or NaN if there are no statistics.
+         */
+        public double getMax() { return max; }
+
+        /**
+         * Returns the histogram of the values of the overview between its min and max values.
+         *
+         * @return the HISTOGRAM_BINS bins of the histogram, or null if there are no statistics.
+         */
+        public int[] getHistogram() { return histogram; }
+    }
+
+    /**
+     * Creates a cache in a directory, which is created when the first overview is stored.
+     *
+     * @param dir      the directory of the files of the overviews.
+     * @param maxBytes the maximum number of bytes of the files of the overviews.
+     */
+    public OverviewCache(File dir, long maxBytes)
+    {
+        this.dir      = dir;
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Returns the cache shared by the views, in the directory .hdfview-cache/overviews of the home directory
+     * of the user.
+     *
+     * @return the default cache.
+     */
+    public static synchronized OverviewCache getDefault()
+    {
+        if (defaultCache == null) {
+            File home    = new File(System.getProperty("user.home"));
+            defaultCache = new OverviewCache(new File(new File(home, ".hdfview-cache"), "overviews"),
+                                             DEFAULT_MAX_BYTES);
+        }
+
+        return defaultCache;
+    }
+
+    /**
+     * Returns the hyperslab of the thumbnail of the first plane of a dataset: the plane decimated by the
+     * same stride in both directions, so that it fits in a square of a given size.
+     *
+     * @param dset   the dataset.
+     * @param rowDim the dimension of the rows of the plane.
+     * @param colDim the dimension of the columns of the plane.
+     * @param size   the size of the square in pixels.
+     *
+     * @return the start, the stride and the count of the hyperslab in each dimension.
+     */
+    public static long[][] getThumbnailHyperslab(Dataset dset, int rowDim, int colDim, int size)
+    {
+        long[] dims   = dset.getDims();
+        long[] start  = new long[dims.length];
+        long[] stride = new long[dims.length];
+        long[] count  = new long[dims.length];
+        Arrays.fill(stride, 1);
+        Arrays.fill(count, 1);
+
+        long steps     = Math.max(1, (Math.max(dims[rowDim], dims[colDim]) + size - 1) / size);
+        stride[rowDim] = steps;
+        stride[colDim] = steps;
+        count[rowDim]  = Math.max(1, dims[rowDim] / steps);
+        count[colDim]  = Math.max(1, dims[colDim] / steps);
+
+        return new long[][] {start, stride, count};
+    }
+
+    /**
+     * Returns the overview of a hyperslab of a dataset, from the cache if it holds it for the current
+     * version of the file of the dataset, or read from the dataset and stored in the cache otherwise.
+     *
+     * @param dset   the dataset, which supports readHyperslab().
+     * @param start  the offset of the hyperslab in each dimension.
+     * @param stride the stride of the hyperslab in each dimension.
+     * @param count  the number of points of the hyperslab in each dimension.
+     *
+     * @return the overview.
+     *
+     * @throws Exception if the hyperslab could not be read.
+     * @throws UnsupportedOperationException if the dataset cannot be read in hyperslabs.
+     */
+    public Overview getOverview(Dataset dset, long[] start, long[] stride, long[] count) throws Exception
+    {
+        File source = dset.getFileFormat();
+        String key  = getKey(dset, start, stride, count);
+        File entry  = (key == null) ? null : getEntryFile(key);
+
+        if (entry != null) {
+            Overview overview = readEntry(entry, key, source, true);
+            if (overview != null) {
+                log.trace("getOverview(): {} from cache", key);
+                return overview;
+            }
+        }
+
+        Object data       = dset.readHyperslab(start, stride, count);
+        Overview overview = compute(dset, data);
+        if ((entry != null) && (overview.getHistogram() != null))
+            writeEntry(entry, key, source, overview);
+
+        return overview;
+    }
+
+    /**
+     * Returns the statistics of the overview of a hyperslab of a dataset if the cache holds it for the
+     * current version of the file of the dataset. Nothing is read from the dataset.
+     *
+     * @param dset   the dataset.
+     * @param start  the offset of the hyperslab in each dimension.
+     * @param stride the stride of the hyperslab in each dimension.
+     * @param count  the number of points of the hyperslab in each dimension.
+     *
+     * @return the overview, without its values, or null if it is not in the cache.
+     */
+    public Overview peekOverview(Dataset dset, long[] start, long[] stride, long[] count)
+    {
+        String key = getKey(dset, start, stride, count);
+        if (key == null)
+            return null;
+
+        return readEntry(getEntryFile(key), key, dset.getFileFormat(), false);
+    }
+
+    /**
+     * Computes the statistics of the values of an overview.
+     */
+    private static Overview compute(Dataset dset, Object data)
+    {
+        Object values = data;
+        if (dset.getDatatype().isUnsigned() && UnsignedView.isSupported(data))
+            values = new UnsignedView(data);
+
+        DataStatistics stats = DataStatistics.compute(values, null);
+        if (stats == null)
+            return new Overview(data, 0, Double.NaN, Double.NaN, null);
+
+        // every value is NaN or infinite
+        double min = (stats.getCount() == 0) ? stats.getFirstValue() : stats.getMin();
+        double max = (stats.getCount() == 0) ? stats.getFirstValue() : stats.getMax();
+
+        int[] histogram = DataStatistics.compute(values, null, new double[] {min, max}, HISTOGRAM_BINS)
+                              .getHistogram();
+
+        return new Overview(data, stats.getCount(), min, max, histogram);
+    }
+
+    /**
+     * Returns the key of an overview, or null if the file of the dataset is not a local file.
+     */
+    private static String getKey(Dataset dset, long[] start, long[] stride, long[] count)
+    {
+        File source = dset.getFileFormat();
+        if ((source == null) || !source.isFile())
+            return null;
+
+        String path;
+        try {
+            path = source.getCanonicalPath();
+        }
+        catch (IOException ex) {
+            path = source.getAbsolutePath();
+        }
+
+        return path + "|" + dset.getFullName() + "|" + Arrays.toString(start) + Arrays.toString(stride) +
+            Arrays.toString(count);
+    }
+
+    private File getEntryFile(String key)
+    {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash      = md.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 16; i++)
+                sb.append(String.format("%02x", hash[i]));
+
+            return new File(dir, sb.append(SUFFIX).toString());
+        }
+        catch (NoSuchAlgorithmException ex) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Reads an overview from its file, or returns null if it is not there or not that of the current
+     * version of the file of the dataset; a stale file is deleted.
+     */
+    private Overview readEntry(File entry, String key, File source, boolean withData)
+    {
+        if (!entry.isFile())
+            return null;
+
+        boolean isStale   = false;
+        Overview overview = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            isStale = (in.readInt() != MAGIC) || (in.readInt() != VERSION) || !key.equals(in.readUTF()) ||
+                      (in.readLong() != source.lastModified()) || (in.readLong() != source.length());
+            if (isStale)
+                return null;
+
+            long count      = in.readLong();
+            double min      = in.readDouble();
+            double max      = in.readDouble();
+            int[] histogram = new int[in.readInt()];
+            for (int i = 0; i < histogram.length; i++)
+                histogram[i] = in.readInt();
+
+            Object data = null;
+            if (withData) {
+                char type = in.readChar();
+                int n     = in.readInt();
+                int size  = Utils.getElementSize(Class.forName("[" + type).getComponentType());
+                if (size == 0)
+                    throw new IOException("unsupported overview type " + type);
+
+                byte[] bytes = new byte[n * size];
+                in.readFully(bytes);
+                data = toArray(type, n, ByteBuffer.wrap(bytes));
+            }
+
+            overview = new Overview(data, count, min, max, histogram);
+        }
+        catch (Exception ex) {
+            log.debug("readEntry(): {} failure: ", entry, ex);
+            isStale = true;
+        }
+        finally {
+            if (isStale && !entry.delete())
+                log.debug("readEntry(): {} could not be deleted", entry);
+        }
+
+        // the files are deleted least recently used first
+        if ((overview != null) && !entry.setLastModified(System.currentTimeMillis()))
+            log.trace("readEntry(): {} time not updated", entry);
+
+        return overview;
+    }
+
+    /**
+     * Writes an overview to its file, through a temporary file so that an overview is never read partly
+     * written, and deletes the files least recently used if the cache has grown over its maximum size.
+     */
+    private void writeEntry(File entry, String key, File source, Overview overview)
+    {
+        Object data = overview.getData();
+        int size    = (data == null) ? 0 : Utils.getElementSize(data.getClass().getComponentType());
+        if (size == 0)
+            return;
+
+        char type = Utils.getJavaObjectRuntimeClass(data);
+
+        File tmp = null;
+        try {
+            Files.createDirectories(dir.toPath());
+            tmp = File.createTempFile("overview", ".tmp", dir);
+
+            int n          = Array.getLength(data);
+            ByteBuffer buf = ByteBuffer.allocate(n * size);
+            fromArray(type, data, buf);
+
+            try (DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeLong(source.lastModified());
+                out.writeLong(source.length());
+                out.writeLong(overview.getCount());
+                out.writeDouble(overview.getMin());
+                out.writeDouble(overview.getMax());
+                int[] histogram = overview.getHistogram();
+                out.writeInt(histogram.length);
+                for (int i = 0; i < histogram.length; i++)
+                    out.writeInt(histogram[i]);
+                out.writeChar(type);
+                out.writeInt(n);
+                out.write(buf.array());
+            }
+
+            Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            log.trace("writeEntry(): {} stored in {}", key, entry);
+        }
+        catch (Exception ex) {
+            log.debug("writeEntry(): {} failure: ", entry, ex);
+        }
+        finally {
+            if ((tmp != null) && !tmp.delete())
+                log.debug("writeEntry(): {} could not be deleted", tmp);
+        }
+
+        prune();
+    }
+
+    /**
+     * Deletes the files of the overviews least recently used until the cache fits in its maximum size.
+     */
+    private synchronized void prune()
+    {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(SUFFIX));
+        if (files == null)
+            return;
+
+        long total = 0;
+        for (File f : files)
+            total += f.length();
+        if (total <= maxBytes)
+            return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File f : files) {
+            if (total <= maxBytes)
+                break;
+
+            long length = f.length();
+            if (f.delete())
+                total -= length;
+        }
+    }
+
+    private static void fromArray(char type, Object data, ByteBuffer buf)
+    {
+        switch (type) {
+        case 'B':
+            buf.put((byte[])data);
+            break;
+        case 'S':
+            buf.asShortBuffer().put((short[])data);
+            break;
+        case 'I':
+            buf.asIntBuffer().put((int[])data);
+            break;
+        case 'J':
+            buf.asLongBuffer().put((long[])data);
+            break;
+        case 'F':
+            buf.asFloatBuffer().put((float[])data);
+            break;
+        default:
+            buf.asDoubleBuffer().put((double[])data);
+            break;
+        }
+    }
+
+    private static Object toArray(char type, int n, ByteBuffer buf)
+    {
+        switch (type) {
+        case 'B': {
+            byte[] a = new byte[n];
+            buf.get(a);
+            return a;
+        }
+        case 'S': {
+            short[] a = new short[n];
+            buf.asShortBuffer().get(a);
+            return a;
+        }
+        case 'I': {
+            int[] a = new int[n];
+            buf.asIntBuffer().get(a);
+            return a;
+        }
+        case 'J': {
+            long[] a = new long[n];
+            buf.asLongBuffer().get(a);
+            return a;
+        }
+        case 'F': {
+            float[] a = new float[n];
+            buf.asFloatBuffer().get(a);
+            return a;
+        }
+        default: {
+            double[] a = new double[n];
+            buf.asDoubleBuffer().get(a);
+            return a;
+        }
+        }
+    }
+}
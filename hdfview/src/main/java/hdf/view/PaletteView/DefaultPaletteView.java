@@ -15,9 +15,7 @@
 package hdf.view.PaletteView;
 
 import java.awt.Image;
-import java.awt.Toolkit;
-import java.awt.image.IndexColorModel;
-import java.awt.image.MemoryImageSource;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import hdf.object.FileFormat;
@@ -104,6 +102,7 @@ public class DefaultPaletteView extends Dialog implements PaletteView {
     private int[][] paletteData;
 
     private boolean isPaletteChanged = false;
+    private boolean isPreviewPending = false;
     private boolean isH5             = false;
 
     /**
@@ -266,7 +265,7 @@ public class DefaultPaletteView extends Dialog implements PaletteView {
                 }
 
                 chartP.redraw();
-                isPaletteChanged = true;
+                paletteChanged();
             }
         });
 
@@ -400,31 +399,36 @@ public class DefaultPaletteView extends Dialog implements PaletteView {
             palette[2][i] = (byte)paletteData[2][i];
         }
 
-        IndexColorModel colorModel =
-            new IndexColorModel(8,           // bits - the number of bits each pixel occupies
-                                256,         // size - the size of the color component arrays
-                                palette[0],  // r - the array of red color components
-                                palette[1],  // g - the array of green color components
-                                palette[2]); // b - the array of blue color components
+        // the indices of the image are only looked up in the new palette, into the image of the last preview
+        BufferedImage buffer = null;
+        if ((currentImage != originalImage) && (currentImage instanceof BufferedImage))
+            buffer = (BufferedImage)currentImage;
 
-        long w                              = dataset.getWidth();
-        long h                              = dataset.getHeight();
-        MemoryImageSource memoryImageSource = null;
-
-        try {
-            memoryImageSource = (MemoryImageSource)originalImage.getSource();
-        }
-        catch (Exception err) {
-            memoryImageSource = null;
-        }
+        Image img = Tools.createIndexedImage(buffer, imageView.getImageByteData(), palette,
+                                             originalImage.getWidth(null), originalImage.getHeight(null));
+        if (img != null)
+            currentImage = img;
+    }
 
-        if (memoryImageSource == null)
-            memoryImageSource =
-                new MemoryImageSource((int)w, (int)h, colorModel, imageView.getImageByteData(), 0, (int)w);
-        else
-            memoryImageSource.newPixels(imageView.getImageByteData(), colorModel, 0, (int)w);
+    /**
+     * Marks the palette as changed and shows the image with it once the pending events are handled, so that
+     * the image follows the palette as it is edited.
+     */
+    private void paletteChanged()
+    {
+        isPaletteChanged = true;
+        if (isPreviewPending)
+            return;
+
+        isPreviewPending = true;
+        shell.getDisplay().asyncExec(() -> {
+            isPreviewPending = false;
+            if (shell.isDisposed())
+                return;
 
-        currentImage = Tools.toBufferedImage(Toolkit.getDefaultToolkit().createImage(memoryImageSource));
+            updatePalette();
+            imageView.setImage(currentImage);
+        });
     }
 
     /** The canvas that paints the data lines. */
@@ -607,7 +611,7 @@ public class DefaultPaletteView extends Dialog implements PaletteView {
                         }
 
                         chartP.redraw();
-                        isPaletteChanged = true;
+                        paletteChanged();
                     }
                 }
             });
@@ -782,7 +786,7 @@ public class DefaultPaletteView extends Dialog implements PaletteView {
 
             paletteData[col][row] = value;
             chartP.redraw();
-            isPaletteChanged = true;
+            paletteChanged();
         }
 
         public void refresh()
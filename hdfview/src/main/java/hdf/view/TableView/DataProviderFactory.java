@@ -18,11 +18,17 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import hdf.object.BufferPool;
 import hdf.object.CompoundDataFormat;
 import hdf.object.DataFormat;
+import hdf.object.Dataset;
 import hdf.object.Datatype;
 import hdf.object.HObject;
 import hdf.object.Utils;
@@ -34,6 +40,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.nebula.widgets.nattable.data.IDataProvider;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * A Factory class to return a concrete class implementing the IDataProvider
@@ -89,6 +97,34 @@ public class DataProviderFactory {
         return dataProvider;
     }
 
+    /**
+     * Get a Data Display Provider for the supplied data object which reads its data in blocks of rows as
+     * they are displayed, instead of holding the whole selection in memory.
+     *
+     * @param dataObject the data object
+     * @param firstPage  the data of the first block of rows, as returned by
+     *                   {@link PagedDataProvider#readRows(DataFormat, long, long)}
+     * @param pageRows   the number of rows in each block
+     * @param maxPages   the maximum number of blocks kept in memory
+     *
+     * @return the provider instance
+     *
+     * @throws Exception if a failure occurred
+     */
+    public static PagedDataProvider getPagedDataProvider(final DataFormat dataObject, final Object firstPage,
+                                                         final int pageRows, final int maxPages)
+        throws Exception
+    {
+        if (dataObject == null) {
+            log.debug("getPagedDataProvider(DataFormat): data object is null");
+            return null;
+        }
+
+        dataFormatReference = dataObject;
+
+        return new PagedDataProvider(dataObject, firstPage, pageRows, maxPages);
+    }
+
     private static HDFDataProvider getDataProvider(final Datatype dtype, final Object dataBuf,
                                                    final boolean dataTransposed) throws Exception
     {
@@ -134,6 +170,42 @@ public class DataProviderFactory {
         return dataProvider;
     }
 
+    /*
+     * Widens a value of an unsigned integer type of 8, 16 or 32 bits, held in the signed Java type of the
+     * same size as read from file, to the next larger type. Values of other types, such as the widened
+     * members of compound data, are returned unchanged.
+     */
+    private static Object widenUnsigned(final Object value, final long typeSize)
+    {
+        if ((typeSize == 1) && (value instanceof Byte))
+            return Short.valueOf((short)((Byte)value & 0xFF));
+        else if ((typeSize == 2) && (value instanceof Short))
+            return Integer.valueOf((Short)value & 0xFFFF);
+        else if ((typeSize == 4) && (value instanceof Integer))
+            return Long.valueOf((Integer)value & 0xFFFFFFFFL);
+
+        return value;
+    }
+
+    /*
+     * Converts a new value of an unsigned integer type of 8, 16 or 32 bits into the string of the signed
+     * Java value of the same size it is stored as, so that it is stored in a buffer as read from file.
+     */
+    private static String narrowUnsigned(final Object newValue, final long typeSize)
+    {
+        long value = Long.parseLong(((String)newValue).trim());
+        if ((value < 0) || (value >= (1L << (8 * typeSize))))
+            throw new NumberFormatException("value " + value + " out of range of unsigned " + (8 * typeSize) +
+                                            "-bit integers");
+
+        if (typeSize == 1)
+            return Byte.toString((byte)value);
+        else if (typeSize == 2)
+            return Short.toString((short)value);
+
+        return Integer.toString((int)value);
+    }
+
     /**
      * The base DataProvider which pulls data from a given Array object using direct
      * indices.
@@ -590,6 +662,326 @@ public class DataProviderFactory {
         }
     }
 
+    /**
+     * A DataProvider for large selections of numerical data which reads blocks ('pages') of rows on demand
+     * through the data object's hyperslab selection, instead of indexing into one buffer holding the whole
+     * selection. The most recently used pages are kept in memory and the next page in the scroll direction
+     * is read ahead while the display is idle.
+     *
+     * The provider is read-only and expects the rows of the selection to be laid out contiguously, i.e. the
+     * data is not transposed and the row dimension comes before the column dimension.
+     */
+    public static class PagedDataProvider extends HDFDataProvider {
+        private static final Logger log = LoggerFactory.getLogger(PagedDataProvider.class);
+
+        /* Reads the pages ahead of scrolling, off the display thread, for all tables. */
+        private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "PagedDataProvider prefetch");
+            t.setDaemon(true);
+            return t;
+        });
+
+        private final DataFormat pagedObject;
+
+        private final boolean isUINT64;
+
+        /* Unsigned integers are kept as read from file and widened as they are displayed. */
+        private final boolean isUnsigned;
+        private final long typeSize;
+
+        /* The datatype of long doubles kept as bytes; otherwise null. */
+        private final H5Datatype ldoubleType;
+
+        private final int pageRows;
+
+        /* Least-recently-used pages of data, keyed by page index. */
+        private final Map<Integer, Object> pageCache;
+
+        private int lastPage = 0;
+
+        /* Set while a page is read ahead; cleared by the prefetch thread if the display is gone. */
+        private volatile boolean prefetchPending = false;
+
+        /* Cleared once the data object is found not to be readable by hyperslabs. */
+        private boolean isPrefetchSupported = true;
+
+        /* Incremented by reset(), so that the pages read ahead of the previous selection are dropped. */
+        private int generation = 0;
+
+        PagedDataProvider(final DataFormat dataObject, final Object firstPage, final int pageRows,
+                          final int maxPages) throws Exception
+        {
+            super(dataObject.getDatatype(), firstPage, false);
+
+            this.pagedObject = dataObject;
+            this.pageRows    = Math.max(1, pageRows);
+
+            Datatype dtype = dataObject.getDatatype();
+            typeSize       = dtype.getDatatypeSize();
+            isUnsigned     = dtype.isUnsigned();
+            isUINT64       = isUnsigned && (typeSize == 8);
+            boolean isLDOUBLE = dtype.isFloat() && (typeSize == 16);
+            ldoubleType       = (isLDOUBLE && (dtype instanceof H5Datatype)) ? (H5Datatype)dtype : null;
+
+            final int cacheSize = Math.max(2, maxPages);
+            pageCache           = new LinkedHashMap<>(cacheSize + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Object> eldest)
+                {
+                    if (size() <= cacheSize)
+                        return false;
+
+                    releasePage(eldest.getValue());
+                    return true;
+                }
+            };
+            pageCache.put(0, firstPage);
+
+            log.trace("constructor: rowCount={} colCount={} pageRows={} maxPages={}", rowCount, colCount,
+                      this.pageRows, cacheSize);
+        }
+
+        /**
+         * Reads a block of rows of the current selection of a data object. The selection of the data object
+         * is only changed for the duration of the read and the object's data buffer is left untouched.
+         * Unsigned integers are left as read from file; they are widened as they are displayed.
+         *
+         * @param dataObject the data object
+         * @param firstRow   the first row of the block, relative to the current selection
+         * @param nRows      the number of rows to read
+         *
+         * @return the data of the block, rows first
+         *
+         * @throws Exception if the data could not be read
+         */
+        public static Object readRows(final DataFormat dataObject, long firstRow, long nRows) throws Exception
+        {
+            long[] start  = dataObject.getStartDims();
+            long[] count  = dataObject.getSelectedDims();
+            long[] stride = dataObject.getStride();
+            int rowDim    = dataObject.getSelectedIndex()[0];
+
+            long oldStart = start[rowDim];
+            long oldCount = count[rowDim];
+            long step     = (stride == null) ? 1 : stride[rowDim];
+
+            Object theData = null;
+            try {
+                start[rowDim] = oldStart + firstRow * step;
+                count[rowDim] = nRows;
+
+                log.trace("readRows(): rowDim={} start={} count={}", rowDim, start[rowDim], count[rowDim]);
+                theData = dataObject.read();
+            }
+            finally {
+                start[rowDim] = oldStart;
+                count[rowDim] = oldCount;
+            }
+
+            return theData;
+        }
+
+        private static BufferPool getBufferPool(final DataFormat dataObject)
+        {
+            return (dataObject instanceof Dataset) ? ((Dataset)dataObject).getBufferPool() : null;
+        }
+
+        /*
+         * Gives a block of rows dropped from memory back to the pool of buffers of the data object, unless
+         * it is the block held by the table as its data.
+         */
+        private void releasePage(Object page)
+        {
+            BufferPool pool = getBufferPool(pagedObject);
+            if ((pool != null) && (page != dataBuf))
+                pool.release(page);
+        }
+
+        /**
+         * Returns the block of rows with the given index, reading it from file if it is not in memory.
+         *
+         * @param pageIndex the index of the block of rows
+         *
+         * @return the data of the block
+         *
+         * @throws Exception if the data could not be read
+         */
+        public Object getPage(int pageIndex) throws Exception
+        {
+            Object page = pageCache.get(pageIndex);
+            if (page == null) {
+                long firstRow = (long)pageIndex * pageRows;
+                long nRows    = Math.min(pageRows, rowCount - firstRow);
+
+                page = readRows(pagedObject, firstRow, nRows);
+                pageCache.put(pageIndex, page);
+            }
+
+            if (pageIndex != lastPage) {
+                prefetch((pageIndex > lastPage) ? pageIndex + 1 : pageIndex - 1);
+                lastPage = pageIndex;
+            }
+
+            return page;
+        }
+
+        /*
+         * Reads the given page on the prefetch thread, so that scrolling continues into data which is
+         * already in memory. The page is read by a hyperslab taken from the selection now, leaving the
+         * selection of the data object untouched, and is only added to the cache on the display thread.
+         */
+        private void prefetch(final int pageIndex)
+        {
+            if (prefetchPending || !isPrefetchSupported || (pageIndex < 0) ||
+                ((long)pageIndex * pageRows >= rowCount) || pageCache.containsKey(pageIndex))
+                return;
+
+            final Display display = Display.getCurrent();
+            if (display == null)
+                return;
+
+            final long firstRow = (long)pageIndex * pageRows;
+            final long nRows    = Math.min(pageRows, rowCount - firstRow);
+
+            final long[] start     = pagedObject.getStartDims().clone();
+            final long[] count     = pagedObject.getSelectedDims().clone();
+            final long[] selStride = pagedObject.getStride();
+            final long[] stride    = (selStride == null) ? null : selStride.clone();
+            final int rowDim       = pagedObject.getSelectedIndex()[0];
+
+            count[rowDim] = nRows;
+            start[rowDim] += firstRow * ((stride == null) ? 1 : stride[rowDim]);
+
+            final int gen   = generation;
+            prefetchPending = true;
+            prefetcher.execute(() -> {
+                Object page         = null;
+                boolean unsupported = false;
+                try {
+                    if (pagedObject instanceof Dataset)
+                        page = ((Dataset)pagedObject).readHyperslab(start, stride, count);
+                    else
+                        unsupported = true;
+                }
+                catch (UnsupportedOperationException ex) {
+                    log.debug("prefetch({}): pages are read on demand only: ", pageIndex, ex);
+                    unsupported = true;
+                }
+                catch (Exception ex) {
+                    log.debug("prefetch({}): failure: ", pageIndex, ex);
+                }
+
+                final Object result    = page;
+                final boolean disabled = unsupported;
+                try {
+                    display.asyncExec(() -> prefetched(pageIndex, gen, result, disabled));
+                }
+                catch (SWTException ex) {
+                    // the display was disposed with the table
+                    log.debug("prefetch({}): display disposed: ", pageIndex, ex);
+                    prefetchPending = false;
+                }
+            });
+        }
+
+        /*
+         * Adds a page read ahead to the cache, on the display thread, unless the selection has changed or
+         * the page has been read on demand in the meantime.
+         */
+        void prefetched(int pageIndex, int gen, Object page, boolean unsupported)
+        {
+            prefetchPending = false;
+            if (unsupported)
+                isPrefetchSupported = false;
+            if (page == null)
+                return;
+
+            if ((gen != generation) || pageCache.containsKey(pageIndex))
+                releasePage(page);
+            else
+                pageCache.put(pageIndex, page);
+        }
+
+        /*
+         * Returns the generation of the selection the pages are read from.
+         */
+        int getGeneration() { return generation; }
+
+        /*
+         * Returns true if the block of rows with the given index is held in memory.
+         */
+        boolean isPageCached(int pageIndex) { return pageCache.containsKey(pageIndex); }
+
+        /**
+         * Returns the value stored in the data buffer for a table cell, without any display conversion.
+         *
+         * @param columnIndex the column
+         * @param rowIndex    the row
+         *
+         * @return the value in the data buffer
+         *
+         * @throws Exception if the data could not be read
+         */
+        public Object getRawValue(int columnIndex, int rowIndex) throws Exception
+        {
+            int pageIndex = rowIndex / pageRows;
+            Object page   = getPage(pageIndex);
+            int bufIndex  = (int)((rowIndex - (long)pageIndex * pageRows) * colCount + columnIndex);
+
+            // long doubles are kept as bytes and decoded as they are displayed
+            if ((ldoubleType != null) && (page instanceof byte[]))
+                return ldoubleType.byteToBigDecimal((byte[])page, bufIndex);
+
+            return Array.get(page, bufIndex);
+        }
+
+        @Override
+        public Object getDataValue(int columnIndex, int rowIndex)
+        {
+            try {
+                theValue = getRawValue(columnIndex, rowIndex);
+
+                if (isUINT64)
+                    theValue = Tools.convertUINT64toBigInt(Long.valueOf((long)theValue));
+                else if (isUnsigned)
+                    theValue = widenUnsigned(theValue, typeSize);
+            }
+            catch (Exception ex) {
+                log.debug("getDataValue({}, {}): failure: ", rowIndex, columnIndex, ex);
+                theValue = DataFactoryUtils.errStr;
+            }
+
+            log.trace("getDataValue({}, {})=({}): finish", rowIndex, columnIndex, theValue);
+
+            return theValue;
+        }
+
+        @Override
+        public void setDataValue(int columnIndex, int rowIndex, Object newValue)
+        {
+            log.debug("setDataValue({}, {}): paged data is read-only", rowIndex, columnIndex);
+        }
+
+        /**
+         * Drops all blocks of rows held in memory and re-reads the first block from the current selection of
+         * the data object, such as after changing frames or refreshing the data.
+         *
+         * @throws Exception if the data could not be read
+         */
+        public void reset() throws Exception
+        {
+            for (Object page : pageCache.values())
+                releasePage(page);
+            pageCache.clear();
+            lastPage = 0;
+            generation++;
+
+            Object firstPage = readRows(pagedObject, 0, Math.min(pageRows, pagedObject.getHeight()));
+            updateDataBuffer(firstPage);
+            pageCache.put(0, firstPage);
+        }
+    }
+
     /*
      * A DataProvider for Compound datatype datasets which is a composite of
      * DataProviders, one for each selected member of the Compound datatype.
@@ -1860,19 +2252,32 @@ public class DataProviderFactory {
         private final boolean isFLT16;
         private final long typeSize;
 
+        /* Unsigned integers are kept as read from file and widened as they are displayed. */
+        private final boolean isUnsigned;
+
+        /* The datatype of long doubles kept as bytes, decoded as they are displayed; otherwise null. */
+        private final H5Datatype ldoubleType;
+
         NumericalDataProvider(final Datatype dtype, final Object dataBuf, final boolean dataTransposed)
             throws Exception
         {
             super(dtype, dataBuf, dataTransposed);
 
-            typeSize = dtype.getDatatypeSize();
-            isUINT64 = dtype.isUnsigned() && (typeSize == 8);
-            isFLT16  = dtype.isFloat() && (typeSize == 2);
+            typeSize   = dtype.getDatatypeSize();
+            isUnsigned = dtype.isUnsigned();
+            isUINT64   = isUnsigned && (typeSize == 8);
+            isFLT16    = dtype.isFloat() && (typeSize == 2);
+
+            boolean isLDOUBLE = dtype.isFloat() && (typeSize == 16);
+            ldoubleType       = (isLDOUBLE && (dtype instanceof H5Datatype)) ? (H5Datatype)dtype : null;
         }
 
         @Override
         public Object getDataValue(int columnIndex, int rowIndex)
         {
+            if ((ldoubleType != null) && (dataBuf instanceof byte[]))
+                return getDataValue(dataBuf, physicalLocationToBufIndex(rowIndex, columnIndex));
+
             super.getDataValue(columnIndex, rowIndex);
 
             try {
@@ -1886,6 +2291,8 @@ public class DataProviderFactory {
                 }
                 else if (isUINT64)
                     theValue = Tools.convertUINT64toBigInt(Long.valueOf((long)theValue));
+                else if (isUnsigned)
+                    theValue = widenUnsigned(theValue, typeSize);
             }
             catch (Exception ex) {
                 log.debug("getDataValue({}, {}): failure: ", rowIndex, columnIndex, ex);
@@ -1900,6 +2307,18 @@ public class DataProviderFactory {
         @Override
         public Object getDataValue(Object obj, int index)
         {
+            if ((ldoubleType != null) && (obj instanceof byte[])) {
+                try {
+                    theValue = ldoubleType.byteToBigDecimal((byte[])obj, index);
+                }
+                catch (Exception ex) {
+                    log.debug("getDataValue({}): failure: ", index, ex);
+                    theValue = DataFactoryUtils.errStr;
+                }
+
+                return theValue;
+            }
+
             super.getDataValue(obj, index);
 
             try {
@@ -1913,6 +2332,8 @@ public class DataProviderFactory {
                 }
                 else if (isUINT64)
                     theValue = Tools.convertUINT64toBigInt(Long.valueOf((long)theValue));
+                else if (isUnsigned)
+                    theValue = widenUnsigned(theValue, typeSize);
             }
             catch (Exception ex) {
                 log.debug("getDataValue({}): failure: ", index, ex);
@@ -1935,8 +2356,14 @@ public class DataProviderFactory {
         public void setDataValue(int columnIndex, int rowIndex, Object newValue)
         {
             log.trace("setDataValue({}, {})=({}): start", rowIndex, columnIndex, newValue);
+            if (ldoubleType != null) {
+                log.debug("setDataValue({}, {}): long double data is read-only", rowIndex, columnIndex);
+                return;
+            }
+
             try {
-                if (isFLT16) {
+                // half precision numbers are widened to floats as they are read
+                if (isFLT16 && (dataBuf instanceof short[])) {
                     // must convert string from float to short first
                     float fValue = Float.parseFloat((String)newValue);
                     short sValue = Float.floatToFloat16(fValue);
@@ -1944,6 +2371,8 @@ public class DataProviderFactory {
                     String strValue = Short.toString(sValue);
                     super.setDataValue(columnIndex, rowIndex, strValue);
                 }
+                else if (isNarrowUnsigned(dataBuf))
+                    super.setDataValue(columnIndex, rowIndex, narrowUnsigned(newValue, typeSize));
                 else
                     super.setDataValue(columnIndex, rowIndex, newValue);
             }
@@ -1969,8 +2398,13 @@ public class DataProviderFactory {
         public void setDataValue(int index, Object bufObject, Object newValue)
         {
             log.trace("setDataValue({}: {})=({}): start", index, bufObject, newValue);
+            if (ldoubleType != null) {
+                log.debug("setDataValue({}): long double data is read-only", index);
+                return;
+            }
+
             try {
-                if (isFLT16) {
+                if (isFLT16 && (bufObject instanceof short[])) {
                     // must convert string from float to short first
                     float fValue = Float.parseFloat((String)newValue);
                     short sValue = Float.floatToFloat16(fValue);
@@ -1978,6 +2412,8 @@ public class DataProviderFactory {
                     String strValue = Short.toString(sValue);
                     super.setDataValue(index, bufObject, strValue);
                 }
+                else if (isNarrowUnsigned(bufObject))
+                    super.setDataValue(index, bufObject, narrowUnsigned(newValue, typeSize));
                 else
                     super.setDataValue(index, bufObject, newValue);
             }
@@ -1987,6 +2423,16 @@ public class DataProviderFactory {
             }
             log.trace("setDataValue({}, {})=({}): finish", index, bufObject, newValue);
         }
+
+        /*
+         * Checks if a buffer holds unsigned integers of 8, 16 or 32 bits as read from file, in the signed
+         * Java type of the same size, rather than widened.
+         */
+        private boolean isNarrowUnsigned(Object bufObject)
+        {
+            return isUnsigned && !isUINT64 && (bufObject != null) && bufObject.getClass().isArray() &&
+                   (Utils.getElementSize(bufObject.getClass().getComponentType()) == typeSize);
+        }
     }
 
     private static class EnumDataProvider extends HDFDataProvider {
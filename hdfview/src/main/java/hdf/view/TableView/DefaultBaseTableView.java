@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import hdf.object.BufferPool;
 import hdf.object.CompoundDS;
 import hdf.object.DataFormat;
 import hdf.object.Dataset;
@@ -48,6 +49,8 @@ import hdf.object.FileFormat;
 import hdf.object.Group;
 import hdf.object.HObject;
 import hdf.object.ScalarDS;
+import hdf.object.UnsignedView;
+import hdf.object.Utils;
 import hdf.object.h5.H5Datatype;
 import hdf.object.h5.H5ReferenceType;
 import hdf.view.Chart;
@@ -231,6 +234,12 @@ public abstract class DefaultBaseTableView implements TableView {
     /** status if the data is transposed. */
     protected boolean isDataTransposed;
 
+    /** status if the data is read in blocks of rows as it is displayed, instead of all at once. */
+    protected boolean isPagedData = false;
+
+    /** the pool the frames or pages of the data object are read into, if this view set it on the object. */
+    private BufferPool bufferPool = null;
+
     /** reference status. */
     protected boolean isRegRef = false;
     protected boolean isObjRef = false;
@@ -328,6 +337,13 @@ public abstract class DefaultBaseTableView implements TableView {
                 dataValue = null;
                 dataTable = null;
 
+                if (bufferPool != null) {
+                    if (((Dataset)dataObject).getBufferPool() == bufferPool)
+                        ((Dataset)dataObject).setBufferPool(null);
+                    bufferPool.clear();
+                    bufferPool = null;
+                }
+
                 if (curFont != null)
                     curFont.dispose();
 
@@ -395,6 +411,12 @@ public abstract class DefaultBaseTableView implements TableView {
 
         isReadOnly = ((HObject)dataObject).getFileFormat().isReadOnly();
 
+        // read the frames and pages into recycled buffers, unless another view of the dataset already does
+        if ((dataObject instanceof Dataset) && (((Dataset)dataObject).getBufferPool() == null)) {
+            bufferPool = new BufferPool();
+            ((Dataset)dataObject).setBufferPool(bufferPool);
+        }
+
         if (((HObject)dataObject)
                 .getFileFormat()
                 .isThisType(FileFormat.getFileFormat(FileFormat.FILE_TYPE_HDF4)) &&
@@ -954,6 +976,11 @@ public abstract class DefaultBaseTableView implements TableView {
                         theData = dataValue;
                     }
 
+                    // unsigned integers are widened as they are read through a view
+                    if (!(dataObject instanceof CompoundDS) && dataObject.getDatatype().isUnsigned() &&
+                        UnsignedView.isSupported(theData))
+                        theData = new UnsignedView(theData);
+
                     double[] minmax = new double[2];
                     double[] stat   = new double[2];
 
@@ -1134,6 +1161,12 @@ public abstract class DefaultBaseTableView implements TableView {
             ((CompoundDS)theDataObject).setConvertByteToString(false);
         }
 
+        // decode long doubles as they are displayed instead of converting them all to BigDecimals
+        if ((theDataObject instanceof ScalarDS) && theDataObject.getDatatype().isFloat() &&
+            (theDataObject.getDatatype().getDatatypeSize() == 16)) {
+            ((ScalarDS)theDataObject).setConvertByteToBigDecimal(false);
+        }
+
         // Make sure entire dataset is not loaded when looking at 3D
         // datasets using the default display mode (double clicking the
         // data object)
@@ -1163,6 +1196,18 @@ public abstract class DefaultBaseTableView implements TableView {
         }
 
         dataValue = null;
+
+        /*
+         * Selections too large to hold in memory at once are read block by block as they
+         * are displayed; the subclass loads the first block.
+         */
+        if (usePagedData(theDataObject)) {
+            log.trace("loadData(): reading data in blocks of rows");
+            isPagedData = true;
+            isReadOnly  = true;
+            return;
+        }
+
         try {
             log.trace("loadData(): call getData()");
             dataValue = theDataObject.getData();
@@ -1174,6 +1219,16 @@ public abstract class DefaultBaseTableView implements TableView {
         }
     }
 
+    /**
+     * Checks whether the data of an object should be read in blocks of rows as it is displayed instead of
+     * being read all at once by loadData().
+     *
+     * @param theDataObject the object that has the buffer for the data.
+     *
+     * @return true if the data should be read in blocks of rows; otherwise, false.
+     */
+    protected boolean usePagedData(DataFormat theDataObject) { return false; }
+
     /**
      * Create a data table for a data object.
      *
@@ -1325,12 +1380,22 @@ public abstract class DefaultBaseTableView implements TableView {
         log.trace("refreshDataTable()");
 
         shell.setCursor(display.getSystemCursor(SWT.CURSOR_WAIT));
-        dataValue = dataObject.refreshData();
+        if (isPagedData) {
+            try {
+                ((DataProviderFactory.PagedDataProvider)dataProvider).reset();
+            }
+            catch (Exception ex) {
+                log.debug("refreshDataTable(): ", ex);
+            }
+        }
+        else
+            dataValue = dataObject.refreshData();
         shell.setCursor(null);
 
         long[] dims = dataObject.getDims();
         log.trace("refreshDataTable() dims:{}", dims);
-        dataProvider.updateDataBuffer(dataValue);
+        if (!isPagedData)
+            dataProvider.updateDataBuffer(dataValue);
         ((RowHeaderDataProvider)rowHeaderDataProvider).updateRows(dataObject);
         log.trace("refreshDataTable(): rows={} : cols={}", dataProvider.getRowCount(),
                   dataProvider.getColumnCount());
@@ -1443,19 +1508,25 @@ public abstract class DefaultBaseTableView implements TableView {
 
         shell.setCursor(display.getSystemCursor(SWT.CURSOR_WAIT));
 
-        try {
-            dataValue = dataObject.getData();
+        if (isPagedData) {
+            try {
+                ((DataProviderFactory.PagedDataProvider)dataProvider).reset();
+            }
+            catch (Exception ex) {
+                shell.getDisplay().beep();
+                Tools.showError(shell, "Error loading data", "Dataset getData: " + ex.getMessage());
+                log.debug("gotoFrame(): ", ex);
+            }
+            finally {
+                shell.setCursor(null);
+            }
 
-            /*
-             * TODO(HDFView) [2025-12]: Implement unsigned-to-signed conversion for table view display of
-             * CompoundDS. Currently compound datasets skip unsigned conversion, causing negative values to
-             * appear for unsigned data. Display layer should handle conversion even if data layer doesn't
-             * (see Dataset.java line 738). May need display-only conversion without modifying underlying
-             * data. Related: Dataset.java line 738 for data-layer conversion logic.
-             */
-            if (!(dataObject instanceof CompoundDS))
-                dataObject.convertFromUnsignedC();
+            dataTable.doCommand(new VisualRefreshCommand());
+            return;
+        }
 
+        try {
+            // unsigned integers are kept as read from file and widened as they are displayed
             dataValue = dataObject.getData();
         }
         catch (Exception ex) {
@@ -1852,8 +1923,6 @@ public abstract class DefaultBaseTableView implements TableView {
 
         try (DataOutputStream out = new DataOutputStream(new FileOutputStream(chosenFile))) {
             if (dataObject instanceof ScalarDS) {
-                ((ScalarDS)dataObject).convertToUnsignedC();
-                Object data  = dataObject.getData();
                 ByteOrder bo = ByteOrder.nativeOrder();
 
                 if (binaryOrder == 1)
@@ -1863,7 +1932,11 @@ public abstract class DefaultBaseTableView implements TableView {
                 else if (binaryOrder == 3)
                     bo = ByteOrder.BIG_ENDIAN;
 
-                Tools.saveAsBinary(out, data, bo);
+                // a paged selection is written block by block as read from file, without loading it whole
+                if (isPagedData && (dataObject instanceof Dataset))
+                    Tools.saveAsBinary(out, (Dataset)dataObject, bo);
+                else
+                    Tools.saveAsBinary(out, dataObject.getData(), bo);
 
                 viewer.showStatus("Data saved to: " + fname);
             }
@@ -2081,10 +2154,21 @@ public abstract class DefaultBaseTableView implements TableView {
             return;
         }
 
+        // the selected unsigned integers are converted as widened values, and stored back as read from file
+        long typeSize      = dataObject.getDatatype().getDatatypeSize();
+        boolean isUnsigned = !(dataObject instanceof CompoundDS) && dataObject.getDatatype().isUnsigned() &&
+                             (typeSize < 8) &&
+                             (Utils.getElementSize(theData.getClass().getComponentType()) == typeSize);
+        if (isUnsigned)
+            theData = Dataset.convertFromUnsignedC(theData, null);
+
         MathConversionDialog dialog = new MathConversionDialog(shell, theData);
         dialog.open();
 
         if (dialog.isConverted()) {
+            if (isUnsigned)
+                theData = Dataset.convertToUnsignedC(theData, null);
+
             if (dataObject instanceof CompoundDS) {
                 Object colData = null;
                 try {
@@ -18,6 +18,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -87,6 +88,18 @@ import org.eclipse.swt.widgets.Shell;
 public class DefaultScalarDSTableView extends DefaultBaseTableView implements TableView {
     private static final Logger log = LoggerFactory.getLogger(DefaultScalarDSTableView.class);
 
+    /** Selections with at least this many data points are read in blocks of rows as they are displayed. */
+    private static final long PAGED_DATA_THRESHOLD = 1L << 24;
+
+    /** The approximate number of data points in each block of rows. */
+    private static final int PAGED_DATA_PAGE_POINTS = 1 << 16;
+
+    /** The number of blocks of rows kept in memory. */
+    private static final int PAGED_DATA_MAX_PAGES = 16;
+
+    /** The number of rows in each block of rows when the data is paged. */
+    private int pageRows = 0;
+
     /**
      * Constructs a ScalarDS TableView with no additional data properties.
      *
@@ -150,6 +163,30 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
     {
         super.loadData(dataObject);
 
+        if (isPagedData) {
+            long width = Math.max(1, dataObject.getWidth());
+            pageRows   = (int)Math.max(1, PAGED_DATA_PAGE_POINTS / width);
+
+            try {
+                dataValue = DataProviderFactory.PagedDataProvider.readRows(
+                    dataObject, 0, Math.min(pageRows, dataObject.getHeight()));
+            }
+            catch (Exception ex) {
+                log.debug("loadData(): ", ex);
+                dataValue = null;
+                throw ex;
+            }
+
+            if (dataValue == null) {
+                log.debug("loadData(): data value is null");
+                throw new RuntimeException("data value is null");
+            }
+
+            fillValue = dataObject.getFillValue();
+            log.trace("loadData(): paged data with {} rows per page", pageRows);
+            return;
+        }
+
         try {
             if (Tools.applyBitmask(dataValue, bitmask, bitmaskOP)) {
                 isReadOnly    = true;
@@ -163,8 +200,7 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
                 indexBaseGroup.setText(title);
             }
 
-            dataObject.convertFromUnsignedC();
-
+            // unsigned integers are kept as read from file and widened as they are displayed
             dataValue = dataObject.getData();
         }
         catch (Exception ex) {
@@ -187,14 +223,16 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
 
         /*
          * Convert numerical data into character data; only possible cases are byte[]
-         * and short[] (converted from unsigned byte)
+         * and short[]
          */
         if (isDisplayTypeChar && ((runtimeTypeClass == 'B') || (runtimeTypeClass == 'S'))) {
-            int n           = Array.getLength(dataValue);
-            char[] charData = new char[n];
+            boolean isUnsigned = dataObject.getDatatype().isUnsigned();
+            int n              = Array.getLength(dataValue);
+            char[] charData    = new char[n];
             for (int i = 0; i < n; i++) {
                 if (runtimeTypeClass == 'B')
-                    charData[i] = (char)Array.getByte(dataValue, i);
+                    charData[i] = (char)(isUnsigned ? (Array.getByte(dataValue, i) & 0xFF)
+                                                    : Array.getByte(dataValue, i));
                 else if (runtimeTypeClass == 'S')
                     charData[i] = (char)Array.getShort(dataValue, i);
             }
@@ -208,6 +246,49 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
         }
     }
 
+    @Override
+    protected boolean usePagedData(DataFormat dataObject)
+    {
+        return isPagedSelection(dataObject, isDisplayTypeChar, isDataTransposed, bitmask);
+    }
+
+    /**
+     * Checks if the current selection of a data object is displayed block by block
+     * instead of being read into memory at once.
+     *
+     * Only plain numerical data laid out row by row is paged, since the display
+     * conversions for characters, bitmasks and transposed data need the whole
+     * selection in memory.
+     *
+     * @param dataObject
+     *            the data object to display
+     * @param isDisplayTypeChar
+     *            true if the data is displayed as characters
+     * @param isTransposed
+     *            true if the data is displayed transposed
+     * @param bitmask
+     *            the bitmask applied to the data, or null
+     *
+     * @return true if the selection is paged into the table on demand
+     */
+    public static boolean isPagedSelection(DataFormat dataObject, boolean isDisplayTypeChar,
+                                           boolean isTransposed, BitSet bitmask)
+    {
+        if (!(dataObject instanceof ScalarDS) || (bitmask != null) || isDisplayTypeChar || isTransposed)
+            return false;
+
+        Datatype dtype = dataObject.getDatatype();
+        long typeSize  = dtype.getDatatypeSize();
+        if (!(dtype.isInteger() || (dtype.isFloat() && ((typeSize == 4) || (typeSize == 8)))))
+            return false;
+
+        int[] selectedIndex = dataObject.getSelectedIndex();
+        if ((dataObject.getRank() > 1) && (selectedIndex[0] > selectedIndex[1]))
+            return false;
+
+        return (dataObject.getHeight() * dataObject.getWidth()) >= PAGED_DATA_THRESHOLD;
+    }
+
     /**
      * Creates the menubar for the Shell.
      */
@@ -527,8 +608,10 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
         });
 
         char runtimeTypeClass = Utils.getJavaObjectRuntimeClass(dataValue);
+        // long doubles decoded as they are displayed are held as bytes
         boolean isInt = (runtimeTypeClass == 'B' || runtimeTypeClass == 'S' || runtimeTypeClass == 'I' ||
-                         runtimeTypeClass == 'J');
+                         runtimeTypeClass == 'J') &&
+                        !dataObject.getDatatype().isFloat();
 
         if (isInt || dataObject.getDatatype().isBitField() || dataObject.getDatatype().isOpaque()) {
             checkHex = new MenuItem(dataDisplayMenu, SWT.CHECK);
@@ -665,7 +748,11 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
     {
         // Create body layer
         try {
-            dataProvider = DataProviderFactory.getDataProvider(dataObject, dataValue, isDataTransposed);
+            if (isPagedData)
+                dataProvider = DataProviderFactory.getPagedDataProvider(dataObject, dataValue, pageRows,
+                                                                        PAGED_DATA_MAX_PAGES);
+            else
+                dataProvider = DataProviderFactory.getDataProvider(dataObject, dataValue, isDataTransposed);
 
             log.trace("createTable(): rows={} : cols={}", dataProvider.getRowCount(),
                       dataProvider.getColumnCount());
@@ -719,7 +806,7 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
     }
 
     /**
-     * Returns the selected data values of the ScalarDS.
+     * Returns the selected data values of the ScalarDS; unsigned integers are as read from file.
      */
     @Override
     public Object getSelectedData()
@@ -749,7 +836,7 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
         log.trace("getSelectedData() data size: {}", size);
 
         // the whole table is selected
-        if ((dataTable.getPreferredColumnCount() - 1 == selectedCols.length) &&
+        if (!isPagedData && (dataTable.getPreferredColumnCount() - 1 == selectedCols.length) &&
             (dataTable.getPreferredRowCount() - 1 == selectedRows.length))
             return dataValue;
 
@@ -757,6 +844,10 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
             // ref data are stored in bytes
             selectedData = new byte[size * (int)dataObject.getDatatype().getDatatypeSize()];
         }
+        else if (dataObject.getDatatype().isFloat() && (dataObject.getDatatype().getDatatypeSize() == 16)) {
+            // long doubles have no Java array type
+            selectedData = null;
+        }
         else {
             switch (Utils.getJavaObjectRuntimeClass(dataValue)) {
             case 'B':
@@ -801,7 +892,21 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
             for (int j = 0; j < selectedCols.length; j++) {
                 idxSrc                = selectedRows[i] * w + selectedCols[j];
                 Object dataArrayValue = null;
-                if (dataValue instanceof ArrayList) {
+                if (isPagedData) {
+                    try {
+                        dataArrayValue = ((DataProviderFactory.PagedDataProvider)dataProvider)
+                                             .getRawValue(selectedCols[j], selectedRows[i]);
+                    }
+                    catch (Exception ex) {
+                        log.debug("getSelectedData(): ", ex);
+                        shell.getDisplay().beep();
+                        Tools.showError(shell, "Select",
+                                        "Unable to read selected data:\n\n" + ex.getMessage());
+                        return null;
+                    }
+                    Array.set(selectedData, idxDst, dataArrayValue);
+                }
+                else if (dataValue instanceof ArrayList) {
                     dataArrayValue = ((ArrayList)dataValue).get(idxSrc);
                     System.arraycopy(dataArrayValue, 0, selectedData, idxDst,
                                      (int)dataObject.getDatatype().getDatatypeSize());
@@ -824,7 +929,8 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
      *
      * Cells can be edited as long as the dataset is not opened in read-only mode
      * and the data is not currently displayed in hexadecimal, binary, or character
-     * mode.
+     * mode. Long doubles are shown as decoded from their bytes and cannot be encoded
+     * back, so their cells are never editable.
      *
      * @param dataObject
      *            The dataset for editing
@@ -837,6 +943,9 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
         if (dataObject == null)
             return null;
 
+        final Datatype dtype       = dataObject.getDatatype();
+        final boolean isLongDouble = (dtype != null) && dtype.isFloat() && (dtype.getDatatypeSize() == 16);
+
         // Only Allow editing if not in read-only mode
         return new EditableRule() {
             @Override
@@ -850,7 +959,7 @@ public class DefaultScalarDSTableView extends DefaultBaseTableView implements Ta
                  * (0b00000000-0b11111111). Related: DefaultCompoundDSTableView.java line 320 has same
                  * limitation.
                  */
-                return !(isReadOnly || isDisplayTypeChar || showAsBin || showAsHex);
+                return !(isReadOnly || isLongDouble || isDisplayTypeChar || showAsBin || showAsHex);
             }
         };
     }
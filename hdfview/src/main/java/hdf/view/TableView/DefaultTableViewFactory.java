@@ -169,4 +169,35 @@ public class DefaultTableViewFactory extends TableViewFactory {
 
         return theView;
     }
+
+    /**
+     * Reads the selection of a data object shown by the default TableView. Selections paged into the
+     * table on demand are left to the view, and so are the data objects with a bitmask, which the view
+     * reads through a copy.
+     *
+     * @param dataObject        the initialized data object
+     * @param dataPropertiesMap the data properties map
+     *
+     * @throws Exception if the data could not be read
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void readDataForView(DataFormat dataObject, HashMap dataPropertiesMap) throws Exception
+    {
+        String dataViewName = (String)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.VIEW_NAME);
+        if ((dataViewName != null) && !dataViewName.equals(ViewProperties.DEFAULT_MODULE_TEXT) &&
+            !dataViewName.equals(ViewProperties.DEFAULT_SCALAR_DATASET_TABLEVIEW_NAME) &&
+            !dataViewName.equals(ViewProperties.DEFAULT_COMPOUND_DATASET_TABLEVIEW_NAME))
+            return;
+
+        boolean isDisplayTypeChar = (Boolean)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.CHAR);
+        boolean isTransposed      = (Boolean)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.TRANSPOSED);
+        BitSet bitmask            = (BitSet)dataPropertiesMap.get(ViewProperties.DATA_VIEW_KEY.BITMASK);
+        if ((bitmask != null) ||
+            DefaultScalarDSTableView.isPagedSelection(dataObject, isDisplayTypeChar, isTransposed, bitmask))
+            return;
+
+        log.trace("readDataForView(): reading {}", ((HObject)dataObject).getName());
+        dataObject.getData();
+    }
 }
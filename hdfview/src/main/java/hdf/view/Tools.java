@@ -19,10 +19,13 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
 import java.awt.image.DataBufferInt;
 import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
 import java.awt.image.MemoryImageSource;
 import java.awt.image.PixelGrabber;
+import java.awt.image.WritableRaster;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
@@ -45,22 +48,32 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 
+import hdf.object.DataBlockIterator;
+import hdf.object.DataStatistics;
+import hdf.object.Dataset;
 import hdf.object.Datatype;
 import hdf.object.FileFormat;
 import hdf.object.Group;
 import hdf.object.ScalarDS;
+import hdf.object.UnsignedView;
 import hdf.view.ViewProperties.BITMASK_OP;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 
@@ -76,6 +89,18 @@ public final class Tools {
 
     private static final Logger log = LoggerFactory.getLogger(Tools.class);
 
+    /** The number of data points read or converted at a time when data is processed in blocks. */
+    private static final int BUFFER_BLOCK_POINTS = 1024 * 1024;
+
+    /** The number of data points of an image from which it is converted in parallel tiles or bands. */
+    private static final int PARALLEL_IMAGE_POINTS = 1 << 18;
+
+    /** The number of data points of each tile of an image converted in parallel. */
+    private static final int IMAGE_TILE_POINTS = 1 << 16;
+
+    /** The maximum number of data points sampled to compute the autocontrast parameters of an image. */
+    private static final int AUTO_CONTRAST_SAMPLE_POINTS = 1 << 20;
+
     /** Maximum value or int8. */
     public static final long MAX_INT8 = 127;
     /** Maximum value or unsigned int8. */
@@ -679,20 +704,24 @@ public final class Tools {
         if (palette == null)
             palette = Tools.createGrayPalette();
 
-        if (bufferedImage == null)
+        if ((bufferedImage == null) || (bufferedImage.getWidth() != w) || (bufferedImage.getHeight() != h) ||
+            (bufferedImage.getType() != BufferedImage.TYPE_INT_ARGB))
             bufferedImage = new BufferedImage((int)w, (int)h, BufferedImage.TYPE_INT_ARGB);
 
-        final int[] pixels = ((DataBufferInt)bufferedImage.getRaster().getDataBuffer()).getData();
-        int len            = pixels.length;
+        // the palette is looked up once per color, then the indices are mapped to colors in bands of rows
+        final int[] colors = new int[256];
+        for (int i = 0; i < 256; i++)
+            colors[i] = 0xff000000 | ((palette[0][i] & 0xff) << 16) | ((palette[1][i] & 0xff) << 8) |
+                        (palette[2][i] & 0xff);
 
-        for (int i = 0; i < len; i++) {
-            int idx = imageData[i] & 0xff;
-            int r   = (palette[0][idx] & 0xff) << 16;
-            int g   = (palette[1][idx] & 0xff) << 8;
-            int b   = palette[2][idx] & 0xff;
+        final int[] pixels = ((DataBufferInt)bufferedImage.getRaster().getDataBuffer()).getData();
+        final int width    = (int)w;
+        final int len      = Math.min(pixels.length, imageData.length);
 
-            pixels[i] = 0xff000000 | r | g | b;
-        }
+        convertRows(width, (int)h, (y0, y1) -> {
+            for (int i = y0 * width; i < Math.min(len, y1 * width); i++)
+                pixels[i] = colors[imageData[i] & 0xff];
+        });
 
         return bufferedImage;
     }
@@ -820,6 +849,189 @@ public final class Tools {
         return bimage;
     }
 
+    /**
+     * Converts a buffered image to the image data of an SWT image.
+     *
+     * The pixels are copied from the raster of the image a row at a time, without looking up their colors
+     * one by one: the pixels of a 24 or 32-bit DirectColorModel are copied with the masks of its colors, the
+     * indices of an IndexColorModel are copied as they are, and the three bands of a ComponentColorModel are
+     * copied in blue, green, red order. The pixels of other images are copied as their RGB colors. Images of
+     * PARALLEL_IMAGE_POINTS pixels or more are converted in bands of rows in parallel on the common
+     * fork-join pool.
+     *
+     * @param image
+     *            the image to convert.
+     *
+     * @return the image data of the image.
+     */
+    public static ImageData toImageData(BufferedImage image)
+    {
+        int w                 = image.getWidth();
+        int h                 = image.getHeight();
+        ColorModel cm         = image.getColorModel();
+        WritableRaster raster = image.getRaster();
+
+        boolean isByte = (cm.getTransferType() == java.awt.image.DataBuffer.TYPE_BYTE);
+        boolean isInt  = (cm.getTransferType() == java.awt.image.DataBuffer.TYPE_INT);
+        boolean isRGB  = cm.getColorSpace().isCS_sRGB() && !cm.isAlphaPremultiplied();
+
+        if ((cm instanceof DirectColorModel) && isInt && isRGB &&
+            ((cm.getPixelSize() == 24) || (cm.getPixelSize() == 32)) &&
+            (!cm.hasAlpha() || (((DirectColorModel)cm).getAlphaMask() == 0xFF000000))) {
+            DirectColorModel dcm = (DirectColorModel)cm;
+            int mask             = dcm.getRedMask() | dcm.getGreenMask() | dcm.getBlueMask();
+            int depth            = dcm.getPixelSize();
+            PaletteData palette  = new PaletteData(dcm.getRedMask(), dcm.getGreenMask(), dcm.getBlueMask());
+            ImageData imgData    = new ImageData(w, h, depth, palette);
+            byte[] alpha         = dcm.hasAlpha() ? new byte[w * h] : null;
+            imgData.alphaData    = alpha;
+
+            convertRows(w, h, (y0, y1) -> {
+                byte[] data = imgData.data;
+                int[] row   = new int[w];
+                for (int y = y0; y < y1; y++) {
+                    raster.getDataElements(0, y, w, 1, row);
+                    int idx = y * imgData.bytesPerLine;
+                    for (int x = 0; x < w; x++) {
+                        int pixel = row[x] & mask;
+                        if (depth == 32)
+                            data[idx++] = (byte)(pixel >>> 24);
+                        data[idx++] = (byte)(pixel >> 16);
+                        data[idx++] = (byte)(pixel >> 8);
+                        data[idx++] = (byte)pixel;
+                    }
+                    if (alpha != null) {
+                        for (int x = 0; x < w; x++)
+                            alpha[y * w + x] = (byte)(row[x] >>> 24);
+                    }
+                }
+            });
+
+            return imgData;
+        }
+        else if (cm instanceof IndexColorModel) {
+            IndexColorModel icm = (IndexColorModel)cm;
+            int size            = icm.getMapSize();
+            byte[] reds         = new byte[size];
+            byte[] greens       = new byte[size];
+            byte[] blues        = new byte[size];
+            icm.getReds(reds);
+            icm.getGreens(greens);
+            icm.getBlues(blues);
+            RGB[] rgbs = new RGB[size];
+            for (int i = 0; i < rgbs.length; i++)
+                rgbs[i] = new RGB(reds[i] & 0xFF, greens[i] & 0xFF, blues[i] & 0xFF);
+
+            ImageData imgData        = new ImageData(w, h, icm.getPixelSize(), new PaletteData(rgbs));
+            imgData.transparentPixel = icm.getTransparentPixel();
+
+            if (isByte && (icm.getPixelSize() == 8) && (raster.getNumBands() == 1)) {
+                // the indices are the bytes of the raster
+                convertRows(w, h, (y0, y1) -> {
+                    byte[] row = new byte[w];
+                    for (int y = y0; y < y1; y++) {
+                        raster.getDataElements(0, y, w, 1, row);
+                        System.arraycopy(row, 0, imgData.data, y * imgData.bytesPerLine, w);
+                    }
+                });
+            }
+            else {
+                // packed pixels of less than 8 bits share bytes, so the rows are not converted in parallel
+                int[] row = new int[w];
+                for (int y = 0; y < h; y++) {
+                    raster.getPixels(0, y, w, 1, row);
+                    imgData.setPixels(0, y, w, row, 0);
+                }
+            }
+
+            return imgData;
+        }
+        else if ((cm instanceof ComponentColorModel) && isByte && isRGB && !cm.hasAlpha() &&
+                 (raster.getNumBands() == 3)) {
+            ImageData imgData        = new ImageData(w, h, 24, new PaletteData(0x0000FF, 0x00FF00, 0xFF0000));
+            imgData.transparentPixel = -1;
+
+            convertRows(w, h, (y0, y1) -> {
+                byte[] row = new byte[3 * w];
+                for (int y = y0; y < y1; y++) {
+                    raster.getDataElements(0, y, w, 1, row);
+                    int idx = y * imgData.bytesPerLine;
+                    for (int x = 0; x < 3 * w; x += 3) {
+                        imgData.data[idx++] = row[x + 2];
+                        imgData.data[idx++] = row[x + 1];
+                        imgData.data[idx++] = row[x];
+                    }
+                }
+            });
+
+            return imgData;
+        }
+
+        // any other image is copied as its ARGB colors
+        ImageData imgData = new ImageData(w, h, 32, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
+        byte[] alpha      = cm.hasAlpha() ? new byte[w * h] : null;
+        imgData.alphaData = alpha;
+
+        convertRows(w, h, (y0, y1) -> {
+            int[] row = new int[w];
+            for (int y = y0; y < y1; y++) {
+                image.getRGB(0, y, w, 1, row, 0, w);
+                int idx = y * imgData.bytesPerLine;
+                for (int x = 0; x < w; x++) {
+                    int argb            = row[x];
+                    imgData.data[idx++] = 0;
+                    imgData.data[idx++] = (byte)(argb >> 16);
+                    imgData.data[idx++] = (byte)(argb >> 8);
+                    imgData.data[idx++] = (byte)argb;
+                    if (alpha != null)
+                        alpha[y * w + x] = (byte)(argb >>> 24);
+                }
+            }
+        });
+
+        return imgData;
+    }
+
+    /**
+     * Converts or filters the rows of a band of rows of an image.
+     */
+    @FunctionalInterface
+    public interface RowConverter {
+        /**
+         * Converts the rows [y0, y1) of an image.
+         *
+         * @param y0
+         *            the first row of the band.
+         * @param y1
+         *            the row after the last row of the band.
+         */
+        void convert(int y0, int y1);
+    }
+
+    /**
+     * Converts the rows of an image, in bands of rows converted in parallel on the common fork-join pool if
+     * the image has PARALLEL_IMAGE_POINTS pixels or more, such as by the filters of the image view.
+     *
+     * @param w
+     *            the width of the image.
+     * @param h
+     *            the height of the image.
+     * @param converter
+     *            the conversion of a band of rows, which may be called from several threads at once.
+     */
+    public static void convertRows(int w, int h, RowConverter converter)
+    {
+        if ((long)w * h < PARALLEL_IMAGE_POINTS) {
+            converter.convert(0, h);
+            return;
+        }
+
+        int rows   = Math.max(1, IMAGE_TILE_POINTS / w);
+        int nbands = (h + rows - 1) / rows;
+        IntStream.range(0, nbands).parallel().forEach(
+            b -> converter.convert(b * rows, Math.min(h, (b + 1) * rows)));
+    }
+
     /**
      * Convert an array of raw data into array of a byte data.
      *
@@ -902,7 +1114,7 @@ public final class Tools {
      * Convert an array of raw data into array of a byte data.
      *
      * @param rawData
-     *            The input raw data.
+     *            The input raw data, an array or an UnsignedView of unsigned integers.
      * @param minmax
      *            the range of the raw data.
      * @param w
@@ -932,6 +1144,9 @@ public final class Tools {
         if (rawData == null || w <= 0 || h <= 0)
             return null;
 
+        if (rawData instanceof UnsignedView)
+            return getBytes((UnsignedView)rawData, minmax, w, h, isTransposed, invalidValues, byteData, list);
+
         // input data is not an array
         if (!rawData.getClass().isArray())
             return null;
@@ -966,88 +1181,158 @@ public final class Tools {
                 fillValue[i] = invalidValues.get(i).doubleValue();
             }
         }
-        double ratio = (min == max) ? 1.00d : (double)(255.00 / (max - min));
-        long idxSrc  = 0;
-        long idxDst  = 0;
+        double ratio          = (min == max) ? 1.00d : (double)(255.00 / (max - min));
+        final byte[] out      = byteData;
+        final double[] fill   = fillValue;
+        TileConverter convert = null;
         switch (dname) {
         case 'S':
             short[] s = (short[])rawData;
-            for (long i = 0; i < h; i++) {
-                for (long j = 0; j < w; j++) {
-                    idxSrc = j * h + i;
-                    idxDst = j * h + i;
-                    if (isTransposed)
-                        idxDst = i * w + j;
-                    byteData[(int)idxDst] =
-                        toByte(s[(int)idxSrc], ratio, min, max, fillValue, (int)idxSrc, list);
-                }
-            }
+            convert   = (from, to, invalid) -> {
+                for (int k = from; k < to; k++)
+                    out[getImageIndex(k, w, h, isTransposed)] =
+                        toByte(s[k], ratio, min, max, fill, k, invalid);
+            };
             break;
 
         case 'I':
             int[] ia = (int[])rawData;
-            for (long i = 0; i < h; i++) {
-                for (long j = 0; j < w; j++) {
-                    idxSrc = (j * h + i);
-                    idxDst = (j * h + i);
-                    if (isTransposed)
-                        idxDst = i * w + j;
-                    byteData[(int)idxDst] =
-                        toByte(ia[(int)idxSrc], ratio, min, max, fillValue, (int)idxSrc, list);
-                }
-            }
+            convert  = (from, to, invalid) -> {
+                for (int k = from; k < to; k++)
+                    out[getImageIndex(k, w, h, isTransposed)] =
+                        toByte(ia[k], ratio, min, max, fill, k, invalid);
+            };
             break;
 
         case 'J':
             long[] l = (long[])rawData;
-            for (long i = 0; i < h; i++) {
-                for (long j = 0; j < w; j++) {
-                    idxSrc = j * h + i;
-                    idxDst = j * h + i;
-                    if (isTransposed)
-                        idxDst = i * w + j;
-                    byteData[(int)idxDst] =
-                        toByte(l[(int)idxSrc], ratio, min, max, fillValue, (int)idxSrc, list);
-                }
-            }
+            convert  = (from, to, invalid) -> {
+                for (int k = from; k < to; k++)
+                    out[getImageIndex(k, w, h, isTransposed)] =
+                        toByte(l[k], ratio, min, max, fill, k, invalid);
+            };
             break;
 
         case 'F':
             float[] f = (float[])rawData;
-            for (long i = 0; i < h; i++) {
-                for (long j = 0; j < w; j++) {
-                    idxSrc = j * h + i;
-                    idxDst = j * h + i;
-                    if (isTransposed)
-                        idxDst = i * w + j;
-                    byteData[(int)idxDst] =
-                        toByte(f[(int)idxSrc], ratio, min, max, fillValue, (int)idxSrc, list);
-                }
-            }
+            convert   = (from, to, invalid) -> {
+                for (int k = from; k < to; k++)
+                    out[getImageIndex(k, w, h, isTransposed)] =
+                        toByte(f[k], ratio, min, max, fill, k, invalid);
+            };
             break;
 
         case 'D':
             double[] d = (double[])rawData;
-            for (long i = 0; i < h; i++) {
-                for (long j = 0; j < w; j++) {
-                    idxSrc = j * h + i;
-                    idxDst = j * h + i;
-                    if (isTransposed)
-                        idxDst = i * w + j;
-                    byteData[(int)idxDst] =
-                        toByte(d[(int)idxSrc], ratio, min, max, fillValue, (int)idxSrc, list);
-                }
-            }
+            convert    = (from, to, invalid) -> {
+                for (int k = from; k < to; k++)
+                    out[getImageIndex(k, w, h, isTransposed)] =
+                        toByte(d[k], ratio, min, max, fill, k, invalid);
+            };
             break;
 
         default:
-            byteData = null;
-            break;
+            return null;
         } // (dname)
 
+        convertTiles(size, list, convert);
+
         return byteData;
     }
 
+    /**
+     * Converts a view of unsigned integers into an array of byte data, widening each value as it is read.
+     */
+    private static byte[] getBytes(UnsignedView rawData, double[] minmax, long w, long h,
+                                   boolean isTransposed, List<Number> invalidValues, byte[] byteData,
+                                   List<Integer> list)
+    {
+        int size = rawData.getSize();
+
+        if (minmax == null) {
+            minmax    = new double[2];
+            minmax[0] = 0;
+            minmax[1] = 0;
+        }
+
+        if ((byteData == null) || (size != byteData.length))
+            byteData = new byte[size]; // reuse the old buffer
+
+        if (minmax[0] == minmax[1])
+            rawData.findMinMax(minmax, null);
+
+        double min = minmax[0];
+        double max = minmax[1];
+
+        double[] fillValue = null;
+        if (invalidValues != null && !invalidValues.isEmpty()) {
+            int n     = invalidValues.size();
+            fillValue = new double[n];
+            for (int i = 0; i < n; i++) {
+                fillValue[i] = invalidValues.get(i).doubleValue();
+            }
+        }
+        double ratio        = (min == max) ? 1.00d : (double)(255.00 / (max - min));
+        final byte[] out    = byteData;
+        final double[] fill = fillValue;
+        convertTiles(size, list, (from, to, invalid) -> {
+            for (int k = from; k < to; k++)
+                out[getImageIndex(k, w, h, isTransposed)] =
+                    toByte(rawData.getDouble(k), ratio, min, max, fill, k, invalid);
+        });
+
+        return byteData;
+    }
+
+    /**
+     * Converts the data points [from, to) of an image to bytes, adding the indices of the invalid values
+     * to a list if it is not null.
+     */
+    @FunctionalInterface
+    private interface TileConverter {
+        void convert(int from, int to, List<Integer> invalid);
+    }
+
+    /**
+     * Converts the data points of an image to bytes, in tiles converted in parallel on the common fork-join
+     * pool if the image has PARALLEL_IMAGE_POINTS data points or more. The indices of the invalid values of
+     * each tile are added to the list in order once all the tiles are converted.
+     */
+    private static void convertTiles(int size, List<Integer> list, TileConverter converter)
+    {
+        if (size < PARALLEL_IMAGE_POINTS) {
+            converter.convert(0, size, list);
+            return;
+        }
+
+        int ntiles                  = (size + IMAGE_TILE_POINTS - 1) / IMAGE_TILE_POINTS;
+        List<List<Integer>> invalid = new ArrayList<>(ntiles);
+        for (int t = 0; t < ntiles; t++)
+            invalid.add((list == null) ? null : new ArrayList<>());
+
+        IntStream.range(0, ntiles).parallel().forEach(t -> {
+            int from = t * IMAGE_TILE_POINTS;
+            converter.convert(from, Math.min(size, from + IMAGE_TILE_POINTS), invalid.get(t));
+        });
+
+        if (list != null) {
+            for (List<Integer> tileList : invalid)
+                list.addAll(tileList);
+        }
+    }
+
+    /**
+     * Returns the index in the byte data of a data point of an image, which is transposed if the data is
+     * not in the default image order.
+     */
+    private static int getImageIndex(int idxSrc, long w, long h, boolean isTransposed)
+    {
+        if (!isTransposed)
+            return idxSrc;
+
+        return (int)((idxSrc % h) * w + (idxSrc / h));
+    }
+
     private static byte toByte(double in, double ratio, double min, double max, double[] fill, int idx,
                                List<Integer> list)
     {
@@ -1222,8 +1507,10 @@ public final class Tools {
      *      uint_64     [0, 18446744073709551615] // Not supported.
      * </pre>
      *
+     * The parameters are computed from a sample of at most about a million values of a larger image.
+     *
      * @param data
-     *            the raw data array of signed/unsigned integers
+     *            the raw data array of signed/unsigned integers, or an UnsignedView of unsigned integers
      * @param params
      *            the auto gain parameter. params[0]=gain, params[1]=bias,
      * @param isUnsigned
@@ -1238,10 +1525,11 @@ public final class Tools {
         double[] minmax   = new double[2];
 
         // check parameters
-        if ((data == null) || (params == null) || (Array.getLength(data) <= 0) || (params.length < 2))
+        if ((data == null) || (params == null) || (getLength(data) <= 0) || (params.length < 2))
             return -1;
 
-        retval = autoContrastComputeMinMax(data, minmax);
+        // the range of the values is estimated from a sample of a large image
+        retval = autoContrastComputeMinMax(sample(data, AUTO_CONTRAST_SAMPLE_POINTS), minmax);
 
         // force the min_max method so we can look at the target grids data sets
         if ((retval < 0) || (minmax[1] - minmax[0] < 10))
@@ -1250,31 +1538,11 @@ public final class Tools {
         if (retval < 0)
             return -1;
 
-        String cname = data.getClass().getName();
-        char dname   = cname.charAt(cname.lastIndexOf('[') + 1);
-        switch (dname) {
-        case 'B':
-            maxDataValue = MAX_INT8;
-            break;
-        case 'S':
-            maxDataValue = MAX_INT16;
-            if (isUnsigned)
-                maxDataValue = MAX_UINT8; // data was upgraded from unsigned byte
-            break;
-        case 'I':
-            maxDataValue = MAX_INT32;
-            if (isUnsigned)
-                maxDataValue = MAX_UINT16; // data was upgraded from unsigned short
-            break;
-        case 'J':
-            maxDataValue = MAX_INT64;
-            if (isUnsigned)
-                maxDataValue = MAX_UINT32; // data was upgraded from unsigned int
-            break;
-        default:
-            retval = -1;
-            break;
-        } // (dname)
+        maxDataValue = autoContrastMaxValue(data, isUnsigned);
+        if (maxDataValue < 0) {
+            maxDataValue = 255;
+            retval       = -1;
+        }
 
         if (minmax[0] == minmax[1]) {
             params[0] = 1.0;
@@ -1507,6 +1775,182 @@ public final class Tools {
         return retval;
     }
 
+    /**
+     * Applies autocontrast parameters to image raw data and converts it to bytes in a single pass, without
+     * an intermediate array of the converted data. Each value is clipped to the data range, scaled by the
+     * gain and bias, clipped to [0, max], where max is the maximum value of the data type used by
+     * autoContrastCompute(), and mapped linearly from [0, max] to [0, 255]. Images of more than a few
+     * hundred thousand data points are converted in tiles in parallel.
+     *
+     * @param data       the raw data array of signed integers, or an UnsignedView of unsigned integers
+     * @param dst        the destination data array of bytes
+     * @param params     the auto gain parameter. params[0]=gain, params[1]=bias
+     * @param minmax     the data range. minmax[0]=min, minmax[1]=max; null for no clipping
+     * @param isUnsigned the flag to indicate if the data array holds unsigned integers upgraded to a larger
+     *                   type
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     */
+    public static int autoContrastConvertImageBuffer(Object data, byte[] dst, double[] params,
+                                                     double[] minmax, boolean isUnsigned)
+    {
+        if ((data == null) || (dst == null) || (params == null) || (params.length < 2) ||
+            (dst.length != getLength(data)))
+            return -1;
+
+        long maxDataValue = autoContrastMaxValue(data, isUnsigned);
+        if (maxDataValue <= 0)
+            return -1;
+
+        // [0, maxDataValue] is mapped to [0, 255] by the gain
+        double min  = (minmax == null) ? -MAX_INT64 : minmax[0];
+        double max  = (minmax == null) ? MAX_INT64 : minmax[1];
+        double gain = params[0] * 255.0 / maxDataValue;
+        double bias = params[1];
+
+        boolean isView = (data instanceof UnsignedView);
+        Object array   = isView ? ((UnsignedView)data).getArray() : data;
+
+        // the bytes of 8-bit and 16-bit integers are looked up in a table of all their values
+        TileConverter convert;
+        if (array instanceof byte[]) {
+            byte[] b   = (byte[])array;
+            byte[] lut = new byte[256];
+            for (int v = 0; v < 256; v++)
+                lut[v] = autoContrastByte(isView ? v : (byte)v, min, max, gain, bias);
+            convert = (from, to, invalid) -> {
+                for (int i = from; i < to; i++)
+                    dst[i] = lut[b[i] & 0xFF];
+            };
+        }
+        else if (array instanceof short[]) {
+            short[] s  = (short[])array;
+            byte[] lut = new byte[65536];
+            for (int v = 0; v < 65536; v++)
+                lut[v] = autoContrastByte(isView ? v : (short)v, min, max, gain, bias);
+            convert = (from, to, invalid) -> {
+                for (int i = from; i < to; i++)
+                    dst[i] = lut[s[i] & 0xFFFF];
+            };
+        }
+        else if (array instanceof int[]) {
+            int[] ia = (int[])array;
+            convert  = (from, to, invalid) -> {
+                for (int i = from; i < to; i++)
+                    dst[i] = autoContrastByte(isView ? (ia[i] & 0xFFFFFFFFL) : ia[i], min, max, gain, bias);
+            };
+        }
+        else if ((array instanceof long[]) && !isView) {
+            long[] l = (long[])array;
+            convert  = (from, to, invalid) -> {
+                for (int i = from; i < to; i++)
+                    dst[i] = autoContrastByte(l[i], min, max, gain, bias);
+            };
+        }
+        else
+            return -1;
+
+        convertTiles(dst.length, null, convert);
+
+        return 0;
+    }
+
+    private static byte autoContrastByte(double value, double min, double max, double gain, double bias)
+    {
+        double v = Math.min(Math.max(value, min), max);
+
+        return (byte)Math.min(Math.max((v + bias) * gain, 0.0), 255.0);
+    }
+
+    /**
+     * Returns the maximum value of the data type the autocontrast parameters of data are computed for, or a
+     * negative value if the data is not supported.
+     */
+    private static long autoContrastMaxValue(Object data, boolean isUnsigned)
+    {
+        if (data instanceof UnsignedView) {
+            Object array = ((UnsignedView)data).getArray();
+            if (array instanceof byte[])
+                return MAX_UINT8;
+            if (array instanceof short[])
+                return MAX_UINT16;
+            if (array instanceof int[])
+                return MAX_UINT32;
+            return -1; // unsigned 64-bit integers are not supported
+        }
+
+        String cname = data.getClass().getName();
+        char dname   = cname.charAt(cname.lastIndexOf('[') + 1);
+        switch (dname) {
+        case 'B':
+            return MAX_INT8;
+        case 'S':
+            return isUnsigned ? MAX_UINT8 : MAX_INT16; // data may be upgraded from unsigned byte
+        case 'I':
+            return isUnsigned ? MAX_UINT16 : MAX_INT32; // data may be upgraded from unsigned short
+        case 'J':
+            return isUnsigned ? MAX_UINT32 : MAX_INT64; // data may be upgraded from unsigned int
+        default:
+            return -1;
+        }
+    }
+
+    /**
+     * Returns an array or an UnsignedView of at most maxPoints values taken at a regular stride from the
+     * data, or the data itself if it is not larger.
+     */
+    private static Object sample(Object data, int maxPoints)
+    {
+        boolean isView = (data instanceof UnsignedView);
+        Object array   = isView ? ((UnsignedView)data).getArray() : data;
+        int n          = getLength(data);
+        if ((n <= maxPoints) || !array.getClass().isArray())
+            return data;
+
+        int step      = (n + maxPoints - 1) / maxPoints;
+        int m         = (n + step - 1) / step;
+        Object sample = Array.newInstance(array.getClass().getComponentType(), m);
+        if (array instanceof byte[]) {
+            for (int i = 0; i < m; i++)
+                ((byte[])sample)[i] = ((byte[])array)[i * step];
+        }
+        else if (array instanceof short[]) {
+            for (int i = 0; i < m; i++)
+                ((short[])sample)[i] = ((short[])array)[i * step];
+        }
+        else if (array instanceof int[]) {
+            for (int i = 0; i < m; i++)
+                ((int[])sample)[i] = ((int[])array)[i * step];
+        }
+        else if (array instanceof long[]) {
+            for (int i = 0; i < m; i++)
+                ((long[])sample)[i] = ((long[])array)[i * step];
+        }
+        else if (array instanceof float[]) {
+            for (int i = 0; i < m; i++)
+                ((float[])sample)[i] = ((float[])array)[i * step];
+        }
+        else if (array instanceof double[]) {
+            for (int i = 0; i < m; i++)
+                ((double[])sample)[i] = ((double[])array)[i * step];
+        }
+        else
+            return data;
+
+        return isView ? new UnsignedView(sample) : sample;
+    }
+
+    /**
+     * Returns the number of values of an array or of an UnsignedView.
+     */
+    private static int getLength(Object data)
+    {
+        if (data instanceof UnsignedView)
+            return ((UnsignedView)data).getSize();
+
+        return Array.getLength(data);
+    }
+
     /**
      * Computes autocontrast parameters.
      *
@@ -1515,7 +1959,7 @@ public final class Tools {
      *    max = mean + 3 * std.dev
      * </pre>
      *
-     * @param data   the raw data array
+     * @param data   the raw data array, or an UnsignedView of unsigned integers
      * @param minmax the min and max values.
      *
      * @return non-negative if successful; otherwise, returns negative
@@ -1524,8 +1968,7 @@ public final class Tools {
     {
         int retval = 1;
 
-        if ((data == null) || (minmax == null) || (Array.getLength(data) <= 0) ||
-            (Array.getLength(minmax) < 2))
+        if ((data == null) || (minmax == null) || (getLength(data) <= 0) || (Array.getLength(minmax) < 2))
             return -1;
 
         double[] avgstd = {0, 0};
@@ -1540,9 +1983,9 @@ public final class Tools {
     }
 
     /**
-     * Finds the min and max values of the data array.
+     * Finds the min and max values of the data array. NaN and infinite values are skipped.
      *
-     * @param data      the raw data array
+     * @param data      the raw data array, or an UnsignedView of unsigned integers
      * @param minmax    the mmin and max values of the array.
      * @param fillValue the missing value or fill value. Exclude this value when check for min/max
      *
@@ -1550,336 +1993,192 @@ public final class Tools {
      */
     public static int findMinMax(Object data, double[] minmax, Object fillValue)
     {
-        int retval = 1;
-
-        if ((data == null) || (minmax == null) || (Array.getLength(data) <= 0) ||
-            (Array.getLength(minmax) < 2))
+        if ((data == null) || (minmax == null) || (Array.getLength(minmax) < 2))
             return -1;
 
-        int n                = Array.getLength(data);
-        double fill          = 0.0;
-        boolean hasFillValue = (fillValue != null && fillValue.getClass().isArray());
+        DataStatistics stats = DataStatistics.compute(data, fillValue);
+        if (stats == null)
+            return -1;
 
-        String cname = data.getClass().getName();
-        char dname   = cname.charAt(cname.lastIndexOf('[') + 1);
-        log.trace("findMinMax() cname={} : dname={}", cname, dname);
+        // every value is the fill value, NaN or infinite
+        if (stats.getCount() == 0) {
+            minmax[0] = stats.getFirstValue();
+            minmax[1] = stats.getFirstValue();
+        }
+        else {
+            minmax[0] = stats.getMin();
+            minmax[1] = stats.getMax();
+        }
 
-        minmax[0] = Float.MAX_VALUE;
-        minmax[1] = -Float.MAX_VALUE;
+        return 1;
+    }
 
-        switch (dname) {
-        case 'B':
-            byte[] b  = (byte[])data;
-            minmax[0] = b[0];
-            minmax[1] = b[0];
+    /**
+     * Finds the distribution of data values.
+     *
+     * @param data     the raw data array, or an UnsignedView of unsigned integers
+     * @param dataDist the data distirbution.
+     * @param minmax   the data range
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     */
+    public static int findDataDist(Object data, int[] dataDist, double[] minmax)
+    {
+        if ((data == null) || (minmax == null) || dataDist == null)
+            return -1;
 
-            if (hasFillValue)
-                fill = ((byte[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && b[i] == fill)
-                    continue;
-                if (minmax[0] > b[i])
-                    minmax[0] = b[i];
-                if (minmax[1] < b[i])
-                    minmax[1] = b[i];
-            }
-            break;
-        case 'S':
-            short[] s = (short[])data;
-            minmax[0] = s[0];
-            minmax[1] = s[0];
+        DataStatistics stats = DataStatistics.compute(data, null, minmax, dataDist.length);
+        if (stats == null) {
+            Arrays.fill(dataDist, 0);
+            return 0;
+        }
 
-            if (hasFillValue)
-                fill = ((short[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && s[i] == fill)
-                    continue;
-                if (minmax[0] > s[i])
-                    minmax[0] = s[i];
-                if (minmax[1] < s[i])
-                    minmax[1] = s[i];
-            }
-            break;
-        case 'I':
-            int[] ia  = (int[])data;
-            minmax[0] = ia[0];
-            minmax[1] = ia[0];
+        System.arraycopy(stats.getHistogram(), 0, dataDist, 0, dataDist.length);
 
-            if (hasFillValue)
-                fill = ((int[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && ia[i] == fill)
-                    continue;
-                if (minmax[0] > ia[i])
-                    minmax[0] = ia[i];
-                if (minmax[1] < ia[i])
-                    minmax[1] = ia[i];
-            }
-            break;
-        case 'J':
-            long[] l  = (long[])data;
-            minmax[0] = l[0];
-            minmax[1] = l[0];
+        return 0;
+    }
 
-            if (hasFillValue)
-                fill = ((long[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && l[i] == fill)
-                    continue;
-                if (minmax[0] > l[i])
-                    minmax[0] = l[i];
-                if (minmax[1] < l[i])
-                    minmax[1] = l[i];
-            }
-            break;
-        case 'F':
-            float[] f = (float[])data;
-            minmax[0] = f[0];
-            minmax[1] = f[0];
+    /**
+     * Computes mean and standard deviation of a data array. NaN and infinite values are skipped.
+     *
+     * @param data      the raw data array, or an UnsignedView of unsigned integers
+     * @param avgstd    the statistics: avgstd[0]=mean and avgstd[1]=stdev.
+     * @param fillValue the missing value or fill value. Exclude this value when compute statistics
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     */
+    public static int computeStatistics(Object data, double[] avgstd, Object fillValue)
+    {
+        if ((data == null) || (avgstd == null) || (Array.getLength(avgstd) < 2))
+            return -1;
 
-            if (hasFillValue)
-                fill = ((float[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if ((hasFillValue && f[i] == fill) || isNaNINF(f[i]))
-                    continue;
-                if (minmax[0] > f[i])
-                    minmax[0] = f[i];
-                if (minmax[1] < f[i])
-                    minmax[1] = f[i];
-            }
+        DataStatistics stats = DataStatistics.compute(data, fillValue);
+        if (stats == null)
+            return -1;
 
-            break;
-        case 'D':
-            double[] d = (double[])data;
-            minmax[0]  = d[0];
-            minmax[1]  = d[0];
+        setStatistics(stats, avgstd);
 
-            if (hasFillValue)
-                fill = ((double[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if ((hasFillValue && d[i] == fill) || isNaNINF(d[i]))
-                    continue;
+        return 1;
+    }
 
-                if (minmax[0] > d[i])
-                    minmax[0] = d[i];
-                if (minmax[1] < d[i])
-                    minmax[1] = d[i];
-            }
-            break;
-        default:
-            retval = -1;
-            break;
-        } // (dname)
+    /**
+     * Sets the mean and standard deviation of statistics, or the fill value if no value is included in them.
+     */
+    private static void setStatistics(DataStatistics stats, double[] avgstd)
+    {
+        Double fill = stats.getFillValue();
 
-        return retval;
+        avgstd[0] = (stats.getCount() < 1) ? ((fill == null) ? 0 : fill) : stats.getMean();
+        avgstd[1] = stats.getStdDev();
     }
 
     /**
-     * Finds the distribution of data values.
+     * Finds the min and max values of the current selection of a dataset, reading it block by block so that
+     * a selection larger than memory is processed in constant memory. Unsigned integers are widened and NaN
+     * and infinite values are skipped.
      *
-     * @param data     the raw data array
-     * @param dataDist the data distirbution.
-     * @param minmax   the data range
+     * @param dataset   the dataset
+     * @param minmax    the min and max values of the selection.
+     * @param fillValue the missing value or fill value. Exclude this value when check for min/max
      *
      * @return non-negative if successful; otherwise, returns negative
+     *
+     * @throws Exception if the selection could not be read
      */
-    public static int findDataDist(Object data, int[] dataDist, double[] minmax)
+    public static int findMinMax(Dataset dataset, double[] minmax, Object fillValue) throws Exception
     {
-        int retval  = 0;
-        double delt = 1;
+        if ((dataset == null) || (minmax == null) || (minmax.length < 2))
+            return -1;
 
-        if ((data == null) || (minmax == null) || dataDist == null)
+        DataStatistics stats = computeBlockStatistics(dataset, fillValue, null, 0);
+        if ((stats == null) || (stats.getCount() == 0))
             return -1;
 
-        int n = Array.getLength(data);
+        minmax[0] = stats.getMin();
+        minmax[1] = stats.getMax();
 
-        if (minmax[1] != minmax[0])
-            delt = (dataDist.length - 1) / (minmax[1] - minmax[0]);
+        return 1;
+    }
 
-        for (int i = 0; i < dataDist.length; i++)
-            dataDist[i] = 0;
+    /**
+     * Computes the mean and standard deviation of the current selection of a dataset, reading it block by
+     * block so that a selection larger than memory is processed in constant memory. Unsigned integers are
+     * widened and NaN and infinite values are skipped.
+     *
+     * @param dataset   the dataset
+     * @param avgstd    the statistics: avgstd[0]=mean and avgstd[1]=stdev.
+     * @param fillValue the missing value or fill value. Exclude this value when compute statistics
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     *
+     * @throws Exception if the selection could not be read
+     */
+    public static int computeStatistics(Dataset dataset, double[] avgstd, Object fillValue) throws Exception
+    {
+        if ((dataset == null) || (avgstd == null) || (avgstd.length < 2))
+            return -1;
 
-        int idx;
-        double val;
-        for (int i = 0; i < n; i++) {
-            val = ((Number)Array.get(data, i)).doubleValue();
-            if (val >= minmax[0] && val <= minmax[1]) {
-                idx = (int)((val - minmax[0]) * delt);
-                dataDist[idx]++;
-            } // don't count invalid values
+        DataStatistics stats = computeBlockStatistics(dataset, fillValue, null, 0);
+        if (stats == null) {
+            avgstd[0] = 0;
+            avgstd[1] = 0;
+            return 1;
         }
 
-        return retval;
+        setStatistics(stats, avgstd);
+
+        return 1;
     }
 
     /**
-     * Computes mean and standard deviation of a data array.
+     * Finds the distribution of the values of the current selection of a dataset, reading it block by block
+     * so that a selection larger than memory is processed in constant memory. Unsigned integers are widened.
      *
-     * @param data      the raw data array
-     * @param avgstd    the statistics: avgstd[0]=mean and avgstd[1]=stdev.
-     * @param fillValue the missing value or fill value. Exclude this value when compute statistics
+     * @param dataset  the dataset
+     * @param dataDist the data distirbution.
+     * @param minmax   the data range
      *
      * @return non-negative if successful; otherwise, returns negative
+     *
+     * @throws Exception if the selection could not be read
      */
-    public static int computeStatistics(Object data, double[] avgstd, Object fillValue)
+    public static int findDataDist(Dataset dataset, int[] dataDist, double[] minmax) throws Exception
     {
-        int retval  = 1;
-        double sum  = 0;
-        double avg  = 0.0;
-        double var  = 0.0;
-        double diff = 0.0;
-        double fill = 0.0;
-
-        if ((data == null) || (avgstd == null) || (Array.getLength(data) <= 0) ||
-            (Array.getLength(avgstd) < 2)) {
+        if ((dataset == null) || (minmax == null) || dataDist == null)
             return -1;
-        }
 
-        int n                = Array.getLength(data);
-        boolean hasFillValue = (fillValue != null && fillValue.getClass().isArray());
+        DataStatistics stats = computeBlockStatistics(dataset, null, minmax, dataDist.length);
+        if (stats == null)
+            Arrays.fill(dataDist, 0);
+        else
+            System.arraycopy(stats.getHistogram(), 0, dataDist, 0, dataDist.length);
 
-        String cname = data.getClass().getName();
-        char dname   = cname.charAt(cname.lastIndexOf('[') + 1);
-        log.trace("computeStatistics() cname={} : dname={}", cname, dname);
+        return 0;
+    }
 
-        int npoints = 0;
-        switch (dname) {
-        case 'B':
-            byte[] b = (byte[])data;
-            if (hasFillValue)
-                fill = ((byte[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && b[i] == fill)
-                    continue;
-                sum += b[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && b[i] == fill)
-                        continue;
-                    diff = b[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        case 'S':
-            short[] s = (short[])data;
-            if (hasFillValue)
-                fill = ((short[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && s[i] == fill)
-                    continue;
-                sum += s[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && s[i] == fill)
-                        continue;
-                    diff = s[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        case 'I':
-            int[] ia = (int[])data;
-            if (hasFillValue)
-                fill = ((int[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && ia[i] == fill)
-                    continue;
-                sum += ia[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && ia[i] == fill)
-                        continue;
-                    diff = ia[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        case 'J':
-            long[] l = (long[])data;
-            if (hasFillValue)
-                fill = ((long[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && l[i] == fill)
-                    continue;
-                sum += l[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && l[i] == fill)
-                        continue;
-                    diff = l[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        case 'F':
-            float[] f = (float[])data;
-            if (hasFillValue)
-                fill = ((float[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && f[i] == fill)
-                    continue;
-                sum += f[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && f[i] == fill)
-                        continue;
-                    diff = f[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        case 'D':
-            double[] d = (double[])data;
-            if (hasFillValue)
-                fill = ((double[])fillValue)[0];
-            for (int i = 0; i < n; i++) {
-                if (hasFillValue && d[i] == fill)
-                    continue;
-                sum += d[i];
-                npoints++;
-            }
-            if (npoints > 0) {
-                avg = sum / npoints;
-                for (int i = 0; i < n; i++) {
-                    if (hasFillValue && d[i] == fill)
-                        continue;
-                    diff = d[i] - avg;
-                    var += diff * diff;
-                }
-            }
-            break;
-        default:
-            retval = -1;
-            break;
-        } // (dname)
+    /**
+     * Computes the statistics of the current selection of a dataset block by block, merging those of each
+     * block. Unsigned integers are widened.
+     *
+     * @return the statistics of the selection, or null if it is empty.
+     */
+    private static DataStatistics computeBlockStatistics(Dataset dataset, Object fillValue, double[] range,
+                                                         int bins) throws Exception
+    {
+        boolean isUnsigned   = dataset.getDatatype().isUnsigned();
+        DataStatistics stats = null;
+        try (DataBlockIterator it = dataset.getBlockIterator(BUFFER_BLOCK_POINTS)) {
+            while (it.hasNext()) {
+                Object block = it.next();
+                if (isUnsigned && UnsignedView.isSupported(block))
+                    block = new UnsignedView(block);
 
-        if (npoints <= 1) {
-            if (npoints < 1)
-                avgstd[0] = fill;
-            avgstd[1] = 0;
-        }
-        else {
-            avgstd[0] = avg;
-            avgstd[1] = Math.sqrt(var / (npoints - 1));
+                DataStatistics blockStats = DataStatistics.compute(block, fillValue, range, bins);
+                stats                     = (stats == null) ? blockStats : stats.merge(blockStats);
+            }
         }
 
-        return retval;
+        return stats;
     }
 
     /**
@@ -1892,6 +2191,38 @@ public final class Tools {
      * @throws Exception if a failure occurred
      */
     public static void saveAsBinary(DataOutputStream out, Object data, ByteOrder order) throws Exception
+    {
+        writeBinary(out, data, order);
+
+        out.flush();
+        out.close();
+    }
+
+    /**
+     * Save the current selection of a dataset as binary, reading it block by block so that a selection
+     * larger than memory is written in constant memory. The values are written as read from file.
+     *
+     * @param out     the output stream
+     * @param dataset the dataset
+     * @param order   the order of bytes
+     *
+     * @throws Exception if a failure occurred
+     */
+    public static void saveAsBinary(DataOutputStream out, Dataset dataset, ByteOrder order) throws Exception
+    {
+        try (DataBlockIterator it = dataset.getBlockIterator(BUFFER_BLOCK_POINTS)) {
+            while (it.hasNext())
+                writeBinary(out, it.next(), order);
+        }
+
+        out.flush();
+        out.close();
+    }
+
+    /**
+     * Writes the values of an array to an output stream in the given byte order, leaving the stream open.
+     */
+    private static void writeBinary(DataOutputStream out, Object data, ByteOrder order) throws Exception
     {
         String cname  = data.getClass().getName();
         char dname    = cname.charAt(cname.lastIndexOf('[') + 1);
@@ -1919,9 +2250,6 @@ public final class Tools {
                 remainingSize = remainingSize - BYTE_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -BYTE_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
         else if (dname == 'S') {
             short[] sdata = (short[])data;
@@ -1944,9 +2272,6 @@ public final class Tools {
                 remainingSize = remainingSize - SHORT_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -SHORT_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
         else if (dname == 'I') {
             int[] idata = (int[])data;
@@ -1969,9 +2294,6 @@ public final class Tools {
                 remainingSize = remainingSize - INT_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -INT_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
         else if (dname == 'J') {
             long[] ldata = (long[])data;
@@ -1995,9 +2317,6 @@ public final class Tools {
                 remainingSize = remainingSize - LONG_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -LONG_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
         else if (dname == 'F') {
             float[] fdata = (float[])data;
@@ -2021,9 +2340,6 @@ public final class Tools {
                 remainingSize = remainingSize - FLOAT_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -FLOAT_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
         else if (dname == 'D') {
             double[] ddata = (double[])data;
@@ -2047,9 +2363,6 @@ public final class Tools {
                 remainingSize = remainingSize - DOUBLE_BUFFER_SIZE;
                 iterationNumber++;
             } while (remainingSize > -DOUBLE_BUFFER_SIZE);
-
-            out.flush();
-            out.close();
         }
     }
 
@@ -27,10 +27,12 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
 
 import hdf.object.CompoundDS;
 import hdf.object.DataFormat;
@@ -41,12 +43,15 @@ import hdf.object.Group;
 import hdf.object.HObject;
 import hdf.object.MetaDataContainer;
 import hdf.object.ScalarDS;
+import hdf.object.h5.H5File;
+import hdf.object.h5.H5ScalarDS;
 import hdf.view.DataView.DataView;
 import hdf.view.DataView.DataViewFactory;
 import hdf.view.DataView.DataViewFactoryProducer;
 import hdf.view.DataView.DataViewManager;
 import hdf.view.DefaultFileFilter;
 import hdf.view.HDFView;
+import hdf.view.OverviewCache;
 import hdf.view.Tools;
 import hdf.view.ViewProperties;
 import hdf.view.ViewProperties.DATA_VIEW_KEY;
@@ -95,6 +100,7 @@ import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.MenuItem;
+import org.eclipse.swt.widgets.ProgressBar;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
@@ -127,6 +133,18 @@ public class DefaultTreeView implements TreeView {
     /** Thread to load TableView Data in the background. */
     private LoadDataThread loadDataThread;
 
+    /** The loads in progress, keyed by the data object being loaded. */
+    private final HashMap<HObject, LoadDataThread> activeLoads = new HashMap<>();
+
+    /** The tooltips of the images whose thumbnails were found in the overview cache. */
+    private final HashMap<HObject, String> overviewToolTips = new HashMap<>();
+
+    /** The images whose thumbnails are being looked up in the overview cache. */
+    private final HashSet<HObject> overviewLookups = new HashSet<>();
+
+    /** The object of the tree item under the mouse pointer. */
+    private Object hoverObject = null;
+
     /**
      * The tree which holds file structures.
      */
@@ -524,6 +542,11 @@ public class DefaultTreeView implements TreeView {
                 // tree from redrawing until all the items are created
                 tree.setRedraw(false);
 
+                // Members loaded on demand are read from the file now and may
+                // differ in number from the estimate the item was created with
+                if (theGroup.isMemberListDeferred())
+                    item.setItemCount(theGroup.getMemberList().size());
+
                 if (item.getItemCount() > 0)
                     item.setImage(theGroup.hasAttribute() ? folderOpenIconA : folderOpenIcon);
 
@@ -565,6 +588,8 @@ public class DefaultTreeView implements TreeView {
 
                 int position = parentItem.indexOf(item);
                 HObject obj  = ((Group)parentItem.getData()).getMember(position);
+                if (obj == null)
+                    return;
 
                 item.setData(obj);
                 item.setFont(curFont);
@@ -572,7 +597,19 @@ public class DefaultTreeView implements TreeView {
                 item.setImage(getObjectTypeImage(obj));
 
                 if (obj instanceof Group)
-                    item.setItemCount(((Group)obj).getMemberList().size());
+                    item.setItemCount(getMemberCount((Group)obj));
+            }
+        });
+
+        // Show the range of the values of an image whose thumbnail has been cached
+        tree.addListener(SWT.MouseHover, new Listener() {
+            @Override
+            public void handleEvent(Event event)
+            {
+                TreeItem item = tree.getItem(new Point(event.x, event.y));
+                hoverObject   = (item == null) ? null : item.getData();
+
+                tree.setToolTipText(getOverviewToolTip(hoverObject));
             }
         });
 
@@ -586,6 +623,73 @@ public class DefaultTreeView implements TreeView {
         });
     }
 
+    /**
+     * Returns the tooltip of an image from its thumbnail in the overview cache, if it has been found there.
+     * The cache is looked up once in the background, and the tooltip is shown when it is found if the mouse
+     * pointer is still over the image.
+     *
+     * @param obj the object of a tree item
+     *
+     * @return the dimensions of the image and the range of the values of its thumbnail, or null
+     */
+    private String getOverviewToolTip(Object obj)
+    {
+        if (!(obj instanceof ScalarDS))
+            return null;
+
+        final ScalarDS sd = (ScalarDS)obj;
+        if (!sd.isInited() || !sd.isImage() || sd.isTrueColor() || (sd.getRank() < 2))
+            return null;
+
+        String tip = overviewToolTips.get(sd);
+        if ((tip != null) || !overviewLookups.add(sd))
+            return tip;
+
+        final Display display = tree.getDisplay();
+        Thread lookup         = new Thread(() -> {
+            final String found = readOverviewToolTip(sd);
+            try {
+                display.asyncExec(() -> {
+                    overviewLookups.remove(sd);
+                    // the image may be opened later, and its thumbnail then cached
+                    if ((found == null) || tree.isDisposed())
+                        return;
+
+                    overviewToolTips.put(sd, found);
+                    if (hoverObject == sd)
+                        tree.setToolTipText(found);
+                });
+            }
+            catch (Exception ex) {
+                log.debug("getOverviewToolTip(): display disposed before {} was looked up", sd.getName());
+            }
+        });
+        lookup.setDaemon(true);
+        lookup.start();
+
+        return null;
+    }
+
+    /**
+     * Reads the tooltip of an image from its thumbnail in the overview cache, if the cache holds it.
+     * Nothing is read from the file of the image.
+     */
+    private static String readOverviewToolTip(ScalarDS sd)
+    {
+        int[] selectedIndex = sd.getSelectedIndex();
+        long[] dims         = sd.getDims();
+        long[][] slab       = OverviewCache.getThumbnailHyperslab(sd, selectedIndex[0], selectedIndex[1],
+                                                                  OverviewCache.THUMBNAIL_SIZE);
+
+        OverviewCache.Overview overview =
+            OverviewCache.getDefault().peekOverview(sd, slab[0], slab[1], slab[2]);
+        if (overview == null)
+            return null;
+
+        return sd.getName() + "  " + dims[selectedIndex[0]] + " x " + dims[selectedIndex[1]] + "  [" +
+            overview.getMin() + ", " + overview.getMax() + "]";
+    }
+
     /**
      * Creates a popup menu for a right mouse click on a data object.
      *
@@ -1805,9 +1909,8 @@ public class DefaultTreeView implements TreeView {
                     // Tell SWT how many members this group has so they can
                     // be populated when the group is expanded
                     if (obj instanceof Group) {
-                        newItem.setItemCount(((Group)obj).getMemberList().size());
-                        log.debug("populateTree(): group members size {}:",
-                                  ((Group)obj).getMemberList().size());
+                        newItem.setItemCount(getMemberCount((Group)obj));
+                        log.debug("populateTree(): group members size {}:", newItem.getItemCount());
                     }
                 }
             }
@@ -2653,6 +2756,15 @@ public class DefaultTreeView implements TreeView {
         try {
             fileFormat.setMaxMembers(ViewProperties.getMaxMembers());
             fileFormat.setStartMembers(ViewProperties.getStartMembers());
+            fileFormat.setLoadMembersOnDemand(ViewProperties.isLoadMembersOnDemand());
+            if (fileFormat instanceof H5File) {
+                H5File h5file = (H5File)fileFormat;
+                h5file.setLoadThreads(ViewProperties.getLoadThreads());
+
+                String cacheDir = ViewProperties.getStructureCacheDir();
+                if (ViewProperties.isCacheStructure() && (cacheDir != null))
+                    h5file.setStructureCacheDir(new File(cacheDir));
+            }
 
             fileFormat.open();
 
@@ -2739,6 +2851,8 @@ public class DefaultTreeView implements TreeView {
                 }
 
                 fileList.remove(theFile);
+                final FileFormat closed = theFile;
+                overviewToolTips.keySet().removeIf(obj -> obj.getFileFormat() == closed);
                 if (theFile.equals(selectedFile)) {
                     selectedFile   = null;
                     selectedObject = null;
@@ -2915,50 +3029,86 @@ public class DefaultTreeView implements TreeView {
 
         log.trace("showDataContent({}): start", dataObject.getName());
 
-        /* Set up the default display properties passed to the DataView instance */
-        DataView theView                         = null;
-        DataFormat d                             = (DataFormat)dataObject;
-        HashMap<DATA_VIEW_KEY, Serializable> map = new HashMap<>(8);
+        DataFormat d = (DataFormat)dataObject;
 
         if (!d.isInited())
             d.init();
 
-        boolean isImage           = ((d instanceof ScalarDS) && ((ScalarDS)d).isImage());
-        boolean isDisplayTypeChar = false;
-        boolean isTransposed      = false;
-        boolean isIndexBase1      = ViewProperties.isIndexBase1();
-        BitSet bitmask            = null;
-        String dataViewName       = null;
+        if (isDefaultDisplay) {
+            DataView existingView = findExistingDataView(dataObject);
+            if (existingView != null)
+                return existingView;
+        }
 
-        if (isDefaultDisplay) { /* Displaying a data object using the default display options */
-            DataView existingView = viewer.getDataView((HObject)d);
+        DataViewRequest request = getDataViewRequest(d, isDefaultDisplay);
+        if (request == null)
+            return null;
 
-            /*
-             * Check to make sure this data object isn't already opened in an existing
-             * DataView. If it is, just bring that DataView to focus.
-             */
-            if (existingView != null) {
-                Shell[] shells = Display.getDefault().getShells();
+        return createDataView(request);
+    }
 
-                if (shells.length >= 1) {
-                    for (int i = 0; i < shells.length; i++) {
-                        DataView view = (DataView)shells[i].getData();
+    /**
+     * Checks to make sure a data object isn't already opened in an existing
+     * DataView. If it is, that DataView is brought to focus.
+     *
+     * @param dataObject
+     *            the data object
+     *
+     * @return the existing DataView of the data object, or null if there is none
+     */
+    private DataView findExistingDataView(HObject dataObject)
+    {
+        DataView existingView = viewer.getDataView(dataObject);
 
-                        if (view != null) {
-                            if (view.equals(existingView)) {
-                                shells[i].forceActive();
+        if (existingView != null) {
+            Shell[] shells = Display.getDefault().getShells();
 
-                                log.trace("showDataContent(): found existing DataView for data object {}",
-                                          dataObject.getName());
+            if (shells.length >= 1) {
+                for (int i = 0; i < shells.length; i++) {
+                    DataView view = (DataView)shells[i].getData();
 
-                                return view;
-                            }
+                    if (view != null) {
+                        if (view.equals(existingView)) {
+                            shells[i].forceActive();
+
+                            log.trace("findExistingDataView(): found existing DataView for data object {}",
+                                      dataObject.getName());
+
+                            return view;
                         }
                     }
                 }
             }
         }
-        else { /* Open Dialog to allow user to choose different data display options */
+
+        return null;
+    }
+
+    /**
+     * Sets up the display properties passed to the DataView instance. If the
+     * default display options are not used, a dialog is opened to allow the
+     * user to choose different data display options, so this must be called
+     * from the UI thread in that case.
+     *
+     * @param d
+     *            the initialized data object
+     * @param useDefaultDisplay
+     *            true if the data object is displayed using the default display options
+     *
+     * @return the display request, or null if the user cancelled the dialog
+     */
+    private DataViewRequest getDataViewRequest(DataFormat d, boolean useDefaultDisplay)
+    {
+        HashMap<DATA_VIEW_KEY, Serializable> map = new HashMap<>(8);
+
+        boolean isImage           = ((d instanceof ScalarDS) && ((ScalarDS)d).isImage());
+        boolean isDisplayTypeChar = false;
+        boolean isTransposed      = false;
+        boolean isIndexBase1      = ViewProperties.isIndexBase1();
+        BitSet bitmask            = null;
+        String dataViewName       = null;
+
+        if (!useDefaultDisplay) {
             DataOptionDialog dialog = new DataOptionDialog(shell, d);
             dialog.open();
 
@@ -2974,7 +3124,13 @@ public class DefaultTreeView implements TreeView {
             isApplyBitmaskOnly = dialog.isApplyBitmaskOnly();
         }
 
-        map.put(ViewProperties.DATA_VIEW_KEY.OBJECT, dataObject);
+        // the table and image views page through selections of the data
+        if (d instanceof Dataset)
+            ((Dataset)d).setChunkCacheSize(ViewProperties.getChunkCacheSize() * 1024L * 1024L);
+        if (d instanceof H5ScalarDS)
+            ((H5ScalarDS)d).setDirectChunkRead(ViewProperties.isDirectChunkRead());
+
+        map.put(ViewProperties.DATA_VIEW_KEY.OBJECT, (HObject)d);
         map.put(ViewProperties.DATA_VIEW_KEY.VIEW_NAME, dataViewName);
         map.put(ViewProperties.DATA_VIEW_KEY.CHAR, isDisplayTypeChar);
         map.put(ViewProperties.DATA_VIEW_KEY.TRANSPOSED, isTransposed);
@@ -2984,25 +3140,77 @@ public class DefaultTreeView implements TreeView {
             map.put(ViewProperties.DATA_VIEW_KEY.BITMASKOP, ViewProperties.BITMASK_OP.AND);
 
         log.trace(
-            "showDataContent(): object={} dataViewName={} isDisplayTypeChar={} isTransposed={} isIndexBase1={} bitmask={}",
-            dataObject, dataViewName, isDisplayTypeChar, isTransposed, isIndexBase1, bitmask);
+            "getDataViewRequest(): object={} dataViewName={} isDisplayTypeChar={} isTransposed={} isIndexBase1={} bitmask={}",
+            d, dataViewName, isDisplayTypeChar, isTransposed, isIndexBase1, bitmask);
+
+        return new DataViewRequest(d, map, isImage);
+    }
+
+    /**
+     * Reads the data that the DataView of a display request will show, so that
+     * the DataView does not have to read it on the UI thread. The factory of
+     * the view decides what its views read, leaving alone whatever they read
+     * differently.
+     *
+     * @param request
+     *            the display request
+     *
+     * @throws Exception if the data could not be read
+     */
+    private void readDataForView(DataViewRequest request) throws Exception
+    {
+        DataViewFactory factory =
+            DataViewFactoryProducer.getFactory(request.isImage ? DataViewType.IMAGE : DataViewType.TABLE);
+        if (factory != null)
+            factory.readDataForView(request.dataObject, request.map);
+    }
+
+    /**
+     * Selects the first slice of the selection of a 3D data object, as the
+     * views only show one slice at a time. Must be called from the UI thread,
+     * which may be reading the selection.
+     *
+     * @param d
+     *            the data object
+     */
+    private static void selectFirstSlice(DataFormat d)
+    {
+        if (d.getRank() > 2)
+            d.getSelectedDims()[d.getSelectedIndex()[2]] = 1;
+    }
+
+    /**
+     * Creates the DataView of a display request. Must be called from the UI thread.
+     *
+     * @param request
+     *            the display request
+     *
+     * @return the DataView that displays the data content
+     */
+    private DataView createDataView(DataViewRequest request)
+    {
+        DataView theView                         = null;
+        HObject dataObject                       = (HObject)request.dataObject;
+        HashMap<DATA_VIEW_KEY, Serializable> map = request.map;
 
         shell.setCursor(Display.getCurrent().getSystemCursor(SWT.CURSOR_WAIT));
 
-        if (isImage) {
+        if (request.isImage) {
             DataViewFactory imageViewFactory = null;
             try {
                 imageViewFactory = DataViewFactoryProducer.getFactory(DataViewType.IMAGE);
             }
             catch (Exception ex) {
-                log.debug("showDataContent(): error occurred while instantiating ImageView factory class",
+                log.debug("createDataView(): error occurred while instantiating ImageView factory class",
                           ex);
                 viewer.showError("Error occurred while instantiating ImageView factory class");
+                shell.setCursor(null);
                 return null;
             }
 
             if (imageViewFactory == null) {
-                log.debug("showDataContent(): ImageView factory is null");
+                log.debug("createDataView(): ImageView factory is null");
+                shell.setCursor(null);
                 return null;
             }
 
@@ -3010,13 +3218,13 @@ public class DefaultTreeView implements TreeView {
                 theView = imageViewFactory.getImageView(viewer, map);
 
                 if (theView == null) {
-                    log.debug("showDataContent(): error occurred while instantiating ImageView class");
+                    log.debug("createDataView(): error occurred while instantiating ImageView class");
                     viewer.showError("Error occurred while instantiating ImageView class");
                     Tools.showError(shell, "Show Data", "Error occurred while instantiating ImageView class");
                 }
             }
             catch (ClassNotFoundException ex) {
-                log.debug("showDataContent(): no suitable ImageView class found");
+                log.debug("createDataView(): no suitable ImageView class found");
                 viewer.showError("Unable to find suitable ImageView class for object '" +
                                  dataObject.getName() + "'");
                 Tools.showError(shell, "Show Data",
@@ -3031,14 +3239,16 @@ public class DefaultTreeView implements TreeView {
                 tableViewFactory = DataViewFactoryProducer.getFactory(DataViewType.TABLE);
             }
             catch (Exception ex) {
-                log.debug("showDataContent(): error occurred while instantiating TableView factory class",
+                log.debug("createDataView(): error occurred while instantiating TableView factory class",
                           ex);
                 viewer.showError("Error occurred while instantiating TableView factory class");
+                shell.setCursor(null);
                 return null;
             }
 
             if (tableViewFactory == null) {
-                log.debug("showDataContent(): TableView factory is null");
+                log.debug("createDataView(): TableView factory is null");
+                shell.setCursor(null);
                 return null;
             }
 
@@ -3046,13 +3256,13 @@ public class DefaultTreeView implements TreeView {
                 theView = tableViewFactory.getTableView(viewer, map);
 
                 if (theView == null) {
-                    log.debug("showDataContent(): error occurred while instantiating TableView class");
+                    log.debug("createDataView(): error occurred while instantiating TableView class");
                     viewer.showError("Error occurred while instantiating TableView class");
                     Tools.showError(shell, "Show Data", "Error occurred while instantiating TableView class");
                 }
             }
             catch (ClassNotFoundException ex) {
-                log.debug("showDataContent(): no suitable TableView class found");
+                log.debug("createDataView(): no suitable TableView class found");
                 viewer.showError("Unable to find suitable TableView class for object '" +
                                  dataObject.getName() + "'");
                 Tools.showError(shell, "Show Data",
@@ -3068,6 +3278,21 @@ public class DefaultTreeView implements TreeView {
         return theView;
     }
 
+    /*
+     * Returns the number of TreeItems to create for the members of a group. The
+     * members of a group loaded on demand are not read from the file until the
+     * group is expanded, so its item count is estimated from the file.
+     */
+    private int getMemberCount(Group theGroup)
+    {
+        if (theGroup.isMemberListDeferred()) {
+            FileFormat theFile = theGroup.getFileFormat();
+            return Math.max(0, Math.min(theGroup.getNumberOfMembersInFile(), theFile.getMaxMembers()));
+        }
+
+        return theGroup.getMemberList().size();
+    }
+
     /**
      * Updates the current font.
      *
@@ -3489,33 +3714,369 @@ public class DefaultTreeView implements TreeView {
         }
     }
 
+    /**
+     * The display options and data object of a DataView waiting to be created.
+     */
+    private static class DataViewRequest {
+        private final DataFormat dataObject;
+        private final HashMap<DATA_VIEW_KEY, Serializable> map;
+        private final boolean isImage;
+
+        private DataViewRequest(DataFormat dataObject, HashMap<DATA_VIEW_KEY, Serializable> map,
+                                boolean isImage)
+        {
+            this.dataObject = dataObject;
+            this.map        = map;
+            this.isImage    = isImage;
+        }
+    }
+
+    /**
+     * Loads the data of the selected object off the UI thread. The display
+     * options are gathered on the UI thread, the object is initialized and its
+     * data read on this thread, and the DataView is created back on the UI
+     * thread once the data is in memory. A read in progress cannot be
+     * interrupted, so cancelling a load discards its data when the read
+     * returns instead of creating the DataView.
+     */
     private class LoadDataThread extends Thread {
+        private final HObject dataObject;
+
+        private final boolean useDefaultDisplay;
+
+        private volatile boolean isCancelled = false;
+
+        /* The progress of the read, reported by the dataset as it reads the data block by block. */
+        private volatile long pointsRead  = 0;
+        private volatile long totalPoints = 0;
+
+        private LoadDataProgress progress = null;
+
         LoadDataThread()
         {
             super();
             setDaemon(true);
+
+            dataObject        = selectedObject;
+            useDefaultDisplay = isDefaultDisplay;
+        }
+
+        /** Abandons the load; the read stops at the next block and the data read so far is discarded. */
+        void cancel()
+        {
+            isCancelled = true;
         }
 
         @Override
         public void run()
         {
+            if (!(dataObject instanceof DataFormat))
+                return;
+
+            final DataFormat d                 = (DataFormat)dataObject;
+            final DataViewRequest[] request    = {null};
+            final boolean[] isStarted          = {false};
+            final Display display              = Display.getDefault();
+
             try {
-                Display.getDefault().syncExec(new Runnable() {
-                    @Override
-                    public void run()
-                    {
-                        try {
-                            showDataContent(selectedObject);
-                        }
-                        catch (Exception ex) {
-                            log.debug("showDataContent failure: ", ex);
-                        }
+                display.syncExec(() -> isStarted[0] = startLoad(d, request));
+            }
+            catch (Exception ex) {
+                log.debug("LoadDataThread: load of {} could not be started: ", dataObject.getName(), ex);
+                return;
+            }
+
+            if (!isStarted[0])
+                return;
+
+            long startTime     = System.currentTimeMillis();
+            Throwable failure  = null;
+
+            try {
+                if (!d.isInited())
+                    d.init();
+
+                if (request[0] == null)
+                    request[0] = getDataViewRequest(d, true);
+
+                if (!isCancelled) {
+                    display.syncExec(() -> selectFirstSlice(d));
+
+                    // the read stops between blocks once the load is cancelled
+                    if (d instanceof Dataset)
+                        ((Dataset)d).setReadProgressListener((read, total) -> {
+                            totalPoints = total;
+                            pointsRead  = read;
+                            return !isCancelled;
+                        });
+                    readDataForView(request[0]);
+                }
+            }
+            catch (CancellationException ex) {
+                log.debug("LoadDataThread: reading {} cancelled", dataObject.getName());
+            }
+            catch (Exception | OutOfMemoryError ex) {
+                log.debug("LoadDataThread: reading {} failed: ", dataObject.getName(), ex);
+                failure = ex;
+            }
+            finally {
+                if (d instanceof Dataset)
+                    ((Dataset)d).setReadProgressListener(null);
+            }
+
+            final long elapsed       = System.currentTimeMillis() - startTime;
+            final Throwable error    = failure;
+
+            try {
+                display.asyncExec(() -> finishLoad(d, request[0], elapsed, error));
+            }
+            catch (Exception ex) {
+                log.debug("LoadDataThread: display disposed before {} was loaded", dataObject.getName());
+            }
+        }
+
+        /*
+         * Gathers the display options on the UI thread. Returns false if the object
+         * is already displayed or loading, or if the user cancelled the options dialog.
+         */
+        private boolean startLoad(DataFormat d, DataViewRequest[] request)
+        {
+            if (activeLoads.containsKey(dataObject)) {
+                viewer.showStatus("'" + dataObject.getName() + "' is still loading");
+                return false;
+            }
+
+            if (useDefaultDisplay) {
+                if (findExistingDataView(dataObject) != null)
+                    return false;
+            }
+            else {
+                try {
+                    if (!d.isInited())
+                        d.init();
+                }
+                catch (Exception ex) {
+                    log.debug("LoadDataThread: init of {} failed: ", dataObject.getName(), ex);
+                    Tools.showError(shell, "Open", ex.getMessage());
+                    return false;
+                }
+
+                request[0] = getDataViewRequest(d, false);
+                if (request[0] == null)
+                    return false;
+            }
+
+            activeLoads.put(dataObject, this);
+
+            progress = new LoadDataProgress(this);
+            progress.schedule();
+
+            viewer.showStatus("Loading '" + dataObject.getName() + "' ...");
+
+            return true;
+        }
+
+        /*
+         * Creates the DataView on the UI thread once the data has been read, or
+         * discards the data if the load was cancelled.
+         */
+        private void finishLoad(DataFormat d, DataViewRequest request, long elapsed, Throwable error)
+        {
+            activeLoads.remove(dataObject);
+            progress.close();
+
+            if (isCancelled) {
+                // keep the data if another view of the object still uses it
+                if (viewer.getDataView(dataObject) == null)
+                    d.clearData();
+                viewer.showStatus("Loading '" + dataObject.getName() + "' cancelled");
+                return;
+            }
+
+            if (shell.isDisposed())
+                return;
+
+            if (request == null) {
+                String msg = (error == null) ? "Unable to open '" + dataObject.getName() + "'"
+                                             : error.getMessage();
+                shell.getDisplay().beep();
+                Tools.showError(shell, "Open", msg);
+                return;
+            }
+
+            // a failed read is retried by the DataView, which reports the error
+            if (error == null)
+                viewer.showStatus("Loaded '" + dataObject.getName() + "' in " + (elapsed / 1000.0) + " s");
+
+            createDataView(request);
+        }
+    }
+
+    /**
+     * LoadDataProgress shows the elapsed time of a load that takes longer than
+     * a moment and allows the user to cancel it. The part of the data read so far
+     * is shown as the dataset reports it, and written to the status area every
+     * tenth of the data.
+     */
+    private class LoadDataProgress {
+        /** How long a load runs before its progress is shown, in milliseconds. */
+        private static final int SHOW_DELAY = 500;
+
+        /** How often the elapsed time is refreshed, in milliseconds. */
+        private static final int REFRESH_INTERVAL = 250;
+
+        private final LoadDataThread load;
+
+        private final long startTime;
+
+        private Shell progressShell = null;
+
+        private Label timeLabel = null;
+
+        private ProgressBar bar = null;
+
+        /* The last tenth of the data written to the status area. */
+        private int tenthsShown = 0;
+
+        private boolean isClosed = false;
+
+        private LoadDataProgress(LoadDataThread load)
+        {
+            this.load = load;
+            startTime = System.currentTimeMillis();
+        }
+
+        private void schedule()
+        {
+            shell.getDisplay().timerExec(SHOW_DELAY, this::open);
+            shell.getDisplay().timerExec(REFRESH_INTERVAL, this::showStatus);
+        }
+
+        /*
+         * Writes the part of the data read to the status area each time another tenth of it is read.
+         */
+        private void showStatus()
+        {
+            if (isClosed || shell.isDisposed())
+                return;
+
+            int percent = getPercentRead();
+            if ((percent >= 0) && (percent / 10 > tenthsShown)) {
+                tenthsShown = percent / 10;
+                viewer.showStatus("Loading '" + load.dataObject.getName() + "' ... " + percent + "%");
+            }
+
+            shell.getDisplay().timerExec(REFRESH_INTERVAL, this::showStatus);
+        }
+
+        /*
+         * Returns the percentage of the data read, or -1 if the read does not report its progress.
+         */
+        private int getPercentRead()
+        {
+            long total = load.totalPoints;
+            if (total <= 0)
+                return -1;
+
+            return (int)Math.min(100, load.pointsRead * 100 / total);
+        }
+
+        private void open()
+        {
+            if (isClosed || shell.isDisposed())
+                return;
+
+            progressShell = new Shell(shell, SWT.DIALOG_TRIM | SWT.MODELESS);
+            progressShell.setFont(curFont);
+            progressShell.setText("Loading " + load.dataObject.getName());
+            progressShell.setImage(ViewProperties.getHdfIcon());
+            progressShell.setLayout(new GridLayout(1, true));
+
+            Label label = new Label(progressShell, SWT.LEFT);
+            label.setFont(curFont);
+            label.setText("Reading '" + load.dataObject.getFullName() + "' ...");
+            label.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false));
+
+            bar = new ProgressBar(progressShell, SWT.HORIZONTAL | SWT.INDETERMINATE);
+            bar.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false));
+
+            timeLabel = new Label(progressShell, SWT.LEFT);
+            timeLabel.setFont(curFont);
+            timeLabel.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false));
+
+            Button cancelButton = new Button(progressShell, SWT.PUSH);
+            cancelButton.setFont(curFont);
+            cancelButton.setText(" &Cancel ");
+            cancelButton.setLayoutData(new GridData(SWT.CENTER, SWT.FILL, true, false));
+            cancelButton.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    progressShell.dispose();
+                }
+            });
+
+            // closing the window in any way cancels the load
+            progressShell.addDisposeListener(new DisposeListener() {
+                @Override
+                public void widgetDisposed(DisposeEvent e)
+                {
+                    if (!isClosed) {
+                        load.cancel();
+                        viewer.showStatus("Cancelling load of '" + load.dataObject.getName() + "' ...");
                     }
-                });
+                }
+            });
+
+            refresh();
+
+            progressShell.pack();
+
+            Point shellSize = progressShell.computeSize(SWT.DEFAULT, SWT.DEFAULT);
+            progressShell.setSize(Math.max(shellSize.x, 350), shellSize.y);
+
+            Rectangle parentBounds = shell.getBounds();
+            shellSize              = progressShell.getSize();
+            progressShell.setLocation((parentBounds.x + (parentBounds.width / 2)) - (shellSize.x / 2),
+                                      (parentBounds.y + (parentBounds.height / 2)) - (shellSize.y / 2));
+
+            progressShell.open();
+        }
+
+        private void refresh()
+        {
+            if (isClosed || (progressShell == null) || progressShell.isDisposed())
+                return;
+
+            long elapsed = (System.currentTimeMillis() - startTime) / 1000;
+            int percent  = getPercentRead();
+            if (percent < 0) {
+                timeLabel.setText("Elapsed time: " + elapsed + " s");
             }
-            catch (Exception e) {
-                log.debug("showDataContent loading manually interrupted");
+            else {
+                // the bar shows the part read once the dataset reports it
+                if ((bar.getStyle() & SWT.INDETERMINATE) != 0) {
+                    ProgressBar determinate = new ProgressBar(progressShell, SWT.HORIZONTAL | SWT.SMOOTH);
+                    determinate.setLayoutData(bar.getLayoutData());
+                    determinate.setMaximum(100);
+                    determinate.moveAbove(bar);
+                    bar.dispose();
+                    bar = determinate;
+                    progressShell.layout();
+                }
+                bar.setSelection(percent);
+                timeLabel.setText("Read " + percent + "%, elapsed time: " + elapsed + " s");
             }
+
+            shell.getDisplay().timerExec(REFRESH_INTERVAL, this::refresh);
+        }
+
+        private void close()
+        {
+            isClosed = true;
+
+            if ((progressShell != null) && !progressShell.isDisposed())
+                progressShell.dispose();
         }
     }
 }
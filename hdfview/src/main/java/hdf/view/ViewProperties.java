@@ -273,6 +273,36 @@ public class ViewProperties extends PreferenceStore {
      */
     private static int startMembers = 0;
 
+    /**
+     * Flag to indicate if the members of a group are loaded the first time the
+     * group is expanded instead of when the file is opened.
+     */
+    private static boolean loadMembersOnDemand = false;
+
+    /**
+     * The number of threads used to load the structure of an HDF5 file when it
+     * is opened.
+     */
+    private static int loadThreads = 1;
+
+    /**
+     * Flag to indicate if the structure of HDF5 files opened read-only is
+     * cached, so that unchanged files are opened faster the next time.
+     */
+    private static boolean cacheStructure = false;
+
+    /**
+     * The number of megabytes of decompressed chunks kept in memory for each
+     * chunked dataset that is displayed.
+     */
+    private static int chunkCacheSize = 32;
+
+    /**
+     * Flag to indicate if the chunks of HDF5 datasets are read raw and
+     * decompressed in Java on several threads.
+     */
+    private static boolean directChunkRead = false;
+
     private static Image hdfviewIcon, h4Icon, h4IconR, h5Icon, h5IconR, ncIcon, ncIconR, blankIcon, helpIcon,
         fileopenIcon, filesaveIcon, filenewIcon, filecloseIcon, foldercloseIcon, folderopenIcon,
         foldercloseIconA, folderopenIconA, datasetIcon, imageIcon, tableIcon, textIcon, datasetIconA,
@@ -339,6 +369,11 @@ public class ViewProperties extends PreferenceStore {
         setDefault("enum.conversion", false);
         setDefault("regref.showvalues", false);
         setDefault("index.base1", false);
+        setDefault("members.ondemand", false);
+        setDefault("load.threads", 1);
+        setDefault("structure.cache", false);
+        setDefault("chunk.cache.size", 32);
+        setDefault("chunk.directread", false);
         setDefault("image.origin", ORIGIN_UL);
         setDefault("h5file.indexType", "H5_INDEX_NAME");
         setDefault("h5file.indexOrder", "H5_ITER_INC");
@@ -1546,6 +1581,11 @@ public class ViewProperties extends PreferenceStore {
         setShowRegRefValue(getBoolean("regref.showvalues"));
 
         setIndexBase1(getBoolean("index.base1"));
+        setLoadMembersOnDemand(getBoolean("members.ondemand"));
+        setLoadThreads(getInt("load.threads"));
+        setCacheStructure(getBoolean("structure.cache"));
+        setChunkCacheSize(getInt("chunk.cache.size"));
+        setDirectChunkRead(getBoolean("chunk.directread"));
 
         propVal = getString("data.delimiter");
         if (!isDefault("data.delimiter"))
@@ -1718,6 +1758,11 @@ public class ViewProperties extends PreferenceStore {
         setValue("enum.conversion", convertEnum);
         setValue("regref.showvalues", showRegRefValues);
         setValue("index.base1", isIndexBase1);
+        setValue("members.ondemand", loadMembersOnDemand);
+        setValue("load.threads", loadThreads);
+        setValue("structure.cache", cacheStructure);
+        setValue("chunk.cache.size", chunkCacheSize);
+        setValue("chunk.directread", directChunkRead);
 
         // save the list of most recent files
         log.trace("save user properties: most recent files");
@@ -2234,6 +2279,106 @@ public class ViewProperties extends PreferenceStore {
      */
     public static int getStartMembers() { return startMembers; }
 
+    /**
+     * Sets the flag to indicate if the members of a group are loaded the first
+     * time the group is expanded instead of when the file is opened.
+     *
+     * @param b
+     *            the flag to indicate if group members are loaded on demand.
+     */
+    public static void setLoadMembersOnDemand(boolean b) { loadMembersOnDemand = b; }
+
+    /**
+     * Returns true if the members of a group are loaded the first time the group
+     * is expanded instead of when the file is opened.
+     *
+     * @return true if group members are loaded on demand; otherwise, returns false.
+     */
+    public static boolean isLoadMembersOnDemand() { return loadMembersOnDemand; }
+
+    /**
+     * Sets the number of threads used to load the structure of an HDF5 file
+     * when it is opened.
+     *
+     * @param n
+     *            the number of threads; 1 or less loads the structure on a single thread.
+     */
+    public static void setLoadThreads(int n) { loadThreads = Math.max(1, n); }
+
+    /**
+     * Returns the number of threads used to load the structure of an HDF5 file
+     * when it is opened.
+     *
+     * @return the number of threads used to load the file structure
+     */
+    public static int getLoadThreads() { return loadThreads; }
+
+    /**
+     * Sets the flag to indicate if the structure of HDF5 files opened
+     * read-only is cached.
+     *
+     * @param b
+     *            the flag to indicate if the file structure is cached.
+     */
+    public static void setCacheStructure(boolean b) { cacheStructure = b; }
+
+    /**
+     * Returns true if the structure of HDF5 files opened read-only is cached.
+     *
+     * @return true if the file structure is cached; otherwise, returns false.
+     */
+    public static boolean isCacheStructure() { return cacheStructure; }
+
+    /**
+     * Sets the number of megabytes of decompressed chunks kept in memory for
+     * each chunked dataset that is displayed.
+     *
+     * @param size
+     *            the size of the chunk cache in megabytes; 0 to keep no chunks.
+     */
+    public static void setChunkCacheSize(int size) { chunkCacheSize = Math.max(0, size); }
+
+    /**
+     * Returns the number of megabytes of decompressed chunks kept in memory for
+     * each chunked dataset that is displayed.
+     *
+     * @return the size of the chunk cache in megabytes
+     */
+    public static int getChunkCacheSize() { return chunkCacheSize; }
+
+    /**
+     * Sets the flag to indicate if the chunks of HDF5 datasets are read raw and
+     * decompressed in Java on several threads.
+     *
+     * @param b
+     *            the flag to indicate if chunks are decompressed in Java.
+     */
+    public static void setDirectChunkRead(boolean b) { directChunkRead = b; }
+
+    /**
+     * Returns true if the chunks of HDF5 datasets are read raw and decompressed
+     * in Java on several threads.
+     *
+     * @return true if chunks are decompressed in Java; otherwise, returns false.
+     */
+    public static boolean isDirectChunkRead() { return directChunkRead; }
+
+    /**
+     * Returns the directory of the cache of the structure of HDF5 files, next
+     * to the user property file.
+     *
+     * @return the directory of the structure cache, or null if there is no
+     *         user property file.
+     */
+    public static String getStructureCacheDir()
+    {
+        if (propertyFile == null)
+            return null;
+
+        File dir = new File(propertyFile).getAbsoluteFile().getParentFile();
+        return new File(dir, USER_PROPERTY_FILE + "-cache").getAbsolutePath();
+    }
+
     /**
      * Returns true if auto contrast is used in image processing.
      *
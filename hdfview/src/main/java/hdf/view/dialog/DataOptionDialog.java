@@ -16,15 +16,7 @@ package hdf.view.dialog;
 
 import java.awt.Image;
 import java.awt.Rectangle;
-import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
-import java.awt.image.ComponentColorModel;
-import java.awt.image.DirectColorModel;
-import java.awt.image.FilteredImageSource;
-import java.awt.image.ImageFilter;
-import java.awt.image.ImageProducer;
-import java.awt.image.IndexColorModel;
-import java.awt.image.WritableRaster;
 import java.util.BitSet;
 import java.util.StringTokenizer;
 import java.util.Vector;
@@ -36,10 +28,11 @@ import hdf.object.Datatype;
 import hdf.object.FileFormat;
 import hdf.object.HObject;
 import hdf.object.ScalarDS;
+import hdf.object.UnsignedView;
 import hdf.view.HDFView;
 import hdf.view.ImageView.DefaultImageView;
-import hdf.view.ImageView.DefaultImageView.FlipFilter;
-import hdf.view.ImageView.DefaultImageView.Rotate90Filter;
+import hdf.view.ImageView.ImageFilterChain;
+import hdf.view.OverviewCache;
 import hdf.view.Tools;
 import hdf.view.ViewProperties;
 
@@ -58,10 +51,7 @@ import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
-import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
-import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
@@ -1591,7 +1581,7 @@ public class DataOptionDialog extends Dialog {
      *  of the data to be displayed.
      */
     private class PreviewNavigator extends Canvas {
-        private final int NAVIGATOR_SIZE = 150;
+        private final int NAVIGATOR_SIZE = OverviewCache.THUMBNAIL_SIZE;
         private int dimX;
         private int dimY;
         private int x;
@@ -1600,6 +1590,8 @@ public class DataOptionDialog extends Dialog {
         private Point startPosition; // mouse clicked position
         private Rectangle selectedArea;
         private Image previewImage = null;
+        /* The preview image converted for display, until the preview image changes */
+        private org.eclipse.swt.graphics.Image convertedImage = null;
         private String selStr;
 
         private PreviewNavigator(Composite parent, int style, int w, int h)
@@ -1697,6 +1689,14 @@ public class DataOptionDialog extends Dialog {
                 }
             });
 
+            this.addDisposeListener(new DisposeListener() {
+                @Override
+                public void widgetDisposed(DisposeEvent e)
+                {
+                    disposeConvertedImage();
+                }
+            });
+
             this.addPaintListener(new PaintListener() {
                 @Override
                 public void paintControl(PaintEvent e)
@@ -1706,7 +1706,9 @@ public class DataOptionDialog extends Dialog {
                     gc.setForeground(Display.getCurrent().getSystemColor(SWT.COLOR_BLUE));
 
                     if (previewImage != null) {
-                        gc.drawImage(convertBufferedImageToSWTImage((BufferedImage)previewImage), 0, 0);
+                        if (convertedImage == null)
+                            convertedImage = convertBufferedImageToSWTImage((BufferedImage)previewImage);
+                        gc.drawImage(convertedImage, 0, 0);
                     }
                     else {
                         gc.fillRectangle(0, 0, x, y);
@@ -1792,6 +1794,13 @@ public class DataOptionDialog extends Dialog {
                          (double)dims[selectedIndex[1]] / (double)selected[selectedIndex[1]]);
 
             try {
+                // the preview of an indexed image is its thumbnail, read once and kept in the overview cache
+                if (!isTrueColorImage) {
+                    preImage = createCachedPreviewImage(sd);
+                    if (preImage != null)
+                        return preImage;
+                }
+
                 Object data = sd.read();
                 int h       = (int)sd.getHeight();
                 int w       = (int)sd.getWidth();
@@ -1844,6 +1853,53 @@ public class DataOptionDialog extends Dialog {
             return preImage;
         }
 
+        /**
+         * Creates the preview of an indexed image from its thumbnail in the overview cache.
+         *
+         * @param sd the dataset of the image
+         *
+         * @return the preview, or null if the dataset cannot be read in hyperslabs
+         *
+         * @throws Exception if the thumbnail could not be read
+         */
+        private Image createCachedPreviewImage(ScalarDS sd) throws Exception
+        {
+            int rowDim    = selectedIndex[0];
+            int colDim    = selectedIndex[1];
+            long[][] slab = OverviewCache.getThumbnailHyperslab(sd, rowDim, colDim, NAVIGATOR_SIZE);
+
+            OverviewCache.Overview overview;
+            try {
+                overview = OverviewCache.getDefault().getOverview(sd, slab[0], slab[1], slab[2]);
+            }
+            catch (UnsupportedOperationException ex) {
+                log.debug("createCachedPreviewImage(): hyperslabs not supported: ", ex);
+                return null;
+            }
+
+            if (overview.getHistogram() == null)
+                return null;
+
+            Object data = overview.getData();
+            if (sd.getDatatype().isUnsigned() && UnsignedView.isSupported(data))
+                data = new UnsignedView(data);
+
+            double[] range = sd.getImageDataRange();
+            if (range == null)
+                range = new double[] {overview.getMin(), overview.getMax()};
+
+            int h        = (int)slab[2][rowDim];
+            int w        = (int)slab[2][colDim];
+            byte[] bData = Tools.getBytes(data, range.clone(), w, h, rowDim > colDim,
+                                          sd.getFilteredImageValues(), null);
+
+            byte[][] imagePalette = sd.getPalette();
+            if (imagePalette == null)
+                imagePalette = Tools.createGrayPalette();
+
+            return Tools.createIndexedImage(null, bData, imagePalette, w, h);
+        }
+
         private void updateSelection(int x0, int y0, int w, int h)
         {
             int i0 = 0;
@@ -1903,18 +1959,25 @@ public class DataOptionDialog extends Dialog {
             }
             catch (Exception ex) {
             }
+            disposeConvertedImage();
 
             this.redraw();
         }
 
-        private boolean applyImageFilter(ImageFilter filter)
+        private void disposeConvertedImage()
         {
-            boolean status              = true;
-            ImageProducer imageProducer = previewImage.getSource();
+            if ((convertedImage != null) && !convertedImage.isDisposed())
+                convertedImage.dispose();
+            convertedImage = null;
+        }
+
+        private boolean applyImageFilter(ImageFilterChain filters)
+        {
+            boolean status = true;
 
             try {
-                previewImage = Tools.toBufferedImage(
-                    Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(imageProducer, filter)));
+                previewImage = filters.apply(Tools.toBufferedImage(previewImage));
+                disposeConvertedImage();
             }
             catch (Exception err) {
                 shell.getDisplay().beep();
@@ -1925,14 +1988,14 @@ public class DataOptionDialog extends Dialog {
             return status;
         }
 
-        private void flip(int direction) { applyImageFilter(new FlipFilter(direction)); }
+        private void flip(int direction) { applyImageFilter(new ImageFilterChain().flip(direction)); }
 
         private void rotate(int direction)
         {
             if (!(direction == DefaultImageView.ROTATE_CW_90 || direction == DefaultImageView.ROTATE_CCW_90))
                 return;
 
-            applyImageFilter(new Rotate90Filter(direction));
+            applyImageFilter(new ImageFilterChain().rotate(direction));
         }
 
         /**
@@ -1944,78 +2007,7 @@ public class DataOptionDialog extends Dialog {
          */
         private org.eclipse.swt.graphics.Image convertBufferedImageToSWTImage(BufferedImage image)
         {
-            Display display = this.getDisplay();
-
-            if (image.getColorModel() instanceof DirectColorModel) {
-                DirectColorModel colorModel = (DirectColorModel)image.getColorModel();
-                PaletteData palette = new PaletteData(colorModel.getRedMask(), colorModel.getGreenMask(),
-                                                      colorModel.getBlueMask());
-                ImageData data =
-                    new ImageData(image.getWidth(), image.getHeight(), colorModel.getPixelSize(), palette);
-
-                for (int yIdx = 0; yIdx < data.height; yIdx++) {
-                    for (int xIdx = 0; xIdx < data.width; xIdx++) {
-                        int rgb = image.getRGB(xIdx, yIdx);
-                        int pixel =
-                            palette.getPixel(new RGB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF));
-                        data.setPixel(xIdx, yIdx, pixel);
-                        if (colorModel.hasAlpha()) {
-                            data.setAlpha(xIdx, yIdx, (rgb >> 24) & 0xFF);
-                        }
-                    }
-                }
-
-                return new org.eclipse.swt.graphics.Image(display, data);
-            }
-            else if (image.getColorModel() instanceof IndexColorModel) {
-                IndexColorModel colorModel = (IndexColorModel)image.getColorModel();
-                int size                   = colorModel.getMapSize();
-                byte[] reds                = new byte[size];
-                byte[] greens              = new byte[size];
-                byte[] blues               = new byte[size];
-                colorModel.getReds(reds);
-                colorModel.getGreens(greens);
-                colorModel.getBlues(blues);
-                RGB[] rgbs = new RGB[size];
-                for (int i = 0; i < rgbs.length; i++) {
-                    rgbs[i] = new RGB(reds[i] & 0xFF, greens[i] & 0xFF, blues[i] & 0xFF);
-                }
-                PaletteData palette = new PaletteData(rgbs);
-                ImageData data =
-                    new ImageData(image.getWidth(), image.getHeight(), colorModel.getPixelSize(), palette);
-                data.transparentPixel = colorModel.getTransparentPixel();
-                WritableRaster raster = image.getRaster();
-                int[] pixelArray      = new int[1];
-                for (int yidx = 0; yidx < data.height; yidx++) {
-                    for (int xidx = 0; xidx < data.width; xidx++) {
-                        raster.getPixel(xidx, yidx, pixelArray);
-                        data.setPixel(xidx, yidx, pixelArray[0]);
-                    }
-                }
-
-                return new org.eclipse.swt.graphics.Image(display, data);
-            }
-            else if (image.getColorModel() instanceof ComponentColorModel) {
-                ComponentColorModel colorModel = (ComponentColorModel)image.getColorModel();
-                // ASSUMES: 3 BYTE BGR IMAGE TYPE
-                PaletteData palette = new PaletteData(0x0000FF, 0x00FF00, 0xFF0000);
-                ImageData data =
-                    new ImageData(image.getWidth(), image.getHeight(), colorModel.getPixelSize(), palette);
-                // This is valid because we are using a 3-byte Data model with no transparent pixels
-                data.transparentPixel = -1;
-                WritableRaster raster = image.getRaster();
-                int[] pixelArray      = new int[3];
-                for (int yidx = 0; yidx < data.height; yidx++) {
-                    for (int xidx = 0; xidx < data.width; xidx++) {
-                        raster.getPixel(xidx, yidx, pixelArray);
-                        int pixel = palette.getPixel(new RGB(pixelArray[0], pixelArray[1], pixelArray[2]));
-                        data.setPixel(xidx, yidx, pixel);
-                    }
-                }
-                return new org.eclipse.swt.graphics.Image(display, data);
-            }
-
-            return null;
+            return new org.eclipse.swt.graphics.Image(this.getDisplay(), Tools.toImageData(image));
         }
     }
 }
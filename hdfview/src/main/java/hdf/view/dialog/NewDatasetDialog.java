@@ -848,12 +848,6 @@ public class NewDatasetDialog extends NewDataObjectDialog {
         int w           = tableView.getSelectedColumnCount();
         int h           = tableView.getSelectedRowCount();
         Dataset dataset = (Dataset)tableView.getDataObject();
-        if (dataset instanceof ScalarDS) {
-            ScalarDS sd = (ScalarDS)dataset;
-            if (sd.getDatatype().isUnsigned()) {
-                theData = Dataset.convertToUnsignedC(theData, null);
-            }
-        }
 
         try {
             long[] dims = {h, w};
@@ -902,12 +896,6 @@ public class NewDatasetDialog extends NewDataObjectDialog {
             return null;
         }
 
-        // in version 2.4, unsigned image data is converted to signed data
-        // to write data, the data needs to be converted back to unsigned.
-        if (dataset.getDatatype().isUnsigned()) {
-            theData = Dataset.convertToUnsignedC(theData, null);
-        }
-
         int w = imageView.getSelectedArea().width;
         int h = imageView.getSelectedArea().height;
 
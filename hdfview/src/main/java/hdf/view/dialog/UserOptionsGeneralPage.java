@@ -67,6 +67,8 @@ public class UserOptionsGeneralPage extends UserOptionsDefaultPage {
     private Button helpButton;
     private Button checkReadOnly;
     private Button checkReadAll;
+    private Button checkLoadOnDemand;
+    private Button checkCacheStructure;
 
     private boolean isFontChanged;
     private boolean isUserGuideChanged;
@@ -198,6 +200,11 @@ public class UserOptionsGeneralPage extends UserOptionsDefaultPage {
             }
         }
 
+        if (checkLoadOnDemand != null)
+            ViewProperties.setLoadMembersOnDemand(checkLoadOnDemand.getSelection());
+        if (checkCacheStructure != null)
+            ViewProperties.setCacheStructure(checkCacheStructure.getSelection());
+
         if (checkAutoContrast != null)
             ViewProperties.setAutoContrast(checkAutoContrast.getSelection());
         if (checkShowValues != null)
@@ -351,6 +358,9 @@ public class UserOptionsGeneralPage extends UserOptionsDefaultPage {
         startMemberField.setText(String.valueOf(ViewProperties.getStartMembers()));
 
         maxMemberField.setText(String.valueOf(ViewProperties.getMaxMembers()));
+
+        checkLoadOnDemand.setSelection(ViewProperties.isLoadMembersOnDemand());
+        checkCacheStructure.setSelection(ViewProperties.isCacheStructure());
     }
 
     /**
@@ -660,6 +670,16 @@ public class UserOptionsGeneralPage extends UserOptionsDefaultPage {
         startMemberField.setEnabled(!checkReadAll.getSelection());
         maxMemberField.setEnabled(!checkReadAll.getSelection());
 
+        checkLoadOnDemand = new Button(objectsGroup, SWT.CHECK);
+        checkLoadOnDemand.setFont(curFont);
+        checkLoadOnDemand.setText("Load Group Members When Expanded");
+        checkLoadOnDemand.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 5, 1));
+
+        checkCacheStructure = new Button(objectsGroup, SWT.CHECK);
+        checkCacheStructure.setFont(curFont);
+        checkCacheStructure.setText("Cache Structure of Read-Only Files");
+        checkCacheStructure.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 5, 1));
+
         load();
         // return scroller;
         return composite;
@@ -0,0 +1,184 @@
+package hdf.view.ImageView;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the filters of the image view on small images, against pixels computed by hand.
+ */
+@Tag("unit")
+@Tag("fast")
+public class ImageFilterChainTest {
+    private static final Logger log = LoggerFactory.getLogger(ImageFilterChainTest.class);
+
+    private static final int A = 0xFF000001;
+    private static final int B = 0xFF000002;
+    private static final int C = 0xFF000003;
+    private static final int D = 0xFF000004;
+    private static final int E = 0xFF000005;
+    private static final int F = 0xFF000006;
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    /** The image of 3 columns and 2 rows moved by the flips and rotations. */
+    private static final int[] PIXELS = {A, B, C, D, E, F};
+
+    /**
+     * Flips and rotates an image, and checks the pixels and the size of the result.
+     */
+    @Test
+    public void testFlipRotate()
+    {
+        log.debug("testFlipRotate");
+
+        BufferedImage image = newImage(3, 2, PIXELS);
+
+        assertPixels(3, 2, new int[] {C, B, A, F, E, D},
+                     new ImageFilterChain().flip(DefaultImageView.FLIP_HORIZONTAL).apply(image));
+        assertPixels(3, 2, new int[] {D, E, F, A, B, C},
+                     new ImageFilterChain().flip(DefaultImageView.FLIP_VERTICAL).apply(image));
+        assertPixels(2, 3, new int[] {D, A, E, B, F, C},
+                     new ImageFilterChain().rotate(DefaultImageView.ROTATE_CW_90).apply(image));
+        assertPixels(2, 3, new int[] {C, F, B, E, A, D},
+                     new ImageFilterChain().rotate(DefaultImageView.ROTATE_CCW_90).apply(image));
+
+        // moves composed into one pass
+        assertPixels(3, 2, new int[] {F, E, D, C, B, A},
+                     new ImageFilterChain()
+                         .rotate(DefaultImageView.ROTATE_CW_90)
+                         .rotate(DefaultImageView.ROTATE_CW_90)
+                         .apply(image));
+        assertPixels(2, 3, new int[] {F, C, E, B, D, A},
+                     new ImageFilterChain()
+                         .flip(DefaultImageView.FLIP_HORIZONTAL)
+                         .rotate(DefaultImageView.ROTATE_CW_90)
+                         .apply(image));
+        assertPixels(3, 2, PIXELS,
+                     new ImageFilterChain()
+                         .flip(DefaultImageView.FLIP_VERTICAL)
+                         .flip(DefaultImageView.FLIP_VERTICAL)
+                         .apply(image));
+
+        // the source image is not changed, and an empty chain returns it
+        assertPixels(3, 2, PIXELS, image);
+        assertSame(image, new ImageFilterChain().apply(image));
+        log.debug("testFlipRotate finish");
+    }
+
+    /**
+     * Changes the brightness and the contrast of the colors of an image, and checks that alpha is kept.
+     */
+    @Test
+    public void testBrightness()
+    {
+        log.debug("testBrightness");
+
+        BufferedImage image = newImage(3, 1, new int[] {0xFF102030, 0x80FAFAFA, 0xFF0080FF});
+
+        // each color is raised by twice the brightness level, up to 255
+        assertPixels(3, 1, new int[] {0xFF243444, 0x80FFFFFF, 0xFF1494FF},
+                     new ImageFilterChain().brightness(10, 0).apply(image));
+
+        // a contrast of -50 scales the colors by 1/4 around the middle of [0, 255]
+        assertPixels(3, 1, new int[] {0xFF63676B, 0x809E9E9E, 0xFF5F7F9F},
+                     new ImageFilterChain().brightness(0, -50).apply(image));
+        log.debug("testBrightness finish");
+    }
+
+    /**
+     * Draws the contour lines of an image, and checks that they are drawn where the gray level crosses the
+     * levels along each row.
+     */
+    @Test
+    public void testContour()
+    {
+        log.debug("testContour");
+
+        int gray100 = 0xFF646464;
+        int gray200 = 0xFFC8C8C8;
+        int[] rows  = {BLACK, BLACK, gray200, gray200, BLACK, gray100, gray100, gray100, WHITE, WHITE};
+
+        BufferedImage image = newImage(5, 2, rows);
+
+        // one level at 128, drawn in red
+        int red = 0xFFFF0000;
+        assertPixels(5, 2, new int[] {0, 0, red, 0, red, 0, 0, 0, red, 0},
+                     new ImageFilterChain().contour(1).apply(image));
+
+        // two levels at 64 and 128, drawn in red and green; the line of 128 is drawn over that of 64
+        int green = 0xFF00FF00;
+        assertPixels(5, 2, new int[] {0, 0, green, 0, green, 0, 0, 0, green, 0},
+                     new ImageFilterChain().contour(2).apply(image));
+        assertPixels(5, 1, new int[] {0, red, 0, green, 0},
+                     new ImageFilterChain().contour(2).apply(
+                         newImage(5, 1, new int[] {BLACK, gray100, gray100, gray200, gray200})));
+        log.debug("testContour finish");
+    }
+
+    /**
+     * Removes an isolated pixel with the median filter, and checks that an edge is kept.
+     */
+    @Test
+    public void testMedian()
+    {
+        log.debug("testMedian");
+
+        int[] noisy = {BLACK, BLACK, BLACK, BLACK, WHITE, BLACK, BLACK, BLACK, BLACK};
+        int[] black = new int[9];
+        Arrays.fill(black, BLACK);
+        assertPixels(3, 3, black, new ImageFilterChain().median().apply(newImage(3, 3, noisy)));
+
+        int[] edge = {WHITE, WHITE, WHITE, BLACK, BLACK, BLACK, BLACK, BLACK, BLACK};
+        assertPixels(3, 3, edge, new ImageFilterChain().median().apply(newImage(3, 3, edge)));
+        log.debug("testMedian finish");
+    }
+
+    /**
+     * Smooths an image with a Gaussian kernel, and checks the spread of a single blue pixel and that a
+     * uniform image is not changed.
+     */
+    @Test
+    public void testGaussian()
+    {
+        log.debug("testGaussian");
+
+        // sigma 0.5: a kernel of radius 2, of the weights 0.786572, 0.106451 and 0.000264 at 0, 1 and 2
+        BufferedImage impulse = newImage(5, 1, new int[] {BLACK, BLACK, 0xFF0000FF, BLACK, BLACK});
+        assertPixels(5, 1, new int[] {BLACK, 0xFF00001B, 0xFF0000C9, 0xFF00001B, BLACK},
+                     new ImageFilterChain().gaussian(0.5).apply(impulse));
+
+        int[] uniform = new int[12];
+        Arrays.fill(uniform, 0xFF808080);
+        assertPixels(4, 3, uniform, new ImageFilterChain().gaussian(1.0).apply(newImage(4, 3, uniform)));
+
+        // no smoothing is added for a sigma which is not positive
+        assertTrue(new ImageFilterChain().gaussian(0).isEmpty());
+        log.debug("testGaussian finish");
+    }
+
+    private static BufferedImage newImage(int w, int h, int[] pixels)
+    {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, w, h, pixels, 0, w);
+        return image;
+    }
+
+    private static void assertPixels(int w, int h, int[] expected, BufferedImage image)
+    {
+        assertEquals(w, image.getWidth());
+        assertEquals(h, image.getHeight());
+        assertArrayEquals(expected, image.getRGB(0, 0, w, h, null, 0, w));
+    }
+}
@@ -0,0 +1,165 @@
+package hdf.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import hdf.object.Dataset;
+import hdf.object.Datatype;
+import hdf.object.FileFormat;
+import hdf.object.h5.H5File;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the storing of the overviews of a dataset in the overview cache, and their invalidation once the
+ * file of the dataset changes.
+ */
+@Tag("unit")
+@Tag("fast")
+public class OverviewCacheTest {
+    private static final Logger log = LoggerFactory.getLogger(OverviewCacheTest.class);
+
+    private static final String NAME_FILE_H5 = "TestOverviewCache.h5";
+    private static final String NAME_DATASET = "/image";
+
+    private static final int ROWS    = 64;
+    private static final int COLUMNS = 32;
+    private static final int STRIDE  = 4;
+
+    private static final long[] START   = {0, 0};
+    private static final long[] STRIDES = {STRIDE, STRIDE};
+    private static final long[] COUNT   = {ROWS / STRIDE, COLUMNS / STRIDE};
+
+    private File cacheDir    = null;
+    private H5File testFile  = null;
+    private Dataset testDset = null;
+
+    @BeforeEach
+    public void createFile() throws Exception
+    {
+        int[] data = new int[ROWS * COLUMNS];
+        for (int i = 0; i < data.length; i++)
+            data[i] = i;
+
+        H5File file = new H5File(NAME_FILE_H5, FileFormat.CREATE);
+        try {
+            file.open();
+            Datatype type =
+                file.createDatatype(Datatype.CLASS_INTEGER, 4, Datatype.NATIVE, Datatype.NATIVE);
+            file.createScalarDS(NAME_DATASET, null, type, new long[] {ROWS, COLUMNS}, null, null, 0, data);
+        }
+        finally {
+            file.close();
+        }
+
+        cacheDir = Files.createTempDirectory("overviews").toFile();
+        openFile();
+    }
+
+    @AfterEach
+    public void removeFile() throws Exception
+    {
+        if (testFile != null)
+            testFile.close();
+        testFile = null;
+
+        File[] entries = cacheDir.listFiles();
+        if (entries != null) {
+            for (File f : entries)
+                f.delete();
+        }
+        cacheDir.delete();
+        new File(NAME_FILE_H5).delete();
+    }
+
+    private void openFile() throws Exception
+    {
+        testFile = new H5File(NAME_FILE_H5, FileFormat.READ);
+        testFile.open();
+        testDset = (Dataset)testFile.get(NAME_DATASET);
+        testDset.init();
+    }
+
+    /**
+     * Reads an overview, and checks that it is read back from the cache with its values and statistics,
+     * including by another cache of the same directory as in a later session.
+     */
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        log.debug("testRoundTrip");
+
+        OverviewCache cache = new OverviewCache(cacheDir, OverviewCache.DEFAULT_MAX_BYTES);
+        assertNull(cache.peekOverview(testDset, START, STRIDES, COUNT));
+
+        OverviewCache.Overview overview = cache.getOverview(testDset, START, STRIDES, COUNT);
+        int[] values                    = (int[])overview.getData();
+        assertEquals(COUNT[0] * COUNT[1], values.length);
+        for (int r = 0; r < COUNT[0]; r++) {
+            for (int c = 0; c < COUNT[1]; c++)
+                assertEquals(r * STRIDE * COLUMNS + c * STRIDE, values[r * (int)COUNT[1] + c]);
+        }
+        assertEquals(values.length, overview.getCount());
+        assertEquals(0.0, overview.getMin(), 0.0);
+        assertEquals(values[values.length - 1], overview.getMax(), 0.0);
+        assertEquals(OverviewCache.HISTOGRAM_BINS, overview.getHistogram().length);
+
+        OverviewCache.Overview peeked = cache.peekOverview(testDset, START, STRIDES, COUNT);
+        assertNotNull(peeked);
+        assertNull(peeked.getData());
+        assertEquals(overview.getCount(), peeked.getCount());
+        assertEquals(overview.getMin(), peeked.getMin(), 0.0);
+        assertEquals(overview.getMax(), peeked.getMax(), 0.0);
+        assertArrayEquals(overview.getHistogram(), peeked.getHistogram());
+
+        OverviewCache later             = new OverviewCache(cacheDir, OverviewCache.DEFAULT_MAX_BYTES);
+        OverviewCache.Overview restored = later.getOverview(testDset, START, STRIDES, COUNT);
+        assertArrayEquals(values, (int[])restored.getData());
+        assertArrayEquals(overview.getHistogram(), restored.getHistogram());
+
+        // another hyperslab of the same dataset is another overview
+        assertNull(cache.peekOverview(testDset, START, new long[] {2 * STRIDE, 2 * STRIDE}, COUNT));
+        log.debug("testRoundTrip finish");
+    }
+
+    /**
+     * Checks that an overview is no longer read from the cache, and its file is deleted, once the file of
+     * the dataset has changed, and that the files of the overviews are deleted once the cache is over its
+     * maximum size.
+     */
+    @Test
+    public void testInvalidation() throws Exception
+    {
+        log.debug("testInvalidation");
+
+        OverviewCache cache = new OverviewCache(cacheDir, OverviewCache.DEFAULT_MAX_BYTES);
+        cache.getOverview(testDset, START, STRIDES, COUNT);
+        assertNotNull(cache.peekOverview(testDset, START, STRIDES, COUNT));
+        assertEquals(1, cacheDir.listFiles().length);
+
+        testFile.close();
+        File source = new File(NAME_FILE_H5);
+        assertTrue(source.setLastModified(source.lastModified() - 60000));
+        openFile();
+
+        assertNull(cache.peekOverview(testDset, START, STRIDES, COUNT));
+        assertEquals(0, cacheDir.listFiles().length);
+
+        OverviewCache empty = new OverviewCache(cacheDir, 0);
+        assertNotNull(empty.getOverview(testDset, START, STRIDES, COUNT).getData());
+        assertEquals(0, cacheDir.listFiles().length);
+        log.debug("testInvalidation finish");
+    }
+}
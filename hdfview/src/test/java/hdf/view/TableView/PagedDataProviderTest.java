@@ -0,0 +1,212 @@
+package hdf.view.TableView;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import hdf.object.BufferPool;
+import hdf.object.Dataset;
+import hdf.object.Datatype;
+import hdf.object.FileFormat;
+import hdf.object.h5.H5File;
+import hdf.view.TableView.DataProviderFactory.PagedDataProvider;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the paging of the rows of a large selection into the table view, without a display.
+ */
+@Tag("unit")
+@Tag("fast")
+public class PagedDataProviderTest {
+    private static final Logger log = LoggerFactory.getLogger(PagedDataProviderTest.class);
+
+    private static final String NAME_FILE_H5 = "TestPagedDataProvider.h5";
+    private static final String NAME_DATASET = "/ints";
+    private static final String NAME_UBYTES  = "/ubytes";
+
+    private static final int ROWS      = 100;
+    private static final int COLUMNS   = 4;
+    private static final int PAGE_ROWS = 10;
+    private static final int MAX_PAGES = 2;
+
+    private H5File testFile            = null;
+    private Dataset testDset           = null;
+    private BufferPool pool            = null;
+    private PagedDataProvider provider = null;
+
+    @BeforeAll
+    public static void createFile() throws Exception
+    {
+        int[] data    = new int[ROWS * COLUMNS];
+        byte[] ubytes = new byte[ROWS * COLUMNS];
+        for (int i = 0; i < data.length; i++) {
+            data[i]   = i;
+            ubytes[i] = (byte)i;
+        }
+
+        H5File file = new H5File(NAME_FILE_H5, FileFormat.CREATE);
+        try {
+            file.open();
+            Datatype type =
+                file.createDatatype(Datatype.CLASS_INTEGER, 4, Datatype.NATIVE, Datatype.NATIVE);
+            file.createScalarDS(NAME_DATASET, null, type, new long[] {ROWS, COLUMNS}, null, null, 0, data);
+            Datatype utype =
+                file.createDatatype(Datatype.CLASS_INTEGER, 1, Datatype.NATIVE, Datatype.SIGN_NONE);
+            file.createScalarDS(NAME_UBYTES, null, utype, new long[] {ROWS, COLUMNS}, null, null, 0, ubytes);
+        }
+        finally {
+            file.close();
+        }
+    }
+
+    @AfterAll
+    public static void removeFile() throws Exception
+    {
+        new File(NAME_FILE_H5).delete();
+    }
+
+    @BeforeEach
+    public void openFile() throws Exception
+    {
+        testFile = new H5File(NAME_FILE_H5, FileFormat.READ);
+        testFile.open();
+        testDset = (Dataset)testFile.get(NAME_DATASET);
+        testDset.init();
+
+        pool = new BufferPool();
+        testDset.setBufferPool(pool);
+
+        Object firstPage = PagedDataProvider.readRows(testDset, 0, PAGE_ROWS);
+        provider = DataProviderFactory.getPagedDataProvider(testDset, firstPage, PAGE_ROWS, MAX_PAGES);
+        assertNotNull(provider);
+    }
+
+    @AfterEach
+    public void closeFile() throws Exception
+    {
+        if (testDset != null)
+            testDset.setBufferPool(null);
+        if (testFile != null)
+            testFile.close();
+        testFile = null;
+    }
+
+    /**
+     * Reads a block of rows from the middle of the selection, and checks its values and that the selection
+     * of the dataset is left untouched.
+     */
+    @Test
+    public void testReadRows() throws Exception
+    {
+        log.debug("testReadRows");
+
+        int[] rows = (int[])PagedDataProvider.readRows(testDset, 20, 5);
+        assertEquals(5 * COLUMNS, rows.length);
+        for (int i = 0; i < rows.length; i++)
+            assertEquals(20 * COLUMNS + i, rows[i]);
+
+        assertEquals(0, testDset.getStartDims()[0]);
+        assertEquals(ROWS, testDset.getSelectedDims()[0]);
+
+        assertEquals(ROWS, provider.getRowCount());
+        assertEquals(COLUMNS, provider.getColumnCount());
+        assertEquals(57 * COLUMNS + 3, provider.getRawValue(3, 57));
+        log.debug("testReadRows finish");
+    }
+
+    /**
+     * Reads more pages than the provider keeps, and checks that the least recently used page is evicted
+     * and given back to the buffer pool, except for the page held by the table as its data.
+     */
+    @Test
+    public void testPageEviction() throws Exception
+    {
+        log.debug("testPageEviction");
+
+        Object firstPage = provider.getPage(0);
+        int[] page1      = (int[])provider.getPage(1);
+        assertEquals(PAGE_ROWS * COLUMNS, page1[0]);
+
+        int[] page2 = (int[])provider.getPage(2);
+        assertEquals(2 * PAGE_ROWS * COLUMNS, page2[0]);
+        assertFalse(provider.isPageCached(0));
+        assertTrue(provider.isPageCached(1));
+        assertTrue(provider.isPageCached(2));
+
+        // the first page is the data of the table, and is not recycled
+        assertFalse(firstPage == pool.acquire(int.class, PAGE_ROWS * COLUMNS));
+
+        provider.getPage(3);
+        assertFalse(provider.isPageCached(1));
+        assertSame(page1, pool.acquire(int.class, PAGE_ROWS * COLUMNS));
+
+        // an evicted page is read again on demand
+        int[] again = (int[])provider.getPage(1);
+        assertEquals(PAGE_ROWS * COLUMNS, again[0]);
+        log.debug("testPageEviction finish");
+    }
+
+    /**
+     * Checks that a page read ahead of a previous selection is dropped rather than cached once the provider
+     * has been reset, and that a page of the current selection is cached.
+     */
+    @Test
+    public void testPrefetchGeneration() throws Exception
+    {
+        log.debug("testPrefetchGeneration");
+
+        int gen = provider.getGeneration();
+        provider.reset();
+        assertEquals(gen + 1, provider.getGeneration());
+
+        int[] stale = new int[PAGE_ROWS * COLUMNS];
+        provider.prefetched(5, gen, stale, false);
+        assertFalse(provider.isPageCached(5));
+        assertSame(stale, pool.acquire(int.class, stale.length));
+
+        Object page = PagedDataProvider.readRows(testDset, 5 * PAGE_ROWS, PAGE_ROWS);
+        provider.prefetched(5, provider.getGeneration(), page, false);
+        assertTrue(provider.isPageCached(5));
+        assertSame(page, provider.getPage(5));
+        log.debug("testPrefetchGeneration finish");
+    }
+
+    /**
+     * Checks that the pages of unsigned integers are kept as read from file, without a widened copy, and
+     * that their values are widened as they are displayed.
+     */
+    @Test
+    public void testUnsignedValues() throws Exception
+    {
+        log.debug("testUnsignedValues");
+
+        Dataset ubytes = (Dataset)testFile.get(NAME_UBYTES);
+        ubytes.init();
+
+        Object firstPage = PagedDataProvider.readRows(ubytes, 0, PAGE_ROWS);
+        assertTrue(firstPage instanceof byte[]);
+
+        PagedDataProvider uprovider =
+            DataProviderFactory.getPagedDataProvider(ubytes, firstPage, PAGE_ROWS, MAX_PAGES);
+        assertNotNull(uprovider);
+
+        // row 50, column 0 holds 200, which is -56 as a signed byte
+        assertEquals((byte)200, uprovider.getRawValue(0, 50));
+        assertEquals(Short.valueOf((short)200), uprovider.getDataValue(0, 50));
+        assertEquals(Short.valueOf((short)3), uprovider.getDataValue(3, 0));
+        log.debug("testUnsignedValues finish");
+    }
+}
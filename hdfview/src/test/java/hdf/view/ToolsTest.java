@@ -0,0 +1,197 @@
+package hdf.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import hdf.object.UnsignedView;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * Tests the conversions of image data to the bytes and the SWT image data of an image.
+ */
+@Tag("unit")
+@Tag("fast")
+public class ToolsTest {
+    private static final Logger log = LoggerFactory.getLogger(ToolsTest.class);
+
+    /** The gain and bias which leave the data unchanged. */
+    private static final double[] IDENTITY = {1.0, 0.0};
+
+    /** The size of the images, of more pixels than are converted without parallel bands of rows. */
+    private static final int WIDTH  = 613;
+    private static final int HEIGHT = 457;
+
+    /**
+     * Converts every non-negative int16 value with the lookup table of the auto-contrast conversion, and
+     * checks that the bytes are within one of the bytes of the plain conversion, which shifts the values
+     * right by 7.
+     */
+    @Test
+    public void testAutoContrastInt16() throws Exception
+    {
+        log.debug("testAutoContrastInt16");
+
+        short[] data = new short[(int)Tools.MAX_INT16 + 1];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (short)i;
+
+        byte[] fused = new byte[data.length];
+        assertEquals(0, Tools.autoContrastConvertImageBuffer(data, fused, IDENTITY, null, false));
+
+        byte[] plain = new byte[data.length];
+        assertEquals(0, Tools.autoContrastConvertImageBuffer(data, plain, false));
+
+        assertConverted(plain, fused);
+        log.debug("testAutoContrastInt16 finish");
+    }
+
+    /**
+     * Converts every uint16 value, held as read in a view of a short array, with the lookup table of the
+     * auto-contrast conversion, and checks that the bytes are within one of the bytes of the plain
+     * conversion of the values widened to int, which shifts the values right by 8.
+     */
+    @Test
+    public void testAutoContrastUInt16() throws Exception
+    {
+        log.debug("testAutoContrastUInt16");
+
+        short[] data  = new short[(int)Tools.MAX_UINT16 + 1];
+        int[] widened = new int[data.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i]    = (short)i;
+            widened[i] = i;
+        }
+
+        UnsignedView view = new UnsignedView(data);
+        byte[] fused      = new byte[data.length];
+        assertEquals(0, Tools.autoContrastConvertImageBuffer(view, fused, IDENTITY, null, true));
+
+        byte[] plain = new byte[data.length];
+        assertEquals(0, Tools.autoContrastConvertImageBuffer(widened, plain, true));
+
+        assertConverted(plain, fused);
+        log.debug("testAutoContrastUInt16 finish");
+    }
+
+    /*
+     * Checks that the bytes of the two conversions of the values 0 to n - 1 start at 0, end at 255, and
+     * differ by at most one.
+     */
+    private static void assertConverted(byte[] expected, byte[] actual)
+    {
+        int last = actual.length - 1;
+        assertEquals(0, actual[0] & 0xFF);
+        assertEquals(255, actual[last] & 0xFF);
+        assertEquals(expected[last] & 0xFF, actual[last] & 0xFF);
+
+        for (int i = 0; i < actual.length; i++) {
+            int diff = (expected[i] & 0xFF) - (actual[i] & 0xFF);
+            assertTrue(Math.abs(diff) <= 1, "value " + i + ": " + (expected[i] & 0xFF) + " != " +
+                                                (actual[i] & 0xFF));
+        }
+    }
+
+    /**
+     * Converts an 8-bit indexed image, and checks that its image data is that of the per-pixel conversion
+     * toImageData() replaced.
+     */
+    @Test
+    public void testToImageDataIndexed() throws Exception
+    {
+        log.debug("testToImageDataIndexed");
+
+        Random random = new Random(21);
+        byte[] reds   = new byte[256];
+        byte[] greens = new byte[256];
+        byte[] blues  = new byte[256];
+        random.nextBytes(reds);
+        random.nextBytes(greens);
+        random.nextBytes(blues);
+        IndexColorModel icm = new IndexColorModel(8, 256, reds, greens, blues);
+
+        BufferedImage image   = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_INDEXED, icm);
+        WritableRaster raster = image.getRaster();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++)
+                raster.setSample(x, y, 0, random.nextInt(256));
+        }
+
+        // the per-pixel conversion of the indices, as DefaultImageView did
+        RGB[] rgbs = new RGB[256];
+        for (int i = 0; i < rgbs.length; i++)
+            rgbs[i] = new RGB(reds[i] & 0xFF, greens[i] & 0xFF, blues[i] & 0xFF);
+        ImageData expected        = new ImageData(WIDTH, HEIGHT, 8, new PaletteData(rgbs));
+        expected.transparentPixel = icm.getTransparentPixel();
+        int[] pixel               = new int[1];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                raster.getPixel(x, y, pixel);
+                expected.setPixel(x, y, pixel[0]);
+            }
+        }
+
+        ImageData actual = Tools.toImageData(image);
+        assertEquals(expected.depth, actual.depth);
+        assertEquals(expected.transparentPixel, actual.transparentPixel);
+        assertArrayEquals(expected.palette.getRGBs(), actual.palette.getRGBs());
+        assertArrayEquals(expected.data, actual.data);
+        log.debug("testToImageDataIndexed finish");
+    }
+
+    /**
+     * Converts a 24-bit RGB image, and checks that its image data is that of the per-pixel conversion
+     * toImageData() replaced.
+     */
+    @Test
+    public void testToImageDataRGB() throws Exception
+    {
+        log.debug("testToImageDataRGB");
+
+        Random random       = new Random(21);
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++)
+                image.setRGB(x, y, random.nextInt());
+        }
+
+        // the per-pixel conversion of the colors, as DefaultImageView did
+        DirectColorModel dcm = (DirectColorModel)image.getColorModel();
+        PaletteData palette  = new PaletteData(dcm.getRedMask(), dcm.getGreenMask(), dcm.getBlueMask());
+        ImageData expected   = new ImageData(WIDTH, HEIGHT, dcm.getPixelSize(), palette);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int rgb = image.getRGB(x, y);
+                RGB c   = new RGB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+                expected.setPixel(x, y, palette.getPixel(c));
+            }
+        }
+
+        ImageData actual = Tools.toImageData(image);
+        assertEquals(expected.depth, actual.depth);
+        assertEquals(expected.bytesPerLine, actual.bytesPerLine);
+        assertArrayEquals(expected.data, actual.data);
+        for (int y = 0; y < HEIGHT; y += 17) {
+            for (int x = 0; x < WIDTH; x += 13) {
+                RGB c = actual.palette.getRGB(actual.getPixel(x, y));
+                assertEquals(image.getRGB(x, y) & 0xFFFFFF, (c.red << 16) | (c.green << 8) | c.blue);
+            }
+        }
+        log.debug("testToImageDataRGB finish");
+    }
+}
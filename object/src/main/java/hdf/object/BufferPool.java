@@ -0,0 +1,177 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of arrays of primitive numbers, so that the data buffers of selections of the same size, such as
+ * the frames of an image stack or the pages of a table, are recycled instead of allocated for each read.
+ *
+ * An array is taken from the pool by acquire() and belongs to the caller until it is given back by
+ * release(); it must not be used afterwards, since the next acquire() of the same type and length may
+ * return it. The arrays returned by acquire() are not cleared and hold the values of their previous use.
+ *
+ * The pool keeps released arrays up to a maximum number of bytes and drops the others. It may be used by
+ * several threads at once.
+ *
+ * @see hdf.object.Dataset#setBufferPool(BufferPool)
+ */
+public class BufferPool {
+    private static final Logger log = LoggerFactory.getLogger(BufferPool.class);
+
+    /** The default maximum number of bytes held by a pool. */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private final long maxBytes;
+
+    /** The released arrays, by element type and length. */
+    private final Map<Key, ArrayDeque<Object>> arrays = new HashMap<>();
+
+    /** The released arrays, by identity, so that an array released twice is only kept once. */
+    private final Set<Object> pooled = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long pooledBytes = 0;
+
+    /**
+     * Creates a pool which holds up to DEFAULT_MAX_BYTES of released arrays.
+     */
+    public BufferPool() { this(DEFAULT_MAX_BYTES); }
+
+    /**
+     * Creates a pool which holds up to a given number of bytes of released arrays.
+     *
+     * @param maxBytes the maximum number of bytes of the arrays held by the pool.
+     */
+    public BufferPool(long maxBytes) { this.maxBytes = Math.max(0, maxBytes); }
+
+    /**
+     * Returns an array of a primitive type, taken from the pool if it holds one of the given length, or
+     * allocated otherwise.
+     *
+     * @param elementType the primitive type of the array: byte, short, int, long, float or double.
+     * @param length      the length of the array.
+     *
+     * @return an array of the given type and length, with unspecified values.
+     *
+     * @throws OutOfMemoryError if memory is exhausted
+     */
+    public Object acquire(Class<?> elementType, int length)
+    {
+        if (Utils.getElementSize(elementType) == 0)
+            throw new IllegalArgumentException("unsupported element type " + elementType);
+
+        synchronized (this) {
+            ArrayDeque<Object> free = arrays.get(new Key(elementType, length));
+            if ((free != null) && !free.isEmpty()) {
+                Object array = free.pop();
+                pooled.remove(array);
+                pooledBytes -= getBytes(array);
+                log.trace("acquire(): reuse {}[{}]", elementType, length);
+                return array;
+            }
+        }
+
+        log.trace("acquire(): allocate {}[{}]", elementType, length);
+        return Array.newInstance(elementType, length);
+    }
+
+    /**
+     * Gives an array back to the pool. Arrays which are not arrays of primitive numbers, or which do not
+     * fit in the pool, are dropped.
+     *
+     * @param array the array to give back, or null.
+     */
+    public synchronized void release(Object array)
+    {
+        if ((array == null) || !array.getClass().isArray() || pooled.contains(array))
+            return;
+
+        Class<?> type = array.getClass().getComponentType();
+        if (Utils.getElementSize(type) == 0)
+            return;
+
+        long nbytes = getBytes(array);
+        if (pooledBytes + nbytes > maxBytes) {
+            log.trace("release(): pool is full, drop {}[{}]", type, Array.getLength(array));
+            return;
+        }
+
+        arrays.computeIfAbsent(new Key(type, Array.getLength(array)), k -> new ArrayDeque<>()).push(array);
+        pooled.add(array);
+        pooledBytes += nbytes;
+    }
+
+    /**
+     * Drops all the arrays held by the pool.
+     */
+    public synchronized void clear()
+    {
+        arrays.clear();
+        pooled.clear();
+        pooledBytes = 0;
+    }
+
+    /**
+     * Returns the number of bytes of the arrays held by the pool.
+     *
+     * @return the size of the released arrays in bytes.
+     */
+    public synchronized long getPooledBytes() { return pooledBytes; }
+
+    private static long getBytes(Object array)
+    {
+        Class<?> type = array.getClass().getComponentType();
+
+        return (long)Array.getLength(array) * Utils.getElementSize(type);
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+
+        private final int length;
+
+        Key(Class<?> type, int length)
+        {
+            this.type   = type;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+                return false;
+
+            Key k = (Key)o;
+            return (type == k.type) && (length == k.length);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(type, length);
+        }
+    }
+}
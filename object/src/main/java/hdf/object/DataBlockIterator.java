@@ -0,0 +1,251 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the selection of a dataset block by block, so that a selection of any size can be processed in
+ * memory bounded by the size of a block.
+ *
+ * The blocks are hyperslabs of the selection taken in order, so that the data points of the blocks, one
+ * after the other, are the data points of the selection as returned by Dataset.read(). Each block spans
+ * the fastest changing dimensions of the selection whole, such as whole rows or planes, as long as they
+ * fit in the maximum number of data points of a block, and a range of the next slower dimension.
+ *
+ * The array returned by next() is reused for the following blocks of the same size, so it must be
+ * processed before next() is called again. Its length is the number of data points of the block. The data
+ * points are as read from file; unsigned integers are not converted.
+ *
+ * An iterator holds the dataset open and must be closed once it is no longer used.
+ *
+ * <pre>
+ * try (DataBlockIterator it = dataset.getBlockIterator(1024 * 1024)) {
+ *     while (it.hasNext()) {
+ *         int[] block = (int[])it.next();
+ *         // process the block, which starts at it.getBlockOffset() in the selection
+ *     }
+ * }
+ * </pre>
+ *
+ * @see hdf.object.Dataset#getBlockIterator(long)
+ */
+public abstract class DataBlockIterator implements AutoCloseable {
+    private final Class<?> elementType;
+
+    private final long[] start;
+
+    private final long[] stride;
+
+    private final long[] count;
+
+    private final long totalPoints;
+
+    /** The dimension whose range varies between blocks; the dimensions after it are whole in each block. */
+    private final int blockDim;
+
+    /** The number of data points in one index of blockDim. */
+    private final long innerPoints;
+
+    /** The size of the range of blockDim in a full block. */
+    private final long blockRows;
+
+    /** The index in the selection of the next block, for each dimension. */
+    private final long[] index;
+
+    /** The offset in the selection of the next block. */
+    private long offset = 0;
+
+    /** The arrays reused for full blocks and for the blocks at the end of blockDim. */
+    private Object fullBlock = null;
+    private Object partBlock = null;
+
+    /** The offset, position and shape in the selection of the block last read. */
+    private long blockOffset  = 0;
+    private long[] blockStart = null;
+    private long[] blockCount = null;
+
+    /**
+     * Plans the blocks of a selection.
+     *
+     * @param elementType
+     *            the primitive type of the data points.
+     * @param start
+     *            the start of the selection in the dataset.
+     * @param stride
+     *            the stride of the selection, or null for a stride of 1.
+     * @param count
+     *            the number of data points selected in each dimension.
+     * @param maxPoints
+     *            the maximum number of data points in a block; blocks hold at least one row.
+     */
+    protected DataBlockIterator(Class<?> elementType, long[] start, long[] stride, long[] count,
+                                long maxPoints)
+    {
+        int rank = count.length;
+
+        this.elementType = elementType;
+        this.start       = start.clone();
+        this.count       = count.clone();
+        if (stride == null) {
+            this.stride = new long[rank];
+            Arrays.fill(this.stride, 1);
+        }
+        else
+            this.stride = stride.clone();
+
+        long npoints = 1;
+        for (long c : count)
+            npoints *= c;
+        totalPoints = npoints;
+
+        // the blocks span the dimensions after blockDim whole and a range of blockDim
+        int d     = rank - 1;
+        long n    = 1;
+        maxPoints = Math.max(1, maxPoints);
+        while ((d > 0) && (n * count[d] <= maxPoints)) {
+            n *= count[d];
+            d--;
+        }
+        blockDim    = d;
+        innerPoints = n;
+        blockRows   = Math.max(1, Math.min(count[d], maxPoints / n));
+
+        index = new long[rank];
+    }
+
+    /**
+     * Reads a hyperslab of the dataset into an array.
+     *
+     * @param fileStart
+     *            the start of the hyperslab in the dataset.
+     * @param fileStride
+     *            the stride of the hyperslab.
+     * @param fileCount
+     *            the number of data points of the hyperslab in each dimension.
+     * @param buf
+     *            the array to read into, of exactly the number of data points of the hyperslab.
+     *
+     * @throws Exception
+     *             if the hyperslab could not be read.
+     */
+    protected abstract void readBlock(long[] fileStart, long[] fileStride, long[] fileCount, Object buf)
+        throws Exception;
+
+    /**
+     * Checks if there are blocks left to read.
+     *
+     * @return true if next() returns another block.
+     */
+    public boolean hasNext() { return offset < totalPoints; }
+
+    /**
+     * Reads the next block of the selection.
+     *
+     * @return the array of the data points of the block, reused by later blocks of the same size.
+     *
+     * @throws Exception
+     *             if the block could not be read.
+     * @throws NoSuchElementException
+     *             if all the blocks have been read.
+     */
+    public Object next() throws Exception
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        int rank      = count.length;
+        long rows     = Math.min(blockRows, count[blockDim] - index[blockDim]);
+        long[] fStart = new long[rank];
+        long[] fCount = new long[rank];
+        for (int d = 0; d < rank; d++) {
+            fStart[d] = start[d] + index[d] * stride[d];
+            fCount[d] = (d < blockDim) ? 1 : (d == blockDim) ? rows : count[d];
+        }
+
+        int n = (int)(rows * innerPoints);
+        Object buf;
+        if (rows == blockRows) {
+            if (fullBlock == null)
+                fullBlock = Array.newInstance(elementType, n);
+            buf = fullBlock;
+        }
+        else {
+            if ((partBlock == null) || (Array.getLength(partBlock) != n))
+                partBlock = Array.newInstance(elementType, n);
+            buf = partBlock;
+        }
+
+        readBlock(fStart, stride, fCount, buf);
+
+        blockOffset = offset;
+        blockStart  = index.clone();
+        blockCount  = fCount;
+        offset += n;
+
+        // move to the next block, the range of blockDim changing fastest
+        index[blockDim] += rows;
+        for (int d = blockDim; d > 0; d--) {
+            if (index[d] < count[d])
+                break;
+            index[d] = 0;
+            index[d - 1]++;
+        }
+
+        return buf;
+    }
+
+    /**
+     * Returns the primitive type of the data points.
+     *
+     * @return the type of the data points, such as int.class.
+     */
+    public Class<?> getElementType() { return elementType; }
+
+    /**
+     * Returns the number of data points of the whole selection.
+     *
+     * @return the number of data points selected.
+     */
+    public long getTotalPoints() { return totalPoints; }
+
+    /**
+     * Returns the offset in the selection of the first data point of the block last read.
+     *
+     * @return the number of data points of the selection before the block.
+     */
+    public long getBlockOffset() { return blockOffset; }
+
+    /**
+     * Returns the position in the selection of the block last read, in selected data points.
+     *
+     * @return the index of the first data point of the block in each dimension of the selection.
+     */
+    public long[] getBlockStart() { return blockStart; }
+
+    /**
+     * Returns the shape of the block last read.
+     *
+     * @return the number of data points of the block in each dimension.
+     */
+    public long[] getBlockCount() { return blockCount; }
+
+    /**
+     * Releases the resources held to read the blocks. The default implementation does nothing.
+     */
+    @Override
+    public void close() {}
+}
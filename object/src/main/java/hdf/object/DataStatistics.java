@@ -0,0 +1,455 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The statistics of an array of numbers: min, max, mean, standard deviation and, optionally, the histogram
+ * of a range of values, with the number of fill values and of NaN and infinite values. They are computed in
+ * a single pass over the array, with a loop specialised for each primitive type so that no value is boxed.
+ * Arrays of PARALLEL_THRESHOLD values or more are split into ranges computed in parallel on the common
+ * fork-join pool.
+ *
+ * Fill values, NaN and infinite values are counted but not included in the other statistics. The values of
+ * an UnsignedView are widened as they are read.
+ *
+ * Statistics of parts of a data set, such as the blocks of a DataBlockIterator, are combined by merge().
+ *
+ * @see hdf.object.Dataset#getStatistics(Object, Object, double[], int)
+ */
+public final class DataStatistics {
+    private static final Logger log = LoggerFactory.getLogger(DataStatistics.class);
+
+    /** The number of values of an array from which its statistics are computed in parallel. */
+    public static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    /** The number of values of each range computed by a task. */
+    private static final int TASK_POINTS = 1 << 16;
+
+    private final Double fill;
+
+    private final double histMin;
+
+    private final double histMax;
+
+    /** The bins of the histogram, or null if there is no histogram. */
+    private final int[] histogram;
+
+    /** The scale from values to the index of their bin. */
+    private final double histScale;
+
+    private long count = 0;
+
+    private long fillCount = 0;
+
+    private long nanCount = 0;
+
+    private double min = Double.MAX_VALUE;
+
+    private double max = -Double.MAX_VALUE;
+
+    private double mean = 0;
+
+    /** The sum of the squared differences from the mean. */
+    private double m2 = 0;
+
+    private double firstValue = 0;
+
+    /*
+     * The values of a range are summed as their differences from the first value counted, so that the
+     * variance is computed accurately in a single pass; see finish().
+     */
+    private double shift = 0;
+    private double sum   = 0;
+    private double sum2  = 0;
+
+    private DataStatistics(Double fill, double[] range, int bins)
+    {
+        this.fill = fill;
+
+        if ((range != null) && (range.length >= 2) && (bins > 0)) {
+            histMin   = range[0];
+            histMax   = range[1];
+            histogram = new int[bins];
+            histScale = (histMax != histMin) ? (bins - 1) / (histMax - histMin) : 1;
+        }
+        else {
+            histMin   = 0;
+            histMax   = 0;
+            histogram = null;
+            histScale = 1;
+        }
+    }
+
+    /**
+     * Computes the statistics of an array of numbers.
+     *
+     * @param data      the array: byte[], short[], int[], long[], float[] or double[], or an UnsignedView.
+     * @param fillValue the missing value or fill value, an array whose first value is not included in the
+     *                  statistics, or null.
+     *
+     * @return the statistics, or null if the array is empty or not an array of numbers.
+     */
+    public static DataStatistics compute(Object data, Object fillValue)
+    {
+        return compute(data, fillValue, null, 0);
+    }
+
+    /**
+     * Computes the statistics of an array of numbers, and the histogram of the values of a range.
+     *
+     * The range is split into bins of equal width, except the last one, which only holds the values equal
+     * to the end of the range; values out of the range are not counted.
+     *
+     * @param data      the array: byte[], short[], int[], long[], float[] or double[], or an UnsignedView.
+     * @param fillValue the missing value or fill value, an array whose first value is not included in the
+     *                  statistics, or null.
+     * @param range     the min and max values of the histogram, or null for no histogram.
+     * @param bins      the number of bins of the histogram.
+     *
+     * @return the statistics, or null if the array is empty or not an array of numbers.
+     */
+    public static DataStatistics compute(Object data, Object fillValue, double[] range, int bins)
+    {
+        Object array       = (data instanceof UnsignedView) ? ((UnsignedView)data).getArray() : data;
+        boolean isUnsigned = (data instanceof UnsignedView);
+        if ((array == null) || !isSupported(array) || (Array.getLength(array) == 0))
+            return null;
+
+        Double fill = getFill(fillValue, array, isUnsigned);
+        int n       = Array.getLength(array);
+
+        boolean isParallel   = (n >= PARALLEL_THRESHOLD);
+        Task task            = new Task(array, isUnsigned, fill, range, bins, 0, n, isParallel);
+        DataStatistics stats = isParallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+
+        stats.firstValue = valueAt(array, 0, isUnsigned);
+        log.trace("compute(): n={} count={} fillCount={} nanCount={}", n, stats.count, stats.fillCount,
+                  stats.nanCount);
+
+        return stats;
+    }
+
+    /**
+     * Combines these statistics with those of another part of the same data set. The histograms are added
+     * if both have one of the same range and number of bins; otherwise, the histogram is dropped.
+     *
+     * @param other the statistics of the other part, or null.
+     *
+     * @return the statistics of both parts.
+     */
+    public DataStatistics merge(DataStatistics other)
+    {
+        if (other == null)
+            return this;
+
+        boolean sameHistogram = (histogram != null) && (other.histogram != null) &&
+                                (histogram.length == other.histogram.length) && (histMin == other.histMin) &&
+                                (histMax == other.histMax);
+
+        DataStatistics merged =
+            new DataStatistics(fill, sameHistogram ? new double[] {histMin, histMax} : null,
+                               sameHistogram ? histogram.length : 0);
+        merged.firstValue = firstValue;
+        merged.fillCount  = fillCount + other.fillCount;
+        merged.nanCount   = nanCount + other.nanCount;
+        merged.count      = count + other.count;
+        merged.min        = Math.min(min, other.min);
+        merged.max        = Math.max(max, other.max);
+
+        if (merged.count > 0) {
+            double delta = other.mean - mean;
+            merged.mean  = mean + delta * other.count / merged.count;
+            merged.m2    = m2 + other.m2 + delta * delta * ((double)count * other.count / merged.count);
+        }
+
+        if (sameHistogram) {
+            for (int i = 0; i < histogram.length; i++)
+                merged.histogram[i] = histogram[i] + other.histogram[i];
+        }
+
+        return merged;
+    }
+
+    /**
+     * Returns the number of values included in the statistics.
+     *
+     * @return the number of values which are not fill values, NaN or infinite.
+     */
+    public long getCount() { return count; }
+
+    /**
+     * Returns the number of fill values.
+     *
+     * @return the number of values equal to the fill value.
+     */
+    public long getFillCount() { return fillCount; }
+
+    /**
+     * Returns the number of NaN and infinite values.
+     *
+     * @return the number of values which are NaN or infinite.
+     */
+    public long getNaNCount() { return nanCount; }
+
+    /**
+     * Returns the min value.
+     *
+     * @return the min value, or Double.MAX_VALUE if no value is included.
+     */
+    public double getMin() { return min; }
+
+    /**
+     * Returns the max value.
+     *
+     * @return the max value, or -Double.MAX_VALUE if no value is included.
+     */
+    public double getMax() { return max; }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or 0 if no value is included.
+     */
+    public double getMean() { return mean; }
+
+    /**
+     * Returns the sample standard deviation of the values.
+     *
+     * @return the standard deviation, or 0 if at most one value is included.
+     */
+    public double getStdDev() { return (count > 1) ? Math.sqrt(m2 / (count - 1)) : 0; }
+
+    /**
+     * Returns the first value of the array, or of the first part of merged statistics, whether or not it
+     * is included in the statistics.
+     *
+     * @return the first value.
+     */
+    public double getFirstValue() { return firstValue; }
+
+    /**
+     * Returns the fill value excluded from the statistics.
+     *
+     * @return the fill value, widened as the values of the array are, or null if there is none.
+     */
+    public Double getFillValue() { return fill; }
+
+    /**
+     * Returns the number of values in each bin of the histogram.
+     *
+     * @return the bins of the histogram, or null if no histogram was computed.
+     */
+    public int[] getHistogram() { return histogram; }
+
+    /**
+     * Checks if the histogram was computed for a range and a number of bins.
+     *
+     * @param range the min and max values of the histogram.
+     * @param bins  the number of bins.
+     *
+     * @return true if the statistics have a histogram of the range and number of bins.
+     */
+    public boolean hasHistogram(double[] range, int bins)
+    {
+        return (histogram != null) && (range != null) && (range.length >= 2) && (histMin == range[0]) &&
+            (histMax == range[1]) && (histogram.length == bins);
+    }
+
+    private static boolean isSupported(Object array)
+    {
+        return (array instanceof byte[]) || (array instanceof short[]) || (array instanceof int[]) ||
+            (array instanceof long[]) || (array instanceof float[]) || (array instanceof double[]);
+    }
+
+    /**
+     * Returns the fill value widened as the values of an array are, whether or not it has been widened
+     * already.
+     */
+    private static Double getFill(Object fillValue, Object array, boolean isUnsigned)
+    {
+        if ((fillValue == null) || !fillValue.getClass().isArray() || (Array.getLength(fillValue) < 1))
+            return null;
+
+        if (fillValue.getClass() == array.getClass())
+            return valueAt(fillValue, 0, isUnsigned);
+
+        Object v = Array.get(fillValue, 0);
+        return (v instanceof Number) ? ((Number)v).doubleValue() : null;
+    }
+
+    private static double valueAt(Object array, int index, boolean isUnsigned)
+    {
+        if (isUnsigned && UnsignedView.isSupported(array))
+            return new UnsignedView(array).getDouble(index);
+
+        return ((Number)Array.get(array, index)).doubleValue();
+    }
+
+    /**
+     * Adds a value to the statistics of a range.
+     */
+    private void add(double v)
+    {
+        if ((fill != null) && (v == fill)) {
+            fillCount++;
+            return;
+        }
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            nanCount++;
+            return;
+        }
+
+        if (count == 0)
+            shift = v;
+        count++;
+
+        double d = v - shift;
+        sum += d;
+        sum2 += d * d;
+
+        if (min > v)
+            min = v;
+        if (max < v)
+            max = v;
+
+        if ((histogram != null) && (v >= histMin) && (v <= histMax))
+            histogram[(int)((v - histMin) * histScale)]++;
+    }
+
+    /**
+     * Turns the shifted sums of a range into its mean and sum of squared differences from the mean.
+     */
+    private void finish()
+    {
+        if (count == 0)
+            return;
+
+        mean = shift + sum / count;
+        m2   = Math.max(0, sum2 - sum * sum / count);
+    }
+
+    private void scan(byte[] a, int from, int to, boolean isUnsigned)
+    {
+        for (int i = from; i < to; i++)
+            add(isUnsigned ? (a[i] & 0xFF) : a[i]);
+    }
+
+    private void scan(short[] a, int from, int to, boolean isUnsigned)
+    {
+        for (int i = from; i < to; i++)
+            add(isUnsigned ? (a[i] & 0xFFFF) : a[i]);
+    }
+
+    private void scan(int[] a, int from, int to, boolean isUnsigned)
+    {
+        for (int i = from; i < to; i++)
+            add(isUnsigned ? (a[i] & 0xFFFFFFFFL) : a[i]);
+    }
+
+    private void scan(long[] a, int from, int to, boolean isUnsigned)
+    {
+        for (int i = from; i < to; i++) {
+            long l = a[i];
+            // an unsigned 64-bit integer of 2^63 or more
+            add((isUnsigned && (l < 0)) ? ((double)(l >>> 1) * 2.0 + (l & 1)) : l);
+        }
+    }
+
+    private void scan(float[] a, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+            add(a[i]);
+    }
+
+    private void scan(double[] a, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+            add(a[i]);
+    }
+
+    /**
+     * Computes the statistics of a range of an array. A parallel task splits the range in halves computed
+     * in parallel while it is larger than TASK_POINTS.
+     */
+    private static final class Task extends RecursiveTask<DataStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Object array;
+
+        private final boolean isUnsigned;
+
+        private final Double fill;
+
+        private final double[] range;
+
+        private final int bins;
+
+        private final int from;
+
+        private final int to;
+
+        private final boolean isParallel;
+
+        Task(Object array, boolean isUnsigned, Double fill, double[] range, int bins, int from, int to,
+             boolean isParallel)
+        {
+            this.array      = array;
+            this.isUnsigned = isUnsigned;
+            this.fill       = fill;
+            this.range      = range;
+            this.bins       = bins;
+            this.from       = from;
+            this.to         = to;
+            this.isParallel = isParallel;
+        }
+
+        @Override
+        protected DataStatistics compute()
+        {
+            if (isParallel && (to - from > TASK_POINTS)) {
+                int mid    = (from + to) >>> 1;
+                Task left  = new Task(array, isUnsigned, fill, range, bins, from, mid, true);
+                Task right = new Task(array, isUnsigned, fill, range, bins, mid, to, true);
+                left.fork();
+                DataStatistics r = right.compute();
+
+                return left.join().merge(r);
+            }
+
+            DataStatistics stats = new DataStatistics(fill, range, bins);
+            if (array instanceof byte[])
+                stats.scan((byte[])array, from, to, isUnsigned);
+            else if (array instanceof short[])
+                stats.scan((short[])array, from, to, isUnsigned);
+            else if (array instanceof int[])
+                stats.scan((int[])array, from, to, isUnsigned);
+            else if (array instanceof long[])
+                stats.scan((long[])array, from, to, isUnsigned);
+            else if (array instanceof float[])
+                stats.scan((float[])array, from, to);
+            else
+                stats.scan((double[])array, from, to);
+            stats.finish();
+
+            return stats;
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.lang.reflect.Array;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -168,6 +169,12 @@ public abstract class Dataset extends HObject implements DataFormat {
     /** Flag to indicate if the byte[] array is converted to strings. */
     protected boolean convertByteToString = true;
 
+    /** Flag to indicate if the byte[] array of 16-byte floating-point numbers is converted to BigDecimals. */
+    protected boolean convertByteToBigDecimal = true;
+
+    /** The maximum number of bytes of decompressed chunks kept in memory; 0 if no chunks are kept. */
+    protected long chunkCacheSize = 0;
+
     /** Flag to indicate if data values are loaded into memory. */
     protected boolean isDataLoaded = false;
 
@@ -205,6 +212,20 @@ public abstract class Dataset extends HObject implements DataFormat {
      */
     protected transient Object convertedBuf = null;
 
+    /** The pool the data buffers are taken from and given back to, or null to allocate them. */
+    protected transient BufferPool bufferPool = null;
+
+    /** The listener told of the progress of the reads of the data, or null. */
+    protected transient ReadProgressListener readProgressListener = null;
+
+    /** The statistics last computed by getStatistics(), kept until the data is read again. */
+    private transient DataStatistics statistics = null;
+
+    /** The array and the fill value the cached statistics were computed for, and if it was unsigned. */
+    private transient Object statisticsData        = null;
+    private transient Object statisticsFillValue   = null;
+    private transient boolean isStatisticsUnsigned = false;
+
     /**
      * Constructs a Dataset object with a given file, name and path.
      *
@@ -265,11 +286,16 @@ public abstract class Dataset extends HObject implements DataFormat {
         if (data != null) {
             if (data instanceof List)
                 ((List)data).clear();
+            if (bufferPool != null) {
+                bufferPool.release(originalBuf);
+                bufferPool.release(convertedBuf);
+            }
             data         = null;
             originalBuf  = null;
             convertedBuf = null;
         }
         isDataLoaded = false;
+        clearStatistics();
     }
 
     /**
@@ -459,6 +485,134 @@ public abstract class Dataset extends HObject implements DataFormat {
      */
     public final boolean getConvertByteToString() { return convertByteToString; }
 
+    /**
+     * Sets the flag that indicates if 16-byte floating-point numbers, such as long doubles, are converted to
+     * BigDecimals as they are read.
+     *
+     * Java has no type for these numbers, so they are read as an array of bytes. Converting each of them to a
+     * BigDecimal allocates several objects per number, which is slow for large datasets. If the flag is set
+     * to false, the getData() returns the array of bytes instead, and applications decode only the numbers
+     * they use, for example with H5Datatype.byteToBigDecimal(byte[], int).
+     *
+     * @param b
+     *            convert bytes to BigDecimals if b is true; otherwise, if false, do
+     *            not convert bytes to BigDecimals.
+     */
+    public final void setConvertByteToBigDecimal(boolean b) { convertByteToBigDecimal = b; }
+
+    /**
+     * Returns the flag that indicates if the bytes of 16-byte floating-point numbers are converted to a
+     * BigDecimal array.
+     *
+     * @return true if the bytes are converted to BigDecimals; otherwise, returns
+     *         false if there is no conversion.
+     */
+    public final boolean getConvertByteToBigDecimal() { return convertByteToBigDecimal; }
+
+    /**
+     * Sets the maximum number of bytes of decompressed chunks of a chunked dataset kept in memory.
+     *
+     * When the size is greater than zero, implementations that support it read a selection of a chunked
+     * dataset whole chunks at a time and keep the chunks most recently read, so that selections which
+     * overlap earlier ones, such as the next frame of an image or the next page of a table, do not
+     * decompress the same chunks again. Implementations that do not support it ignore the size.
+     *
+     * @param nbytes
+     *            the maximum number of bytes of chunks kept in memory; 0 to keep none.
+     */
+    public void setChunkCacheSize(long nbytes) { chunkCacheSize = Math.max(0, nbytes); }
+
+    /**
+     * Returns the maximum number of bytes of decompressed chunks of a chunked dataset kept in memory.
+     *
+     * @return the maximum number of bytes of chunks kept in memory; 0 if none are kept.
+     */
+    public final long getChunkCacheSize() { return chunkCacheSize; }
+
+    /**
+     * Returns an iterator which reads the current selection of the dataset block by block, so that a
+     * selection larger than memory can be processed in memory bounded by the size of a block.
+     *
+     * The blocks span whole rows, planes or larger parts of the selection where they fit in the given
+     * number of data points. The data points are read as from file; unsigned integers are not converted
+     * and the data buffer of the dataset is left untouched. The caller must close the iterator.
+     *
+     * Implementations support datasets of fixed-size numbers; the default implementation throws an
+     * UnsupportedOperationException.
+     *
+     * @param maxPoints
+     *            the maximum number of data points in a block.
+     *
+     * @return the iterator over the blocks of the selection.
+     *
+     * @throws Exception
+     *             if the dataset could not be opened.
+     * @throws UnsupportedOperationException
+     *             if the dataset cannot be read in blocks.
+     */
+    public DataBlockIterator getBlockIterator(long maxPoints) throws Exception
+    {
+        throw new UnsupportedOperationException("Unsupported operation for this dataset.");
+    }
+
+    /**
+     * Reads a hyperslab of the dataset into a new array, such as a tile or a decimated overview of a large
+     * image, without changing the current selection or the data buffer of the dataset. The array belongs to
+     * the caller.
+     *
+     * The data points are read as from file; unsigned integers are not converted. The dimensions of the
+     * hyperslab are in the order of the dataset, the last one changing fastest in the array.
+     *
+     * Implementations support datasets of fixed-size numbers; the default implementation throws an
+     * UnsupportedOperationException.
+     *
+     * @param start
+     *            the start of the hyperslab in each dimension of the dataset.
+     * @param stride
+     *            the stride of the hyperslab in each dimension, or null for a stride of 1.
+     * @param count
+     *            the number of data points of the hyperslab in each dimension.
+     *
+     * @return the array of the data points of the hyperslab.
+     *
+     * @throws Exception
+     *             if the hyperslab could not be read.
+     * @throws UnsupportedOperationException
+     *             if the dataset cannot be read by hyperslabs.
+     */
+    public Object readHyperslab(long[] start, long[] stride, long[] count) throws Exception
+    {
+        return readHyperslab(start, stride, count, null);
+    }
+
+    /**
+     * Reads a hyperslab of the dataset as readHyperslab(long[], long[], long[]) does, into an array taken
+     * from a buffer pool, such as for the frames of an image stack read ahead of the frame shown. The
+     * caller must give the array back to the pool once done with it, and must not keep it past that.
+     *
+     * @param start
+     *            the start of the hyperslab in each dimension of the dataset.
+     * @param stride
+     *            the stride of the hyperslab in each dimension, or null for a stride of 1.
+     * @param count
+     *            the number of data points of the hyperslab in each dimension.
+     * @param pool
+     *            the pool the array is taken from, or null for a new array.
+     *
+     * @return the array of the data points of the hyperslab.
+     *
+     * @throws Exception
+     *             if the hyperslab could not be read.
+     * @throws UnsupportedOperationException
+     *             if the dataset cannot be read by hyperslabs.
+     *
+     * @see #readHyperslab(long[], long[], long[])
+     */
+    public Object readHyperslab(long[] start, long[] stride, long[] count, BufferPool pool) throws Exception
+    {
+        throw new UnsupportedOperationException("Unsupported operation for this dataset.");
+    }
+
     /**
      * Reads the raw data of the dataset from file to a byte array.
      *
@@ -660,6 +814,16 @@ public abstract class Dataset extends HObject implements DataFormat {
     {
         log.trace("getData(): isDataLoaded={}", isDataLoaded);
         if (!isDataLoaded) {
+            clearStatistics();
+
+            // the buffer of the previous selection is recycled for the new one
+            if ((bufferPool != null) && (originalBuf != null)) {
+                bufferPool.release(originalBuf);
+                if (data == originalBuf)
+                    data = null;
+                originalBuf = null;
+            }
+
             data = read(); // load the data
             if (data != null) {
                 originalBuf  = data;
@@ -712,6 +876,106 @@ public abstract class Dataset extends HObject implements DataFormat {
     public void clearData()
     {
         isDataLoaded = false;
+        clearStatistics();
+    }
+
+    /**
+     * Sets the pool the data buffers of this dataset are taken from and given back to.
+     *
+     * With a pool, a read takes its buffer from the pool instead of allocating it, so that stepping through
+     * selections of the same size, such as the frames of an image stack, does not allocate a buffer for
+     * each of them. The dataset owns the buffer held by getData(): it is given back to the pool when the
+     * data is read again or cleared by clear(), and must not be used afterwards. The buffer returned by a
+     * direct call to read() belongs to the caller, which may give it back to the pool once done with it.
+     *
+     * Only buffers of primitive numbers are pooled; buffers of other types are allocated as usual.
+     *
+     * @param pool
+     *            the pool of buffers, or null to allocate the buffers.
+     */
+    public void setBufferPool(BufferPool pool) { bufferPool = pool; }
+
+    /**
+     * Returns the pool the data buffers of this dataset are taken from, if any.
+     *
+     * @return the pool of buffers, or null if the buffers are allocated.
+     *
+     * @see #setBufferPool(BufferPool)
+     */
+    public BufferPool getBufferPool() { return bufferPool; }
+
+    /**
+     * Sets the listener told of the progress of the reads of the data of the current selection by read()
+     * and getData(), such as to show the progress of the read of a large selection.
+     *
+     * The progress is reported by the implementations which read the data block by block, which stop with
+     * a java.util.concurrent.CancellationException if the listener cancels the read; the listener is not
+     * called by the others.
+     *
+     * @param listener
+     *            the listener, or null to stop reporting the progress.
+     */
+    public void setReadProgressListener(ReadProgressListener listener) { readProgressListener = listener; }
+
+    /**
+     * Returns the listener told of the progress of the reads of the data, if any.
+     *
+     * @return the listener, or null.
+     *
+     * @see #setReadProgressListener(ReadProgressListener)
+     */
+    public ReadProgressListener getReadProgressListener() { return readProgressListener; }
+
+    /**
+     * Returns the statistics of the data of the current selection, such as the buffer returned by getData()
+     * or a view or conversion of it, and the histogram of a range of its values.
+     *
+     * The statistics are cached, so that the views of the same data, such as an image and its histogram,
+     * do not compute them again. They are computed again if the data or the fill value is not the one they
+     * were computed for, or if a histogram of another range is requested, and are dropped when the data is
+     * read again or cleared. The data must not be changed while they are in use; clearStatistics() drops
+     * them after a change.
+     *
+     * @param data      the data of the current selection: an array of numbers or an UnsignedView.
+     * @param fillValue the missing value or fill value excluded from the statistics, or null.
+     * @param range     the min and max values of the histogram, or null for no histogram.
+     * @param bins      the number of bins of the histogram.
+     *
+     * @return the statistics, or null if the data is not an array of numbers.
+     *
+     * @see hdf.object.DataStatistics#compute(Object, Object, double[], int)
+     */
+    public synchronized DataStatistics getStatistics(Object data, Object fillValue, double[] range, int bins)
+    {
+        // a view is created for each use, so the statistics are cached for the array it reads
+        boolean isUnsigned = (data instanceof UnsignedView);
+        Object array       = isUnsigned ? ((UnsignedView)data).getArray() : data;
+
+        boolean isCached = (statistics != null) && (array == statisticsData) &&
+                           (isUnsigned == isStatisticsUnsigned) &&
+                           Objects.deepEquals(fillValue, statisticsFillValue) &&
+                           ((range == null) || statistics.hasHistogram(range, bins));
+        if (isCached)
+            return statistics;
+
+        log.trace("getStatistics(): computing statistics of the current selection");
+        statistics           = DataStatistics.compute(data, fillValue, range, bins);
+        statisticsData       = array;
+        statisticsFillValue  = fillValue;
+        isStatisticsUnsigned = isUnsigned;
+
+        return statistics;
+    }
+
+    /**
+     * Drops the statistics cached by getStatistics(), such as after the data of the current selection has
+     * been changed in memory.
+     */
+    public synchronized void clearStatistics()
+    {
+        statistics          = null;
+        statisticsData      = null;
+        statisticsFillValue = null;
     }
 
     /**
@@ -721,6 +985,7 @@ public abstract class Dataset extends HObject implements DataFormat {
      * read. If data is already in memory, read() just returns the memory buffer.
      * Sometimes we want to force a clear and read to re-read the object from the file.
      * For example, when the selection is changed, we need to re-read the data.
+     * As with getData(), unsigned integers are left as read from file.
      *
      * @see #getData()
      * @see #read()
@@ -733,22 +998,6 @@ public abstract class Dataset extends HObject implements DataFormat {
         clearData();
         try {
             dataValue = getData();
-
-            /*
-             * TODO(HDFView) [2025-12]: Implement unsigned-to-signed conversion for CompoundDS members.
-             * Currently unsigned C integer conversion is skipped for compound datasets.
-             * Java lacks native unsigned types, so conversion must use wider types or special handling:
-             * - unsigned byte  -> short
-             * - unsigned short -> int
-             * - unsigned int   -> long
-             * - unsigned long  -> BigInteger or special bit handling
-             * Impact: Compound datasets with unsigned members display incorrect values (appear negative).
-             * Related: DefaultBaseTableView.java line 1428 handles display-side conversion.
-             */
-            if (!(this instanceof CompoundDS))
-                convertFromUnsignedC();
-
-            dataValue = getData();
             log.trace("refresh data");
         }
         catch (Exception ex) {
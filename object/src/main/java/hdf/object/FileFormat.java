@@ -15,10 +15,14 @@
 package hdf.object;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
@@ -176,6 +180,12 @@ public abstract class FileFormat extends File {
      */
     private int startMembers = 0; // 0 by default
 
+    /**
+     * Flag indicating if the members of a group are loaded the first time they
+     * are asked for instead of when the file is opened.
+     */
+    private boolean isLoadMembersOnDemand = false;
+
     /**
      * File identifier. -1 indicates the file is not open.
      */
@@ -191,6 +201,24 @@ public abstract class FileFormat extends File {
      */
     protected boolean isReadOnly = false;
 
+    /**
+     * The objects of the file in memory by full name. The index is built by the
+     * first findObject() call after the file structure is loaded and is kept
+     * current as objects are added to or removed from groups.
+     */
+    private Map<String, HObject> pathIndex = null;
+
+    /**
+     * The objects of the file in memory by the first word of their OID, in
+     * breadth-first order. Built and maintained together with pathIndex.
+     */
+    private Map<Long, List<HObject>> oidIndex = null;
+
+    /**
+     * The root object that pathIndex and oidIndex were built from.
+     */
+    private HObject indexedRoot = null;
+
     // By default, HDF4 and HDF5 file formats are added to the supported formats list.
     static
     {
@@ -827,6 +855,31 @@ public abstract class FileFormat extends File {
      */
     public final int getStartMembers() { return startMembers; }
 
+    /**
+     * Sets whether the members of a group are loaded into memory the first time
+     * they are asked for, instead of loading the whole file structure when the
+     * file is opened.
+     *
+     * The implementing FileFormat class has freedom in whether it supports
+     * loading members on demand. H5File, for example, only lists the members of
+     * the root group when the file is opened and lists the members of any other
+     * group the first time its member list is asked for.
+     *
+     * @param onDemand
+     *            true to load group members on demand; false to load the whole file structure.
+     * @see #isLoadMembersOnDemand()
+     */
+    public final void setLoadMembersOnDemand(boolean onDemand) { isLoadMembersOnDemand = onDemand; }
+
+    /**
+     * Returns whether the members of a group are loaded into memory the first
+     * time they are asked for.
+     *
+     * @return true if group members are loaded on demand; otherwise returns false.
+     * @see #setLoadMembersOnDemand(boolean)
+     */
+    public final boolean isLoadMembersOnDemand() { return isLoadMembersOnDemand; }
+
     /**
      * Returns the number of objects in memory.
      *
@@ -1651,26 +1704,18 @@ public abstract class FileFormat extends File {
             return null;
         }
 
-        HObject theObj = null;
-
         HObject theRoot = file.getRootObject();
         if (theRoot == null) {
             log.debug("findObject(): rootObject is null");
             return null;
         }
 
-        Iterator<HObject> memberIt = ((Group)theRoot).breadthFirstMemberList().iterator();
-        while (memberIt.hasNext()) {
-            theObj = memberIt.next();
-            if (theObj.equalsOID(oid))
-                break;
-        }
-
-        return theObj;
+        return file.getIndexedObject(theRoot, oid);
     }
 
     /**
-     * Finds an object by the full path of the object (path+name).
+     * Finds an object by the full path of the object (path+name). If the members of groups are loaded on
+     * demand, the members of the groups along the path are loaded as needed.
      *
      * @param file the file containing the object
      * @param path the full path of the object to search for
@@ -1700,21 +1745,225 @@ public abstract class FileFormat extends File {
             return theRoot;
         }
 
-        Iterator<HObject> memberIt = ((Group)theRoot).breadthFirstMemberList().iterator();
-        HObject theObj             = null;
-        while (memberIt.hasNext()) {
-            theObj          = memberIt.next();
-            String fullPath = theObj.getFullName() + "/";
+        return file.getIndexedObject(theRoot, path.substring(0, path.length() - 1));
+    }
+
+    /*
+     * Looks up an object by full name in the index of the objects in memory,
+     * building the index if the file structure was loaded since it was built.
+     */
+    private synchronized HObject getIndexedObject(HObject theRoot, String fullName)
+    {
+        if ((pathIndex == null) || (theRoot != indexedRoot))
+            buildObjectIndex(theRoot);
+
+        HObject theObj = pathIndex.get(fullName);
+
+        // an object renamed without going through setName() or setPath()
+        if ((theObj != null) && !fullName.equals(theObj.getFullName())) {
+            buildObjectIndex(theRoot);
+            theObj = pathIndex.get(fullName);
+        }
+
+        // the object may be below groups whose members have not been loaded yet
+        if ((theObj == null) && isLoadMembersOnDemand())
+            theObj = loadObjectPath(theRoot, fullName);
 
-            if (path.equals(fullPath) && theObj.getPath() != null)
-                break;
-            else
-                theObj = null;
+        return theObj;
+    }
+
+    /*
+     * Finds an object by full name by walking down its path from the root,
+     * loading the members of the groups along the path which are loaded on
+     * demand, so that the object found is the one in the tree.
+     */
+    private HObject loadObjectPath(HObject theRoot, String fullName)
+    {
+        HObject theObj = theRoot;
+        for (String name : fullName.split(HObject.SEPARATOR)) {
+            if (name.isEmpty())
+                continue;
+            if (!(theObj instanceof Group))
+                return null;
+
+            // loads the members of the group, which adds them to the index
+            Group theGroup = (Group)theObj;
+            theGroup.getMemberList();
+            theObj = theGroup.getMember(name);
+            if (theObj == null)
+                return null;
         }
 
+        log.trace("loadObjectPath(): {} loaded", fullName);
         return theObj;
     }
 
+    /*
+     * Looks up an object by OID in the index of the objects in memory, building
+     * the index if the file structure was loaded since it was built.
+     */
+    private synchronized HObject getIndexedObject(HObject theRoot, long[] oid)
+    {
+        if (oid.length == 0)
+            return null;
+
+        if ((oidIndex == null) || (theRoot != indexedRoot))
+            buildObjectIndex(theRoot);
+
+        List<HObject> candidates = oidIndex.get(oid[0]);
+        if (candidates != null) {
+            for (HObject theObj : candidates) {
+                if (theObj.equalsOID(oid))
+                    return theObj;
+            }
+        }
+
+        return null;
+    }
+
+    /*
+     * Indexes the objects in memory in breadth-first order, the order in which
+     * findObject() used to search them.
+     */
+    private void buildObjectIndex(HObject theRoot)
+    {
+        log.trace("buildObjectIndex(): start");
+
+        pathIndex   = new HashMap<>();
+        oidIndex    = new HashMap<>();
+        indexedRoot = theRoot;
+
+        addToOIDIndex(theRoot);
+
+        // members not yet loaded on demand are left alone
+        Queue<HObject> queue  = new LinkedList<>();
+        List<HObject> members = ((Group)theRoot).getMemberList();
+        if (members != null)
+            queue.addAll(members);
+        while (!queue.isEmpty()) {
+            HObject theObj = queue.remove();
+            addToIndex(theObj);
+
+            if (theObj instanceof Group) {
+                members = ((Group)theObj).getMemberListInMemory();
+                if (members != null)
+                    queue.addAll(members);
+            }
+        }
+
+        log.trace("buildObjectIndex(): {} objects indexed", pathIndex.size());
+    }
+
+    /**
+     * Adds an object and the members in memory below it to the index of the
+     * objects in memory, if the group the object was added to is indexed.
+     *
+     * @param parent the group the object was added to
+     * @param object the object added to the group
+     */
+    synchronized void addToObjectIndex(Group parent, HObject object)
+    {
+        if (pathIndex == null)
+            return;
+
+        if (getRootObject() != indexedRoot) {
+            invalidateObjectIndex();
+            return;
+        }
+
+        if ((parent != indexedRoot) && (pathIndex.get(parent.getFullName()) != parent))
+            return;
+
+        Queue<HObject> queue = new LinkedList<>();
+        queue.add(object);
+        while (!queue.isEmpty()) {
+            HObject theObj = queue.remove();
+            addToIndex(theObj);
+
+            if (theObj instanceof Group) {
+                List<HObject> members = ((Group)theObj).getMemberListInMemory();
+                if (members != null)
+                    queue.addAll(members);
+            }
+        }
+    }
+
+    /**
+     * Removes an object and the members in memory below it from the index of
+     * the objects in memory.
+     *
+     * @param object the object removed from its group
+     */
+    synchronized void removeFromObjectIndex(HObject object)
+    {
+        if (pathIndex == null)
+            return;
+
+        Queue<HObject> queue = new LinkedList<>();
+        queue.add(object);
+        while (!queue.isEmpty()) {
+            HObject theObj = queue.remove();
+
+            pathIndex.remove(theObj.getFullName(), theObj);
+
+            long[] theOID = theObj.getOID();
+            if ((theOID != null) && (theOID.length > 0)) {
+                List<HObject> candidates = oidIndex.get(theOID[0]);
+                if (candidates != null)
+                    candidates.remove(theObj);
+            }
+
+            if (theObj instanceof Group) {
+                List<HObject> members = ((Group)theObj).getMemberListInMemory();
+                if (members != null)
+                    queue.addAll(members);
+            }
+        }
+    }
+
+    /**
+     * Drops the index of the objects in memory if the object is indexed under
+     * its current full name, since renaming an object changes the full names
+     * of the objects below it. The index is rebuilt by the next lookup.
+     *
+     * @param object the object about to be renamed
+     */
+    synchronized void objectRenamed(HObject object)
+    {
+        if ((pathIndex != null) && (pathIndex.get(object.getFullName()) == object))
+            invalidateObjectIndex();
+    }
+
+    /**
+     * Drops the index of the objects in memory. The index is rebuilt by the
+     * next lookup.
+     */
+    synchronized void invalidateObjectIndex()
+    {
+        pathIndex   = null;
+        oidIndex    = null;
+        indexedRoot = null;
+    }
+
+    private void addToIndex(HObject theObj)
+    {
+        if (theObj.getPath() != null)
+            pathIndex.putIfAbsent(theObj.getFullName(), theObj);
+
+        addToOIDIndex(theObj);
+    }
+
+    private void addToOIDIndex(HObject theObj)
+    {
+        long[] theOID = theObj.getOID();
+        if ((theOID == null) || (theOID.length == 0))
+            return;
+
+        List<HObject> candidates = oidIndex.computeIfAbsent(theOID[0], k -> new ArrayList<>(1));
+        if (!candidates.contains(theObj))
+            candidates.add(theObj);
+    }
+
     // ////////////////////////////////////////////////////////////////////////////////////
     // Added to support HDF5 1.8 features //
     // ////////////////////////////////////////////////////////////////////////////////////
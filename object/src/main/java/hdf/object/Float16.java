@@ -0,0 +1,110 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+/**
+ * Converts whole buffers of 16-bit floating-point numbers, IEEE 754 half precision (float16) and bfloat16,
+ * to and from 32-bit floats.
+ *
+ * Each conversion is a simple loop over the buffers, so that the just-in-time compiler turns it into the
+ * conversion instructions of the processor where it has them, several values at a time.
+ * Float.float16ToFloat() and Float.floatToFloat16() are intrinsics on such processors; bfloat16 numbers
+ * are the upper 16 bits of a float and only need a shift.
+ *
+ * A conversion to 16 bits rounds to the nearest value, ties to even.
+ */
+public final class Float16 {
+    private Float16() {}
+
+    /**
+     * Converts IEEE half precision numbers to floats.
+     *
+     * @param src    the bits of the half precision numbers.
+     * @param srcPos the index of the first number to convert.
+     * @param dst    the floats.
+     * @param dstPos the index of the first float to set.
+     * @param n      the number of values to convert.
+     */
+    public static void toFloat(short[] src, int srcPos, float[] dst, int dstPos, int n)
+    {
+        for (int i = 0; i < n; i++)
+            dst[dstPos + i] = Float.float16ToFloat(src[srcPos + i]);
+    }
+
+    /**
+     * Converts floats to IEEE half precision numbers.
+     *
+     * @param src    the floats.
+     * @param srcPos the index of the first float to convert.
+     * @param dst    the bits of the half precision numbers.
+     * @param dstPos the index of the first number to set.
+     * @param n      the number of values to convert.
+     */
+    public static void fromFloat(float[] src, int srcPos, short[] dst, int dstPos, int n)
+    {
+        for (int i = 0; i < n; i++)
+            dst[dstPos + i] = Float.floatToFloat16(src[srcPos + i]);
+    }
+
+    /**
+     * Converts bfloat16 numbers to floats.
+     *
+     * @param src    the bits of the bfloat16 numbers.
+     * @param srcPos the index of the first number to convert.
+     * @param dst    the floats.
+     * @param dstPos the index of the first float to set.
+     * @param n      the number of values to convert.
+     */
+    public static void bfloat16ToFloat(short[] src, int srcPos, float[] dst, int dstPos, int n)
+    {
+        for (int i = 0; i < n; i++)
+            dst[dstPos + i] = Float.intBitsToFloat(src[srcPos + i] << 16);
+    }
+
+    /**
+     * Converts floats to bfloat16 numbers. NaN values stay NaN.
+     *
+     * @param src    the floats.
+     * @param srcPos the index of the first float to convert.
+     * @param dst    the bits of the bfloat16 numbers.
+     * @param dstPos the index of the first number to set.
+     * @param n      the number of values to convert.
+     */
+    public static void floatToBfloat16(float[] src, int srcPos, short[] dst, int dstPos, int n)
+    {
+        for (int i = 0; i < n; i++)
+            dst[dstPos + i] = floatToBfloat16(src[srcPos + i]);
+    }
+
+    /**
+     * Converts a float to a bfloat16 number.
+     *
+     * @param f the float.
+     *
+     * @return the bits of the nearest bfloat16 number.
+     */
+    public static short floatToBfloat16(float f)
+    {
+        int bits = Float.floatToRawIntBits(f);
+
+        // a NaN whose payload is in the low bits only would round to infinity or lose its payload
+        if (Float.isNaN(f))
+            return (short)((bits >>> 16) | 0x0040);
+
+        // round to nearest, ties to even; a carry into the exponent gives the next power of two or infinity
+        int rounded = bits + 0x7FFF + ((bits >>> 16) & 1);
+
+        return (short)(rounded >>> 16);
+    }
+}
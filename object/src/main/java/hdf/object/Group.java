@@ -14,12 +14,18 @@
 
 package hdf.object;
 
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Stack;
-import java.util.Vector;
 
 /**
  * Group is an abstract class. Current implementing classes are the H4Group and
@@ -38,7 +44,25 @@ public abstract class Group extends HObject implements MetaDataContainer {
     /**
      * The list of members (Groups and Datasets) of this group in memory.
      */
-    private List<HObject> memberList;
+    private MemberList memberList;
+
+    /**
+     * The members of this group in memory by name, kept up to date as the
+     * members are renamed.
+     */
+    private Map<String, HObject> memberNameIndex;
+
+    /**
+     * The members of this group in memory by the first word of their OID; the
+     * members sharing it are told apart with equalsOID().
+     */
+    private Map<Long, List<HObject>> memberOIDIndex;
+
+    /**
+     * True if the members of this group are loaded from the file the first
+     * time the member list is asked for.
+     */
+    private boolean isMemberListDeferred = false;
 
     /**
      * The parent group where this group is located. The parent of the root
@@ -119,8 +143,18 @@ public abstract class Group extends HObject implements MetaDataContainer {
      */
     public void clear()
     {
-        if (memberList != null)
-            ((Vector<HObject>)memberList).setSize(0);
+        if (memberList != null) {
+            for (HObject member : memberList) {
+                if (member.memberOf == this)
+                    member.memberOf = null;
+            }
+            memberList.clearMembers();
+            memberNameIndex.clear();
+            memberOIDIndex.clear();
+
+            if (getFileFormat() != null)
+                getFileFormat().invalidateObjectIndex();
+        }
     }
 
     /**
@@ -132,12 +166,20 @@ public abstract class Group extends HObject implements MetaDataContainer {
     public void addToMemberList(HObject object)
     {
         if (memberList == null) {
-            int size   = Math.min(getNumberOfMembersInFile(), this.getFileFormat().getMaxMembers());
-            memberList = new Vector<>(size + 5);
+            int size = Math.min(getNumberOfMembersInFile(), this.getFileFormat().getMaxMembers());
+            createMemberList(size);
         }
 
-        if ((object != null) && !memberList.contains(object))
-            memberList.add(object);
+        if ((object != null) && memberList.addMember(object)) {
+            memberNameIndex.putIfAbsent(object.getName(), object);
+            long[] theOID = object.getOID();
+            if ((theOID != null) && (theOID.length > 0))
+                memberOIDIndex.computeIfAbsent(theOID[0], k -> new ArrayList<>(1)).add(object);
+            object.memberOf = this;
+
+            if (getFileFormat() != null)
+                getFileFormat().addToObjectIndex(this, object);
+        }
     }
 
     /**
@@ -149,8 +191,47 @@ public abstract class Group extends HObject implements MetaDataContainer {
      */
     public void removeFromMemberList(HObject object)
     {
-        if (memberList != null)
-            memberList.remove(object);
+        if ((memberList != null) && (object != null) && memberList.removeMember(object)) {
+            memberNameIndex.remove(object.getName(), object);
+            long[] theOID = object.getOID();
+            if ((theOID != null) && (theOID.length > 0)) {
+                List<HObject> candidates = memberOIDIndex.get(theOID[0]);
+                if ((candidates != null) && candidates.remove(object) && candidates.isEmpty())
+                    memberOIDIndex.remove(theOID[0]);
+            }
+            if (object.memberOf == this)
+                object.memberOf = null;
+
+            if (getFileFormat() != null)
+                getFileFormat().removeFromObjectIndex(object);
+        }
+    }
+
+    /*
+     * Creates empty in-memory member storage sized for the expected number of members.
+     */
+    private void createMemberList(int size)
+    {
+        memberList      = new MemberList(size + 5);
+        memberNameIndex = new HashMap<>(size + 5);
+        memberOIDIndex  = new HashMap<>(size + 5);
+    }
+
+    /**
+     * Indexes a member under its new name once it has been renamed.
+     *
+     * @param member  the member renamed
+     * @param oldName the name of the member before it was renamed
+     */
+    void memberRenamed(HObject member, String oldName)
+    {
+        if ((memberList == null) || !memberList.contains(member))
+            return;
+
+        if (oldName != null)
+            memberNameIndex.remove(oldName, member);
+        if (member.getName() != null)
+            memberNameIndex.putIfAbsent(member.getName(), member);
     }
 
     /**
@@ -163,9 +244,20 @@ public abstract class Group extends HObject implements MetaDataContainer {
     {
         FileFormat theFile = this.getFileFormat();
 
+        if (isMemberListDeferred) {
+            isMemberListDeferred = false;
+
+            if (memberList == null) {
+                int size = Math.min(getNumberOfMembersInFile(), theFile.getMaxMembers());
+                createMemberList(size);
+            }
+
+            loadMemberList();
+        }
+
         if ((memberList == null) && (theFile != null)) {
-            int size   = Math.min(getNumberOfMembersInFile(), this.getFileFormat().getMaxMembers());
-            memberList = new Vector<>(size + 5); // avoid infinite loop search for groups without members
+            int size = Math.min(getNumberOfMembersInFile(), this.getFileFormat().getMaxMembers());
+            createMemberList(size); // avoid infinite loop search for groups without members
 
             // find the memberList from the file by checking the group path and
             // name. group may be created out of the structure tree
@@ -193,7 +285,10 @@ public abstract class Group extends HObject implements MetaDataContainer {
                     if (g.getPath() != null) { // add this check to get rid of null exception
                         if ((this.isRoot() && g.isRoot()) ||
                             (this.getPath().equals(g.getPath()) && g.getName().endsWith(this.getName()))) {
-                            memberList = g.getMemberList();
+                            g.getMemberList();
+                            memberList      = g.memberList;
+                            memberNameIndex = g.memberNameIndex;
+                            memberOIDIndex  = g.memberOIDIndex;
                             break;
                         }
                     }
@@ -204,6 +299,40 @@ public abstract class Group extends HObject implements MetaDataContainer {
         return memberList;
     }
 
+    /**
+     * Sets whether the members of this group are loaded from the file the first
+     * time the member list is asked for. Used by file formats that load group
+     * members on demand.
+     *
+     * @param deferred
+     *            true if the members are loaded by the next call to getMemberList()
+     *
+     * @see hdf.object.FileFormat#setLoadMembersOnDemand(boolean)
+     */
+    public final void setMemberListDeferred(boolean deferred) { isMemberListDeferred = deferred; }
+
+    /**
+     * Checks if the members of this group have yet to be loaded from the file.
+     *
+     * @return true if the members are loaded by the next call to getMemberList()
+     */
+    public final boolean isMemberListDeferred() { return isMemberListDeferred; }
+
+    /**
+     * Loads the members of this group from the file the first time the member
+     * list of a group with a deferred member list is asked for. The members are
+     * added with addToMemberList(). The default implementation does nothing.
+     */
+    protected void loadMemberList() {}
+
+    /**
+     * Returns the members of this group in memory without searching the file
+     * structure for them.
+     *
+     * @return the members of this group in memory, or null if none have been added.
+     */
+    List<HObject> getMemberListInMemory() { return memberList; }
+
     /**
      * Get the members of this Group in breadth-first order.
      *
@@ -211,7 +340,7 @@ public abstract class Group extends HObject implements MetaDataContainer {
      */
     public List<HObject> breadthFirstMemberList()
     {
-        Vector<HObject> members = new Vector<>();
+        List<HObject> members   = new ArrayList<>();
         Queue<HObject> queue    = new LinkedList<>();
         HObject currentObj      = this;
 
@@ -235,7 +364,7 @@ public abstract class Group extends HObject implements MetaDataContainer {
      */
     public List<HObject> depthFirstMemberList()
     {
-        Vector<HObject> members = new Vector<>();
+        List<HObject> members   = new ArrayList<>();
         Stack<HObject> stack    = new Stack<>();
         HObject currentObj      = this;
 
@@ -335,4 +464,142 @@ public abstract class Group extends HObject implements MetaDataContainer {
 
         return memberList.get(idx);
     }
+
+    /**
+     * Get the HObject with the specified name in this Group's member list.
+     *
+     * @param name The name of the HObject to get, e.g. "dset".
+     *
+     * @return The HObject with the specified name, or null if there is no such member in memory.
+     */
+    public HObject getMember(String name)
+    {
+        if ((memberList == null) || (name == null))
+            return null;
+
+        return memberNameIndex.get(name);
+    }
+
+    /**
+     * Get the HObject with the specified OID in this Group's member list.
+     *
+     * @param oid The object identifier of the HObject to get.
+     *
+     * @return The HObject with the specified OID, or null if there is no such member in memory.
+     *
+     * @see hdf.object.HObject#equalsOID(long[])
+     */
+    public HObject getMember(long[] oid)
+    {
+        if ((memberList == null) || (oid == null) || (oid.length == 0))
+            return null;
+
+        List<HObject> candidates = memberOIDIndex.get(oid[0]);
+        if (candidates == null)
+            return null;
+
+        for (HObject member : candidates) {
+            if (member.equalsOID(oid))
+                return member;
+        }
+
+        return null;
+    }
+
+    /**
+     * The members of a group in memory, in the order they were added. The
+     * members are kept in a map keyed by identity, so that adding, finding and
+     * removing a member take constant time however large the group. The list
+     * is indexed through an array of the members, rebuilt the first time it is
+     * indexed after the members have changed.
+     *
+     * The list is read-only to the callers of getMemberList(); the members are
+     * changed through addToMemberList() and removeFromMemberList().
+     */
+    private static final class MemberList extends AbstractList<HObject> implements Serializable {
+        private static final long serialVersionUID = -2541638735346387014L;
+
+        private final Map<MemberKey, HObject> members;
+
+        private transient HObject[] byIndex = null;
+
+        MemberList(int size) { members = new LinkedHashMap<>(size); }
+
+        boolean addMember(HObject object)
+        {
+            if (members.putIfAbsent(new MemberKey(object), object) != null)
+                return false;
+
+            changed();
+            return true;
+        }
+
+        boolean removeMember(HObject object)
+        {
+            if (members.remove(new MemberKey(object)) == null)
+                return false;
+
+            changed();
+            return true;
+        }
+
+        void clearMembers()
+        {
+            members.clear();
+            changed();
+        }
+
+        private void changed()
+        {
+            modCount++;
+            byIndex = null;
+        }
+
+        @Override
+        public HObject get(int index)
+        {
+            if (byIndex == null)
+                byIndex = members.values().toArray(new HObject[0]);
+
+            Objects.checkIndex(index, byIndex.length);
+            return byIndex[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return members.size();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return (o instanceof HObject) && members.containsKey(new MemberKey((HObject)o));
+        }
+    }
+
+    /**
+     * The identity of a member, since members are told apart by identity and
+     * the hash code of an HObject is that of the first word of its OID, which
+     * many objects may share.
+     */
+    private static final class MemberKey implements Serializable {
+        private static final long serialVersionUID = 6120488523380912647L;
+
+        private final HObject member;
+
+        MemberKey(HObject member) { this.member = member; }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return (o instanceof MemberKey) && (((MemberKey)o).member == member);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(member);
+        }
+    }
 }
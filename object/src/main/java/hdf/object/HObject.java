@@ -135,6 +135,9 @@ public abstract class HObject implements Serializable {
      */
     protected long[] oid;
 
+    /** The group whose member list holds this object in memory, which indexes the object by name. */
+    transient Group memberOf = null;
+
     /**
      * The name of the Target Object that is being linked to.
      */
@@ -283,7 +286,14 @@ public abstract class HObject implements Serializable {
             throw new IllegalArgumentException("The new name contains the SEPARATOR character: " +
                                                HObject.SEPARATOR);
 
-        name = newName;
+        if (fileFormat != null)
+            fileFormat.objectRenamed(this);
+
+        String oldName = name;
+        name           = newName;
+
+        if (memberOf != null)
+            memberOf.memberRenamed(this, oldName);
     }
 
     /**
@@ -304,6 +314,9 @@ public abstract class HObject implements Serializable {
         if (newPath == null)
             newPath = "/";
 
+        if (fileFormat != null)
+            fileFormat.objectRenamed(this);
+
         path = newPath;
     }
 
@@ -319,6 +332,10 @@ public abstract class HObject implements Serializable {
      */
     public void setFullname(String thePath, String theName) throws Exception
     {
+        // not yet indexed while the object is being constructed
+        if ((fileFormat != null) && (fullName != null))
+            fileFormat.objectRenamed(this);
+
         // file name is packed in the full path
         if ((theName == null) && (thePath != null)) {
             if (thePath.equals(SEPARATOR)) {
@@ -371,10 +388,14 @@ public abstract class HObject implements Serializable {
                 thePath += SEPARATOR;
         }
 
-        this.name = theName;
-        this.path = thePath;
+        String oldName = this.name;
+        this.name      = theName;
+        this.path      = thePath;
 
         this.fullName = createFullname(thePath, theName);
+
+        if (memberOf != null)
+            memberOf.memberRenamed(this, oldName);
     }
 
     /**
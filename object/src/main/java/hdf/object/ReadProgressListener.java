@@ -0,0 +1,40 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+/**
+ * Receives the progress of the reads of the data of a dataset, such as to show how much of a large
+ * selection has been read.
+ *
+ * The listener is called on the thread which reads the data, as blocks of the selection are read, and may
+ * cancel the read between blocks. A read which is not done block by block does not report its progress
+ * and cannot be cancelled.
+ *
+ * @see hdf.object.Dataset#setReadProgressListener(ReadProgressListener)
+ */
+@FunctionalInterface
+public interface ReadProgressListener {
+    /**
+     * Called each time a block of the selection has been read.
+     *
+     * @param pointsRead
+     *            the number of data points of the selection read so far.
+     * @param totalPoints
+     *            the number of data points of the selection.
+     *
+     * @return true to go on reading; false to cancel the read, which then throws a
+     *         java.util.concurrent.CancellationException.
+     */
+    boolean readProgress(long pointsRead, long totalPoints);
+}
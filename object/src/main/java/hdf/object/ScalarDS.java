@@ -14,6 +14,7 @@
 
 package hdf.object;
 
+import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
@@ -183,6 +184,8 @@ public abstract class ScalarDS extends Dataset {
         log.trace("convertFromUnsignedC(): unsigned={}", getDatatype().isUnsigned());
         if ((data != null) && getDatatype().isUnsigned() && !unsignedConverted) {
             log.trace("convertFromUnsignedC(): convert");
+            if (bufferPool != null)
+                acquireConvertedBuffer(data);
             originalBuf       = data;
             convertedBuf      = convertFromUnsignedC(originalBuf, convertedBuf);
             data              = convertedBuf;
@@ -199,6 +202,30 @@ public abstract class ScalarDS extends Dataset {
         return data;
     }
 
+    /**
+     * Takes the buffer of the converted data from the pool of buffers, unless the current one fits.
+     */
+    private void acquireConvertedBuffer(Object buf)
+    {
+        Class<?> type;
+        if (buf instanceof byte[])
+            type = short.class;
+        else if (buf instanceof short[])
+            type = int.class;
+        else if (buf instanceof int[])
+            type = long.class;
+        else
+            return;
+
+        int n = Array.getLength(buf);
+        if ((convertedBuf != null) && (convertedBuf.getClass().getComponentType() == type) &&
+            (Array.getLength(convertedBuf) == n))
+            return;
+
+        bufferPool.release(convertedBuf);
+        convertedBuf = bufferPool.acquire(type, n);
+    }
+
     /**
      * Converts Java integer data of this dataset back to unsigned C-type integer data if they are unsigned
      * integers.
@@ -0,0 +1,175 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object;
+
+import java.lang.reflect.Array;
+
+/**
+ * A view of an array of unsigned integers as read from file, which widens each value as it is accessed
+ * instead of copying the whole array into an array of the next larger type.
+ *
+ * Java has no unsigned integer types, so a buffer of unsigned integers read from file holds them in the
+ * signed type of the same size, and values of half the range or more appear negative.
+ * Dataset.convertFromUnsignedC() fixes that by allocating an array of the next larger type, doubling the
+ * memory held for the data; a view instead reads the original buffer and returns the unsigned values as
+ * longs or doubles.
+ *
+ * Unsigned 64-bit integers do not fit in a long; getLong() returns their bits unchanged and getDouble()
+ * returns their unsigned value rounded to a double.
+ *
+ * @see hdf.object.Dataset#convertFromUnsignedC(Object, Object)
+ */
+public final class UnsignedView {
+    /** The array of unsigned integers: byte[], short[], int[] or long[]. */
+    private final Object array;
+
+    private final int size;
+
+    /**
+     * Creates a view of an array of unsigned integers.
+     *
+     * @param array
+     *            the array of unsigned integers, one of byte[], short[], int[] or long[].
+     */
+    public UnsignedView(Object array)
+    {
+        if (!isSupported(array))
+            throw new IllegalArgumentException("not an array of integers: " + array);
+
+        this.array = array;
+        this.size  = Array.getLength(array);
+    }
+
+    /**
+     * Checks if an object is an array a view can be created on.
+     *
+     * @param array
+     *            the object to check.
+     *
+     * @return true if the object is a byte[], short[], int[] or long[]; otherwise, returns false.
+     */
+    public static boolean isSupported(Object array)
+    {
+        return (array instanceof byte[]) || (array instanceof short[]) || (array instanceof int[]) ||
+            (array instanceof long[]);
+    }
+
+    /**
+     * Returns the array of unsigned integers the view reads.
+     *
+     * @return the original array.
+     */
+    public Object getArray() { return array; }
+
+    /**
+     * Returns the number of values in the array.
+     *
+     * @return the number of values.
+     */
+    public int getSize() { return size; }
+
+    /**
+     * Returns a value widened to a long.
+     *
+     * @param index
+     *            the index of the value.
+     *
+     * @return the unsigned value, or the bits of an unsigned 64-bit integer.
+     */
+    public long getLong(int index)
+    {
+        if (array instanceof byte[])
+            return ((byte[])array)[index] & 0xFFL;
+        else if (array instanceof short[])
+            return ((short[])array)[index] & 0xFFFFL;
+        else if (array instanceof int[])
+            return ((int[])array)[index] & 0xFFFFFFFFL;
+
+        return ((long[])array)[index];
+    }
+
+    /**
+     * Returns a value widened to a double.
+     *
+     * @param index
+     *            the index of the value.
+     *
+     * @return the unsigned value.
+     */
+    public double getDouble(int index)
+    {
+        long l = getLong(index);
+        if ((l >= 0) || !(array instanceof long[]))
+            return l;
+
+        // an unsigned 64-bit integer of 2^63 or more
+        return (double)(l >>> 1) * 2.0 + (l & 1);
+    }
+
+    /**
+     * Finds the min and max values of the array.
+     *
+     * @param minmax
+     *            the min and max values of the array.
+     * @param fillValue
+     *            the missing value or fill value, an array of either the type of the array or its widened
+     *            type; values equal to it are skipped. May be null.
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     */
+    public int findMinMax(double[] minmax, Object fillValue)
+    {
+        if ((minmax == null) || (minmax.length < 2) || (size <= 0))
+            return -1;
+
+        DataStatistics stats = DataStatistics.compute(this, fillValue);
+
+        // every value is the fill value
+        if (stats.getCount() == 0) {
+            minmax[0] = stats.getFirstValue();
+            minmax[1] = stats.getFirstValue();
+        }
+        else {
+            minmax[0] = stats.getMin();
+            minmax[1] = stats.getMax();
+        }
+
+        return 1;
+    }
+
+    /**
+     * Computes the mean and standard deviation of the array.
+     *
+     * @param avgstd
+     *            the statistics: avgstd[0]=mean and avgstd[1]=stdev.
+     * @param fillValue
+     *            the missing value or fill value, an array of either the type of the array or its widened
+     *            type; values equal to it are skipped. May be null.
+     *
+     * @return non-negative if successful; otherwise, returns negative
+     */
+    public int computeStatistics(double[] avgstd, Object fillValue)
+    {
+        if ((avgstd == null) || (avgstd.length < 2) || (size <= 0))
+            return -1;
+
+        DataStatistics stats = DataStatistics.compute(this, fillValue);
+        Double fill          = stats.getFillValue();
+
+        avgstd[0] = (stats.getCount() < 1) ? ((fill == null) ? 0 : fill) : stats.getMean();
+        avgstd[1] = stats.getStdDev();
+
+        return 1;
+    }
+}
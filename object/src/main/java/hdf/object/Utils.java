@@ -44,4 +44,26 @@ public final class Utils {
 
         return ' ';
     }
+
+    /**
+     * Returns the size in bytes of a primitive type, or 0 if it is not a numeric type which the data
+     * buffers, the buffer pool and the chunk cache hold.
+     *
+     * @param type
+     *            the primitive type.
+     * @return the size of the type in bytes.
+     */
+    public static int getElementSize(Class<?> type)
+    {
+        if (type == byte.class)
+            return 1;
+        else if (type == short.class)
+            return 2;
+        else if ((type == int.class) || (type == float.class))
+            return 4;
+        else if ((type == long.class) || (type == double.class))
+            return 8;
+
+        return 0;
+    }
 }
@@ -0,0 +1,590 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * Copyright by the Board of Trustees of the University of Illinois.         *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object.h5;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+import hdf.object.ReadProgressListener;
+import hdf.object.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads hyperslab selections of a chunked dataset one chunk at a time and keeps the decompressed chunks in
+ * a bounded least-recently-used cache.
+ *
+ * A selection is split along each dimension into the chunks that hold at least one selected point. Each
+ * of those chunks is read whole, once, and the selected points are copied out of it; a chunk is never
+ * decompressed more than once for a selection, and selections that overlap an earlier one, such as the
+ * next frame of an image stack or the next page of a table, reuse the chunks still in the cache.
+ *
+ * The chunks can also be read raw, as stored in the file, and decompressed in Java on several threads by
+ * H5ChunkFilters, instead of one at a time inside the library.
+ *
+ * Only selections of fixed-size numbers read into Java arrays of primitives are read through the cache.
+ */
+final class H5ChunkCache {
+    private static final Logger log = LoggerFactory.getLogger(H5ChunkCache.class);
+
+    /** The coordinates of a chunk, in units of chunks. */
+    private static final class ChunkKey {
+        private final long[] coords;
+
+        private final int hash;
+
+        private ChunkKey(long[] coords)
+        {
+            this.coords = coords;
+            this.hash   = Arrays.hashCode(coords);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return (obj instanceof ChunkKey) && Arrays.equals(coords, ((ChunkKey)obj).coords);
+        }
+    }
+
+    /** The cached chunks in access order, the least recently used first. */
+    private final LinkedHashMap<ChunkKey, Object> chunks = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The maximum number of bytes of chunks kept in the cache. */
+    private long maxBytes;
+
+    /** The number of bytes of chunks in the cache. */
+    private long cachedBytes = 0;
+
+    /** The component type of the arrays of the cached chunks. */
+    private Class<?> elementType = null;
+
+    /** The dimensions of the dataset the cached chunks were read from. */
+    private long[] cachedDims = null;
+
+    /** The dimensions of a chunk, or null if the dataset is not chunked. */
+    private long[] chunkDims = null;
+
+    /** Flag to indicate if the storage layout of the dataset has been looked up. */
+    private boolean isLayoutKnown = false;
+
+    /** The decoder of the raw chunks of the dataset, or null if they cannot be decoded in Java. */
+    private H5ChunkFilters filters = null;
+
+    /** Flag to indicate if the filters of the dataset have been looked up. */
+    private boolean isFiltersKnown = false;
+
+    /** Flag to indicate if the library wrapper has the direct chunk read functions. */
+    private static volatile boolean isDirectReadAvailable = true;
+
+    /** The number of bytes of chunks read before their selected points are copied. */
+    private static final long BATCH_BYTES = 64L * 1024 * 1024;
+
+    /** A chunk of a selection waiting to be read. */
+    private static final class PendingChunk {
+        private final ChunkKey key;
+        private final long[] origin;
+        private final long[] extent;
+        private final int[] segIndex;
+        private byte[] raw     = null;
+        private int filterMask = 0;
+        private Object chunk   = null;
+
+        private PendingChunk(ChunkKey key, long[] origin, long[] extent, int[] segIndex)
+        {
+            this.key      = key;
+            this.origin   = origin;
+            this.extent   = extent;
+            this.segIndex = segIndex;
+        }
+    }
+
+    /**
+     * Creates a cache of the chunks of a dataset.
+     *
+     * @param maxBytes the maximum number of bytes of chunks kept in the cache.
+     */
+    H5ChunkCache(long maxBytes) { this.maxBytes = maxBytes; }
+
+    /**
+     * Sets the maximum number of bytes of chunks kept in the cache, dropping the least recently used
+     * chunks that no longer fit.
+     *
+     * @param nbytes the maximum number of bytes of chunks kept in the cache.
+     */
+    synchronized void setMaxBytes(long nbytes)
+    {
+        maxBytes = nbytes;
+        evict();
+    }
+
+    /**
+     * Drops all the chunks in the cache, e.g. after the dataset has been written to.
+     */
+    synchronized void clear()
+    {
+        chunks.clear();
+        cachedBytes = 0;
+        elementType = null;
+        cachedDims  = null;
+    }
+
+    /**
+     * Reads a hyperslab selection through the cache.
+     *
+     * With direct reads, the chunks missing from the cache are read raw, as stored in the file, and
+     * decompressed in Java on the common fork-join pool, if the filters of the dataset can be decoded in
+     * Java; otherwise they are read with H5Dread one chunk at a time.
+     *
+     * @param did        the dataset identifier.
+     * @param tid        the memory datatype identifier.
+     * @param dims       the dimensions of the dataset.
+     * @param start      the start of the selection, or null to start at the origin.
+     * @param stride     the stride of the selection, or null for no stride.
+     * @param count      the number of points selected in each dimension.
+     * @param buf        the array to read the selection into.
+     * @param directRead true to read the chunks raw and decompress them in Java.
+     * @param progress   the listener told of the progress of the read, batch of chunks by batch, or null;
+     *                   the read stops with a CancellationException if the listener cancels it.
+     *
+     * @return true if the selection was read; false if it cannot be read through the cache, in which
+     *         case nothing was read.
+     *
+     * @throws HDF5Exception if the selection could not be read.
+     */
+    synchronized boolean read(long did, long tid, long[] dims, long[] start, long[] stride, long[] count,
+                              Object buf, boolean directRead, ReadProgressListener progress)
+        throws HDF5Exception
+    {
+        Class<?> type   = buf.getClass().getComponentType();
+        int elementSize = Utils.getElementSize(type);
+        if ((elementSize == 0) || (H5.H5Tget_size(tid) != elementSize))
+            return false;
+
+        int rank     = dims.length;
+        long[] cdims = getChunkDims(did, rank);
+        if ((cdims == null) || (count == null) || (count.length != rank))
+            return false;
+
+        long chunkPoints = 1;
+        for (int d = 0; d < rank; d++)
+            chunkPoints *= cdims[d];
+        if (chunkPoints > Integer.MAX_VALUE)
+            return false;
+
+        if ((type != elementType) || !Arrays.equals(dims, cachedDims)) {
+            clear();
+            elementType = type;
+            cachedDims  = dims.clone();
+        }
+
+        long[] first = new long[rank];
+        long[] step  = new long[rank];
+        for (int d = 0; d < rank; d++) {
+            first[d] = (start == null) ? 0 : start[d];
+            step[d]  = (stride == null) ? 1 : stride[d];
+        }
+
+        /*
+         * Plan the reads: along each dimension, the chunks holding selected points, each as
+         * {chunk index, index of its first selected point, number of its selected points}.
+         */
+        List<List<long[]>> plan = new ArrayList<>(rank);
+        for (int d = 0; d < rank; d++) {
+            List<long[]> segments = new ArrayList<>();
+            long k                = 0;
+            while (k < count[d]) {
+                long c        = (first[d] + k * step[d]) / cdims[d];
+                long chunkEnd = (c + 1) * cdims[d];
+                long kEnd     = Math.min(count[d], (chunkEnd - first[d] + step[d] - 1) / step[d]);
+                segments.add(new long[] {c, k, kEnd - k});
+                k = kEnd;
+            }
+            plan.add(segments);
+        }
+
+        H5ChunkFilters decoder = null;
+        if (directRead && isDirectReadAvailable)
+            decoder = getFilters(did, tid, elementSize);
+
+        /*
+         * A selection of whole chunks is read through the cache too, even without a decoder, so that
+         * stepping back to it, e.g. to the previous frame of an image stack, does not decompress its
+         * chunks again.
+         */
+
+        // the progress is that of the chunks done, of the number of chunks holding selected points
+        long totalChunks = 1;
+        for (int d = 0; d < rank; d++)
+            totalChunks *= plan.get(d).size();
+        long totalPoints = Array.getLength(buf);
+        long chunksDone  = 0;
+
+        // the distance between points of the selection along each dimension in the buffer
+        long[] bufStrides = new long[rank];
+        bufStrides[rank - 1] = 1;
+        for (int d = rank - 2; d >= 0; d--)
+            bufStrides[d] = bufStrides[d + 1] * count[d + 1];
+
+        int nReads                 = 0;
+        long pendingBytes          = 0;
+        List<PendingChunk> pending = new ArrayList<>();
+        int[] segIndex             = new int[rank];
+        boolean isDone             = false;
+        while (!isDone) {
+            long[] coords = new long[rank];
+            long[] origin = new long[rank];
+            long[] extent = new long[rank];
+            for (int d = 0; d < rank; d++) {
+                coords[d] = plan.get(d).get(segIndex[d])[0];
+                origin[d] = coords[d] * cdims[d];
+                extent[d] = Math.min(cdims[d], dims[d] - origin[d]);
+            }
+
+            ChunkKey key = new ChunkKey(coords);
+            Object chunk = chunks.get(key);
+            if (chunk != null) {
+                copySelection(chunk, origin, extent, first, step, plan, segIndex, bufStrides, buf);
+                chunksDone++;
+            }
+            else {
+                pending.add(new PendingChunk(key, origin, extent, segIndex.clone()));
+                pendingBytes += chunkPoints * elementSize;
+            }
+
+            // the next chunk, the last dimension changing fastest
+            isDone = true;
+            for (int d = rank - 1; d >= 0; d--) {
+                if (++segIndex[d] < plan.get(d).size()) {
+                    isDone = false;
+                    break;
+                }
+                segIndex[d] = 0;
+            }
+
+            if ((isDone && !pending.isEmpty()) || (pendingBytes >= BATCH_BYTES)) {
+                readChunks(did, tid, type, cdims, pending, decoder);
+                for (PendingChunk p : pending) {
+                    put(p.key, p.chunk, Array.getLength(p.chunk) * (long)elementSize);
+                    copySelection(p.chunk, p.origin, p.extent, first, step, plan, p.segIndex, bufStrides,
+                                  buf);
+                }
+                nReads += pending.size();
+                chunksDone += pending.size();
+                pending.clear();
+                pendingBytes = 0;
+
+                if ((progress != null) &&
+                    !progress.readProgress(chunksDone * totalPoints / totalChunks, totalPoints)) {
+                    log.debug("read(): read cancelled after {} chunks", chunksDone);
+                    throw new CancellationException("read cancelled");
+                }
+            }
+        }
+
+        log.trace("read(): {} chunks read, {} chunks cached", nReads, chunks.size());
+        return true;
+    }
+
+    /**
+     * Copies the selected points of one chunk into the buffer.
+     */
+    private static void copySelection(Object chunk, long[] origin, long[] extent, long[] first, long[] step,
+                                      List<List<long[]>> plan, int[] segIndex, long[] bufStrides, Object buf)
+    {
+        int rank = origin.length;
+
+        long[] k0 = new long[rank];
+        long[] nk = new long[rank];
+        for (int d = 0; d < rank; d++) {
+            long[] segment = plan.get(d).get(segIndex[d]);
+            k0[d]          = segment[1];
+            nk[d]          = segment[2];
+        }
+
+        // the distance between points along each dimension in the chunk
+        long[] chunkStrides = new long[rank];
+        chunkStrides[rank - 1] = 1;
+        for (int d = rank - 2; d >= 0; d--)
+            chunkStrides[d] = chunkStrides[d + 1] * extent[d + 1];
+
+        int last       = rank - 1;
+        int srcStep    = (int)step[last];
+        int runCount   = (int)nk[last];
+        long[] k       = new long[rank];
+        boolean isDone = false;
+        while (!isDone) {
+            long srcPos = 0;
+            long dstPos = 0;
+            for (int d = 0; d < rank; d++) {
+                long kd = k0[d] + ((d == last) ? 0 : k[d]);
+                srcPos += (first[d] + kd * step[d] - origin[d]) * chunkStrides[d];
+                dstPos += kd * bufStrides[d];
+            }
+
+            copy(chunk, (int)srcPos, srcStep, buf, (int)dstPos, runCount);
+
+            // the next run along the last dimension
+            isDone = true;
+            for (int d = last - 1; d >= 0; d--) {
+                if (++k[d] < nk[d]) {
+                    isDone = false;
+                    break;
+                }
+                k[d] = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies n points from a chunk, every step-th point starting at srcPos, to consecutive points of the
+     * buffer starting at dstPos.
+     */
+    private static void copy(Object src, int srcPos, int step, Object dst, int dstPos, int n)
+    {
+        if (step == 1) {
+            System.arraycopy(src, srcPos, dst, dstPos, n);
+        }
+        else if (src instanceof byte[]) {
+            byte[] s = (byte[])src;
+            byte[] t = (byte[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+        else if (src instanceof short[]) {
+            short[] s = (short[])src;
+            short[] t = (short[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+        else if (src instanceof int[]) {
+            int[] s = (int[])src;
+            int[] t = (int[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+        else if (src instanceof long[]) {
+            long[] s = (long[])src;
+            long[] t = (long[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+        else if (src instanceof float[]) {
+            float[] s = (float[])src;
+            float[] t = (float[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+        else if (src instanceof double[]) {
+            double[] s = (double[])src;
+            double[] t = (double[])dst;
+            for (int i = 0; i < n; i++)
+                t[dstPos + i] = s[srcPos + i * step];
+        }
+    }
+
+    /**
+     * Reads a batch of chunks. With a decoder, the chunks are read raw and decoded in parallel; a chunk
+     * that is not stored in the file or cannot be decoded is read with H5Dread instead.
+     */
+    private static void readChunks(long did, long tid, Class<?> type, long[] cdims,
+                                   List<PendingChunk> pending, H5ChunkFilters decoder) throws HDF5Exception
+    {
+        if (decoder != null) {
+            try {
+                for (PendingChunk p : pending)
+                    readRawChunk(did, p);
+            }
+            catch (LinkageError err) {
+                log.debug("readChunks(): direct chunk read not available: ", err);
+                isDirectReadAvailable = false;
+            }
+
+            List<Callable<Object>> tasks = new ArrayList<>();
+            for (PendingChunk p : pending) {
+                if (p.raw == null)
+                    continue;
+
+                tasks.add(() -> {
+                    p.chunk = decoder.decode(p.raw, p.filterMask, type, cdims, p.extent);
+                    p.raw   = null;
+                    return null;
+                });
+            }
+
+            for (Future<Object> f : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                try {
+                    f.get();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new HDF5Exception("interrupted while decoding chunks");
+                }
+                catch (ExecutionException ex) {
+                    log.debug("readChunks(): decoding failure: ", ex.getCause());
+                }
+            }
+        }
+
+        for (PendingChunk p : pending) {
+            if (p.chunk == null)
+                p.chunk = readChunk(did, tid, type, p.origin, p.extent);
+        }
+    }
+
+    /**
+     * Reads a chunk as stored in the file, leaving the raw chunk null if no storage is allocated for it.
+     */
+    private static void readRawChunk(long did, PendingChunk p) throws HDF5Exception
+    {
+        long nbytes = H5.H5Dget_chunk_storage_size(did, p.origin);
+        if ((nbytes <= 0) || (nbytes > Integer.MAX_VALUE))
+            return;
+
+        byte[] raw       = new byte[(int)nbytes];
+        int[] filterMask = {0};
+        H5.H5Dread_chunk(did, HDF5Constants.H5P_DEFAULT, p.origin, filterMask, raw);
+
+        p.raw        = raw;
+        p.filterMask = filterMask[0];
+    }
+
+    /**
+     * Reads a whole chunk, clipped to the extent of the dataset.
+     */
+    private static Object readChunk(long did, long tid, Class<?> type, long[] origin, long[] extent)
+        throws HDF5Exception
+    {
+        long npoints = 1;
+        for (long e : extent)
+            npoints *= e;
+
+        Object chunk = Array.newInstance(type, (int)npoints);
+        long fspace  = HDF5Constants.H5I_INVALID_HID;
+        long mspace  = HDF5Constants.H5I_INVALID_HID;
+        try {
+            fspace = H5.H5Dget_space(did);
+            H5.H5Sselect_hyperslab(fspace, HDF5Constants.H5S_SELECT_SET, origin, null, extent, null);
+            mspace = H5.H5Screate_simple(extent.length, extent, null);
+
+            H5.H5Dread(did, tid, mspace, fspace, HDF5Constants.H5P_DEFAULT, chunk);
+        }
+        finally {
+            try {
+                H5.H5Sclose(mspace);
+            }
+            catch (Exception ex) {
+                log.debug("readChunk(): H5Sclose(mspace {}) failure: ", mspace, ex);
+            }
+            try {
+                H5.H5Sclose(fspace);
+            }
+            catch (Exception ex) {
+                log.debug("readChunk(): H5Sclose(fspace {}) failure: ", fspace, ex);
+            }
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Returns the decoder of the raw chunks of the dataset, or null if they cannot be decoded in Java.
+     */
+    private H5ChunkFilters getFilters(long did, long tid, int elementSize) throws HDF5Exception
+    {
+        if (!isFiltersKnown) {
+            filters        = H5ChunkFilters.get(did, tid, elementSize);
+            isFiltersKnown = true;
+        }
+
+        return filters;
+    }
+
+    /**
+     * Returns the dimensions of a chunk of the dataset, or null if the dataset is not chunked.
+     */
+    private long[] getChunkDims(long did, int rank) throws HDF5Exception
+    {
+        if (isLayoutKnown)
+            return chunkDims;
+
+        long pcid = HDF5Constants.H5I_INVALID_HID;
+        try {
+            pcid = H5.H5Dget_create_plist(did);
+            if (H5.H5Pget_layout(pcid) == HDF5Constants.H5D_CHUNKED) {
+                chunkDims = new long[rank];
+                H5.H5Pget_chunk(pcid, rank, chunkDims);
+            }
+        }
+        finally {
+            try {
+                H5.H5Pclose(pcid);
+            }
+            catch (Exception ex) {
+                log.debug("getChunkDims(): H5Pclose(pcid {}) failure: ", pcid, ex);
+            }
+        }
+        isLayoutKnown = true;
+
+        log.trace("getChunkDims(): chunkDims={}", chunkDims);
+        return chunkDims;
+    }
+
+    /**
+     * Adds a chunk to the cache unless it is larger than the whole cache.
+     */
+    private void put(ChunkKey key, Object chunk, long nbytes)
+    {
+        if (nbytes > maxBytes)
+            return;
+
+        chunks.put(key, chunk);
+        cachedBytes += nbytes;
+        evict();
+    }
+
+    /**
+     * Drops the least recently used chunks until the cache fits in its maximum size.
+     */
+    private void evict()
+    {
+        Iterator<Map.Entry<ChunkKey, Object>> it = chunks.entrySet().iterator();
+        while ((cachedBytes > maxBytes) && it.hasNext()) {
+            Object chunk = it.next().getValue();
+            cachedBytes -=
+                Array.getLength(chunk) * (long)Utils.getElementSize(chunk.getClass().getComponentType());
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * Copyright by the Board of Trustees of the University of Illinois.         *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object.h5;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+import hdf.object.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes the raw chunks of a chunked dataset in Java, so that chunks read with the direct chunk read of
+ * the library can be decompressed on several threads instead of inside H5Dread.
+ *
+ * Only the deflate and shuffle filters are decoded. The pipeline of a dataset with any other filter, or
+ * with a datatype whose memory type is not the native form of its file type, is not supported.
+ */
+final class H5ChunkFilters {
+    private static final Logger log = LoggerFactory.getLogger(H5ChunkFilters.class);
+
+    /** the filters of the pipeline, in the order they were applied when the chunks were written */
+    private final int[] filterIds;
+
+    /** the element size the shuffle filter was applied with, for each filter */
+    private final int[] shuffleSizes;
+
+    /** the byte order of the datatype in the file */
+    private final ByteOrder order;
+
+    private H5ChunkFilters(int[] filterIds, int[] shuffleSizes, ByteOrder order)
+    {
+        this.filterIds    = filterIds;
+        this.shuffleSizes = shuffleSizes;
+        this.order        = order;
+    }
+
+    /**
+     * Looks up the filter pipeline and the datatype of a dataset.
+     *
+     * @param did         the dataset identifier.
+     * @param tid         the memory datatype identifier.
+     * @param elementSize the size of a data point in memory.
+     *
+     * @return the decoder of the chunks of the dataset, or null if they cannot be decoded in Java.
+     *
+     * @throws HDF5Exception if the pipeline or the datatype could not be looked up.
+     */
+    static H5ChunkFilters get(long did, long tid, int elementSize) throws HDF5Exception
+    {
+        long pcid    = HDF5Constants.H5I_INVALID_HID;
+        long ftid    = HDF5Constants.H5I_INVALID_HID;
+        long nativeT = HDF5Constants.H5I_INVALID_HID;
+        try {
+            // the raw chunks hold the file type; only its byte order may differ from the memory type
+            ftid    = H5.H5Dget_type(did);
+            nativeT = H5.H5Tget_native_type(ftid);
+            if (!H5.H5Tequal(nativeT, tid) || (H5.H5Tget_size(ftid) != elementSize)) {
+                log.trace("get(): memory type is not the native file type");
+                return null;
+            }
+            ByteOrder order = (H5.H5Tget_order(ftid) == HDF5Constants.H5T_ORDER_BE) ? ByteOrder.BIG_ENDIAN
+                                                                                     : ByteOrder.LITTLE_ENDIAN;
+
+            pcid               = H5.H5Dget_create_plist(did);
+            int nfilt          = H5.H5Pget_nfilters(pcid);
+            int[] filterIds    = new int[nfilt];
+            int[] shuffleSizes = new int[nfilt];
+            for (int i = 0; i < nfilt; i++) {
+                int[] flags        = {0, 0};
+                long[] cdNelmts    = {20};
+                int[] cdValues     = new int[(int)cdNelmts[0]];
+                String[] cdName    = {"", ""};
+                int[] filterConfig = {1};
+
+                filterIds[i] =
+                    H5.H5Pget_filter(pcid, i, flags, cdNelmts, cdValues, 120, cdName, filterConfig);
+                if (filterIds[i] == HDF5Constants.H5Z_FILTER_SHUFFLE) {
+                    shuffleSizes[i] = (cdNelmts[0] > 0) ? cdValues[0] : elementSize;
+                }
+                else if (filterIds[i] != HDF5Constants.H5Z_FILTER_DEFLATE) {
+                    log.trace("get(): filter {} is not decoded in Java", filterIds[i]);
+                    return null;
+                }
+            }
+
+            return new H5ChunkFilters(filterIds, shuffleSizes, order);
+        }
+        finally {
+            try {
+                H5.H5Tclose(nativeT);
+            }
+            catch (Exception ex) {
+                log.debug("get(): H5Tclose(nativeT {}) failure: ", nativeT, ex);
+            }
+            try {
+                H5.H5Tclose(ftid);
+            }
+            catch (Exception ex) {
+                log.debug("get(): H5Tclose(ftid {}) failure: ", ftid, ex);
+            }
+            try {
+                H5.H5Pclose(pcid);
+            }
+            catch (Exception ex) {
+                log.debug("get(): H5Pclose(pcid {}) failure: ", pcid, ex);
+            }
+        }
+    }
+
+    /**
+     * Decodes a raw chunk into an array of the part of the chunk inside the dataset.
+     *
+     * @param raw        the raw chunk as stored in the file.
+     * @param filterMask the filters skipped when the chunk was written, one bit for each filter.
+     * @param type       the component type of the array.
+     * @param cdims      the dimensions of a chunk.
+     * @param extent     the dimensions of the part of the chunk inside the dataset.
+     *
+     * @return the array of the data points of the chunk.
+     *
+     * @throws DataFormatException if the chunk could not be decoded.
+     */
+    Object decode(byte[] raw, int filterMask, Class<?> type, long[] cdims, long[] extent)
+        throws DataFormatException
+    {
+        int elementSize = Utils.getElementSize(type);
+
+        long chunkPoints = 1;
+        for (long c : cdims)
+            chunkPoints *= c;
+        int nbytes = (int)(chunkPoints * elementSize);
+
+        // undo the filters in the reverse order they were applied
+        byte[] bytes = raw;
+        for (int i = filterIds.length - 1; i >= 0; i--) {
+            if ((filterMask & (1 << i)) != 0)
+                continue;
+
+            if (filterIds[i] == HDF5Constants.H5Z_FILTER_DEFLATE)
+                bytes = inflate(bytes, nbytes);
+            else
+                bytes = unshuffle(bytes, shuffleSizes[i]);
+        }
+
+        if (bytes.length != nbytes)
+            throw new DataFormatException("chunk of " + bytes.length + " bytes instead of " + nbytes);
+
+        return toArray(ByteBuffer.wrap(bytes).order(order), type, cdims, extent);
+    }
+
+    private static byte[] inflate(byte[] in, int nbytes) throws DataFormatException
+    {
+        byte[] out        = new byte[nbytes];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in);
+            int n = 0;
+            while ((n < nbytes) && !inflater.finished()) {
+                int len = inflater.inflate(out, n, nbytes - n);
+                if ((len == 0) && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new DataFormatException("truncated deflate stream");
+                n += len;
+            }
+
+            if (n != nbytes)
+                throw new DataFormatException("inflated " + n + " bytes instead of " + nbytes);
+        }
+        finally {
+            inflater.end();
+        }
+
+        return out;
+    }
+
+    /**
+     * Undoes the shuffle filter, which stores the first bytes of all the elements, then the second bytes,
+     * and so on, leaving any bytes after the last whole element in place.
+     */
+    private static byte[] unshuffle(byte[] in, int size)
+    {
+        if (size <= 1)
+            return in;
+
+        byte[] out = new byte[in.length];
+        int n      = in.length / size;
+        for (int b = 0; b < size; b++) {
+            int src = b * n;
+            for (int j = 0; j < n; j++)
+                out[j * size + b] = in[src + j];
+        }
+        System.arraycopy(in, n * size, out, n * size, in.length - n * size);
+
+        return out;
+    }
+
+    /**
+     * Copies the part of a decoded chunk inside the dataset into an array of primitives.
+     */
+    private static Object toArray(ByteBuffer buf, Class<?> type, long[] cdims, long[] extent)
+    {
+        int rank     = cdims.length;
+        long npoints = 1;
+        for (long e : extent)
+            npoints *= e;
+
+        Object array;
+        Buffer view;
+        if (type == byte.class) {
+            array = new byte[(int)npoints];
+            view  = buf;
+        }
+        else if (type == short.class) {
+            array = new short[(int)npoints];
+            view  = buf.asShortBuffer();
+        }
+        else if (type == int.class) {
+            array = new int[(int)npoints];
+            view  = buf.asIntBuffer();
+        }
+        else if (type == long.class) {
+            array = new long[(int)npoints];
+            view  = buf.asLongBuffer();
+        }
+        else if (type == float.class) {
+            array = new float[(int)npoints];
+            view  = buf.asFloatBuffer();
+        }
+        else {
+            array = new double[(int)npoints];
+            view  = buf.asDoubleBuffer();
+        }
+
+        // the distance between points along each dimension in the whole chunk
+        long[] strides = new long[rank];
+        strides[rank - 1] = 1;
+        for (int d = rank - 2; d >= 0; d--)
+            strides[d] = strides[d + 1] * cdims[d + 1];
+
+        // copy the rows of the part of the chunk inside the dataset
+        int last       = rank - 1;
+        int rowLength  = (int)extent[last];
+        long[] k       = new long[rank];
+        int dstPos     = 0;
+        boolean isDone = false;
+        while (!isDone) {
+            long srcPos = 0;
+            for (int d = 0; d < last; d++)
+                srcPos += k[d] * strides[d];
+
+            view.position((int)srcPos);
+            getRun(view, array, dstPos, rowLength);
+            dstPos += rowLength;
+
+            isDone = true;
+            for (int d = last - 1; d >= 0; d--) {
+                if (++k[d] < extent[d]) {
+                    isDone = false;
+                    break;
+                }
+                k[d] = 0;
+            }
+        }
+
+        return array;
+    }
+
+    private static void getRun(Buffer view, Object array, int pos, int n)
+    {
+        if (array instanceof byte[])
+            ((ByteBuffer)view).get((byte[])array, pos, n);
+        else if (array instanceof short[])
+            ((ShortBuffer)view).get((short[])array, pos, n);
+        else if (array instanceof int[])
+            ((IntBuffer)view).get((int[])array, pos, n);
+        else if (array instanceof long[])
+            ((LongBuffer)view).get((long[])array, pos, n);
+        else if (array instanceof float[])
+            ((FloatBuffer)view).get((float[])array, pos, n);
+        else
+            ((DoubleBuffer)view).get((double[])array, pos, n);
+    }
+}
@@ -15,9 +15,13 @@
 package hdf.object.h5;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 import hdf.object.Attribute;
@@ -108,6 +112,12 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
     /** the list of virtual names. */
     private List<String> virtualNameList;
 
+    /**
+     * flag to indicate if the selected fixed-size members are read with a single H5Dread into a packed
+     * buffer instead of one H5Dread per member.
+     */
+    private boolean packedRead = true;
+
     /**
      * Constructs an instance of a HDF5 compound dataset with given file, dataset name and path.
      *
@@ -590,6 +600,29 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
         return datatype;
     }
 
+    /**
+     * Sets whether the selected fixed-size members are read together.
+     *
+     * When enabled (the default), read() builds a packed compound datatype holding all of the
+     * selected fixed-size members, reads the selection with a single H5Dread and splits the
+     * interleaved result into the per-member arrays. Each chunk of a chunked dataset is then
+     * read and decompressed once instead of once per member. Members which cannot be packed are
+     * still read one at a time.
+     *
+     * @param packed
+     *            true to read the selected members with one H5Dread; false to read them one by one.
+     */
+    public void setPackedRead(boolean packed) { packedRead = packed; }
+
+    /**
+     * Checks whether the selected fixed-size members are read with a single H5Dread.
+     *
+     * @return true if packed reads are enabled; otherwise, false.
+     *
+     * @see #setPackedRead(boolean)
+     */
+    public boolean isPackedRead() { return packedRead; }
+
     /**
      * Removes all of the elements from metadata list.
      * The list should be empty after this call returns.
@@ -885,8 +918,29 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
                 long totalSelectedSpacePoints = H5Utils.getTotalSelectedSpacePoints(
                     did, dims, startDims, selectedStride, selectedDims, spaceIDs);
 
+                /*
+                 * Read all selected fixed-size top-level members in one pass; whatever is left
+                 * over is read member by member below.
+                 */
+                Map<Integer, Object> packedMembers = null;
+                if ((ioType == H5File.IO_TYPE.READ) && packedRead && dsDatatype.isCompound()) {
+                    try {
+                        packedMembers = readPackedCompoundMembers(did, spaceIDs,
+                                                                  (int)totalSelectedSpacePoints, dsDatatype);
+                    }
+                    catch (HDF5DataFiltersException exfltr) {
+                        log.debug("compoundDatasetCommonIO(): packed read failure: ", exfltr);
+                        throw new Exception("Filter not available exception: " + exfltr.getMessage(), exfltr);
+                    }
+                    catch (Exception ex) {
+                        log.debug("compoundDatasetCommonIO(): packed read failed, reading member by member: ",
+                                  ex);
+                        packedMembers = null;
+                    }
+                }
+
                 theData = compoundTypeIO(ioType, did, spaceIDs, (int)totalSelectedSpacePoints, dsDatatype,
-                                         writeBuf, new int[] {0});
+                                         writeBuf, new int[] {0}, packedMembers);
             }
             finally {
                 if (HDF5Constants.H5S_ALL != spaceIDs[0]) {
@@ -926,9 +980,13 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
      * NOTE: the globalMemberIndex hack is ugly, but we need to keep track of a
      * running counter so that we can index properly into the flattened name list
      * generated from H5Datatype.extractCompoundInfo() at dataset init time.
+     *
+     * packedMembers holds member data already read by readPackedCompoundMembers(),
+     * keyed by flattened member index; it may be null.
      */
     private Object compoundTypeIO(H5File.IO_TYPE ioType, long did, long[] spaceIDs, int nSelPoints,
-                                  final H5Datatype cmpdType, Object writeBuf, int[] globalMemberIndex)
+                                  final H5Datatype cmpdType, Object writeBuf, int[] globalMemberIndex,
+                                  Map<Integer, Object> packedMembers)
     {
         Object theData = null;
 
@@ -940,7 +998,7 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
             for (int i = 0; i < arrayDims.length; i++)
                 arrSize *= arrayDims[i];
             theData = compoundTypeIO(ioType, did, spaceIDs, arrSize, (H5Datatype)cmpdType.getDatatypeBase(),
-                                     writeBuf, globalMemberIndex);
+                                     writeBuf, globalMemberIndex, packedMembers);
         }
         else if (cmpdType.isVLEN() && !cmpdType.isVarStr()) {
             /*
@@ -951,7 +1009,7 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
             Datatype baseType = cmpdType.getDatatypeBase();
             if (baseType != null && baseType.isCompound()) {
                 theData = compoundTypeIO(ioType, did, spaceIDs, nSelPoints, (H5Datatype)baseType, writeBuf,
-                                         globalMemberIndex);
+                                         globalMemberIndex, packedMembers);
             }
         }
         else if (cmpdType.isCompound()) {
@@ -1019,7 +1077,7 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
                             if (memberType.isCompound()) {
                                 log.trace("  Member is COMPOUND type - recursing");
                                 memberData = compoundTypeIO(ioType, did, spaceIDs, nSelPoints, memberType,
-                                                            writeBuf, globalMemberIndex);
+                                                            writeBuf, globalMemberIndex, packedMembers);
                             }
                             else if (
                                 memberType
@@ -1046,7 +1104,13 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
                                     globalMemberIndex[0]++;
 
                                     memberData = compoundTypeIO(ioType, did, spaceIDs, nSelPoints, memberType,
-                                                                writeBuf, globalMemberIndex);
+                                                                writeBuf, globalMemberIndex, packedMembers);
+                                }
+                                else if ((packedMembers != null) &&
+                                         packedMembers.containsKey(globalMemberIndex[0])) {
+                                    log.trace("  Member is ARRAY type - read by the packed read");
+                                    memberData = packedMembers.get(globalMemberIndex[0]);
+                                    globalMemberIndex[0]++;
                                 }
                                 else {
                                     log.trace("  Member is ARRAY type - calling readSingleCompoundMember");
@@ -1056,6 +1120,12 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
                                     log.trace("  AFTER READ: globalMemberIndex[0]={}", globalMemberIndex[0]);
                                 }
                             }
+                            else if ((packedMembers != null) &&
+                                     packedMembers.containsKey(globalMemberIndex[0])) {
+                                log.trace("  Member was read by the packed read");
+                                memberData = packedMembers.get(globalMemberIndex[0]);
+                                globalMemberIndex[0]++;
+                            }
                             else {
                                 log.trace("  Member is ATOMIC type - calling readSingleCompoundMember");
                                 memberData = readSingleCompoundMember(did, spaceIDs, nSelPoints, memberType,
@@ -1131,7 +1201,7 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
                                 log.trace("  Retrieved nestedList from writeBuf[{}] (now writeListIndex={})",
                                           writeListIndex - 1, writeListIndex);
                                 compoundTypeIO(ioType, did, spaceIDs, nSelPoints, memberType, nestedList,
-                                               globalMemberIndex);
+                                               globalMemberIndex, packedMembers);
                             }
                             else {
                                 log.trace("  Member is ATOMIC type - calling writeSingleCompoundMember");
@@ -1162,6 +1232,195 @@ public class H5CompoundDS extends CompoundDS implements MetaDataContainer {
         return theData;
     }
 
+    /*
+     * Private routine to read all of the selected, fixed-size top-level members of a
+     * compound dataset with a single H5Dread call. A packed memory compound datatype
+     * containing only those members is created, the selection is read into one
+     * interleaved byte buffer and each field is then split out into its own Java
+     * array. This avoids decompressing every chunk of the dataset once per member.
+     *
+     * Members which cannot be handled this way (nested compounds, variable-length
+     * data, references, complex numbers and floats without a Java equivalent) are left
+     * for readSingleCompoundMember(). The returned map is keyed by the flattened
+     * member index used by compoundTypeIO().
+     */
+    private Map<Integer, Object> readPackedCompoundMembers(long did, long[] spaceIDs, int nSelPoints,
+                                                           final H5Datatype cmpdType) throws Exception
+    {
+        Map<Integer, Object> packedData = new HashMap<>();
+        List<Datatype> typeList         = cmpdType.getCompoundMemberTypes();
+        List<String> nameList           = cmpdType.getCompoundMemberNames();
+
+        if ((typeList == null) || (nameList == null) || (nSelPoints <= 0))
+            return packedData;
+
+        List<Integer> flatIndexList   = new ArrayList<>();
+        List<H5Datatype> packTypeList = new ArrayList<>();
+        List<String> packNameList     = new ArrayList<>();
+        List<Long> packTidList        = new ArrayList<>();
+        List<Long> packSizeList       = new ArrayList<>();
+        long memTid                   = HDF5Constants.H5I_INVALID_HID;
+
+        try {
+            long recordSize = 0;
+
+            for (int i = 0, flatIndex = 0; i < typeList.size(); i++) {
+                H5Datatype memberType = (H5Datatype)typeList.get(i);
+                int nFlat             = getFlatMemberCount(memberType);
+
+                if (isPackableMember(memberType) && isMemberSelected[flatIndex % this.getMemberCount()]) {
+                    long nativeTid = memberType.createNative();
+                    if (nativeTid >= 0) {
+                        long nativeSize = H5.H5Tget_size(nativeTid);
+
+                        flatIndexList.add(flatIndex);
+                        packTypeList.add(memberType);
+                        packNameList.add(nameList.get(i));
+                        packTidList.add(nativeTid);
+                        packSizeList.add(nativeSize);
+                        recordSize += nativeSize;
+                    }
+                }
+
+                flatIndex += nFlat;
+            }
+
+            /*
+             * With fewer than two members there is nothing to gain over reading the
+             * member by itself.
+             */
+            if (packTypeList.size() < 2) {
+                log.trace("readPackedCompoundMembers(): {} packable members, skipping packed read",
+                          packTypeList.size());
+                return packedData;
+            }
+
+            long bufSize = recordSize * nSelPoints;
+            if (bufSize > Integer.MAX_VALUE) {
+                log.debug("readPackedCompoundMembers(): packed buffer size {} too large", bufSize);
+                return packedData;
+            }
+
+            memTid      = H5.H5Tcreate(HDF5Constants.H5T_COMPOUND, recordSize);
+            long offset = 0;
+            for (int i = 0; i < packTidList.size(); i++) {
+                H5.H5Tinsert(memTid, packNameList.get(i), offset, packTidList.get(i));
+                offset += packSizeList.get(i);
+            }
+
+            byte[] packedBuf = new byte[(int)bufSize];
+
+            log.trace(
+                "readPackedCompoundMembers(): H5Dread did={} memTid={} members={} recordSize={} nSelPoints={}",
+                did, memTid, packTypeList.size(), recordSize, nSelPoints);
+            H5.H5Dread(did, memTid, spaceIDs[0], spaceIDs[1], HDF5Constants.H5P_DEFAULT, packedBuf);
+
+            offset = 0;
+            for (int i = 0; i < packTypeList.size(); i++) {
+                H5Datatype memberType = packTypeList.get(i);
+                int memberSize        = packSizeList.get(i).intValue();
+
+                Object memberData = H5Datatype.allocateArray(memberType, nSelPoints);
+                unpackMember(packedBuf, (int)recordSize, (int)offset, memberSize, nSelPoints, memberData);
+
+                if (memberType.isUnsigned())
+                    memberData = Dataset.convertFromUnsignedC(memberData, null);
+                else if (Utils.getJavaObjectRuntimeClass(memberData) == 'B')
+                    memberData = convertByteMember(memberType, (byte[])memberData);
+
+                packedData.put(flatIndexList.get(i), memberData);
+                offset += memberSize;
+            }
+        }
+        finally {
+            for (Long tid : packTidList)
+                cmpdType.close(tid);
+            cmpdType.close(memTid);
+        }
+
+        return packedData;
+    }
+
+    /*
+     * Checks whether a compound member can be read as part of a packed read, i.e.
+     * whether it has a fixed size in memory and is read into a flat Java array.
+     */
+    private static boolean isPackableMember(final Datatype memberType)
+    {
+        if (memberType == null)
+            return false;
+
+        if (memberType.isArray())
+            return isPackableMember(memberType.getDatatypeBase());
+
+        if (memberType.isCompound() || memberType.isVLEN() || memberType.isVarStr() || memberType.isRef() ||
+            memberType.isComplex())
+            return false;
+
+        if (memberType.isFloat()) {
+            long size = memberType.getDatatypeSize();
+            return (size == 4) || (size == 8);
+        }
+
+        return memberType.isInteger() || memberType.isEnum() || memberType.isString() ||
+            memberType.isChar() || memberType.isOpaque() || memberType.isBitField();
+    }
+
+    /*
+     * Returns the number of entries a top-level compound member occupies in the
+     * flattened member list built by H5Datatype.extractCompoundInfo().
+     */
+    private static int getFlatMemberCount(final H5Datatype memberType)
+    {
+        List<Datatype> flatTypes = new ArrayList<>();
+
+        if (memberType.isCompound()) {
+            H5Datatype.extractCompoundInfo(memberType, "", null, flatTypes);
+            return flatTypes.size();
+        }
+
+        if (memberType.isArray())
+            H5Datatype.extractCompoundInfo(memberType, "", null, flatTypes);
+
+        return 1 + flatTypes.size();
+    }
+
+    /*
+     * Copies one field out of an interleaved buffer of packed compound records into
+     * the given Java array. Values are in native byte order.
+     */
+    private static void unpackMember(byte[] packedBuf, int recordSize, int offset, int memberSize, int nPoints,
+                                     Object memberData) throws Exception
+    {
+        byte[] fieldBuf;
+        if ((memberData instanceof byte[]) && (((byte[])memberData).length == nPoints * memberSize))
+            fieldBuf = (byte[])memberData;
+        else
+            fieldBuf = new byte[nPoints * memberSize];
+
+        for (int i = 0, src = offset, dst = 0; i < nPoints; i++, src += recordSize, dst += memberSize)
+            System.arraycopy(packedBuf, src, fieldBuf, dst, memberSize);
+
+        if (fieldBuf == memberData)
+            return;
+
+        ByteBuffer bb = ByteBuffer.wrap(fieldBuf).order(ByteOrder.nativeOrder());
+        int nBytes    = fieldBuf.length;
+
+        if ((memberData instanceof short[] sdata) && (sdata.length * 2 == nBytes))
+            bb.asShortBuffer().get(sdata);
+        else if ((memberData instanceof int[] idata) && (idata.length * 4 == nBytes))
+            bb.asIntBuffer().get(idata);
+        else if ((memberData instanceof long[] ldata) && (ldata.length * 8 == nBytes))
+            bb.asLongBuffer().get(ldata);
+        else if ((memberData instanceof float[] fdata) && (fdata.length * 4 == nBytes))
+            bb.asFloatBuffer().get(fdata);
+        else if ((memberData instanceof double[] ddata) && (ddata.length * 8 == nBytes))
+            bb.asDoubleBuffer().get(ddata);
+        else
+            throw new Exception("packed member buffer does not match member type");
+    }
+
     /*
      * Private routine to read a single field of a compound datatype by creating a
      * compound datatype and inserting the single field into that datatype.
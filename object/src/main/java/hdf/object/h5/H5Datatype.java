@@ -17,10 +17,7 @@ package hdf.object.h5;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.math.MathContext;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -113,6 +110,14 @@ public class H5Datatype extends Datatype {
     /** The native inpad properties of the float datatype. */
     private int nativeFPinpad = -1;
 
+    /** The layouts of 16-bit floating-point numbers widened to floats in Java. */
+    static final int FLOAT16_NONE = 0;
+    static final int FLOAT16_IEEE = 1;
+    static final int FLOAT16_BFLOAT = 2;
+
+    /** The decoder of the floating-point numbers read from file, created as it is first needed. */
+    private transient H5FloatDecoder floatDecoder = null;
+
     /** The native padding properties of the string datatype. */
     private int nativeStrPad = -1;
     /** The native CSET properties of the string datatype. */
@@ -697,31 +702,42 @@ public class H5Datatype extends Datatype {
      */
     public BigDecimal[] byteToBigDecimal(int start, int len, byte[] data)
     {
-        int ii;
-        byte[] bd            = new byte[(int)datatypeSize];
-        BigDecimal[] BDarray = new BigDecimal[len];
+        BigDecimal[] BDarray  = new BigDecimal[len];
+        H5FloatDecoder decoder = getFloatDecoder();
+        if (decoder == null)
+            return BDarray;
+
+        for (int ii = 0; ii < len; ii++)
+            BDarray[ii] = decoder.toBigDecimal(data, start + ii);
 
-        for (ii = 0; ii < len; ii++) {
-            int rawpos = (start + ii) * (int)datatypeSize;
-            /* bitsets operate assuming LE order, BigInteger/BigDecimal expect BE */
-            if (datatypeOrder == ORDER_BE) {
-                int k = 0;
-                for (int j = (int)datatypeSize - 1; j >= 0; j--)
-                    bd[k++] = data[rawpos + j];
-            }
-            else {
-                try {
-                    System.arraycopy(data, rawpos, bd, 0, (int)datatypeSize);
-                }
-                catch (Exception err) {
-                    log.trace("byteToBigDecimal(): arraycopy failure: ", err);
-                }
-            }
-            BDarray[ii] = convertByteToBigDecimal(bd);
-        }
         return BDarray;
     }
 
+    /**
+     * Convert a range from an array of bytes into an array of doubles, rounding the floating-point numbers
+     * larger than a double, such as long doubles, to the nearest double.
+     *
+     * @param start
+     *              The position in the input array of bytes to start
+     * @param len
+     *              The number of 'double' to convert
+     * @param data
+     *              The input array of bytes
+     * @return an array of 'len' double
+     */
+    public double[] byteToDouble(int start, int len, byte[] data)
+    {
+        double[] darray        = new double[len];
+        H5FloatDecoder decoder = getFloatDecoder();
+        if (decoder == null)
+            return darray;
+
+        for (int ii = 0; ii < len; ii++)
+            darray[ii] = decoder.toDouble(data, start + ii);
+
+        return darray;
+    }
+
     /**
      * Convert 4 bytes from an array of bytes into a single BigDecimal
      *
@@ -733,9 +749,9 @@ public class H5Datatype extends Datatype {
      */
     public BigDecimal byteToBigDecimal(byte[] data, int start)
     {
-        BigDecimal[] bdval = new BigDecimal[1];
-        bdval              = byteToBigDecimal(start, 1, data);
-        return (bdval[0]);
+        H5FloatDecoder decoder = getFloatDecoder();
+
+        return (decoder == null) ? null : decoder.toBigDecimal(data, start);
     }
 
     /**
@@ -747,64 +763,7 @@ public class H5Datatype extends Datatype {
      */
     public BigDecimal convertByteToBigDecimal(byte[] raw)
     {
-        BitSet rawset = BitSet.valueOf(raw);
-
-        boolean sign       = rawset.get(nativeOffset + (int)nativeFPspos);
-        BitSet mantissaset = rawset.get(nativeOffset + (int)nativeFPmpos,
-                                        nativeOffset + (int)nativeFPmpos + (int)nativeFPmsize);
-        BitSet exponentset = rawset.get(nativeOffset + (int)nativeFPepos,
-                                        nativeOffset + (int)nativeFPepos + (int)nativeFPesize);
-        byte[] expraw      = Arrays.copyOf(exponentset.toByteArray(), (int)(nativeFPesize + 7) / 8);
-        byte[] bexp        = new byte[expraw.length];
-        /* bitsets operate assuming LE order, BigInteger/BigDecimal expect BE */
-        if (datatypeOrder == ORDER_LE) {
-            int k = 0;
-            for (int j = expraw.length - 1; j >= 0; j--)
-                bexp[k++] = expraw[j];
-        }
-        else {
-            try {
-                System.arraycopy(expraw, 0, bexp, 0, expraw.length);
-            }
-            catch (Exception err) {
-                log.trace("convertByteToBigDecimal(): arraycopy failure: ", err);
-            }
-        }
-        BigInteger bscale = new BigInteger(bexp);
-        long scale        = bscale.longValue();
-        scale -= nativeFPebias;
-        double powscale = Math.pow(2, scale);
-
-        byte[] manraw = Arrays.copyOf(mantissaset.toByteArray(), (int)(nativeFPmsize + 7) / 8);
-        byte[] bman   = new byte[manraw.length];
-        /* bitsets operate assuming LE order, BigInteger/BigDecimal expect BE */
-        if (datatypeOrder == ORDER_BE) {
-            int k = 0;
-            for (int j = manraw.length - 1; j >= 0; j--)
-                bman[k++] = manraw[j];
-        }
-        else {
-            try {
-                System.arraycopy(manraw, 0, bman, 0, manraw.length);
-            }
-            catch (Exception err) {
-                log.trace("convertByteToBigDecimal(): arraycopy failure: ", err);
-            }
-        }
-        BitSet manset = BitSet.valueOf(bman);
-
-        // calculate mantissa value
-        double val = 0.0;
-        for (int i = 0; i < (int)nativeFPmsize; i++) {
-            if (manset.get((int)nativeFPmsize - 1 - i))
-                val += Math.pow(2, -(i));
-        }
-        if (nativeFPnorm == HDF5Constants.H5T_NORM_IMPLIED || nativeFPnorm == HDF5Constants.H5T_NORM_MSBSET)
-            val += 1;
-        BigDecimal sig = BigDecimal.valueOf(val);
-        if (sign)
-            sig.negate(MathContext.DECIMAL128);
-        return sig.multiply(new BigDecimal(powscale, MathContext.DECIMAL128));
+        return byteToBigDecimal(raw, 0);
     }
 
     /**
@@ -828,143 +787,80 @@ public class H5Datatype extends Datatype {
      */
     public double convertBytesToDouble(byte[] raw)
     {
-        try {
-            log.trace("convertBytesToDouble(): mpos={} msize={} epos={} esize={} bias={} norm={} order={}",
-                      nativeFPmpos, nativeFPmsize, nativeFPepos, nativeFPesize, nativeFPebias, nativeFPnorm,
-                      datatypeOrder);
-
-            /*
-             * Detect x86 extended precision format early for proper byte order handling.
-             */
-            boolean isX86Extended =
-                (raw.length == 16 && nativeFPesize == 15 && nativeFPebias == 16383 && nativeFPmsize == 112);
-
-            /*
-             * BitSet.valueOf() interprets bytes as little-endian.
-             * For big-endian data, reverse the byte array first.
-             *
-             * For x86 extended precision in BE:
-             * - Bytes 0-5: padding (00 00 00 00 00 00)
-             * - Bytes 6-7: sign + exponent (3F FF for 1.0)
-             * - Bytes 8-15: mantissa (80 00 00 00 00 00 00 00 for 1.0)
-             *
-             * Need to convert to LE layout:
-             * - Bytes 0-7: mantissa
-             * - Bytes 8-9: sign + exponent
-             * - Bytes 10-15: padding
-             */
-            /*
-             * For x86 extended precision, HDF5 stores bytes in canonical LE format
-             * regardless of the dataset's byte order attribute, so no conversion needed.
-             * For other BE formats, reverse the entire byte array.
-             */
-            byte[] rawBytes = raw;
-            if (datatypeOrder == ORDER_BE && !isX86Extended) {
-                // Generic BE reversal for non-x86 formats
-                rawBytes = new byte[raw.length];
-                for (int i = 0; i < raw.length; i++)
-                    rawBytes[i] = raw[raw.length - 1 - i];
-            }
-
-            // Use BitSet for bit-level extraction
-            BitSet rawset = BitSet.valueOf(rawBytes);
-
-            /*
-             * For x86 extended precision (now converted to LE layout):
-             * - Bits 0-63: mantissa
-             * - Bits 64-78: exponent (15 bits)
-             * - Bit 79: sign
-             * - Bits 80-127: padding
-             */
-            int exponentPos = isX86Extended ? 64 : (int)nativeFPepos;
-            int signPos     = isX86Extended ? 79 : (int)nativeFPspos;
-
-            // Extract sign bit
-            boolean sign = rawset.get(nativeOffset + signPos);
-
-            /*
-             * Extract mantissa bits.
-             * Note: For extended precision formats (e.g., x86 80-bit in 16 bytes),
-             * HDF5 may report msize including padding. Limit to actual precision (64 bits).
-             */
-            long actualMantissaSize = Math.min(nativeFPmsize, 64);
-            BitSet mantissaset      = rawset.get(nativeOffset + (int)nativeFPmpos,
-                                                 nativeOffset + (int)nativeFPmpos + (int)actualMantissaSize);
-
-            // Extract exponent bits
-            BitSet exponentset =
-                rawset.get(nativeOffset + exponentPos, nativeOffset + exponentPos + (int)nativeFPesize);
-
-            // Convert exponent to long, handling byte order
-            byte[] expraw = Arrays.copyOf(exponentset.toByteArray(), (int)(nativeFPesize + 7) / 8);
-            byte[] bexp   = new byte[expraw.length];
-
-            /*
-             * BitSet.toByteArray() returns bytes in LE order.
-             * BigInteger expects bytes in BE order.
-             * After byte reversal for BE data, BitSet is in LE order, so always reverse.
-             */
-            int k = 0;
-            for (int j = expraw.length - 1; j >= 0; j--)
-                bexp[k++] = expraw[j];
-
-            BigInteger bscale = new BigInteger(bexp);
-            long exponent     = bscale.longValue();
-
-            // Apply exponent bias
-            long unbiasedExp = exponent - nativeFPebias;
-
-            // Convert mantissa to double [0, 1)
-            byte[] manraw = Arrays.copyOf(mantissaset.toByteArray(), (int)(actualMantissaSize + 7) / 8);
-
-            /*
-             * After byte reversal for BE data, mantissa bits are already in correct order.
-             * No need for additional reversal - just convert to BitSet for bit extraction.
-             */
-            BitSet manset = BitSet.valueOf(manraw);
-
-            // Calculate mantissa value
-            double mantissa;
-            if (nativeFPnorm == HDF5Constants.H5T_NORM_MSBSET || isX86Extended) {
-                // Explicit integer bit at MSB of mantissa
-                // Bit 63: integer bit (0 or 1)
-                // Bits 0-62: fractional part
-                mantissa = manset.get((int)actualMantissaSize - 1) ? 1.0 : 0.0;
-                for (int i = 0; i < (int)actualMantissaSize - 1; i++) {
-                    if (manset.get((int)actualMantissaSize - 2 - i))
-                        mantissa += Math.pow(2, -(i + 1));
-                }
-            }
-            else if (nativeFPnorm == HDF5Constants.H5T_NORM_IMPLIED) {
-                // Implicit integer bit (always 1, not stored)
-                // All bits are fractional part
-                mantissa = 1.0;
-                for (int i = 0; i < (int)actualMantissaSize; i++) {
-                    if (manset.get((int)actualMantissaSize - 1 - i))
-                        mantissa += Math.pow(2, -(i + 1));
-                }
-            }
-            else {
-                // H5T_NORM_NONE or unknown - treat as all fractional
-                mantissa = 0.0;
-                for (int i = 0; i < (int)actualMantissaSize; i++) {
-                    if (manset.get((int)actualMantissaSize - 1 - i))
-                        mantissa += Math.pow(2, -(i + 1));
-                }
-            }
+        H5FloatDecoder decoder = getFloatDecoder();
+        if ((decoder == null) || (raw.length < decoder.getSize())) {
+            log.debug("convertBytesToDouble(): cannot convert {} bytes, returning 0.0", raw.length);
+            return 0.0;
+        }
+
+        return decoder.toDouble(raw, 0);
+    }
+
+    /**
+     * Returns the layout of 16-bit floating-point numbers which are read as stored and widened to floats in
+     * Java, instead of through the generic floating-point conversion of the library.
+     *
+     * @return FLOAT16_IEEE for IEEE half precision numbers, FLOAT16_BFLOAT for bfloat16 numbers, or
+     *         FLOAT16_NONE for any other datatype.
+     */
+    int getFloat16Layout()
+    {
+        if ((datatypeClass != CLASS_FLOAT) || (datatypeSize != 2) || (nativeFPspos != 15) ||
+            (nativeFPmpos != 0) || (nativeFPnorm != HDF5Constants.H5T_NORM_IMPLIED))
+            return FLOAT16_NONE;
 
-            double significand = mantissa;
+        if ((nativeFPepos == 10) && (nativeFPesize == 5) && (nativeFPmsize == 10) && (nativeFPebias == 15))
+            return FLOAT16_IEEE;
+        if ((nativeFPepos == 7) && (nativeFPesize == 8) && (nativeFPmsize == 7) && (nativeFPebias == 127))
+            return FLOAT16_BFLOAT;
 
-            // Apply exponent
-            double value = Math.scalb(significand, (int)unbiasedExp);
+        return FLOAT16_NONE;
+    }
+
+    /**
+     * Returns the decoder of the floating-point numbers of this datatype as read from file, which are in
+     * the layout of the native datatype created by createNative(). If that layout cannot be retrieved, the
+     * layout of the datatype itself is used, except that 16-byte numbers with the exponent of a long double
+     * are taken as x87 extended precision numbers.
+     *
+     * @return the decoder, or null if the layout of the numbers is not supported.
+     */
+    private H5FloatDecoder getFloatDecoder()
+    {
+        if (floatDecoder != null)
+            return floatDecoder;
 
-            // Apply sign
-            return sign ? -value : value;
+        long tid = HDF5Constants.H5I_INVALID_HID;
+        try {
+            tid = createNative();
+            if (tid >= 0)
+                floatDecoder = H5FloatDecoder.forType(tid);
         }
         catch (Exception ex) {
-            log.debug("convertBytesToDouble(): conversion failed, returning 0.0: ", ex);
-            return 0.0;
+            log.debug("getFloatDecoder(): native layout failure: ", ex);
+        }
+        finally {
+            close(tid);
+        }
+
+        if (floatDecoder == null) {
+            try {
+                if ((datatypeSize == 16) && (nativeFPesize == 15) && (nativeFPebias == 16383) &&
+                    (nativeFPmsize == 112))
+                    floatDecoder = new H5FloatDecoder(16, false, 79, 64, 15, 0, 64, 16383,
+                                                      HDF5Constants.H5T_NORM_NONE);
+                else
+                    floatDecoder = new H5FloatDecoder((int)datatypeSize, datatypeOrder == ORDER_BE,
+                                                      (int)nativeFPspos, (int)nativeFPepos,
+                                                      (int)nativeFPesize, (int)nativeFPmpos,
+                                                      (int)nativeFPmsize, nativeFPebias, nativeFPnorm);
+            }
+            catch (IllegalArgumentException ex) {
+                log.debug("getFloatDecoder(): ", ex);
+            }
         }
+
+        return floatDecoder;
     }
 
     /*
@@ -15,12 +15,19 @@
 package hdf.object.h5;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import hdf.object.Attribute;
 import hdf.object.Dataset;
@@ -103,6 +110,22 @@ public class H5File extends FileFormat {
      */
     private int indexOrder = HDF5Constants.H5_ITER_INC;
 
+    /**
+     * The number of threads used to load the file structure. With more than one thread, the groups are
+     * listed and their members created in parallel.
+     */
+    private int loadThreads = 1;
+
+    /**
+     * The number of members of a group created by one task of the parallel loader.
+     */
+    private static final int LOAD_BLOCK_SIZE = 256;
+
+    /**
+     * The directory of the cache of the file structure, or null if the structure is not cached.
+     */
+    private File structureCacheDir = null;
+
     /**
      * The root object of the file hierarchy.
      */
@@ -1405,7 +1428,7 @@ public class H5File extends FileFormat {
         path = "/" + path;
         path = path.replaceAll("//", "/");
 
-        // the whole file tree is loaded. find the object in the tree
+        // the file tree is loaded, or loaded along the path on demand. find the object in the tree
         if (rootObject != null) {
             obj = findObject(this, path);
         }
@@ -1998,7 +2021,7 @@ public class H5File extends FileFormat {
             return;
         }
 
-        depth_first(g, Integer.MIN_VALUE);
+        depth_first(g, Integer.MIN_VALUE, null);
     }
 
     /*
@@ -2364,8 +2387,62 @@ public class H5File extends FileFormat {
          * Related: Same issue in H4File.java line 712 - needs coordinated fix.
          */
         rootObject = new H5Group(this, "/", null, null);
-        log.trace("loadIntoMemory(): depth_first on root");
-        depth_first(rootObject, 0);
+
+        // only whole structures of files that are not being changed are cached
+        boolean useCache = (structureCacheDir != null) && isReadOnly && !isLoadMembersOnDemand();
+        if (useCache) {
+            if (H5StructureCache.load(this, (H5Group)rootObject, structureCacheDir)) {
+                log.trace("loadIntoMemory(): structure loaded from cache");
+                return;
+            }
+
+            rootObject = new H5Group(this, "/", null, null);
+        }
+
+        // the parallel loader only loads whole files, from the first member on
+        if ((loadThreads > 1) && !isLoadMembersOnDemand() && (getStartMembers() <= 0)) {
+            log.trace("loadIntoMemory(): parallel load on root, threads={}", loadThreads);
+            if (loadInParallel((H5Group)rootObject, loadThreads)) {
+                if (useCache)
+                    H5StructureCache.save(this, (H5Group)rootObject, structureCacheDir);
+                return;
+            }
+
+            rootObject = new H5Group(this, "/", null, null);
+        }
+
+        log.trace("loadIntoMemory(): depth_first on root, members on demand={}", isLoadMembersOnDemand());
+        depth_first(rootObject, 0, null);
+
+        if (useCache)
+            H5StructureCache.save(this, (H5Group)rootObject, structureCacheDir);
+    }
+
+    /**
+     * Loads the members of a group whose members are loaded on demand. Only the
+     * direct members of the group are loaded; the members of its subgroups are
+     * loaded when they are asked for in turn.
+     *
+     * @param pgroup the group whose members are loaded.
+     */
+    void loadMembers(H5Group pgroup)
+    {
+        if (fid < 0) {
+            log.debug("loadMembers(): Invalid FID");
+            return;
+        }
+
+        // objects added to the group before its members were loaded, e.g. newly created ones
+        Set<String> existingNames = null;
+        List<HObject> members     = pgroup.getMemberList();
+        if (!members.isEmpty()) {
+            existingNames = new HashSet<>();
+            for (HObject obj : members)
+                existingNames.add(obj.getName());
+        }
+
+        log.trace("loadMembers({}): depth_first", pgroup);
+        depth_first(pgroup, 0, existingNames);
     }
 
     /**
@@ -2375,30 +2452,136 @@ public class H5File extends FileFormat {
      * It also detects and stops loops. A loop is detected if there exists an object with the same object ID
      * by tracing a path back up to the root.
      *
-     * @param parentObject the parent object.
-     * @param nTotal       the maximum number objects.
+     * When the members of groups are loaded on demand, the subgroups are not traversed; their member lists
+     * are loaded the first time they are asked for.
+     *
+     * @param parentObject  the parent object.
+     * @param nTotal        the maximum number objects.
+     * @param existingNames the names of the members of the parent already in memory, which are not loaded
+     *                      again, or null.
      *
      * @ return the number of objects found
      */
-    @SuppressWarnings("deprecation")
-    private int depth_first(HObject parentObject, int nTotal)
+    private int depth_first(HObject parentObject, int nTotal, Set<String> existingNames)
     {
         log.trace("depth_first({}): start", parentObject);
 
-        int nelems;
+        H5Group pgroup          = (H5Group)parentObject;
+        GroupListing listing    = listMembers(pgroup);
+        if (listing == null)
+            return nTotal;
+
+        String fullPath   = listing.fullPath;
+        String[] objNames = listing.names;
+        int[] objTypes    = listing.types;
+        int nelems        = objNames.length;
+
+        int nStart = getStartMembers();
+        int nMax   = getMaxMembers();
+
+        String objname;
+        int objtype;
+
+        // Iterate through the file to see members of the group
+        for (int i = 0; i < nelems; i++) {
+            objname = objNames[i];
+            objtype = objTypes[i];
+            log.trace("depth_first({}): objname={}, objtype={}", parentObject, objname, objtype);
+
+            if (objname == null) {
+                log.trace("depth_first({}): continue after null objname", parentObject);
+                continue;
+            }
+
+            if ((existingNames != null) && existingNames.contains(objname)) {
+                log.trace("depth_first({}): continue after member {} already in memory", parentObject,
+                          objname);
+                continue;
+            }
+
+            nTotal++;
+
+            if (nMax > 0) {
+                if ((nTotal - nStart) >= nMax)
+                    break; // loaded enough objects
+            }
+
+            boolean skipLoad = false;
+            if ((nTotal > 0) && (nTotal < nStart))
+                skipLoad = true;
+
+            // create a new objects
+            if (objtype == HDF5Constants.H5O_TYPE_GROUP) {
+                H5Group g = (H5Group)createMember(pgroup, fullPath, objname, objtype);
+
+                pgroup.addToMemberList(g);
+
+                // recursively go through the next group
+                // stops if it has loop.
+                if (!hasLoop(pgroup, g)) {
+                    if (isLoadMembersOnDemand())
+                        g.setMemberListDeferred(true);
+                    else
+                        nTotal = depth_first(g, nTotal, null);
+                }
+            }
+            else if (skipLoad) {
+                continue;
+            }
+            else {
+                HObject obj = createMember(pgroup, fullPath, objname, objtype);
+                if (obj != null)
+                    pgroup.addToMemberList(obj);
+            }
+        } // ( i = 0; i < nelems; i++)
+
+        log.trace("depth_first({}): nTotal={}", parentObject, nTotal);
+        return nTotal;
+    } // private depth_first()
+
+    /**
+     * The members of a group as listed by the file.
+     */
+    private static final class GroupListing {
+        /** the full path of the members, i.e. the full name of the group followed by the separator */
+        private final String fullPath;
+
+        /** the names of the members, in index order */
+        private final String[] names;
+
+        /** the object types of the members */
+        private final int[] types;
+
+        /** the members created from the listing, filled in by the parallel loader */
+        private HObject[] members;
+
+        private GroupListing(String fullPath, String[] names, int[] types)
+        {
+            this.fullPath = fullPath;
+            this.names    = names;
+            this.types    = types;
+        }
+    }
+
+    /**
+     * Lists the members of a group with a single library call.
+     *
+     * @param pgroup the group whose members are listed.
+     *
+     * @return the listing, or null if the group has no members or could not be listed.
+     */
+    private GroupListing listMembers(H5Group pgroup)
+    {
         String fullPath = null;
-        String ppath    = null;
+        String ppath    = pgroup.getPath();
         long gid        = -1;
-
-        H5Group pgroup = (H5Group)parentObject;
-        ppath          = pgroup.getPath();
+        int nelems      = 0;
 
         if (ppath == null)
             fullPath = HObject.SEPARATOR;
         else
             fullPath = ppath + pgroup.getName() + HObject.SEPARATOR;
 
-        nelems = 0;
         try {
             gid             = pgroup.open();
             H5G_info_t info = H5.H5Gget_info(gid);
@@ -2406,13 +2589,15 @@ public class H5File extends FileFormat {
         }
         catch (HDF5Exception ex) {
             nelems = -1;
-            log.debug("depth_first({}): H5Gget_info(gid {}) failure: ", parentObject, gid, ex);
+            log.debug("listMembers({}): H5Gget_info(gid {}) failure: ", pgroup, gid, ex);
+        }
+        finally {
+            pgroup.close(gid);
         }
 
         if (nelems <= 0) {
-            pgroup.close(gid);
-            log.debug("depth_first({}): nelems <= 0", parentObject);
-            return nTotal;
+            log.debug("listMembers({}): nelems <= 0", pgroup);
+            return null;
         }
 
         // since each call of H5.H5Gget_objname_by_idx() takes about one second.
@@ -2429,159 +2614,284 @@ public class H5File extends FileFormat {
                                     indexOrder);
         }
         catch (HDF5Exception ex) {
-            log.debug("depth_first({}): failure: ", parentObject, ex);
+            log.debug("listMembers({}): failure: ", pgroup, ex);
             ex.printStackTrace();
-            return nTotal;
+            return null;
         }
 
-        int nStart = getStartMembers();
-        int nMax   = getMaxMembers();
-
-        String objname;
-        int objtype;
-
-        // Iterate through the file to see members of the group
-        for (int i = 0; i < nelems; i++) {
-            objname = objNames[i];
-            objtype = objTypes[i];
-            log.trace("depth_first({}): objname={}, objtype={}", parentObject, objname, objtype);
-            log.trace("depth_first({}): objTokens[{}]={}", parentObject, i, objTokens[i].data);
-            long[] objtok = HDFNativeData.byteToLong(objTokens[i].data);
-            log.trace("depth_first({}): objtok[0]={}, objtok[1]={}, fNos[{}]={}", parentObject, objtok[0],
-                      objtok[1], i, fNos[i]);
+        return new GroupListing(fullPath, objNames, objTypes);
+    }
 
-            if (objname == null) {
-                log.trace("depth_first({}): continue after null objname", parentObject);
-                continue;
-            }
+    /**
+     * Checks if a group links back to one of the groups above it. A loop is detected if there exists an
+     * object with the same object ID by tracing the path back up to the root.
+     *
+     * @param pgroup the parent of the group.
+     * @param g      the group to check.
+     *
+     * @return true if following the group would loop.
+     */
+    private static boolean hasLoop(H5Group pgroup, H5Group g)
+    {
+        long[] oid     = g.getOID();
+        H5Group tmpObj = pgroup;
 
-            nTotal++;
+        while (tmpObj != null) {
+            if (tmpObj.equalsOID(oid) && (tmpObj.getPath() != null))
+                return true;
 
-            if (nMax > 0) {
-                if ((nTotal - nStart) >= nMax)
-                    break; // loaded enough objects
-            }
+            tmpObj = (H5Group)tmpObj.getParent();
+        }
 
-            boolean skipLoad = false;
-            if ((nTotal > 0) && (nTotal < nStart))
-                skipLoad = true;
+        return false;
+    }
 
-            // create a new objects
-            long[] oid = null;
-            if (objtype == HDF5Constants.H5O_TYPE_GROUP) {
-                H5Group g = new H5Group(this, objname, fullPath, pgroup);
-                oid       = g.getOID();
+    /**
+     * Creates the object for a member of a group. The kind of a dataset, scalar or compound, is decided by
+     * the class of its datatype. The member is not added to the group.
+     *
+     * @param pgroup   the group containing the member.
+     * @param fullPath the full path of the member.
+     * @param objname  the name of the member.
+     * @param objtype  the object type of the member.
+     *
+     * @return the new object, or null if the object type is not supported.
+     */
+    @SuppressWarnings("deprecation")
+    private HObject createMember(H5Group pgroup, String fullPath, String objname, int objtype)
+    {
+        if (objtype == HDF5Constants.H5O_TYPE_GROUP) {
+            return new H5Group(this, objname, fullPath, pgroup);
+        }
+        else if (objtype == HDF5Constants.H5O_TYPE_DATASET) {
+            long did   = -1;
+            long tid   = -1;
+            int tclass = -1;
+            try {
+                did = H5.H5Dopen(fid, fullPath + objname, HDF5Constants.H5P_DEFAULT);
+                if (did >= 0) {
+                    tid = H5.H5Dget_type(did);
 
-                pgroup.addToMemberList(g);
+                    tclass = H5.H5Tget_class(tid);
+                    if ((tclass == HDF5Constants.H5T_ARRAY) || (tclass == HDF5Constants.H5T_VLEN)) {
+                        // for ARRAY, the type is determined by the base type
+                        long btid = H5.H5Tget_super(tid);
 
-                // detect and stop loops
-                // a loop is detected if there exists object with the same
-                // object ID by tracing path back up to the root.
-                boolean hasLoop = false;
-                H5Group tmpObj  = (H5Group)parentObject;
+                        tclass = H5.H5Tget_class(btid);
 
-                while (tmpObj != null) {
-                    if (tmpObj.equalsOID(oid) && (tmpObj.getPath() != null)) {
-                        hasLoop = true;
-                        break;
-                    }
-                    else {
-                        tmpObj = (H5Group)tmpObj.getParent();
+                        try {
+                            H5.H5Tclose(btid);
+                        }
+                        catch (Exception ex) {
+                            log.debug("createMember({}) dataset {} H5Tclose(btid {}) failure: ", pgroup,
+                                      objname, btid, ex);
+                        }
                     }
                 }
-
-                // recursively go through the next group
-                // stops if it has loop.
-                if (!hasLoop) {
-                    nTotal = depth_first(g, nTotal);
+                else {
+                    log.debug("createMember({}) {} dataset open failure", pgroup, objname);
                 }
             }
-            else if (skipLoad) {
-                continue;
+            catch (Exception ex) {
+                log.debug("createMember({}) {} dataset access failure: ", pgroup, objname, ex);
             }
-            else if (objtype == HDF5Constants.H5O_TYPE_DATASET) {
-                long did   = -1;
-                long tid   = -1;
-                int tclass = -1;
+            finally {
                 try {
-                    did = H5.H5Dopen(fid, fullPath + objname, HDF5Constants.H5P_DEFAULT);
-                    if (did >= 0) {
-                        tid = H5.H5Dget_type(did);
+                    H5.H5Tclose(tid);
+                }
+                catch (Exception ex) {
+                    log.debug("createMember({}) dataset {} H5Tclose(tid {}) failure: ", pgroup, objname, tid,
+                              ex);
+                }
+                try {
+                    H5.H5Dclose(did);
+                }
+                catch (Exception ex) {
+                    log.debug("createMember({}) dataset {} H5Dclose(did {}) failure: ", pgroup, objname, did,
+                              ex);
+                }
+            }
 
-                        tclass = H5.H5Tget_class(tid);
-                        if ((tclass == HDF5Constants.H5T_ARRAY) || (tclass == HDF5Constants.H5T_VLEN)) {
-                            // for ARRAY, the type is determined by the base type
-                            long btid = H5.H5Tget_super(tid);
+            if (tclass == HDF5Constants.H5T_COMPOUND) {
+                // create a new compound dataset
+                return new H5CompoundDS(this, objname, fullPath);
+            }
+            else {
+                // create a new scalar dataset
+                return new H5ScalarDS(this, objname, fullPath);
+            }
+        }
+        else if (objtype == HDF5Constants.H5O_TYPE_NAMED_DATATYPE) {
+            Datatype t = new H5Datatype(this, objname, fullPath);
+            log.trace("createMember({}): H5O_TYPE_NAMED_DATATYPE name={}", pgroup, t.getFullName());
+            return t;
+        }
+        else if (objtype == HDF5Constants.H5O_TYPE_UNKNOWN) {
+            return new H5Link(this, objname, fullPath);
+        }
 
-                            tclass = H5.H5Tget_class(btid);
+        return null;
+    }
 
-                            try {
-                                H5.H5Tclose(btid);
-                            }
-                            catch (Exception ex) {
-                                log.debug("depth_first({})[{}] dataset {} H5Tclose(btid {}) failure: ",
-                                          parentObject, i, objname, btid, ex);
+    /**
+     * Retrieves the whole file structure by listing the groups one level at a time and creating their
+     * members on a pool of worker threads. The tree is assembled on the calling thread in index order, so
+     * it is the same as the one built by depth_first().
+     *
+     * When the library is not threadsafe, the library calls that classify a dataset are made while holding
+     * the lock the HDF5 Java wrapper serializes its native calls with, so only the Java side of creating
+     * the objects overlaps.
+     *
+     * The parallel loader only loads whole files. If the file has at least the maximum number of objects to
+     * load, it stops after listing the groups and the structure has to be loaded by depth_first() instead.
+     *
+     * @param root     the root group.
+     * @param nThreads the number of worker threads.
+     *
+     * @return true if the whole file structure was loaded.
+     */
+    private boolean loadInParallel(H5Group root, int nThreads)
+    {
+        boolean isThreadSafe = false;
+        try {
+            isThreadSafe = H5.H5is_library_threadsafe();
+        }
+        catch (Exception ex) {
+            log.debug("loadInParallel(): H5is_library_threadsafe failure: ", ex);
+        }
+        log.trace("loadInParallel(): nThreads={} isThreadSafe={}", nThreads, isThreadSafe);
+
+        final boolean serializeCalls = !isThreadSafe;
+        ExecutorService pool         = Executors.newFixedThreadPool(nThreads, r -> {
+            Thread t = new Thread(r, "H5File-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+        int nMax   = getMaxMembers();
+        int nTotal = 0;
+
+        try {
+            List<H5Group> level = new ArrayList<>();
+            level.add(root);
+
+            while (!level.isEmpty()) {
+                // list the groups of this level
+                List<Future<GroupListing>> listed = new ArrayList<>(level.size());
+                for (H5Group g : level)
+                    listed.add(pool.submit(() -> listMembers(g)));
+
+                List<GroupListing> listings = new ArrayList<>(level.size());
+                for (Future<GroupListing> f : listed) {
+                    GroupListing listing = getResult(f);
+                    listings.add(listing);
+
+                    if (listing != null) {
+                        for (String name : listing.names) {
+                            if ((name != null) && (++nTotal >= nMax)) {
+                                log.trace("loadInParallel(): more than {} objects", nMax);
+                                return false;
                             }
                         }
                     }
-                    else {
-                        log.debug("depth_first({})[{}] {} dataset open failure", parentObject, i, objname);
-                    }
                 }
-                catch (Exception ex) {
-                    log.debug("depth_first({})[{}] {} dataset access failure: ", parentObject, i, objname,
-                              ex);
-                }
-                finally {
-                    try {
-                        H5.H5Tclose(tid);
-                    }
-                    catch (Exception ex) {
-                        log.debug("depth_first({})[{}] daatset {} H5Tclose(tid {}) failure: ", parentObject,
-                                  i, objname, tid, ex);
-                    }
-                    try {
-                        H5.H5Dclose(did);
-                    }
-                    catch (Exception ex) {
-                        log.debug("depth_first({})[{}] dataset {} H5Dclose(did {}) failure: ", parentObject,
-                                  i, objname, did, ex);
+
+                // create their members in blocks
+                List<Future<?>> created = new ArrayList<>();
+                for (int i = 0; i < level.size(); i++) {
+                    H5Group pgroup       = level.get(i);
+                    GroupListing listing = listings.get(i);
+                    if (listing == null)
+                        continue;
+
+                    int n           = listing.names.length;
+                    listing.members = new HObject[n];
+                    for (int first = 0; first < n; first += LOAD_BLOCK_SIZE) {
+                        int from = first;
+                        int to   = Math.min(n, first + LOAD_BLOCK_SIZE);
+                        created.add(
+                            pool.submit(() -> createMembers(pgroup, listing, from, to, serializeCalls)));
                     }
                 }
-                Dataset dset = null;
-                if (tclass == HDF5Constants.H5T_COMPOUND) {
-                    // create a new compound dataset
-                    dset = new H5CompoundDS(this, objname, fullPath);
-                }
-                else {
-                    // create a new scalar dataset
-                    dset = new H5ScalarDS(this, objname, fullPath);
+                for (Future<?> f : created)
+                    getResult(f);
+
+                // assemble the tree in index order
+                List<H5Group> nextLevel = new ArrayList<>();
+                for (int i = 0; i < level.size(); i++) {
+                    H5Group pgroup       = level.get(i);
+                    GroupListing listing = listings.get(i);
+                    if (listing == null)
+                        continue;
+
+                    for (HObject obj : listing.members) {
+                        if (obj == null)
+                            continue;
+
+                        pgroup.addToMemberList(obj);
+
+                        if ((obj instanceof H5Group) && !hasLoop(pgroup, (H5Group)obj))
+                            nextLevel.add((H5Group)obj);
+                    }
+                    listing.members = null;
                 }
-                oid = dset.getOID();
 
-                pgroup.addToMemberList(dset);
+                level = nextLevel;
             }
-            else if (objtype == HDF5Constants.H5O_TYPE_NAMED_DATATYPE) {
-                Datatype t = new H5Datatype(parentObject.getFileFormat(), objname, fullPath);
-                log.trace("depth_first({}): H5O_TYPE_NAMED_DATATYPE name={}", parentObject, t.getFullName());
-                oid = t.getOID();
+        }
+        finally {
+            pool.shutdownNow();
+        }
 
-                pgroup.addToMemberList(t);
-            }
-            else if (objtype == HDF5Constants.H5O_TYPE_UNKNOWN) {
-                H5Link link = new H5Link(this, objname, fullPath);
-                oid         = link.getOID();
+        return true;
+    }
 
-                pgroup.addToMemberList(link);
-                continue; // do the next one, if the object is not identified.
+    /**
+     * Creates a block of the members of a group for the parallel loader.
+     */
+    private void createMembers(H5Group pgroup, GroupListing listing, int from, int to, boolean serializeCalls)
+    {
+        for (int i = from; i < to; i++) {
+            String objname = listing.names[i];
+            if (objname == null)
+                continue;
+
+            int objtype = listing.types[i];
+            try {
+                if (serializeCalls && (objtype == HDF5Constants.H5O_TYPE_DATASET)) {
+                    synchronized (H5.class)
+                    {
+                        listing.members[i] = createMember(pgroup, listing.fullPath, objname, objtype);
+                    }
+                }
+                else {
+                    listing.members[i] = createMember(pgroup, listing.fullPath, objname, objtype);
+                }
             }
-        } // ( i = 0; i < nelems; i++)
+            catch (Exception ex) {
+                log.debug("createMembers({}): {} failure: ", pgroup, objname, ex);
+            }
+        }
+    }
 
-        pgroup.close(gid);
+    /**
+     * Waits for a task of the parallel loader, returning null if it failed.
+     */
+    private static <T> T getResult(Future<T> f)
+    {
+        try {
+            return f.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.debug("getResult(): interrupted");
+        }
+        catch (ExecutionException ex) {
+            log.debug("getResult(): task failure: ", ex.getCause());
+        }
 
-        log.trace("depth_first({}): nTotal={}", parentObject, nTotal);
-        return nTotal;
-    } // private depth_first()
+        return null;
+    }
 
     /**
      * Returns a list of all the members of this H5File in a breadth-first ordering that are rooted at the
@@ -2836,7 +3146,7 @@ public class H5File extends FileFormat {
             }
 
             group = new H5Group(dstGroup.getFileFormat(), dstName, path, dstGroup);
-            depth_first(group, Integer.MIN_VALUE); // reload all
+            depth_first(group, Integer.MIN_VALUE, null); // reload all
             dstGroup.addToMemberList(group);
         }
 
@@ -3222,6 +3532,44 @@ public class H5File extends FileFormat {
      */
     public int getIndexOrder() { return indexOrder; }
 
+    /**
+     * Sets the number of threads used to load the file structure when the file is opened. With more than
+     * one thread, the groups of the file are listed one level at a time and their members are created on a
+     * pool of worker threads. The loaded structure is the same as with a single thread. The parallel loader
+     * is not used when the members of groups are loaded on demand or when only part of the members are
+     * loaded.
+     *
+     * @param nThreads
+     *            the number of threads; 1 or less loads the structure on the calling thread
+     */
+    public void setLoadThreads(int nThreads) { loadThreads = Math.max(1, nThreads); }
+
+    /**
+     * Returns the number of threads used to load the file structure.
+     *
+     * @return the number of threads used to load the file structure
+     */
+    public int getLoadThreads() { return loadThreads; }
+
+    /**
+     * Sets the directory of the cache of the file structure. When a file opened read-only has not changed
+     * since its structure was cached, the structure is rebuilt from the cache instead of walking through
+     * the groups of the file. The cache is keyed by the path, size, modification time and superblock of
+     * the file; any change to the file makes the structure be loaded from the file again. The structure is
+     * not cached when the members of groups are loaded on demand.
+     *
+     * @param dir
+     *            the directory of the cache files, or null to not cache the structure
+     */
+    public void setStructureCacheDir(File dir) { structureCacheDir = dir; }
+
+    /**
+     * Returns the directory of the cache of the file structure.
+     *
+     * @return the directory of the cache files, or null if the structure is not cached
+     */
+    public File getStructureCacheDir() { return structureCacheDir; }
+
     /**
      * set the current value of the index order.
      *
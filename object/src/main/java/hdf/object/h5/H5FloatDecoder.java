@@ -0,0 +1,319 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object.h5;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5Exception;
+
+/**
+ * Decodes floating-point numbers of up to 16 bytes, such as the x87 80-bit extended precision and the IEEE
+ * 128-bit quadruple precision formats of long doubles, from the bytes of a data buffer.
+ *
+ * The positions and sizes of the sign, exponent and mantissa fields are those of the HDF5 datatype the data
+ * was read into, taken once when the decoder is created. An element is loaded into two longs and its fields
+ * are taken out with shifts and masks, so that no object is allocated to decode a number to a double.
+ */
+final class H5FloatDecoder {
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    /** The largest negative power of two of a number converted to BigDecimal exactly. */
+    private static final int MAX_EXACT_SCALE = 1100;
+
+    /** The powers of five of the numbers converted exactly, computed as they are needed. */
+    private static final BigInteger[] POWERS_OF_FIVE = new BigInteger[MAX_EXACT_SCALE + 1];
+
+    /** The precision of the intermediate results of the numbers which are not converted exactly. */
+    private static final MathContext WIDE = new MathContext(MathContext.DECIMAL128.getPrecision() + 16);
+
+    private final int size;
+
+    private final boolean isBigEndian;
+
+    private final int spos;
+
+    private final int epos;
+
+    private final int esize;
+
+    private final int mpos;
+
+    private final int msize;
+
+    private final long ebias;
+
+    /** True if the mantissa holds its leading bit, false if the leading bit is implied. */
+    private final boolean isExplicit;
+
+    private final long maxExponent;
+
+    /**
+     * Creates a decoder of a floating-point layout.
+     *
+     * @param size        the size of a number in bytes, at most 16.
+     * @param isBigEndian true if the bytes of a number are in big-endian order.
+     * @param spos        the bit position of the sign.
+     * @param epos        the bit position of the exponent.
+     * @param esize       the size of the exponent in bits, at most 63.
+     * @param mpos        the bit position of the mantissa.
+     * @param msize       the size of the mantissa in bits.
+     * @param ebias       the exponent bias.
+     * @param norm        the normalization of the mantissa, such as HDF5Constants.H5T_NORM_IMPLIED.
+     */
+    H5FloatDecoder(int size, boolean isBigEndian, int spos, int epos, int esize, int mpos, int msize,
+                   long ebias, int norm)
+    {
+        if ((size <= 0) || (size > 16) || (esize <= 0) || (esize > 63) || (msize <= 0) ||
+            (spos >= size * 8) || (epos + esize > size * 8) || (mpos + msize > size * 8))
+            throw new IllegalArgumentException("unsupported floating-point layout: size=" + size + " spos=" +
+                                               spos + " epos=" + epos + " esize=" + esize + " mpos=" + mpos +
+                                               " msize=" + msize);
+
+        this.size        = size;
+        this.isBigEndian = isBigEndian;
+        this.spos        = spos;
+        this.epos        = epos;
+        this.esize       = esize;
+        this.mpos        = mpos;
+        this.msize       = msize;
+        this.ebias       = ebias;
+        this.isExplicit  = (norm != HDF5Constants.H5T_NORM_IMPLIED);
+        this.maxExponent = (1L << esize) - 1;
+    }
+
+    /**
+     * Creates a decoder of the layout of an HDF5 floating-point datatype.
+     *
+     * @param tid the identifier of the datatype.
+     *
+     * @return the decoder of the numbers of the datatype.
+     *
+     * @throws HDF5Exception if the layout could not be retrieved.
+     */
+    static H5FloatDecoder forType(long tid) throws HDF5Exception
+    {
+        long[] fields = new long[5];
+        H5.H5Tget_fields(tid, fields);
+
+        return new H5FloatDecoder((int)H5.H5Tget_size(tid), H5.H5Tget_order(tid) == HDF5Constants.H5T_ORDER_BE,
+                                  (int)fields[0], (int)fields[1], (int)fields[2], (int)fields[3],
+                                  (int)fields[4], H5.H5Tget_ebias_long(tid), H5.H5Tget_norm(tid));
+    }
+
+    /**
+     * Returns the size of a number in bytes.
+     *
+     * @return the size of a number.
+     */
+    int getSize() { return size; }
+
+    /**
+     * Decodes a number to the nearest double.
+     *
+     * @param data  the bytes of the numbers.
+     * @param index the index of the number.
+     *
+     * @return the value of the number, which is infinite if it is out of the range of a double.
+     */
+    double toDouble(byte[] data, int index)
+    {
+        int pos = index * size;
+        long lo = load(data, pos, 0);
+        long hi = (size > 8) ? load(data, pos, 8) : 0;
+
+        boolean isNegative = bits(lo, hi, spos, 1) != 0;
+        long exponent      = bits(lo, hi, epos, esize);
+        long mlo           = bits(lo, hi, mpos, Math.min(msize, 64));
+        long mhi           = (msize > 64) ? bits(lo, hi, mpos + 64, msize - 64) : 0;
+
+        if (exponent == maxExponent) {
+            if (isFraction(mlo, mhi))
+                return Double.NaN;
+            return isNegative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // the leading bit of the mantissa of normal numbers is implied
+        if (!isExplicit && (exponent != 0)) {
+            if (msize < 64)
+                mlo |= 1L << msize;
+            else
+                mhi |= 1L << (msize - 64);
+        }
+
+        double value = scale(mlo, mhi, getScale(exponent));
+
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Decodes a number to a BigDecimal of the precision of MathContext.DECIMAL128.
+     *
+     * @param data  the bytes of the numbers.
+     * @param index the index of the number.
+     *
+     * @return the value of the number, or null if it is not a number or infinite.
+     */
+    BigDecimal toBigDecimal(byte[] data, int index)
+    {
+        int pos = index * size;
+        long lo = load(data, pos, 0);
+        long hi = (size > 8) ? load(data, pos, 8) : 0;
+
+        boolean isNegative = bits(lo, hi, spos, 1) != 0;
+        long exponent      = bits(lo, hi, epos, esize);
+        long mlo           = bits(lo, hi, mpos, Math.min(msize, 64));
+        long mhi           = (msize > 64) ? bits(lo, hi, mpos + 64, msize - 64) : 0;
+
+        if (exponent == maxExponent)
+            return null;
+
+        BigInteger mantissa = BigInteger.valueOf(mhi).shiftLeft(64).add(toUnsigned(mlo));
+        if (!isExplicit && (exponent != 0))
+            mantissa = mantissa.setBit(msize);
+        if (isNegative)
+            mantissa = mantissa.negate();
+
+        // the value is mantissa * 2^scale
+        long scale = getScale(exponent);
+        BigDecimal value;
+        if (mantissa.signum() == 0)
+            value = BigDecimal.ZERO;
+        else if (scale >= 0)
+            value = new BigDecimal(mantissa.shiftLeft((int)scale), MathContext.DECIMAL128);
+        else if (scale >= -MAX_EXACT_SCALE)
+            value = new BigDecimal(mantissa.multiply(powerOfFive((int)-scale)), (int)-scale,
+                                   MathContext.DECIMAL128);
+        else
+            value = new BigDecimal(mantissa)
+                        .multiply(new BigDecimal(2).pow((int)scale, WIDE), WIDE)
+                        .round(MathContext.DECIMAL128);
+
+        value = value.stripTrailingZeros();
+        if (value.scale() < 0)
+            value = value.setScale(0);
+
+        return value;
+    }
+
+    /**
+     * Returns 5^n, since m * 2^-n is exactly m * 5^n * 10^-n.
+     */
+    private static BigInteger powerOfFive(int n)
+    {
+        // a BigInteger is immutable, so it is safe to share without synchronization
+        BigInteger p = POWERS_OF_FIVE[n];
+        if (p == null) {
+            p                 = FIVE.pow(n);
+            POWERS_OF_FIVE[n] = p;
+        }
+
+        return p;
+    }
+
+    /**
+     * Returns the power of two the integer value of the mantissa is multiplied by.
+     */
+    private long getScale(long exponent)
+    {
+        // subnormal numbers have the exponent of the smallest normal numbers
+        long e = (exponent == 0) ? 1 : exponent;
+
+        return e - ebias - (isExplicit ? msize - 1 : msize);
+    }
+
+    /**
+     * Checks if the fraction of a mantissa is not zero, for a number with the largest exponent.
+     */
+    private boolean isFraction(long mlo, long mhi)
+    {
+        // the explicit leading bit of the x87 format is set for infinities
+        if (isExplicit) {
+            if (msize <= 64)
+                mlo &= ~(1L << (msize - 1));
+            else
+                mhi &= ~(1L << (msize - 65));
+        }
+
+        return (mlo | mhi) != 0;
+    }
+
+    /**
+     * Returns the nearest double of an unsigned integer of up to 128 bits times a power of two.
+     */
+    private static double scale(long mlo, long mhi, long scale)
+    {
+        if ((mlo | mhi) == 0)
+            return 0;
+
+        // keep the 64 leading bits, and whether any bit below them is set, so that rounding is correct
+        int shift = (mhi == 0) ? 0 : 64 - Long.numberOfLeadingZeros(mhi);
+        long top;
+        if (shift == 0)
+            top = mlo;
+        else if (shift == 64)
+            top = mhi | ((mlo != 0) ? 1 : 0);
+        else
+            top = (mhi << (64 - shift)) | (mlo >>> shift) | (((mlo << (64 - shift)) != 0) ? 1 : 0);
+
+        double value = (top >= 0) ? (double)top : ((double)((top >>> 1) | (top & 1)) * 2.0);
+
+        return Math.scalb(value, (int)Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2,
+                                                                               scale + shift)));
+    }
+
+    /**
+     * Loads 8 bytes of a number, or those left, as the low (offset 0) or high (offset 8) half of a
+     * little-endian 128-bit integer.
+     */
+    private long load(byte[] data, int pos, int offset)
+    {
+        long v = 0;
+        int n  = Math.min(8, size - offset);
+        for (int i = n - 1; i >= 0; i--) {
+            int k = isBigEndian ? (size - 1 - offset - i) : (offset + i);
+            v     = (v << 8) | (data[pos + k] & 0xFF);
+        }
+
+        return v;
+    }
+
+    /**
+     * Returns n bits, n at most 64, of a 128-bit integer from a bit position.
+     */
+    private static long bits(long lo, long hi, int pos, int n)
+    {
+        long v;
+        if (pos >= 64)
+            v = hi >>> (pos - 64);
+        else if (pos == 0)
+            v = lo;
+        else
+            v = (lo >>> pos) | (hi << (64 - pos));
+
+        return (n >= 64) ? v : (v & ((1L << n) - 1));
+    }
+
+    private static BigInteger toUnsigned(long v)
+    {
+        BigInteger b = BigInteger.valueOf(v);
+
+        return (v < 0) ? b.add(TWO_64) : b;
+    }
+}
@@ -434,6 +434,10 @@ public class H5Group extends Group {
     {
         super.setPath(newPath);
 
+        // members not loaded yet are loaded with the new path
+        if (isMemberListDeferred())
+            return;
+
         List members = this.getMemberList();
         if (members == null)
             return;
@@ -446,6 +450,20 @@ public class H5Group extends Group {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see hdf.object.Group#loadMemberList()
+     */
+    @Override
+    protected void loadMemberList()
+    {
+        FileFormat theFile = getFileFormat();
+
+        if (theFile instanceof H5File)
+            ((H5File)theFile).loadMembers(this);
+    }
+
     /**
      * Creates a new group with a name in a group and with the group creation
      * properties specified in gplist.
@@ -17,17 +17,24 @@ package hdf.object.h5;
 import java.lang.reflect.Array;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CancellationException;
 
 import hdf.object.Attribute;
+import hdf.object.BufferPool;
+import hdf.object.DataBlockIterator;
 import hdf.object.Dataset;
 import hdf.object.Datatype;
 import hdf.object.FileFormat;
+import hdf.object.Float16;
 import hdf.object.Group;
 import hdf.object.HObject;
 import hdf.object.MetaDataContainer;
+import hdf.object.ReadProgressListener;
 import hdf.object.ScalarDS;
+import hdf.object.Utils;
 
 import hdf.hdf5lib.H5;
 import hdf.hdf5lib.HDF5Constants;
@@ -81,6 +88,15 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
      */
     protected boolean refresh = false;
 
+    /** the decompressed chunks kept for reads of the dataset, or null if no chunks are kept */
+    private transient H5ChunkCache chunkCache = null;
+
+    /** flag to indicate if chunks are read raw and decompressed in Java */
+    private boolean isDirectChunkRead = false;
+
+    /** the maximum number of data points read at once by readInSlabs() */
+    private static final long BUFFER_SLAB_POINTS = 16L * 1024 * 1024;
+
     /**
      * flag to indicate if the datatype in file is the same as datatype in memory.
      */
@@ -676,6 +692,9 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
         inited  = false;
         refresh = true;
 
+        if (chunkCache != null)
+            chunkCache.clear();
+
         init();
         return super.refreshData();
     }
@@ -855,6 +874,10 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
         try {
             readData = scalarDatasetCommonIO(H5File.IO_TYPE.READ, null);
         }
+        catch (CancellationException ex) {
+            // the read was cancelled by the read progress listener
+            throw ex;
+        }
         catch (Exception ex) {
             log.debug("read(): failed to read scalar dataset: ", ex);
             throw new Exception("failed to read scalar dataset: " + ex.getMessage(), ex);
@@ -881,6 +904,11 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
         if (!isInited())
             init();
 
+        // the chunks kept in memory are out of date after a write, even a failed one
+        if (chunkCache != null)
+            chunkCache.clear();
+        clearStatistics();
+
         try {
             scalarDatasetCommonIO(H5File.IO_TYPE.WRITE, buf);
             // Clear the data cache after writing to ensure fresh reads
@@ -893,6 +921,379 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see hdf.object.Dataset#setChunkCacheSize(long)
+     */
+    @Override
+    public void setChunkCacheSize(long nbytes)
+    {
+        super.setChunkCacheSize(nbytes);
+
+        if (chunkCacheSize == 0)
+            chunkCache = null;
+        else if (chunkCache != null)
+            chunkCache.setMaxBytes(chunkCacheSize);
+    }
+
+    /**
+     * Sets the flag to indicate if the chunks of the dataset are read raw, as stored in the file, and
+     * decompressed in Java on several threads instead of inside the library.
+     *
+     * Only chunks of fixed-size numbers compressed with the deflate and shuffle filters are decompressed in
+     * Java; the data of any other dataset is read by the library as usual.
+     *
+     * @param b
+     *            true to read chunks raw and decompress them in Java.
+     */
+    public void setDirectChunkRead(boolean b) { isDirectChunkRead = b; }
+
+    /**
+     * Returns the flag to indicate if the chunks of the dataset are read raw and decompressed in Java.
+     *
+     * @return true if chunks are read raw and decompressed in Java; otherwise, returns false.
+     */
+    public boolean isDirectChunkRead() { return isDirectChunkRead; }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see hdf.object.Dataset#getBlockIterator(long)
+     */
+    @Override
+    public DataBlockIterator getBlockIterator(long maxPoints) throws Exception
+    {
+        if (!isInited())
+            init();
+
+        H5Datatype dsDatatype = (H5Datatype)getDatatype();
+        int tclass            = dsDatatype.getDatatypeClass();
+        if ((rank < 1) || ((tclass != Datatype.CLASS_INTEGER) && (tclass != Datatype.CLASS_FLOAT) &&
+                           (tclass != Datatype.CLASS_CHAR)))
+            throw new UnsupportedOperationException("getBlockIterator(): unsupported for " +
+                                                    dsDatatype.getDescription());
+
+        // 16-bit floating-point numbers are read as stored and widened to floats block by block
+        int float16Layout = dsDatatype.getFloat16Layout();
+        Class<?> type     = H5Datatype.allocateArray(dsDatatype, 1).getClass().getComponentType();
+        if ((float16Layout == H5Datatype.FLOAT16_NONE) &&
+            (Utils.getElementSize(type) != dsDatatype.getDatatypeSize()))
+            throw new UnsupportedOperationException("getBlockIterator(): unsupported for " +
+                                                    dsDatatype.getDescription());
+
+        long did = open();
+        if (did < 0)
+            throw new HDF5Exception("getBlockIterator(): failed to open dataset");
+
+        long tid = HDF5Constants.H5I_INVALID_HID;
+        try {
+            if (float16Layout != H5Datatype.FLOAT16_NONE) {
+                type = float.class;
+                tid  = createFloat16Native(did);
+            }
+            else
+                tid = dsDatatype.createNative();
+        }
+        catch (Exception ex) {
+            close(did);
+            throw ex;
+        }
+
+        log.trace("getBlockIterator(): did={} tid={} maxPoints={}", did, tid, maxPoints);
+        return new H5BlockIterator(type, did, tid, float16Layout, maxPoints);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see hdf.object.Dataset#readHyperslab(long[], long[], long[], hdf.object.BufferPool)
+     */
+    @Override
+    public Object readHyperslab(long[] start, long[] stride, long[] count, BufferPool pool) throws Exception
+    {
+        if (!isInited())
+            init();
+
+        if ((start == null) || (count == null) || (start.length != rank) || (count.length != rank) ||
+            ((stride != null) && (stride.length != rank)))
+            throw new IllegalArgumentException("readHyperslab(): the hyperslab is not of rank " + rank);
+
+        long npoints = 1;
+        for (long c : count)
+            npoints *= c;
+        if (npoints > Integer.MAX_VALUE) {
+            log.debug("readHyperslab(): {} points do not fit in an array", npoints);
+            throw new Exception("readHyperslab(): " + npoints + " points do not fit in an array");
+        }
+
+        long[] fileStride = stride;
+        if (fileStride == null) {
+            fileStride = new long[rank];
+            Arrays.fill(fileStride, 1);
+        }
+
+        // the iterator holds the dataset and memory datatype open, whatever the current selection
+        try (H5BlockIterator it = (H5BlockIterator)getBlockIterator(1)) {
+            // the array is recycled from the pool of the caller, such as for the frames of an image stack
+            Class<?> type = it.getElementType();
+            Object buf    = ((pool != null) && (Utils.getElementSize(type) != 0))
+                                ? pool.acquire(type, (int)npoints)
+                                : Array.newInstance(type, (int)npoints);
+            it.readBlock(start, fileStride, count, buf);
+
+            log.trace("readHyperslab(): npoints={}", npoints);
+            return buf;
+        }
+    }
+
+    /**
+     * Reads the blocks of the current selection with H5Dread, holding the dataset and its memory datatype
+     * open until the iterator is closed.
+     */
+    private class H5BlockIterator extends DataBlockIterator {
+        private final long did;
+
+        private final long tid;
+
+        /** The layout of 16-bit floating-point numbers read as stored into halfBlock, if any. */
+        private final int float16Layout;
+
+        private short[] halfBlock = null;
+
+        private boolean isClosed = false;
+
+        private H5BlockIterator(Class<?> type, long did, long tid, int float16Layout, long maxPoints)
+        {
+            super(type, startDims, selectedStride, selectedDims, maxPoints);
+
+            this.did           = did;
+            this.tid           = tid;
+            this.float16Layout = float16Layout;
+        }
+
+        @Override
+        protected void readBlock(long[] fileStart, long[] fileStride, long[] fileCount, Object buf)
+            throws Exception
+        {
+            if (isClosed)
+                throw new IllegalStateException("iterator is closed");
+
+            int n = Array.getLength(buf);
+            if (float16Layout == H5Datatype.FLOAT16_NONE) {
+                readSlab(did, tid, fileStart, fileStride, fileCount, n, buf);
+                return;
+            }
+
+            if ((halfBlock == null) || (halfBlock.length < n))
+                halfBlock = new short[n];
+            readSlab(did, tid, fileStart, fileStride, fileCount, n, halfBlock);
+            widenFloat16(float16Layout, halfBlock, (float[])buf, n);
+        }
+
+        @Override
+        public void close()
+        {
+            if (isClosed)
+                return;
+            isClosed = true;
+
+            getDatatype().close(tid);
+            H5ScalarDS.this.close(did);
+        }
+    }
+
+    /**
+     * Reads a hyperslab of the dataset into the first points of an array.
+     */
+    private static void readSlab(long did, long tid, long[] start, long[] stride, long[] count, int n,
+                                 Object slab) throws HDF5Exception
+    {
+        long fspace = HDF5Constants.H5I_INVALID_HID;
+        long mspace = HDF5Constants.H5I_INVALID_HID;
+        try {
+            fspace = H5.H5Dget_space(did);
+            H5.H5Sselect_hyperslab(fspace, HDF5Constants.H5S_SELECT_SET, start, stride, count, null);
+            mspace = H5.H5Screate_simple(1, new long[] {n}, null);
+
+            H5.H5Dread(did, tid, mspace, fspace, HDF5Constants.H5P_DEFAULT, slab);
+        }
+        finally {
+            try {
+                H5.H5Sclose(mspace);
+            }
+            catch (Exception ex) {
+                log.debug("readSlab(): H5Sclose(mspace {}) failure: ", mspace, ex);
+            }
+            try {
+                H5.H5Sclose(fspace);
+            }
+            catch (Exception ex) {
+                log.debug("readSlab(): H5Sclose(fspace {}) failure: ", fspace, ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the primitive type of the buffer of a datatype whose buffers can be taken from a pool, or null
+     * for the datatypes whose buffers are allocated by H5Datatype.allocateArray() only.
+     */
+    private static Class<?> getPoolType(Datatype dtype)
+    {
+        if (dtype.isEnum() || dtype.isText() || dtype.isRef() || dtype.isArray() || dtype.isVLEN())
+            return null;
+
+        long size = dtype.getDatatypeSize();
+        if (dtype.isInteger()) {
+            if (size == 1)
+                return byte.class;
+            else if (size == 2)
+                return short.class;
+            else if (size == 4)
+                return int.class;
+            else if (size == 8)
+                return long.class;
+        }
+        else if (dtype.isFloat()) {
+            if (size == 4)
+                return float.class;
+            else if (size == 8)
+                return double.class;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the current selection of numbers through the cache of decompressed chunks, if chunks are kept
+     * or read raw for the dataset.
+     *
+     * @return true if the selection was read; false if it has to be read directly.
+     */
+    private boolean readThroughChunkCache(long did, long tid, Object buf) throws HDF5Exception
+    {
+        if ((chunkCacheSize <= 0) && !isDirectChunkRead)
+            return false;
+
+        int tclass = getDatatype().getDatatypeClass();
+        if ((tclass != Datatype.CLASS_INTEGER) && (tclass != Datatype.CLASS_FLOAT) &&
+            (tclass != Datatype.CLASS_CHAR))
+            return false;
+
+        if (chunkCache == null)
+            chunkCache = new H5ChunkCache(chunkCacheSize);
+
+        log.trace("readThroughChunkCache(): did={} tid={}", did, tid);
+        return chunkCache.read(did, tid, dims, startDims, selectedStride, selectedDims, buf,
+                               isDirectChunkRead, readProgressListener);
+    }
+
+    /**
+     * Reads the current selection of numbers slab by slab, telling the read progress listener of each
+     * slab, if there is a listener, which may cancel the read. The selection is read at once by the caller
+     * otherwise.
+     */
+    private boolean readInSlabs(long did, long tid, Object buf) throws Exception
+    {
+        ReadProgressListener progress = readProgressListener;
+        if ((progress == null) || (Utils.getElementSize(buf.getClass().getComponentType()) == 0))
+            return false;
+
+        // the iterator reads with the identifiers of the caller, which closes them
+        H5BlockIterator it =
+            new H5BlockIterator(buf.getClass().getComponentType(), did, tid, H5Datatype.FLOAT16_NONE,
+                                BUFFER_SLAB_POINTS);
+        if (it.getTotalPoints() != Array.getLength(buf))
+            return false;
+
+        log.trace("readInSlabs(): did={} tid={} npoints={}", did, tid, it.getTotalPoints());
+        while (it.hasNext()) {
+            Object slab = it.next();
+            int n       = Array.getLength(slab);
+            System.arraycopy(slab, 0, buf, (int)it.getBlockOffset(), n);
+            if (!progress.readProgress(it.getBlockOffset() + n, it.getTotalPoints())) {
+                log.debug("readInSlabs(): read cancelled");
+                throw new CancellationException("read of " + getFullName() + " cancelled");
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the current selection of 16-bit floating-point numbers as stored and widens them to floats in
+     * Java, which is much faster than the generic floating-point conversion of the library.
+     */
+    private void readFloat16(long did, long[] spaceIDs, float[] buf, int layout) throws Exception
+    {
+        int n       = buf.length;
+        short[] raw = (bufferPool == null) ? new short[n] : (short[])bufferPool.acquire(short.class, n);
+
+        long tid = HDF5Constants.H5I_INVALID_HID;
+        try {
+            tid = createFloat16Native(did);
+            if (!readThroughChunkCache(did, tid, raw)) {
+                log.trace("readFloat16(): H5Dread did={} tid={} n={}", did, tid, n);
+                H5.H5Dread(did, tid, spaceIDs[0], spaceIDs[1], HDF5Constants.H5P_DEFAULT, raw);
+            }
+
+            widenFloat16(layout, raw, buf, n);
+        }
+        finally {
+            getDatatype().close(tid);
+            if (bufferPool != null)
+                bufferPool.release(raw);
+        }
+    }
+
+    /**
+     * Creates the memory datatype of 16-bit floating-point numbers read as stored, in native byte order.
+     */
+    private static long createFloat16Native(long did) throws HDF5Exception
+    {
+        long ftid = H5.H5Dget_type(did);
+        long tid  = HDF5Constants.H5I_INVALID_HID;
+        try {
+            tid = H5.H5Tcopy(ftid);
+            H5.H5Tset_order(tid, H5.H5Tget_order(HDF5Constants.H5T_NATIVE_SHORT));
+        }
+        catch (HDF5Exception ex) {
+            if (tid >= 0)
+                H5.H5Tclose(tid);
+            throw ex;
+        }
+        finally {
+            H5.H5Tclose(ftid);
+        }
+
+        return tid;
+    }
+
+    /**
+     * Widens the first n 16-bit floating-point numbers of an array into floats.
+     */
+    private static void widenFloat16(int layout, short[] src, float[] dst, int n)
+    {
+        if (layout == H5Datatype.FLOAT16_BFLOAT)
+            Float16.bfloat16ToFloat(src, 0, dst, 0, n);
+        else
+            Float16.toFloat(src, 0, dst, 0, n);
+    }
+
+    /**
+     * Narrows floats into 16-bit floating-point numbers, rounding them to the nearest.
+     */
+    private static short[] narrowFloat16(int layout, float[] src)
+    {
+        short[] dst = new short[src.length];
+        if (layout == H5Datatype.FLOAT16_BFLOAT)
+            Float16.floatToBfloat16(src, 0, dst, 0, src.length);
+        else
+            Float16.fromFloat(src, 0, dst, 0, src.length);
+
+        return dst;
+    }
+
     private Object scalarDatasetCommonIO(H5File.IO_TYPE ioType, Object writeBuf) throws Exception
     {
         H5Datatype dsDatatype     = (H5Datatype)getDatatype();
@@ -944,13 +1345,18 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
                         for (int j = 0; j < (int)totalSelectedSpacePoints; j++)
                             ((ArrayList[])theData)[j] = new ArrayList<byte[]>();
                     }
-                    else if ((originalBuf == null) || dsDatatype.isEnum() || dsDatatype.isText() ||
-                             dsDatatype.isRefObj() ||
+                    else if ((originalBuf == null) || (bufferPool != null) || dsDatatype.isEnum() ||
+                             dsDatatype.isText() || dsDatatype.isRefObj() ||
                              ((originalBuf != null) && (totalSelectedSpacePoints != nPoints))) {
                         log.trace("scalarDatasetCommonIO(): allocating buffer for {} with {} points",
                                   dsDatatype.getDescription(), (int)totalSelectedSpacePoints);
                         try {
-                            theData = H5Datatype.allocateArray(dsDatatype, (int)totalSelectedSpacePoints);
+                            // a pooled buffer belongs to the caller; the buffer of the dataset is not reused
+                            Class<?> poolType = (bufferPool == null) ? null : getPoolType(dsDatatype);
+                            if (poolType != null)
+                                theData = bufferPool.acquire(poolType, (int)totalSelectedSpacePoints);
+                            else
+                                theData = H5Datatype.allocateArray(dsDatatype, (int)totalSelectedSpacePoints);
                         }
                         catch (OutOfMemoryError err) {
                             log.debug("scalarDatasetCommonIO(): Out of memory");
@@ -1006,7 +1412,12 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
                                 H5.H5DreadVL(did, tid, spaceIDs[0], spaceIDs[1], HDF5Constants.H5P_DEFAULT,
                                              (Object[])theData);
                             }
-                            else {
+                            else if ((dsDatatype.getFloat16Layout() != H5Datatype.FLOAT16_NONE) &&
+                                     (theData instanceof float[])) {
+                                readFloat16(did, spaceIDs, (float[])theData, dsDatatype.getFloat16Layout());
+                            }
+                            else if (!readThroughChunkCache(did, tid, theData) &&
+                                     !readInSlabs(did, tid, theData)) {
                                 log.trace(
                                     "scalarDatasetCommonIO(): H5Dread did={} tid={} spaceIDs[0]={} spaceIDs[1]={}",
                                     did, tid,
@@ -1017,6 +1428,9 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
                                            theData);
                             }
                         }
+                        catch (CancellationException ex) {
+                            throw ex;
+                        }
                         catch (HDF5DataFiltersException exfltr) {
                             log.debug("scalarDatasetCommonIO(): read failure: ", exfltr);
                             throw new Exception("Filter not available exception: " + exfltr.getMessage(),
@@ -1039,9 +1453,12 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
                             theData = byteToString((byte[])theData, (int)dsDatatype.getDatatypeSize());
                         }
                         else if (dsDatatype.isFloat() && dsDatatype.getDatatypeSize() == 16) {
-                            log.trace("scalarDatasetCommonIO(): isFloat: byte array to BigDecimal array");
-                            theData = dsDatatype.byteToBigDecimal(0, (int)totalSelectedSpacePoints,
-                                                                  (byte[])theData);
+                            // the bytes are kept as read if the numbers are decoded as they are used
+                            if (convertByteToBigDecimal) {
+                                log.trace("scalarDatasetCommonIO(): isFloat: byte array to BigDecimal array");
+                                theData = dsDatatype.byteToBigDecimal(0, (int)totalSelectedSpacePoints,
+                                                                      (byte[])theData);
+                            }
                         }
                         else if (dsDatatype.isArray() && dsDatatype.getDatatypeBase().isFloat() &&
                                  dsDatatype.getDatatypeBase().getDatatypeSize() == 16) {
@@ -1123,7 +1540,14 @@ public class H5ScalarDS extends ScalarDS implements MetaDataContainer {
                      */
                     long tid = HDF5Constants.H5I_INVALID_HID;
                     try {
-                        tid = dsDatatype.createNative();
+                        // 16-bit floating-point numbers are narrowed in Java and written as stored
+                        int float16Layout = dsDatatype.getFloat16Layout();
+                        if ((float16Layout != H5Datatype.FLOAT16_NONE) && (tmpData instanceof float[])) {
+                            tid     = createFloat16Native(did);
+                            tmpData = narrowFloat16(float16Layout, (float[])tmpData);
+                        }
+                        else
+                            tid = dsDatatype.createNative();
 
                         if (dsDatatype.isVarStr()) {
                             log.trace(
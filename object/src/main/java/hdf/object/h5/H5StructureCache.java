@@ -0,0 +1,307 @@
+/*****************************************************************************
+ * Copyright by The HDF Group.                                               *
+ * Copyright by the Board of Trustees of the University of Illinois.         *
+ * All rights reserved.                                                      *
+ *                                                                           *
+ * This file is part of the HDF Java Products distribution.                  *
+ * The full copyright notice, including terms governing use, modification,   *
+ * and redistribution, is contained in the COPYING file, which can be found  *
+ * at the root of the source code distribution tree,                         *
+ * or in https://www.hdfgroup.org/licenses.                                  *
+ * If you do not have access to either file, you may request a copy from     *
+ * help@hdfgroup.org.                                                        *
+ ****************************************************************************/
+
+package hdf.object.h5;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import hdf.object.HObject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the structure of an HDF5 file, kept in a directory apart from the file, so that a file that
+ * has not changed since it was last opened can be opened without walking through all of its groups.
+ *
+ * The cache of a file holds the name, kind and object ID of every object loaded into memory, in the order
+ * depth_first() loads them. It is keyed by the path, size, modification time and a checksum of the
+ * superblock of the file, and by the options the structure was loaded with. If any of them differ when the
+ * file is opened again, the cache is ignored and the structure is loaded from the file.
+ *
+ * The contents of the objects, such as the dimensions of a dataset or its attributes, are not cached; they
+ * are read from the file when the object is initialized.
+ */
+final class H5StructureCache {
+    private static final Logger log = LoggerFactory.getLogger(H5StructureCache.class);
+
+    /** The first bytes of a cache file. */
+    private static final int MAGIC = 0x48355343; // "H5SC"
+
+    /** The version of the layout of a cache file. */
+    private static final int VERSION = 1;
+
+    /** The suffix of the names of cache files. */
+    private static final String SUFFIX = ".h5sc";
+
+    /** The number of bytes at the start of the file covered by the checksum, enough for the superblock. */
+    private static final int SUPERBLOCK_SIZE = 2048;
+
+    /** The kinds of objects in a cache file. */
+    private static final byte KIND_GROUP    = 0;
+    private static final byte KIND_SCALAR   = 1;
+    private static final byte KIND_COMPOUND = 2;
+    private static final byte KIND_DATATYPE = 3;
+    private static final byte KIND_LINK     = 4;
+
+    private H5StructureCache() {}
+
+    /**
+     * Rebuilds the structure of a file from its cache.
+     *
+     * @param file     the file, opened read-only.
+     * @param root     the root group to add the members to.
+     * @param cacheDir the directory of the cache files.
+     *
+     * @return true if the structure was rebuilt; false if there is no valid cache for the file, in which
+     *         case the root group is left without members.
+     */
+    static boolean load(H5File file, H5Group root, File cacheDir)
+    {
+        File cacheFile = getCacheFile(file, cacheDir);
+        if (!cacheFile.isFile())
+            return false;
+
+        String key = getKey(file);
+        if (key == null)
+            return false;
+
+        try {
+            // read whole rather than mapped, so that no mapping keeps the file from being replaced by save()
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+
+            if ((buf.getInt() != MAGIC) || (buf.getInt() != VERSION) || !key.equals(getString(buf))) {
+                log.trace("load(): cache of {} is out of date", file.getAbsolutePath());
+                return false;
+            }
+
+            readMembers(file, root, buf);
+
+            log.trace("load(): structure of {} loaded from {}", file.getAbsolutePath(), cacheFile);
+            return true;
+        }
+        catch (IOException | RuntimeException ex) {
+            log.debug("load(): reading cache {} failed: ", cacheFile, ex);
+        }
+
+        // forget the members read before the cache turned out to be bad
+        root.clear();
+
+        return false;
+    }
+
+    /**
+     * Writes the structure of a file loaded into memory to its cache. Failures are logged and otherwise
+     * ignored, since the cache only speeds up opening the file.
+     *
+     * @param file     the file, opened read-only.
+     * @param root     the root group of the structure.
+     * @param cacheDir the directory of the cache files.
+     */
+    static void save(H5File file, H5Group root, File cacheDir)
+    {
+        String key = getKey(file);
+        if (key == null)
+            return;
+
+        File cacheFile = getCacheFile(file, cacheDir);
+        File tmpFile   = null;
+        try {
+            if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                log.debug("save(): cannot create cache directory {}", cacheDir);
+                return;
+            }
+
+            // write to a temporary file first so that a cache is never seen half written
+            tmpFile = File.createTempFile("h5sc", ".tmp", cacheDir);
+            try (DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                putString(out, key);
+                writeMembers(root, out);
+            }
+
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            tmpFile = null;
+
+            log.trace("save(): structure of {} saved to {}", file.getAbsolutePath(), cacheFile);
+        }
+        catch (IOException | RuntimeException ex) {
+            log.debug("save(): writing cache {} failed: ", cacheFile, ex);
+        }
+        finally {
+            if (tmpFile != null)
+                tmpFile.delete();
+        }
+    }
+
+    /**
+     * Writes the members of a group, followed by the members of each subgroup in turn.
+     */
+    private static void writeMembers(H5Group pgroup, DataOutputStream out) throws IOException
+    {
+        List<HObject> members = pgroup.getMemberList();
+        out.writeInt(members.size());
+
+        for (HObject obj : members) {
+            byte kind;
+            if (obj instanceof H5Group)
+                kind = KIND_GROUP;
+            else if (obj instanceof H5CompoundDS)
+                kind = KIND_COMPOUND;
+            else if (obj instanceof H5ScalarDS)
+                kind = KIND_SCALAR;
+            else if (obj instanceof H5Datatype)
+                kind = KIND_DATATYPE;
+            else if (obj instanceof H5Link)
+                kind = KIND_LINK;
+            else
+                throw new IOException("unsupported object " + obj.getFullName());
+
+            out.writeByte(kind);
+            putString(out, obj.getName());
+
+            long[] oid = obj.getOID();
+            if (oid == null) {
+                out.writeInt(0);
+            }
+            else {
+                out.writeInt(oid.length);
+                for (long l : oid)
+                    out.writeLong(l);
+            }
+
+            if (kind == KIND_GROUP)
+                writeMembers((H5Group)obj, out);
+        }
+    }
+
+    /**
+     * Reads the members of a group written by writeMembers() and adds them to the group.
+     */
+    @SuppressWarnings("deprecation")
+    private static void readMembers(H5File file, H5Group pgroup, ByteBuffer buf) throws IOException
+    {
+        String ppath    = pgroup.getPath();
+        String fullPath = (ppath == null) ? HObject.SEPARATOR : ppath + pgroup.getName() + HObject.SEPARATOR;
+
+        int nMembers = buf.getInt();
+        for (int i = 0; i < nMembers; i++) {
+            byte kind   = buf.get();
+            String name = getString(buf);
+
+            long[] oid = null;
+            int oidLen = buf.getInt();
+            if (oidLen > 0) {
+                oid = new long[oidLen];
+                for (int j = 0; j < oidLen; j++)
+                    oid[j] = buf.getLong();
+            }
+
+            HObject obj;
+            switch (kind) {
+                case KIND_GROUP:
+                    obj = new H5Group(file, name, fullPath, pgroup, oid);
+                    break;
+                case KIND_SCALAR:
+                    obj = new H5ScalarDS(file, name, fullPath, oid);
+                    break;
+                case KIND_COMPOUND:
+                    obj = new H5CompoundDS(file, name, fullPath, oid);
+                    break;
+                case KIND_DATATYPE:
+                    obj = new H5Datatype(file, name, fullPath, oid);
+                    break;
+                case KIND_LINK:
+                    obj = new H5Link(file, name, fullPath, oid);
+                    break;
+                default:
+                    throw new IOException("unknown object kind " + kind);
+            }
+
+            pgroup.addToMemberList(obj);
+
+            if (kind == KIND_GROUP)
+                readMembers(file, (H5Group)obj, buf);
+        }
+    }
+
+    /**
+     * Returns the key of the structure of a file: its path, size, modification time and a checksum of its
+     * superblock, and the options the structure is loaded with.
+     *
+     * @return the key, or null if the file cannot be read.
+     */
+    private static String getKey(H5File file)
+    {
+        CRC32 crc = new CRC32();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] superblock = new byte[(int)Math.min(SUPERBLOCK_SIZE, raf.length())];
+            raf.readFully(superblock);
+            crc.update(superblock);
+        }
+        catch (IOException ex) {
+            log.debug("getKey(): reading superblock of {} failed: ", file.getAbsolutePath(), ex);
+            return null;
+        }
+
+        return file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified() + "|" +
+            Long.toHexString(crc.getValue()) + "|" + file.getIndexType() + "|" + file.getIndexOrder() +
+            "|" + file.getStartMembers() + "|" + file.getMaxMembers();
+    }
+
+    /**
+     * Returns the cache file of a file, named after a hash of its absolute path.
+     */
+    private static File getCacheFile(H5File file, File cacheDir)
+    {
+        CRC32 crc   = new CRC32();
+        String path = file.getAbsolutePath();
+        crc.update(path.getBytes(StandardCharsets.UTF_8));
+
+        String name = file.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(cacheDir, name + "-" + Long.toHexString(crc.getValue()) + SUFFIX);
+    }
+
+    private static void putString(DataOutputStream out, String s) throws IOException
+    {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) throws IOException
+    {
+        int len = buf.getInt();
+        if ((len < 0) || (len > buf.remaining()))
+            throw new IOException("bad string length " + len);
+
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
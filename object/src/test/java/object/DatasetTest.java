@@ -5,14 +5,18 @@ package object;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Arrays;
 
+import hdf.object.DataStatistics;
 import hdf.object.Dataset;
 import hdf.object.FileFormat;
+import hdf.object.UnsignedView;
 import hdf.object.h5.H5File;
 
 import hdf.hdf5lib.H5;
@@ -233,4 +237,119 @@ public class DatasetTest {
         long[] expected32 = (long[])Dataset.convertFromUnsignedC(int32, null);
         assertTrue(Arrays.equals(expected32, uint32));
     }
+
+    /**
+     * Test reading the unsigned values of testConvertFromUnsignedC() through an UnsignedView.
+     * <ul>
+     * <li>check the widened values against the values of convertFromUnsignedC()
+     * <li>check the min, max and mean of the widened values
+     * <li>check that a fill value is skipped
+     * </ul>
+     */
+    @Test
+    public void testUnsignedView()
+    {
+        log.debug("testUnsignedView");
+        byte[] int8   = {-1, -128, 127, 0};
+        short[] int16 = {-1, -32768, 32767, 0};
+        int[] int32   = {-1, -2147483648, 2147483647, 0};
+
+        short[] uint8 = (short[])Dataset.convertFromUnsignedC(int8, null);
+        int[] uint16  = (int[])Dataset.convertFromUnsignedC(int16, null);
+        long[] uint32 = (long[])Dataset.convertFromUnsignedC(int32, null);
+
+        UnsignedView view8  = new UnsignedView(int8);
+        UnsignedView view16 = new UnsignedView(int16);
+        UnsignedView view32 = new UnsignedView(int32);
+        for (int i = 0; i < int8.length; i++) {
+            assertEquals(uint8[i], view8.getLong(i));
+            assertEquals(uint16[i], view16.getLong(i));
+            assertEquals(uint32[i], view32.getLong(i));
+        }
+
+        double[] minmax = new double[2];
+        view16.findMinMax(minmax, null);
+        assertEquals(0, minmax[0]);
+        assertEquals(65535, minmax[1]);
+
+        double[] avgstd = new double[2];
+        view8.computeStatistics(avgstd, null);
+        assertEquals((255 + 128 + 127 + 0) / 4.0, avgstd[0], 1e-9);
+
+        view16.findMinMax(minmax, new short[] {-1});
+        assertEquals(32768, minmax[1]);
+
+        UnsignedView view64 = new UnsignedView(new long[] {-1L});
+        assertEquals(18446744073709551615.0, view64.getDouble(0));
+    }
+
+    /**
+     * Test DataStatistics and the statistics cached by a dataset.
+     * <ul>
+     * <li>check that fill values, NaN and infinite values are counted but skipped
+     * <li>check the statistics of an array computed in parallel against a single loop
+     * <li>check the histogram and the statistics merged from two halves
+     * <li>check that the statistics are cached until the data is cleared
+     * </ul>
+     */
+    @Test
+    public void testDataStatistics()
+    {
+        log.debug("testDataStatistics");
+        double[] small       = {1, 2, Double.NaN, -9, 3, Double.POSITIVE_INFINITY, 6};
+        DataStatistics stats = DataStatistics.compute(small, new double[] {-9});
+        assertEquals(4, stats.getCount());
+        assertEquals(1, stats.getFillCount());
+        assertEquals(2, stats.getNaNCount());
+        assertEquals(1, stats.getMin());
+        assertEquals(6, stats.getMax());
+        assertEquals(3, stats.getMean(), 1e-12);
+        assertEquals(Math.sqrt(14 / 3.0), stats.getStdDev(), 1e-12);
+
+        int n       = DataStatistics.PARALLEL_THRESHOLD * 3 + 7;
+        int[] large = new int[n];
+        for (int i = 0; i < n; i++)
+            large[i] = 1000000 + (int)((i * 2654435761L) % 1001);
+
+        double sum = 0;
+        for (int v : large)
+            sum += v;
+        double mean = sum / n;
+        double var  = 0;
+        for (int v : large)
+            var += (v - mean) * (v - mean);
+        int[] dist = new int[11];
+        for (int v : large)
+            dist[(int)((v - 1000000) * (10 / 1000.0))] += (v <= 1001000) ? 1 : 0;
+
+        stats = DataStatistics.compute(large, null, new double[] {1000000, 1001000}, 11);
+        assertEquals(n, stats.getCount());
+        assertEquals(1000000, stats.getMin());
+        assertEquals(1001000, stats.getMax());
+        assertEquals(mean, stats.getMean(), 1e-6);
+        assertEquals(Math.sqrt(var / (n - 1)), stats.getStdDev(), 1e-6);
+        assertTrue(Arrays.equals(dist, stats.getHistogram()));
+
+        int[] left             = Arrays.copyOfRange(large, 0, n / 3);
+        int[] right            = Arrays.copyOfRange(large, n / 3, n);
+        double[] range         = {1000000, 1001000};
+        DataStatistics merged  = DataStatistics.compute(left, null, range, 11)
+                                    .merge(DataStatistics.compute(right, null, range, 11));
+        assertEquals(n, merged.getCount());
+        assertEquals(mean, merged.getMean(), 1e-6);
+        assertEquals(stats.getStdDev(), merged.getStdDev(), 1e-6);
+        assertTrue(Arrays.equals(dist, merged.getHistogram()));
+
+        short[] uint16 = {-1, 0, 1};
+        stats          = DataStatistics.compute(new UnsignedView(uint16), null);
+        assertEquals(65535, stats.getMax());
+
+        Dataset dset         = dSets[0];
+        DataStatistics first = dset.getStatistics(large, null, range, 11);
+        assertSame(first, dset.getStatistics(large, null, null, 0));
+        assertNotSame(first, dset.getStatistics(large, new int[] {1000000}, null, 0));
+        DataStatistics cached = dset.getStatistics(large, new int[] {1000000}, null, 0);
+        dset.clearData();
+        assertNotSame(cached, dset.getStatistics(large, new int[] {1000000}, null, 0));
+    }
 }
@@ -3,11 +3,14 @@
  */
 package object;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import hdf.object.Datatype;
+import hdf.object.Float16;
 import hdf.object.h5.H5Datatype;
 
 import hdf.hdf5lib.H5;
@@ -535,4 +538,41 @@ public class DatatypeTest {
             }
         }
     }
+
+    /**
+     * Test method for {@link hdf.object.Float16}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Widen IEEE half precision and bfloat16 numbers to floats
+     * <li>Narrow floats back, rounding to the nearest value, ties to even
+     * </ul>
+     */
+    @Test
+    public void testFloat16()
+    {
+        log.debug("testFloat16");
+        short[] half  = {(short)0x3C00, (short)0xC000, (short)0x7C00, (short)0x0001};
+        float[] value = new float[half.length];
+        Float16.toFloat(half, 0, value, 0, half.length);
+        assertEquals(1.0f, value[0], 0.0f);
+        assertEquals(-2.0f, value[1], 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, value[2], 0.0f);
+        assertEquals(0x1p-24f, value[3], 0.0f);
+
+        short[] back = new short[half.length];
+        Float16.fromFloat(value, 0, back, 0, value.length);
+        assertArrayEquals(half, back);
+
+        short[] bfloat = {(short)0x3F80, (short)0xC040, (short)0x7F80};
+        Float16.bfloat16ToFloat(bfloat, 0, value, 1, bfloat.length);
+        assertEquals(1.0f, value[1], 0.0f);
+        assertEquals(-3.0f, value[2], 0.0f);
+        assertEquals(Float.POSITIVE_INFINITY, value[3], 0.0f);
+
+        assertEquals((short)0x3F80, Float16.floatToBfloat16(1.00390625f)); // tie, rounds to even
+        assertEquals((short)0x3F82, Float16.floatToBfloat16(1.01171875f)); // tie, rounds to even
+        assertEquals((short)0x3F81, Float16.floatToBfloat16(1.0078125f));
+        assertTrue(Float.isNaN(Float.intBitsToFloat(Float16.floatToBfloat16(Float.NaN) << 16)));
+    }
 }
@@ -3,12 +3,16 @@ package object;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Enumeration;
+import java.util.List;
 
 import hdf.object.FileFormat;
+import hdf.object.Group;
+import hdf.object.HObject;
 import hdf.object.h5.H5File;
 
 import hdf.hdf5lib.H5;
@@ -266,4 +270,46 @@ public class FileFormatTest {
         FileFormat f1 = FileFormat.getFileFormat("ALL");
         assertNull(f1);
     }
+
+    /**
+     * Test method for {@link hdf.object.FileFormat#findObject(FileFormat, String)} and
+     * {@link hdf.object.FileFormat#findObject(FileFormat, long[])}.
+     *
+     * <ul>
+     * <li>Find every object in memory by path and by OID.
+     * <li>Find an object after it is removed from and added back to its group.
+     * <li>Look up a path and an OID that are not in the file.
+     * </ul>
+     */
+    @Test
+    public void testFindObject()
+    {
+        log.debug("testFindObject");
+        Group root = (Group)testFile.getRootObject();
+        assertSame(root, FileFormat.findObject(testFile, "/"));
+
+        List<HObject> members = root.breadthFirstMemberList();
+        for (HObject obj : members) {
+            HObject found = FileFormat.findObject(testFile, obj.getFullName());
+            assertNotNull(found, obj.getFullName());
+            assertEquals(obj.getFullName(), found.getFullName());
+
+            found = FileFormat.findObject(testFile, obj.getOID());
+            assertNotNull(found, obj.getFullName());
+            assertTrue(found.equalsOID(obj.getOID()));
+        }
+
+        HObject dset = FileFormat.findObject(testFile, H5TestFile.NAME_DATASET_FLOAT_SUB_SUB);
+        assertNotNull(dset);
+        Group parent = (Group)FileFormat.findObject(testFile, H5TestFile.NAME_GROUP_SUB);
+        assertNotNull(parent);
+
+        parent.removeFromMemberList(dset);
+        assertNull(FileFormat.findObject(testFile, H5TestFile.NAME_DATASET_FLOAT_SUB_SUB));
+        parent.addToMemberList(dset);
+        assertSame(dset, FileFormat.findObject(testFile, H5TestFile.NAME_DATASET_FLOAT_SUB_SUB + "/"));
+
+        assertNull(FileFormat.findObject(testFile, "/no_such_object"));
+        assertNull(FileFormat.findObject(testFile, new long[] {-1}));
+    }
 }
@@ -3,8 +3,12 @@ package object;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -236,6 +240,129 @@ public class GroupTest {
             fail("The Number of members in list should be " + (previous_size - 1));
     }
 
+    /**
+     * Test method for {@link hdf.object.Group#removeFromMemberList(hdf.object.HObject)} with many members.
+     *
+     * What to test:
+     * <ul>
+     * <li>Add many members and remove every other one
+     * <li>check that the members left keep their order, by index and by iteration
+     * <li>remove the rest and check that the original members are left as they were
+     * </ul>
+     */
+    @Test
+    public void testRemoveManyFromMemberList()
+    {
+        log.debug("testRemoveManyFromMemberList");
+        final List<HObject> original = new ArrayList<>(testGroup.getMemberList());
+        final int nAdded             = 1000;
+
+        final List<HObject> added = new ArrayList<>(nAdded);
+        H5.H5error_off();
+        for (int i = 0; i < nAdded; i++)
+            added.add(new H5Group(testFile, "tmp" + i, "/grp0/", testGroup));
+        H5.H5error_on();
+        for (HObject obj : added)
+            testGroup.addToMemberList(obj);
+
+        final List<HObject> kept = new ArrayList<>(original);
+        for (int i = 0; i < nAdded; i++) {
+            if (i % 2 == 0)
+                testGroup.removeFromMemberList(added.get(i));
+            else
+                kept.add(added.get(i));
+        }
+
+        final List<HObject> memberList = testGroup.getMemberList();
+        assertEquals(kept.size(), memberList.size());
+        for (int i = 0; i < kept.size(); i++)
+            assertSame(kept.get(i), memberList.get(i));
+        assertEquals(kept, new ArrayList<>(memberList));
+        assertNull(testGroup.getMember("tmp0"));
+        assertSame(added.get(1), testGroup.getMember("tmp1"));
+
+        for (int i = 1; i < nAdded; i += 2)
+            testGroup.removeFromMemberList(added.get(i));
+        assertEquals(original, new ArrayList<>(testGroup.getMemberList()));
+    }
+
+    /**
+     * Test method for {@link hdf.object.Group#getMember(String)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Test for boundary conditions
+     * <ul>
+     * <li>Get a null name and a name that is not a member.
+     * </ul>
+     * <li>Test for general functionality
+     * <ul>
+     * <li>Get the existing members by name.
+     * <li>Get a member after it has been added, renamed and removed.
+     * </ul>
+     * </ul>
+     */
+    @Test
+    public void testGetMemberByName()
+    {
+        log.debug("testGetMemberByName");
+        assertNull(testGroup.getMember((String)null));
+        assertNull(testGroup.getMember("no_such_member"));
+
+        List<HObject> memberList = testGroup.getMemberList();
+        for (HObject obj : memberList)
+            assertSame(obj, testGroup.getMember(obj.getName()));
+
+        H5.H5error_off();
+        Group tmp = new H5Group(testFile, "tmp", "/grp0/", testGroup);
+        H5.H5error_on();
+        testGroup.addToMemberList(tmp);
+        assertSame(tmp, testGroup.getMember("tmp"));
+
+        try {
+            tmp.setFullname("/grp0/", "tmp2");
+        }
+        catch (Exception ex) {
+            fail("setFullname() failed. " + ex);
+        }
+        assertNull(testGroup.getMember("tmp"));
+        assertSame(tmp, testGroup.getMember("tmp2"));
+
+        testGroup.removeFromMemberList(tmp);
+        assertNull(testGroup.getMember("tmp2"));
+        assertFalse(testGroup.getMemberList().contains(tmp));
+    }
+
+    /**
+     * Test method for {@link hdf.object.Group#getMember(long[])}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Test for boundary conditions
+     * <ul>
+     * <li>Get a null OID and an empty OID.
+     * </ul>
+     * <li>Test for general functionality
+     * <ul>
+     * <li>Get the existing members by OID.
+     * </ul>
+     * </ul>
+     */
+    @Test
+    public void testGetMemberByOID()
+    {
+        log.debug("testGetMemberByOID");
+        assertNull(testGroup.getMember((long[])null));
+        assertNull(testGroup.getMember(new long[0]));
+
+        List<HObject> memberList = testGroup.getMemberList();
+        for (HObject obj : memberList) {
+            HObject member = testGroup.getMember(obj.getOID());
+            assertNotNull(member);
+            assertTrue(member.equalsOID(obj.getOID()));
+        }
+    }
+
     /**
      * Test method for {@link hdf.object.Group#getMemberList()}.
      *
@@ -763,6 +763,52 @@ public class H5CompoundDSTest {
         }     //  (int loop=0; loop<NLOOPS; loop++) {
     }
 
+    /**
+     * Test method for {@link hdf.object.h5.H5CompoundDS#setPackedRead(boolean)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read the whole dataset with packed reads enabled and disabled
+     * <li>Check that both reads return the same member data
+     * </ul>
+     */
+    @Test
+    public void testPackedRead()
+    {
+        log.debug("testPackedRead");
+        List<?> packedData = null;
+        List<?> memberData = null;
+
+        assertTrue(testDataset.isPackedRead());
+
+        try {
+            testDataset.init();
+            packedData = (List<?>)testDataset.read();
+
+            testDataset.setPackedRead(false);
+            testDataset.init();
+            memberData = (List<?>)testDataset.read();
+        }
+        catch (final Exception ex) {
+            fail("testDataset.read() failed. " + ex);
+        }
+        finally {
+            testDataset.setPackedRead(true);
+        }
+        assertNotNull(packedData);
+        assertNotNull(memberData);
+        assertEquals(memberData.size(), packedData.size());
+
+        for (int i = 0; i < memberData.size(); i++) {
+            final Object expected = memberData.get(i);
+            final Object actual   = packedData.get(i);
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(Array.getLength(expected), Array.getLength(actual));
+            for (int j = 0; j < Array.getLength(expected); j++)
+                assertEquals(Array.get(expected, j), Array.get(actual, j));
+        }
+    }
+
     /**
      * Test method for {@link hdf.object.h5.H5CompoundDS#readBytes()}.
      *
@@ -3,6 +3,7 @@ package object;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -13,6 +14,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.List;
 import java.util.Vector;
 
@@ -497,6 +504,193 @@ public class H5DatatypeTest {
         assertTrue(typeUInt.isUnsigned());
     }
 
+    /**
+     * Test method for {@link hdf.object.h5.H5Datatype#byteToDouble(int, int, byte[])}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Decode native doubles, including subnormal and infinite values
+     * <li>Decode the same values to BigDecimal
+     * </ul>
+     */
+    @Test
+    public void testByteToDouble()
+    {
+        log.debug("testByteToDouble");
+        double[] values = {0.0, -1.5, Math.PI, 1.0e-310, -Double.MAX_VALUE, Double.POSITIVE_INFINITY};
+        ByteBuffer bb   = ByteBuffer.allocate(values.length * 8).order(ByteOrder.nativeOrder());
+        for (double v : values)
+            bb.putDouble(v);
+        byte[] raw = bb.array();
+
+        H5Datatype type = null;
+        try {
+            type = new H5Datatype(Datatype.CLASS_FLOAT, 8, Datatype.NATIVE, Datatype.NATIVE);
+        }
+        catch (Exception ex) {
+            fail("new H5Datatype failed. " + ex);
+        }
+
+        double[] decoded = type.byteToDouble(0, values.length, raw);
+        for (int i = 0; i < values.length; i++)
+            assertEquals(values[i], decoded[i], 0.0);
+
+        decoded = type.byteToDouble(2, 1, raw);
+        assertEquals(Math.PI, decoded[0], 0.0);
+
+        assertEquals(new BigDecimal(-1.5), type.byteToBigDecimal(raw, 1));
+        assertEquals(new BigDecimal(Math.PI).round(MathContext.DECIMAL128).stripTrailingZeros(),
+                     type.byteToBigDecimal(raw, 2));
+        assertNull(type.byteToBigDecimal(raw, 5));
+    }
+
+    /**
+     * Test method for the decoding of long doubles by hdf.object.h5.H5FloatDecoder.
+     *
+     * What to test:
+     * <ul>
+     * <li>Decode hand-encoded x87 80-bit extended precision numbers held in 16 bytes
+     * <li>Decode normal, subnormal, infinite and NaN values to double and BigDecimal
+     * </ul>
+     */
+    @Test
+    public void testDecodeX87LongDouble()
+    {
+        log.debug("testDecodeX87LongDouble");
+        // sign at bit 79, 15-bit exponent at bit 64, 64-bit mantissa with an explicit leading bit
+        Object decoder = newFloatDecoder(16, 79, 64, 15, 0, 64, 16383, HDF5Constants.H5T_NORM_NONE);
+
+        byte[] raw = longDoubles(new long[][] {
+            {0x8000000000000000L, 0x3FFFL}, // 1.0
+            {0xA000000000000000L, 0xC000L}, // -2.5
+            {0x8000000000000000L, 0x3BCDL}, // 2^-1074, the smallest subnormal double
+            {0x0000000000000001L, 0x0000L}, // 2^-16445, the smallest subnormal
+            {0x8000000000000000L, 0x7FFFL}, // +Inf
+            {0x8000000000000000L, 0xFFFFL}, // -Inf
+            {0xC000000000000000L, 0x7FFFL}  // NaN
+        });
+
+        assertEquals(1.0, decodeDouble(decoder, raw, 0), 0.0);
+        assertEquals(-2.5, decodeDouble(decoder, raw, 1), 0.0);
+        assertEquals(Double.MIN_VALUE, decodeDouble(decoder, raw, 2), 0.0);
+        assertEquals(0.0, decodeDouble(decoder, raw, 3), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, decodeDouble(decoder, raw, 4), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, decodeDouble(decoder, raw, 5), 0.0);
+        assertTrue(Double.isNaN(decodeDouble(decoder, raw, 6)));
+
+        assertEquals(BigDecimal.ONE, decodeBigDecimal(decoder, raw, 0));
+        assertEquals(new BigDecimal("-2.5"), decodeBigDecimal(decoder, raw, 1));
+        assertEquals(new BigDecimal("3.6451995318824746025E-4951"),
+                     decodeBigDecimal(decoder, raw, 3).round(new MathContext(20)));
+        assertNull(decodeBigDecimal(decoder, raw, 4));
+        assertNull(decodeBigDecimal(decoder, raw, 5));
+        assertNull(decodeBigDecimal(decoder, raw, 6));
+    }
+
+    /**
+     * Test method for the decoding of long doubles by hdf.object.h5.H5FloatDecoder.
+     *
+     * What to test:
+     * <ul>
+     * <li>Decode hand-encoded IEEE 754 binary128 quadruple precision numbers
+     * <li>Decode normal, subnormal, infinite and NaN values to double and BigDecimal
+     * <li>Keep the digits of a number beyond the precision of a double in its BigDecimal
+     * </ul>
+     */
+    @Test
+    public void testDecodeBinary128LongDouble()
+    {
+        log.debug("testDecodeBinary128LongDouble");
+        // sign at bit 127, 15-bit exponent at bit 112, 112-bit mantissa with an implied leading bit
+        Object decoder = newFloatDecoder(16, 127, 112, 15, 0, 112, 16383, HDF5Constants.H5T_NORM_IMPLIED);
+
+        byte[] raw = longDoubles(new long[][] {
+            {0x0000000000000000L, 0x3FFF000000000000L}, // 1.0
+            {0x0000000000000000L, 0xC000400000000000L}, // -2.5
+            {0x0000000000001000L, 0x3FFF000000000000L}, // 1 + 2^-100
+            {0x0000000000000001L, 0x0000000000000000L}, // 2^-16494, the smallest subnormal
+            {0x0000000000000000L, 0x7FFF000000000000L}, // +Inf
+            {0x0000000000000000L, 0xFFFF000000000000L}, // -Inf
+            {0x0000000000000000L, 0x7FFF800000000000L}  // NaN
+        });
+
+        assertEquals(1.0, decodeDouble(decoder, raw, 0), 0.0);
+        assertEquals(-2.5, decodeDouble(decoder, raw, 1), 0.0);
+        assertEquals(1.0, decodeDouble(decoder, raw, 2), 0.0);
+        assertEquals(0.0, decodeDouble(decoder, raw, 3), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, decodeDouble(decoder, raw, 4), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, decodeDouble(decoder, raw, 5), 0.0);
+        assertTrue(Double.isNaN(decodeDouble(decoder, raw, 6)));
+
+        assertEquals(BigDecimal.ONE, decodeBigDecimal(decoder, raw, 0));
+        assertEquals(new BigDecimal("-2.5"), decodeBigDecimal(decoder, raw, 1));
+        assertEquals(new BigDecimal("1.000000000000000000000000000000789"),
+                     decodeBigDecimal(decoder, raw, 2));
+        assertEquals(new BigDecimal("6.4751751194380251109E-4966"),
+                     decodeBigDecimal(decoder, raw, 3).round(new MathContext(20)));
+        assertNull(decodeBigDecimal(decoder, raw, 4));
+        assertNull(decodeBigDecimal(decoder, raw, 5));
+        assertNull(decodeBigDecimal(decoder, raw, 6));
+    }
+
+    /*
+     * Encodes 16-byte numbers given as their low and high 64 bits in little-endian order.
+     */
+    private static byte[] longDoubles(long[][] bits)
+    {
+        ByteBuffer bb = ByteBuffer.allocate(bits.length * 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (long[] b : bits)
+            bb.putLong(b[0]).putLong(b[1]);
+
+        return bb.array();
+    }
+
+    /*
+     * Creates a little-endian decoder of a floating-point layout. The decoder is internal to the h5 package,
+     * and is reached by reflection so that the layouts of other platforms than this one are tested.
+     */
+    private static Object newFloatDecoder(int size, int spos, int epos, int esize, int mpos, int msize,
+                                          long ebias, int norm)
+    {
+        try {
+            Constructor<?> ctor = Class.forName("hdf.object.h5.H5FloatDecoder")
+                                      .getDeclaredConstructor(int.class, boolean.class, int.class, int.class,
+                                                              int.class, int.class, int.class, long.class,
+                                                              int.class);
+            ctor.setAccessible(true);
+            return ctor.newInstance(size, false, spos, epos, esize, mpos, msize, ebias, norm);
+        }
+        catch (Exception ex) {
+            fail("new H5FloatDecoder failed. " + ex);
+        }
+
+        return null;
+    }
+
+    private static double decodeDouble(Object decoder, byte[] data, int index)
+    {
+        return (Double)invokeDecoder(decoder, "toDouble", data, index);
+    }
+
+    private static BigDecimal decodeBigDecimal(Object decoder, byte[] data, int index)
+    {
+        return (BigDecimal)invokeDecoder(decoder, "toBigDecimal", data, index);
+    }
+
+    private static Object invokeDecoder(Object decoder, String name, byte[] data, int index)
+    {
+        try {
+            Method method = decoder.getClass().getDeclaredMethod(name, byte[].class, int.class);
+            method.setAccessible(true);
+            return method.invoke(decoder, data, index);
+        }
+        catch (Exception ex) {
+            fail("H5FloatDecoder." + name + " failed. " + ex);
+        }
+
+        return null;
+    }
+
     /**
      * Test method for {@link hdf.object.h5.H5Datatype#getMetadata()}.
      *
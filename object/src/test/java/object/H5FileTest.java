@@ -1,18 +1,22 @@
 package object;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.Files;
 import java.util.List;
 
 import hdf.object.Attribute;
@@ -268,6 +272,231 @@ public class H5FileTest {
         } //  (int i=0; i<NLOOPS; i++)
     }
 
+    /**
+     * Test method for {@link hdf.object.FileFormat#setLoadMembersOnDemand(boolean)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>open a file loading group members on demand
+     * <li>check that only the members of the root group are loaded
+     * <li>check that the members of a subgroup are loaded when asked for
+     * <li>check that the whole structure matches the structure loaded at once
+     * </ul>
+     */
+    @Test
+    public void testOpenMembersOnDemand()
+    {
+        log.debug("testOpenMembersOnDemand");
+        List<HObject> eagerMembers = null;
+        int eagerCount             = 0;
+        try {
+            eagerMembers = ((Group)testFile.get(H5TestFile.NAME_GROUP)).getMemberList();
+            eagerCount   = ((Group)testFile.getRootObject()).breadthFirstMemberList().size();
+        }
+        catch (final Exception ex) {
+            fail("file.get() failed. " + ex);
+        }
+        // Close default testFile
+        closeFile();
+
+        final H5File file = new H5File(H5TestFile.NAME_FILE_H5, FileFormat.WRITE);
+        file.setLoadMembersOnDemand(true);
+
+        try {
+            assertTrue(file.open() > 0);
+
+            final Group root = (Group)file.getRootObject();
+            assertNotNull(root);
+            assertFalse(root.isMemberListDeferred());
+
+            final Group g0 = (Group)FileFormat.findObject(file, H5TestFile.NAME_GROUP);
+            assertNotNull(g0);
+            assertTrue(g0.isMemberListDeferred());
+
+            final List<HObject> members = g0.getMemberList();
+            assertFalse(g0.isMemberListDeferred());
+            assertEquals(eagerMembers.size(), members.size());
+            for (int i = 0; i < members.size(); i++)
+                assertEquals(eagerMembers.get(i).getFullName(), members.get(i).getFullName());
+
+            assertNotNull(FileFormat.findObject(file, H5TestFile.NAME_DATASET_INT_SUB));
+            assertEquals(eagerCount, root.breadthFirstMemberList().size());
+        }
+        catch (final Exception ex) {
+            fail("open members on demand failed. " + ex);
+        }
+        finally {
+            try {
+                file.close();
+            }
+            catch (final Exception ex) {
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5File#get(String)} with group members loaded on demand.
+     *
+     * What to test:
+     * <ul>
+     * <li>get an object below groups which have not been loaded yet
+     * <li>check that the groups along its path are loaded and the object is the one in the tree
+     * <li>check that getting it again returns the same object
+     * </ul>
+     */
+    @Test
+    public void testGetMembersOnDemand()
+    {
+        log.debug("testGetMembersOnDemand");
+        // Close default testFile
+        closeFile();
+
+        final H5File file = new H5File(H5TestFile.NAME_FILE_H5, FileFormat.WRITE);
+        file.setLoadMembersOnDemand(true);
+
+        try {
+            assertTrue(file.open() > 0);
+
+            final HObject obj = file.get(H5TestFile.NAME_DATASET_FLOAT_SUB_SUB);
+            assertNotNull(obj);
+            assertEquals(H5TestFile.NAME_DATASET_FLOAT_SUB_SUB, obj.getFullName());
+
+            final Group g0 = (Group)FileFormat.findObject(file, H5TestFile.NAME_GROUP);
+            assertFalse(g0.isMemberListDeferred());
+            final Group g00 = (Group)FileFormat.findObject(file, H5TestFile.NAME_GROUP_SUB);
+            assertSame(g00, g0.getMember(g00.getName()));
+            assertSame(obj, g00.getMember(obj.getName()));
+            assertTrue(g00.getMemberList().contains(obj));
+
+            assertSame(obj, file.get(H5TestFile.NAME_DATASET_FLOAT_SUB_SUB));
+            assertNull(FileFormat.findObject(file, H5TestFile.NAME_GROUP + "/no_such_object"));
+        }
+        catch (final Exception ex) {
+            fail("get() of members on demand failed. " + ex);
+        }
+        finally {
+            try {
+                file.close();
+            }
+            catch (final Exception ex) {
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5File#setLoadThreads(int)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>open the file with the structure loaded by several threads
+     * <li>check the structure is the same as the one loaded by a single thread
+     * </ul>
+     */
+    @Test
+    public void testOpenLoadThreads()
+    {
+        log.debug("testOpenLoadThreads");
+        List<HObject> eagerMembers = null;
+        try {
+            eagerMembers = ((Group)testFile.getRootObject()).breadthFirstMemberList();
+        }
+        catch (final Exception ex) {
+            fail("file.get() failed. " + ex);
+        }
+        // Close default testFile
+        closeFile();
+
+        final H5File file = new H5File(H5TestFile.NAME_FILE_H5, FileFormat.WRITE);
+        file.setLoadThreads(4);
+        assertEquals(4, file.getLoadThreads());
+
+        try {
+            assertTrue(file.open() > 0);
+
+            final List<HObject> members = ((Group)file.getRootObject()).breadthFirstMemberList();
+            assertEquals(eagerMembers.size(), members.size());
+            for (int i = 0; i < members.size(); i++) {
+                assertEquals(eagerMembers.get(i).getFullName(), members.get(i).getFullName());
+                assertEquals(eagerMembers.get(i).getClass(), members.get(i).getClass());
+            }
+
+            assertNotNull(FileFormat.findObject(file, H5TestFile.NAME_DATASET_INT_SUB));
+        }
+        catch (final Exception ex) {
+            fail("open with load threads failed. " + ex);
+        }
+        finally {
+            try {
+                file.close();
+            }
+            catch (final Exception ex) {
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5File#setStructureCacheDir(java.io.File)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>open the file read-only with a structure cache
+     * <li>open the file again, rebuilding the structure from the cache
+     * <li>check the structure is the same as the one loaded from the file
+     * </ul>
+     */
+    @Test
+    public void testOpenStructureCache()
+    {
+        log.debug("testOpenStructureCache");
+        List<HObject> eagerMembers = null;
+        try {
+            eagerMembers = ((Group)testFile.getRootObject()).breadthFirstMemberList();
+        }
+        catch (final Exception ex) {
+            fail("file.get() failed. " + ex);
+        }
+        // Close default testFile
+        closeFile();
+
+        File cacheDir = null;
+        try {
+            cacheDir = Files.createTempDirectory("h5sc").toFile();
+
+            for (int n = 0; n < 2; n++) {
+                final H5File file = new H5File(H5TestFile.NAME_FILE_H5, FileFormat.READ);
+                file.setStructureCacheDir(cacheDir);
+                try {
+                    assertTrue(file.open() > 0);
+
+                    final List<HObject> members = ((Group)file.getRootObject()).breadthFirstMemberList();
+                    assertEquals(eagerMembers.size(), members.size());
+                    for (int i = 0; i < members.size(); i++) {
+                        final HObject expected = eagerMembers.get(i);
+                        final HObject actual   = members.get(i);
+                        assertEquals(expected.getFullName(), actual.getFullName());
+                        assertEquals(expected.getClass(), actual.getClass());
+                        assertArrayEquals(expected.getOID(), actual.getOID());
+                    }
+                }
+                finally {
+                    file.close();
+                }
+
+                assertEquals(1, cacheDir.listFiles().length);
+            }
+        }
+        catch (final Exception ex) {
+            fail("open with structure cache failed. " + ex);
+        }
+        finally {
+            if (cacheDir != null) {
+                for (File f : cacheDir.listFiles())
+                    f.delete();
+                cacheDir.delete();
+            }
+        }
+    }
+
     /**
      * Test method for {@link hdf.object.h5.H5File#create(java.lang.String)}.
      *
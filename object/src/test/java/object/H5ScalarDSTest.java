@@ -1,9 +1,12 @@
 package object;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -15,10 +18,14 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CancellationException;
 
 import hdf.object.Attribute;
+import hdf.object.BufferPool;
+import hdf.object.DataBlockIterator;
 import hdf.object.Dataset;
 import hdf.object.Datatype;
 import hdf.object.FileFormat;
@@ -761,6 +768,367 @@ public class H5ScalarDSTest {
         log.trace("testReadByRow testDataset finished");
     }
 
+    /**
+     * Test method for {@link hdf.object.h5.H5ScalarDS#setChunkCacheSize(long)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read strided subsets of a chunked dataset through the chunk cache
+     * <li>Read the whole dataset, a selection of whole chunks, through the chunk cache
+     * <li>check the data against the values written
+     * <li>Repeat all above
+     * </ul>
+     */
+    @Test
+    public void testReadChunkCache()
+    {
+        log.debug("testReadChunkCache");
+        int[] data = null;
+
+        testDataset.init();
+        testDataset.setChunkCacheSize(1024 * 1024);
+
+        for (int loop = 0; loop < NLOOPS; loop++) {
+            // subsets crossing the chunk boundaries with and without a stride
+            for (int stride = 1; stride <= 3; stride++) {
+                testDataset.clearData();
+
+                final long[] start   = testDataset.getStartDims();
+                final long[] count   = testDataset.getSelectedDims();
+                final long[] strides = testDataset.getStride();
+
+                start[0]   = 3;
+                start[1]   = 1;
+                strides[0] = stride;
+                strides[1] = stride;
+                count[0]   = (H5TestFile.DIM1 - start[0] - 1) / stride + 1;
+                count[1]   = (H5TestFile.DIM2 - start[1] - 1) / stride + 1;
+
+                try {
+                    data = (int[])testDataset.getData();
+                }
+                catch (final Exception ex) {
+                    fail("getData() failed. " + ex);
+                }
+                assertNotNull(data);
+                assertEquals(count[0] * count[1], data.length);
+
+                for (int i = 0; i < count[0]; i++) {
+                    for (int j = 0; j < count[1]; j++) {
+                        final long row = start[0] + i * stride;
+                        final long col = start[1] + j * stride;
+                        assertEquals(H5TestFile.DATA_INT[(int)(row * H5TestFile.DIM2 + col)],
+                                     data[(int)(i * count[1] + j)]);
+                    }
+                }
+            }
+        }
+
+        // the whole dataset, a selection of whole chunks, read twice through the cache
+        testDataset.init();
+        for (int loop = 0; loop < 2; loop++) {
+            testDataset.clearData();
+            try {
+                data = (int[])testDataset.getData();
+            }
+            catch (final Exception ex) {
+                fail("getData() failed. " + ex);
+            }
+            assertNotNull(data);
+            assertArrayEquals(H5TestFile.DATA_INT, data);
+        }
+
+        testDataset.setChunkCacheSize(0);
+        assertEquals(0, testDataset.getChunkCacheSize());
+        log.debug("testReadChunkCache finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5ScalarDS#setDirectChunkRead(boolean)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read the whole chunked, compressed dataset with raw chunk reads
+     * <li>Read a subset crossing the chunk boundaries with raw chunk reads
+     * <li>check the data against the values written
+     * </ul>
+     */
+    @Test
+    public void testReadDirectChunk()
+    {
+        log.debug("testReadDirectChunk");
+        int[] data = null;
+
+        testDataset.init();
+        testDataset.setDirectChunkRead(true);
+        assertTrue(testDataset.isDirectChunkRead());
+
+        try {
+            data = (int[])testDataset.getData();
+        }
+        catch (final Exception ex) {
+            fail("getData() failed. " + ex);
+        }
+        assertNotNull(data);
+        assertEquals(H5TestFile.DIM_SIZE, data.length);
+        for (int i = 0; i < H5TestFile.DIM_SIZE; i++)
+            assertEquals(H5TestFile.DATA_INT[i], data[i]);
+
+        testDataset.clearData();
+        final long[] start = testDataset.getStartDims();
+        final long[] count = testDataset.getSelectedDims();
+        start[0]           = 20;
+        start[1]           = 3;
+        count[0]           = 10;
+        count[1]           = 4;
+
+        try {
+            data = (int[])testDataset.getData();
+        }
+        catch (final Exception ex) {
+            fail("getData() failed. " + ex);
+        }
+        assertNotNull(data);
+        for (int i = 0; i < count[0]; i++) {
+            for (int j = 0; j < count[1]; j++) {
+                final long idx = (start[0] + i) * H5TestFile.DIM2 + start[1] + j;
+                assertEquals(H5TestFile.DATA_INT[(int)idx], data[(int)(i * count[1] + j)]);
+            }
+        }
+
+        testDataset.setDirectChunkRead(false);
+        log.debug("testReadDirectChunk finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5ScalarDS#getBlockIterator(long)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read a subset block by block, in blocks smaller than a row of the subset
+     * <li>Check the data of each block at its offset in the subset
+     * </ul>
+     */
+    @Test
+    public void testBlockIterator()
+    {
+        log.debug("testBlockIterator");
+
+        testDataset.init();
+        final long[] start = testDataset.getStartDims();
+        final long[] count = testDataset.getSelectedDims();
+        start[0]           = 20;
+        start[1]           = 3;
+        count[0]           = 10;
+        count[1]           = 4;
+
+        long npoints = 0;
+        try (DataBlockIterator it = testDataset.getBlockIterator(3)) {
+            assertEquals(int.class, it.getElementType());
+            assertEquals(count[0] * count[1], it.getTotalPoints());
+
+            while (it.hasNext()) {
+                final int[] block = (int[])it.next();
+                assertEquals(npoints, it.getBlockOffset());
+                for (int k = 0; k < block.length; k++) {
+                    final long i   = (npoints + k) / count[1];
+                    final long j   = (npoints + k) % count[1];
+                    final long idx = (start[0] + i) * H5TestFile.DIM2 + start[1] + j;
+                    assertEquals(H5TestFile.DATA_INT[(int)idx], block[k]);
+                }
+                npoints += block.length;
+            }
+        }
+        catch (final Exception ex) {
+            fail("getBlockIterator() failed. " + ex);
+        }
+        assertEquals(count[0] * count[1], npoints);
+        log.debug("testBlockIterator finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.h5.H5ScalarDS#readHyperslab(long[], long[], long[])}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read a strided hyperslab, as for a decimated overview of an image
+     * <li>check the data against the values written
+     * <li>check that the selection of the dataset is unchanged
+     * </ul>
+     */
+    @Test
+    public void testReadHyperslab()
+    {
+        log.debug("testReadHyperslab");
+
+        testDataset.init();
+        final long[] selected = testDataset.getSelectedDims().clone();
+        final long[] start    = {20, 1};
+        final long[] stride   = {3, 2};
+        final long[] count    = {9, 5};
+
+        try {
+            final int[] data = (int[])testDataset.readHyperslab(start, stride, count);
+            assertEquals(count[0] * count[1], data.length);
+            for (int i = 0; i < count[0]; i++) {
+                for (int j = 0; j < count[1]; j++) {
+                    final long idx = (start[0] + i * stride[0]) * H5TestFile.DIM2 + start[1] + j * stride[1];
+                    assertEquals(H5TestFile.DATA_INT[(int)idx], data[(int)(i * count[1] + j)]);
+                }
+            }
+        }
+        catch (final Exception ex) {
+            fail("readHyperslab() failed. " + ex);
+        }
+        assertTrue(Arrays.equals(selected, testDataset.getSelectedDims()));
+        log.debug("testReadHyperslab finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.Dataset#setReadProgressListener(hdf.object.ReadProgressListener)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read the dataset with a listener, and check that the whole selection is reported read
+     * <li>Read it again with a listener which cancels the read, and check that the read stops
+     * </ul>
+     */
+    @Test
+    public void testReadProgressCancel()
+    {
+        log.debug("testReadProgressCancel");
+
+        testDataset.init();
+        final long[] progress = {0, 0};
+        try {
+            testDataset.setReadProgressListener((read, total) -> {
+                progress[0] = read;
+                progress[1] = total;
+                return true;
+            });
+            final int[] data = (int[])testDataset.read();
+            assertEquals(data.length, progress[1]);
+            assertEquals(progress[1], progress[0]);
+        }
+        catch (final Exception ex) {
+            fail("read() with a progress listener failed. " + ex);
+        }
+
+        boolean isCancelled = false;
+        try {
+            testDataset.setReadProgressListener((read, total) -> false);
+            testDataset.read();
+        }
+        catch (final CancellationException ex) {
+            isCancelled = true;
+        }
+        catch (final Exception ex) {
+            fail("read() cancelled by a progress listener failed. " + ex);
+        }
+        finally {
+            testDataset.setReadProgressListener(null);
+        }
+        assertTrue(isCancelled);
+        log.debug("testReadProgressCancel finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.Dataset#setBufferPool(BufferPool)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read subsets of the same size one after the other with a pool of buffers
+     * <li>check that the buffer is recycled and holds the data of the current subset
+     * <li>check that clear() gives the buffer back to the pool
+     * </ul>
+     */
+    @Test
+    public void testBufferPool()
+    {
+        log.debug("testBufferPool");
+
+        final BufferPool pool = new BufferPool();
+        testDataset.init();
+        testDataset.clear();
+        testDataset.setBufferPool(pool);
+        final long[] start = testDataset.getStartDims();
+        final long[] count = testDataset.getSelectedDims();
+        count[0]           = 2;
+
+        try {
+            Object first = null;
+            for (int frame = 0; frame < 4; frame++) {
+                start[0] = frame * count[0];
+                testDataset.clearData();
+                final int[] data = (int[])testDataset.getData();
+                if (first == null)
+                    first = data;
+                assertSame(first, data);
+
+                for (int i = 0; i < data.length; i++)
+                    assertEquals(H5TestFile.DATA_INT[(int)(start[0] * H5TestFile.DIM2) + i], data[i]);
+            }
+
+            testDataset.clear();
+            assertEquals(count[0] * count[1] * 4, pool.getPooledBytes());
+        }
+        catch (final Exception ex) {
+            fail("getData() with a buffer pool failed. " + ex);
+        }
+        finally {
+            testDataset.setBufferPool(null);
+        }
+        log.debug("testBufferPool finish");
+    }
+
+    /**
+     * Test method for {@link hdf.object.Dataset#readHyperslab(long[], long[], long[], BufferPool)}.
+     *
+     * What to test:
+     * <ul>
+     * <li>Read hyperslabs of the same size one after the other, giving each back to the pool
+     * <li>check that the buffer is recycled and holds the data of the current hyperslab
+     * <li>check that a hyperslab read without a pool is not taken from the pool of the dataset
+     * </ul>
+     */
+    @Test
+    public void testReadHyperslabBufferPool()
+    {
+        log.debug("testReadHyperslabBufferPool");
+
+        final BufferPool pool = new BufferPool();
+        testDataset.init();
+        testDataset.setBufferPool(pool);
+        final long[] start = {0, 0};
+        final long[] count = {2, H5TestFile.DIM2};
+
+        try {
+            Object first = null;
+            for (int frame = 0; frame < 4; frame++) {
+                start[0]         = frame * count[0];
+                final int[] data = (int[])testDataset.readHyperslab(start, null, count, pool);
+                if (first == null)
+                    first = data;
+                assertSame(first, data);
+
+                for (int i = 0; i < data.length; i++)
+                    assertEquals(H5TestFile.DATA_INT[(int)(start[0] * H5TestFile.DIM2) + i], data[i]);
+                pool.release(data);
+            }
+
+            final int[] data = (int[])testDataset.readHyperslab(start, null, count);
+            assertNotSame(first, data);
+            assertSame(first, pool.acquire(int.class, data.length));
+        }
+        catch (final Exception ex) {
+            fail("readHyperslab() with a buffer pool failed. " + ex);
+        }
+        finally {
+            testDataset.setBufferPool(null);
+        }
+        log.debug("testReadHyperslabBufferPool finish");
+    }
+
     /**
      * Test method for {@link hdf.object.h5.H5ScalarDS#readBytes()}.
      *